@@ -0,0 +1,463 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.model;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.optional;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A change broadcast strategy that delivers changes to each listener on a separate thread, so that
+ * slow listeners do not delay the threads applying changes. Each listener has its own queue of
+ * change lists, and receives them in order; the lists queued while the listener is busy are
+ * delivered as one list, in which an addition and a later removal of the same axiom, import or
+ * ontology annotation to the same ontology cancel out, as does a removal followed by an addition.
+ * <p>
+ * Each queue holds at most a configured number of change lists. When a queue is full, the
+ * {@link Backpressure} setting decides whether the broadcasting thread waits, the queued changes
+ * are dropped and the listener is asked to resynchronize, or the queued changes are merged in one
+ * list.
+ * <p>
+ * A strategy instance can be used for any number of listeners. Its threads are daemon threads, and
+ * end when idle; {@link #close()} stops the delivery of queued changes. Listeners should be
+ * unregistered with {@link #removeListener(OWLOntologyChangeListener)} after they are removed from
+ * the manager, to release their queues.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class AsynchronousChangeBroadcastStrategy implements OWLOntologyChangeBroadcastStrategy {
+
+    /**
+     * What to do with a change list to broadcast to a listener whose queue is full.
+     */
+    public enum Backpressure {
+        /**
+         * The broadcasting thread waits until the listener has taken the queued changes. If the
+         * thread is interrupted while waiting, the changes are dropped as for
+         * {@link #DROP_TO_RESYNC}. Listeners must not wait for locks held by the thread applying
+         * changes, nor apply changes themselves, or the two threads can wait for each other.
+         */
+        BLOCK,
+        /**
+         * The queued changes and the new changes are dropped, and the resync handler is called
+         * for the listener before any later change is delivered. Changes delivered after a resync
+         * can already be part of the state read during the resync.
+         */
+        DROP_TO_RESYNC,
+        /** The queued changes and the new changes are merged into one list. */
+        COALESCE
+    }
+
+    /**
+     * Called on the delivery thread of a listener whose changes were dropped.
+     */
+    @FunctionalInterface
+    public interface ResyncHandler extends Serializable {
+
+        /**
+         * @param listener the listener that has missed changes
+         * @param droppedChanges the number of changes dropped since the last resync
+         */
+        void resync(OWLOntologyChangeListener listener, long droppedChanges);
+    }
+
+    /**
+     * A snapshot of the delivery state of a listener.
+     */
+    public static class Lag {
+
+        private final int queuedChanges;
+        private final long delayNanos;
+        private final long deliveredChanges;
+        private final long droppedChanges;
+        private final long coalescedChanges;
+
+        Lag(int queuedChanges, long delayNanos, long deliveredChanges, long droppedChanges,
+            long coalescedChanges) {
+            this.queuedChanges = queuedChanges;
+            this.delayNanos = delayNanos;
+            this.deliveredChanges = deliveredChanges;
+            this.droppedChanges = droppedChanges;
+            this.coalescedChanges = coalescedChanges;
+        }
+
+        /**
+         * @return the number of changes queued or being delivered
+         */
+        public int getQueuedChanges() {
+            return queuedChanges;
+        }
+
+        /**
+         * @param unit time unit
+         * @return the time since the oldest change queued or being delivered was broadcast, or 0
+         *         if there is none
+         */
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return the number of changes delivered to the listener
+         */
+        public long getDeliveredChanges() {
+            return deliveredChanges;
+        }
+
+        /**
+         * @return the number of changes dropped because the queue was full
+         */
+        public long getDroppedChanges() {
+            return droppedChanges;
+        }
+
+        /**
+         * @return the number of changes that cancelled out and were not delivered
+         */
+        public long getCoalescedChanges() {
+            return coalescedChanges;
+        }
+
+        @Override
+        public String toString() {
+            return "Lag(queued=" + queuedChanges + ", delay=" + getDelay(TimeUnit.MILLISECONDS)
+                + "ms, delivered=" + deliveredChanges + ", dropped=" + droppedChanges
+                + ", coalesced=" + coalescedChanges + ')';
+        }
+    }
+
+    private static final Logger LOGGER =
+        LoggerFactory.getLogger(AsynchronousChangeBroadcastStrategy.class);
+    private final Backpressure backpressure;
+    private final int capacity;
+    private final ResyncHandler resyncHandler;
+    private final transient ExecutorService executor =
+        Executors.newCachedThreadPool(task -> {
+            Thread t = new Thread(task, "owlapi-change-broadcast");
+            t.setDaemon(true);
+            return t;
+        });
+    private final transient Map<OWLOntologyChangeListener, ListenerQueue> queues =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Creates a strategy that merges the queued changes when a queue is full.
+     *
+     * @param capacity the maximum number of change lists queued for each listener
+     */
+    public AsynchronousChangeBroadcastStrategy(int capacity) {
+        this(capacity, Backpressure.COALESCE, (l, n) -> LOGGER
+            .warn("{} changes dropped for listener {}, which must resynchronize", n, l));
+    }
+
+    /**
+     * @param capacity the maximum number of change lists queued for each listener
+     * @param backpressure what to do when a queue is full
+     * @param resyncHandler called for a listener whose changes were dropped, with
+     *        {@link Backpressure#DROP_TO_RESYNC} or after an interrupt with
+     *        {@link Backpressure#BLOCK}
+     */
+    public AsynchronousChangeBroadcastStrategy(int capacity, Backpressure backpressure,
+        ResyncHandler resyncHandler) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.backpressure = checkNotNull(backpressure, "backpressure cannot be null");
+        this.resyncHandler = checkNotNull(resyncHandler, "resyncHandler cannot be null");
+    }
+
+    private Object readResolve() {
+        return new AsynchronousChangeBroadcastStrategy(capacity, backpressure, resyncHandler);
+    }
+
+    @Override
+    public void broadcastChanges(OWLOntologyChangeListener listener,
+        List<? extends OWLOntologyChange> changes) {
+        checkNotNull(listener, "listener cannot be null");
+        checkNotNull(changes, "changes cannot be null");
+        if (changes.isEmpty() || executor.isShutdown()) {
+            return;
+        }
+        queues.computeIfAbsent(listener, ListenerQueue::new).offer(new ArrayList<>(changes));
+    }
+
+    /**
+     * @param listener listener
+     * @return the delivery state of the listener, if changes have been broadcast to it
+     */
+    public Optional<Lag> getLag(OWLOntologyChangeListener listener) {
+        ListenerQueue queue = queues.get(listener);
+        if (queue == null) {
+            return emptyOptional();
+        }
+        return optional(queue.lag());
+    }
+
+    /**
+     * Discards the queued changes of a listener, and the statistics about it.
+     *
+     * @param listener listener
+     */
+    public void removeListener(OWLOntologyChangeListener listener) {
+        ListenerQueue queue = queues.remove(listener);
+        if (queue != null) {
+            queue.discard();
+        }
+    }
+
+    /**
+     * Waits until all the changes broadcast so far have been delivered.
+     *
+     * @param timeout maximum time to wait
+     * @param unit time unit of the timeout
+     * @return true if all changes were delivered, false if the timeout expired first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitDelivery(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ListenerQueue queue : new ArrayList<>(queues.values())) {
+            if (!queue.awaitIdle(deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops delivering changes. Changes queued, or broadcast later, are not delivered.
+     */
+    public void close() {
+        executor.shutdownNow();
+        queues.values().forEach(ListenerQueue::discard);
+        queues.clear();
+    }
+
+    /**
+     * Removes the changes that cancel out: an addition followed by a removal of the same axiom,
+     * import or ontology annotation to the same ontology, or a removal followed by an addition.
+     * Only applied changes are broadcast, so additions and removals of the same item to the same
+     * ontology alternate.
+     *
+     * @param changes changes, in the order they were applied
+     * @return the changes that do not cancel out, in the same order
+     */
+    public static List<OWLOntologyChange> coalesce(List<? extends OWLOntologyChange> changes) {
+        OWLOntologyChange[] kept = changes.toArray(new OWLOntologyChange[changes.size()]);
+        // ontology ids, and so ontology hash codes, can change in the list
+        Map<OWLOntology, Map<Object, Integer>> last = new IdentityHashMap<>();
+        for (int i = 0; i < kept.length; i++) {
+            OWLOntologyChange change = kept[i];
+            if (change instanceof SetOntologyID) {
+                continue;
+            }
+            Map<Object, Integer> items = last.computeIfAbsent(change.getOntology(),
+                o -> new HashMap<>());
+            Object item = change.getChangeData().getItem();
+            Integer previous = items.remove(item);
+            if (previous != null && isAddition(kept[previous.intValue()]) != isAddition(change)) {
+                kept[previous.intValue()] = null;
+                kept[i] = null;
+            } else {
+                items.put(item, Integer.valueOf(i));
+            }
+        }
+        List<OWLOntologyChange> list = new ArrayList<>();
+        Arrays.stream(kept).filter(Objects::nonNull).forEach(list::add);
+        return list;
+    }
+
+    private static boolean isAddition(OWLOntologyChange change) {
+        return change instanceof AddAxiom || change instanceof AddImport
+            || change instanceof AddOntologyAnnotation;
+    }
+
+    private static final class Batch {
+
+        final List<OWLOntologyChange> changes;
+        final long broadcastNanos;
+
+        Batch(List<OWLOntologyChange> changes, long broadcastNanos) {
+            this.changes = changes;
+            this.broadcastNanos = broadcastNanos;
+        }
+    }
+
+    /**
+     * The queue of a listener. All fields are guarded by the queue monitor; at most one delivery
+     * task runs for a queue at any time, so the listener receives the changes in order.
+     */
+    private final class ListenerQueue {
+
+        private final OWLOntologyChangeListener listener;
+        private final Deque<Batch> batches = new ArrayDeque<>();
+        private int queuedChanges;
+        private boolean scheduled;
+        private boolean discarded;
+        /** Changes dropped since the last resync; positive if a resync is needed. */
+        private long unsynchronized;
+        private long deliveringChanges;
+        private long deliveringSince;
+        private long delivered;
+        private long dropped;
+        private long coalesced;
+
+        ListenerQueue(OWLOntologyChangeListener listener) {
+            this.listener = listener;
+        }
+
+        synchronized void offer(List<OWLOntologyChange> changes) {
+            long now = System.nanoTime();
+            while (!discarded && batches.size() >= capacity) {
+                if (backpressure == Backpressure.COALESCE) {
+                    List<OWLOntologyChange> merged = new ArrayList<>(queuedChanges);
+                    long oldest = batches.getFirst().broadcastNanos;
+                    batches.forEach(b -> merged.addAll(b.changes));
+                    if (capacity == 1) {
+                        merged.addAll(changes);
+                    }
+                    List<OWLOntologyChange> net = coalesce(merged);
+                    coalesced += merged.size() - net.size();
+                    batches.clear();
+                    batches.add(new Batch(net, oldest));
+                    queuedChanges = net.size();
+                    if (capacity == 1) {
+                        return;
+                    }
+                } else if (backpressure == Backpressure.BLOCK) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop(changes);
+                        return;
+                    }
+                } else {
+                    drop(changes);
+                    return;
+                }
+            }
+            if (discarded) {
+                return;
+            }
+            batches.add(new Batch(changes, now));
+            queuedChanges += changes.size();
+            schedule();
+        }
+
+        private void drop(List<OWLOntologyChange> changes) {
+            long count = queuedChanges + changes.size();
+            batches.clear();
+            queuedChanges = 0;
+            dropped += count;
+            unsynchronized += count;
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled) {
+                scheduled = true;
+                executor.execute(this::deliver);
+            }
+        }
+
+        void deliver() {
+            while (true) {
+                List<OWLOntologyChange> changes = new ArrayList<>();
+                long missed;
+                synchronized (this) {
+                    if (discarded || batches.isEmpty() && unsynchronized == 0) {
+                        scheduled = false;
+                        notifyAll();
+                        return;
+                    }
+                    missed = unsynchronized;
+                    unsynchronized = 0;
+                    deliveringSince = batches.isEmpty() ? 0 : batches.getFirst().broadcastNanos;
+                    batches.forEach(b -> changes.addAll(b.changes));
+                    deliveringChanges = queuedChanges;
+                    batches.clear();
+                    queuedChanges = 0;
+                    // writers waiting for room can go on
+                    notifyAll();
+                }
+                List<OWLOntologyChange> toDeliver = coalesce(changes);
+                try {
+                    if (missed > 0) {
+                        resyncHandler.resync(listener, missed);
+                    }
+                    if (!toDeliver.isEmpty()) {
+                        listener.ontologiesChanged(toDeliver);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Listener {} failed to handle changes: {}", listener,
+                        e.getMessage(), e);
+                }
+                synchronized (this) {
+                    delivered += toDeliver.size();
+                    coalesced += changes.size() - toDeliver.size();
+                    deliveringChanges = 0;
+                    deliveringSince = 0;
+                }
+            }
+        }
+
+        synchronized Lag lag() {
+            long oldest = deliveringSince;
+            if (oldest == 0 && !batches.isEmpty()) {
+                oldest = batches.getFirst().broadcastNanos;
+            }
+            long delay = oldest == 0 ? 0 : System.nanoTime() - oldest;
+            return new Lag((int) (queuedChanges + deliveringChanges), delay, delivered, dropped,
+                coalesced);
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            batches.clear();
+            queuedChanges = 0;
+            notifyAll();
+        }
+
+        synchronized boolean awaitIdle(long deadline) throws InterruptedException {
+            while (scheduled && !discarded) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -97,6 +98,22 @@ public interface OWLOntology extends OWLObject, HasAnnotations, HasDirectImports
         return ChangeApplied.UNSUCCESSFULLY;
     }
 
+    /**
+     * Applies changes to this ontology directly, with the same result as calling
+     * {@link #applyDirectChange(OWLOntologyChange)} for each change in order. Implementations can
+     * apply runs of axiom additions or removals in one batch. As for single changes, ontology ID
+     * changes should be applied through the manager.
+     *
+     * @param changes the changes to apply
+     * @return the result of each change, in the same order
+     * @since 5.5.1
+     */
+    default List<ChangeApplied> applyDirectChanges(List<? extends OWLOntologyChange> changes) {
+        List<ChangeApplied> results = new ArrayList<>(changes.size());
+        changes.forEach(c -> results.add(applyDirectChange(c)));
+        return results;
+    }
+
     @Override
     default ChangeDetails applyChangesAndGetDetails(List<? extends OWLOntologyChange> changes) {
         return getOWLOntologyManager().applyChangesAndGetDetails(changes);
@@ -142,6 +159,27 @@ public interface OWLOntology extends OWLObject, HasAnnotations, HasDirectImports
         return removeAxioms(Arrays.asList(axioms));
     }
 
+    /**
+     * Starts a bulk load. Axioms added after this call are stored, but the indexes used to answer
+     * queries are built in one pass when {@link #endBulkLoad()} is called, or when a query needs
+     * them first. Implementations that do not support bulk loading ignore this call.
+     *
+     * @since 5.5.1
+     */
+    default void beginBulkLoad() {
+        // no deferred indexing by default
+    }
+
+    /**
+     * Ends a bulk load started with {@link #beginBulkLoad()}, building the indexes for all the
+     * axioms added since then.
+     *
+     * @since 5.5.1
+     */
+    default void endBulkLoad() {
+        // no deferred indexing by default
+    }
+
     /**
      * accept for named object visitor
      *
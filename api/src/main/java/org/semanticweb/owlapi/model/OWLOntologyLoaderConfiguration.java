@@ -16,18 +16,24 @@ import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ACCEP
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ALLOW_DUPLICATES_IN_CONSTRUCT_SETS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.AUTHORIZATION_VALUE;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNED_PARSERS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BULK_LOAD;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CONNECTION_TIMEOUT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ENTITY_EXPANSION_LIMIT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.FOLLOW_REDIRECTS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IMPORTS_LOADING_THREADS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INTERNING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_ANNOTATIONS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_IMPORT_HANDLING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_ONTOLOGY_HEADER_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSE_WITH_STRICT_CONFIGURATION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIORITY_COLLECTION_SORTING;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPAIR_ILLEGAL_PUNNINGS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPORT_STACK_TRACES;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RETRIES_TO_ATTEMPT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SKIP_MODULE_ANNOTATIONS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_SPILL_LIMIT;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_TRANSLATION;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TREAT_DUBLINCORE_AS_BUILTIN;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TRIM_TO_SIZE;
 
@@ -547,4 +553,159 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         configuration.overrides.put(ALLOW_DUPLICATES_IN_CONSTRUCT_SETS, Boolean.valueOf(value));
         return configuration;
     }
+
+    /**
+     * @return number of threads used to load the imports closure of an ontology. 1 means imports
+     *         are loaded one after another on the loading thread.
+     */
+    public int getImportsLoadingThreads() {
+        return IMPORTS_LOADING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * Set the number of threads used to load imports. With more than one thread, the imports
+     * requested while parsing an ontology are fetched and parsed concurrently on a bounded
+     * executor; the loaded ontologies are then added to the manager in the order their imports
+     * declarations were encountered, so the final manager state does not depend on scheduling.
+     * Parsers do not see the content of imported ontologies while parsing in this mode; if a
+     * document with imports turns out to be in a format that relies on imported declarations for
+     * typing (RDF based formats, Manchester syntax), the ontology is loaded again sequentially.
+     *
+     * @param threads number of threads
+     * @return A {@code OWLOntologyLoaderConfiguration} with the imports loading threads set to the
+     *         new value.
+     */
+    public OWLOntologyLoaderConfiguration setImportsLoadingThreads(int threads) {
+        if (getImportsLoadingThreads() == threads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(IMPORTS_LOADING_THREADS, Integer.valueOf(threads));
+        return configuration;
+    }
+
+    /**
+     * @return number of threads used by parsers that can split a document into independent
+     *         chunks. 1 means documents are parsed sequentially.
+     */
+    public int getParsingThreads() {
+        return PARSING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * Set the number of threads used by parsers that can split a document into independent chunks,
+     * such as the functional syntax parser. Axioms are still added to the ontology in document
+     * order.
+     *
+     * @param threads number of threads
+     * @return A {@code OWLOntologyLoaderConfiguration} with the parsing threads set to the new
+     *         value.
+     */
+    public OWLOntologyLoaderConfiguration setParsingThreads(int threads) {
+        if (getParsingThreads() == threads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(PARSING_THREADS, Integer.valueOf(threads));
+        return configuration;
+    }
+
+    /**
+     * @return true if ontologies being loaded should defer building their indexes until parsing
+     *         is complete
+     */
+    public boolean shouldBulkLoad() {
+        return BULK_LOAD.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * Set whether ontologies being loaded should be filled in bulk load mode: axioms are stored as
+     * they are parsed, and the indexes are built in one pass once parsing is complete.
+     *
+     * @param value true to defer indexing until parsing is complete
+     * @return A {@code OWLOntologyLoaderConfiguration} with the bulk load flag set to the new
+     *         value.
+     */
+    public OWLOntologyLoaderConfiguration setBulkLoad(boolean value) {
+        if (shouldBulkLoad() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(BULK_LOAD, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @return how data factories created with this configuration reuse entities and annotations
+     */
+    public InterningStrategy getInterningStrategy() {
+        return INTERNING_STRATEGY.getValue(InterningStrategy.class, overrides);
+    }
+
+    /**
+     * Set how data factories created with this configuration reuse entities and annotations. The
+     * strategy is read when a data factory is created.
+     *
+     * @param strategy interning strategy
+     * @return A {@code OWLOntologyLoaderConfiguration} with the interning strategy set to the new
+     *         value.
+     */
+    public OWLOntologyLoaderConfiguration setInterningStrategy(InterningStrategy strategy) {
+        if (getInterningStrategy() == strategy) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(INTERNING_STRATEGY, strategy);
+        return configuration;
+    }
+
+    /**
+     * @return true if RDF/XML documents should be translated while they are parsed
+     */
+    public boolean shouldStreamRDFTranslation() {
+        return STREAMING_RDF_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * Set whether RDF/XML documents should be translated while they are parsed. Triples are
+     * translated and released as soon as the description of a top level subject, together with
+     * the anonymous nodes that follow it, is complete. This is only correct for documents that
+     * declare entities before using them, such as the documents written by the RDF/XML storer.
+     *
+     * @param value true to translate while parsing
+     * @return A {@code OWLOntologyLoaderConfiguration} with the streaming translation flag set to
+     *         the new value.
+     */
+    public OWLOntologyLoaderConfiguration setStreamingRDFTranslation(boolean value) {
+        if (shouldStreamRDFTranslation() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(STREAMING_RDF_TRANSLATION, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @return maximum number of subjects kept aside during streaming RDF/XML translation
+     */
+    public int getStreamingRDFSpillLimit() {
+        return STREAMING_RDF_SPILL_LIMIT.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * Set the maximum number of subjects kept aside during streaming RDF/XML translation because
+     * they refer to blank nodes that have not been described yet. Subjects beyond the limit are
+     * left to the translation at the end of the document.
+     *
+     * @param limit maximum number of subjects kept aside
+     * @return A {@code OWLOntologyLoaderConfiguration} with the spill limit set to the new value.
+     */
+    public OWLOntologyLoaderConfiguration setStreamingRDFSpillLimit(int limit) {
+        if (getStreamingRDFSpillLimit() == limit) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(STREAMING_RDF_SPILL_LIMIT, Integer.valueOf(limit));
+        return configuration;
+    }
 }
@@ -30,6 +30,7 @@ public class OWLOntologyWriterConfiguration implements Serializable {
     private boolean bannersEnabled = true;
     private int indentSize = 4;
     private boolean outputNamedGraphIRI = false;
+    private int renderingThreads = 1;
 
     private OWLOntologyWriterConfiguration copy() {
         OWLOntologyWriterConfiguration toReturn = new OWLOntologyWriterConfiguration();
@@ -39,6 +40,9 @@ public class OWLOntologyWriterConfiguration implements Serializable {
         toReturn.remapIds = remapIds;
         toReturn.saveIds = saveIds;
         toReturn.outputNamedGraphIRI = outputNamedGraphIRI;
+        toReturn.bannersEnabled = bannersEnabled;
+        toReturn.indentSize = indentSize;
+        toReturn.renderingThreads = renderingThreads;
         return toReturn;
     }
 
@@ -201,4 +205,26 @@ public class OWLOntologyWriterConfiguration implements Serializable {
     public boolean shouldOutputNamedGraphIRI() {
         return outputNamedGraphIRI;
     }
+
+    /**
+     * @param threads number of threads used by storers that can render entity frames
+     *        independently; 1 means ontologies are rendered sequentially. The output does not
+     *        depend on this setting.
+     * @return new config object
+     */
+    public OWLOntologyWriterConfiguration withRenderingThreads(int threads) {
+        if (renderingThreads == threads) {
+            return this;
+        }
+        OWLOntologyWriterConfiguration copy = copy();
+        copy.renderingThreads = threads;
+        return copy;
+    }
+
+    /**
+     * @return number of threads used to render ontologies
+     */
+    public int getRenderingThreads() {
+        return renderingThreads;
+    }
 }
@@ -13,24 +13,33 @@
 package org.semanticweb.owlapi.model;
 
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ACCEPT_HTTP_COMPRESSION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.AXIOM_INDEX_BACKEND;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNED_PARSERS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BULK_LOAD;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNERS_ENABLED;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CONNECTION_TIMEOUT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.FOLLOW_REDIRECTS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IMPORTS_LOADING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INDENTING;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INDENT_SIZE;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INTERNING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LABELS_AS_BANNER;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_ANNOTATIONS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOCK_FREE_READS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_IMPORT_HANDLING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_ONTOLOGY_HEADER_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.OUTPUT_NAMED_GRAPH_IRI;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSE_WITH_STRICT_CONFIGURATION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIORITY_COLLECTION_SORTING;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REMAP_IDS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RENDERING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPAIR_ILLEGAL_PUNNINGS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPORT_STACK_TRACES;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RETRIES_TO_ATTEMPT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SAVE_IDS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_SPILL_LIMIT;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_TRANSLATION;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TREAT_DUBLINCORE_AS_BUILTIN;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.USE_NAMESPACE_ENTITIES;
 
@@ -328,6 +337,144 @@ public class OntologyConfigurator implements Serializable {
         return this;
     }
 
+    /**
+     * @return the data structures new ontologies will use to index their axioms
+     */
+    public AxiomIndexBackend getAxiomIndexBackend() {
+        return AXIOM_INDEX_BACKEND.getValue(AxiomIndexBackend.class, overrides);
+    }
+
+    /**
+     * @param backend the data structures new ontologies should use to index their axioms. Existing
+     *        ontologies are not affected.
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withAxiomIndexBackend(AxiomIndexBackend backend) {
+        overrides.put(AXIOM_INDEX_BACKEND, backend);
+        return this;
+    }
+
+    /**
+     * @return true if concurrent ontologies should answer reads from immutable snapshots instead of
+     *         taking the read lock
+     */
+    public boolean shouldUseLockFreeReads() {
+        return LOCK_FREE_READS.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if new concurrent ontologies should answer reads from immutable snapshots
+     *        instead of taking the read lock. Existing ontologies are not affected.
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withLockFreeReads(boolean b) {
+        overrides.put(LOCK_FREE_READS, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return number of threads used to load the imports closure of an ontology
+     */
+    public int getImportsLoadingThreads() {
+        return IMPORTS_LOADING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads number of threads used to load the imports closure of an ontology; values
+     *        greater than 1 fetch and parse independent imports concurrently.
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withImportsLoadingThreads(int threads) {
+        overrides.put(IMPORTS_LOADING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /**
+     * @return number of threads used by parsers that can split a document into independent chunks
+     */
+    public int getParsingThreads() {
+        return PARSING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads number of threads used by parsers that can split a document into independent
+     *        chunks; 1 means documents are parsed sequentially.
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withParsingThreads(int threads) {
+        overrides.put(PARSING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /**
+     * @return true if ontologies being loaded should defer building their indexes until parsing
+     *         is complete
+     */
+    public boolean shouldBulkLoad() {
+        return BULK_LOAD.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if ontologies being loaded should defer building their indexes until parsing
+     *        is complete
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withBulkLoad(boolean b) {
+        overrides.put(BULK_LOAD, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return how data factories created from this configuration reuse entities and annotations
+     */
+    public InterningStrategy getInterningStrategy() {
+        return INTERNING_STRATEGY.getValue(InterningStrategy.class, overrides);
+    }
+
+    /**
+     * @param strategy how data factories created from this configuration should reuse entities
+     *        and annotations. Existing data factories are not affected.
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withInterningStrategy(InterningStrategy strategy) {
+        overrides.put(INTERNING_STRATEGY, strategy);
+        return this;
+    }
+
+    /**
+     * @return true if RDF/XML documents should be translated while they are parsed
+     */
+    public boolean shouldStreamRDFTranslation() {
+        return STREAMING_RDF_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if RDF/XML documents that declare entities before use should be translated
+     *        while they are parsed
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withStreamingRDFTranslation(boolean b) {
+        overrides.put(STREAMING_RDF_TRANSLATION, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return maximum number of subjects kept aside during streaming RDF/XML translation
+     */
+    public int getStreamingRDFSpillLimit() {
+        return STREAMING_RDF_SPILL_LIMIT.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param limit maximum number of subjects kept aside during streaming RDF/XML translation
+     *        because they refer to blank nodes that have not been described yet
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator withStreamingRDFSpillLimit(int limit) {
+        overrides.put(STREAMING_RDF_SPILL_LIMIT, Integer.valueOf(limit));
+        return this;
+    }
+
     /**
      * @return a new OWLOntologyLoaderConfiguration from the builder current settings
      */
@@ -345,7 +492,13 @@ public class OntologyConfigurator implements Serializable {
             .setStrict(shouldParseWithStrictConfiguration())
             .setTreatDublinCoreAsBuiltIn(shouldTreatDublinCoreAsBuiltin())
             .setBannedParsers(getBannedParsers())
-            .setRepairIllegalPunnings(shouldRepairIllegalPunnings());
+            .setRepairIllegalPunnings(shouldRepairIllegalPunnings())
+            .setImportsLoadingThreads(getImportsLoadingThreads())
+            .setParsingThreads(getParsingThreads())
+            .setBulkLoad(shouldBulkLoad())
+            .setInterningStrategy(getInterningStrategy())
+            .setStreamingRDFTranslation(shouldStreamRDFTranslation())
+            .setStreamingRDFSpillLimit(getStreamingRDFSpillLimit());
     }
 
     /**
@@ -477,6 +630,23 @@ public class OntologyConfigurator implements Serializable {
         return OUTPUT_NAMED_GRAPH_IRI.getValue(Boolean.class, overrides).booleanValue();
     }
 
+    /**
+     * @param threads number of threads used by storers that can render entity frames
+     *        independently; 1 means ontologies are rendered sequentially
+     * @return new config object
+     */
+    public OntologyConfigurator withRenderingThreads(int threads) {
+        overrides.put(RENDERING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /**
+     * @return number of threads used to render ontologies
+     */
+    public int getRenderingThreads() {
+        return RENDERING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
     /**
      * @return a new OWLOntologyWriterConfiguration from the builder current settings
      */
@@ -487,6 +657,7 @@ public class OntologyConfigurator implements Serializable {
             .withSaveIdsForAllAnonymousIndividuals(shouldSaveIds())
             .withUseNamespaceEntities(shouldUseNamespaceEntities())
             .withBannersEnabled(shouldUseBanners())
-            .withNamedGraphIRIEnabled(shouldOutputNamedGraphIRI());
+            .withNamedGraphIRIEnabled(shouldOutputNamedGraphIRI())
+            .withRenderingThreads(getRenderingThreads());
     }
 }
@@ -8,7 +8,9 @@ import java.util.Properties;
 
 import javax.annotation.Nullable;
 
+import org.semanticweb.owlapi.model.AxiomIndexBackend;
 import org.semanticweb.owlapi.model.ByName;
+import org.semanticweb.owlapi.model.InterningStrategy;
 import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
 import org.semanticweb.owlapi.model.MissingOntologyHeaderStrategy;
 import org.semanticweb.owlapi.model.PriorityCollectionSorting;
@@ -101,7 +103,53 @@ public enum ConfigurationOptions {
      * graph IRI can be set independently
      * or overridden with 
      * {@code OWLDocumentFormat::setParameter("namedGraphOverride", "desired value")}.*/
-    OUTPUT_NAMED_GRAPH_IRI              (Boolean.FALSE);
+    OUTPUT_NAMED_GRAPH_IRI              (Boolean.FALSE),
+    /** Data structures used to index
+     * axioms in new ontologies. */
+    AXIOM_INDEX_BACKEND                 (AxiomIndexBackend.HASH),
+    /** True if concurrent ontologies
+     * should answer reads from immutable
+     * snapshots rather than locking. */
+    LOCK_FREE_READS                     (Boolean.FALSE),
+    /** Number of threads used to load
+     * the imports closure of an ontology.
+     * 1 means imports are loaded one
+     * after another on the loading thread. */
+    IMPORTS_LOADING_THREADS             (Integer.valueOf(1)),
+    /** Number of threads used by parsers
+     * that can split a document into
+     * independent chunks. 1 means
+     * documents are parsed sequentially. */
+    PARSING_THREADS                     (Integer.valueOf(1)),
+    /** True if axioms added while a
+     * document is parsed should be indexed
+     * in one pass after parsing. */
+    BULK_LOAD                           (Boolean.FALSE),
+    /** How data factories reuse the
+     * entities and annotations they
+     * create. */
+    INTERNING_STRATEGY                  (InterningStrategy.SHARED),
+    /** True if RDF/XML documents that
+     * declare entities before use should
+     * be translated while they are parsed. */
+    STREAMING_RDF_TRANSLATION           (Boolean.FALSE),
+    /** Maximum number of subjects kept
+     * aside while streaming RDF/XML because
+     * they refer to blank nodes not yet
+     * described. */
+    STREAMING_RDF_SPILL_LIMIT           (Integer.valueOf(1000)),
+    /** Number of threads used by
+     * storers that can render entity
+     * frames independently. 1 means
+     * ontologies are rendered sequentially. */
+    RENDERING_THREADS                   (Integer.valueOf(1)),
+    /** True if axioms should keep their
+     * signature, once computed, in a
+     * sorted array of their own rather
+     * than in the shared signature caches.
+     * Read once, from system properties or
+     * owlapi.properties. */
+    EMBEDDED_SIGNATURES                 (Boolean.TRUE);
     //@formatter:on
     private static final String PREFIX =
         "org.semanticweb.owlapi.model.parameters.ConfigurationOptions.";
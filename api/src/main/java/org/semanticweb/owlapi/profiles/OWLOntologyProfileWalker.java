@@ -53,6 +53,15 @@ public class OWLOntologyProfileWalker extends OWLOntologyWalker {
             super(owlObjectWalker);
         }
 
+        /**
+         * Visits an ontology and its annotations, but not its axioms.
+         *
+         * @param ontology ontology to visit
+         */
+        void visitHeader(OWLOntology ontology) {
+            process(ontology);
+        }
+
         @Override
         public void visit(OWLAnnotationAssertionAxiom axiom) {
             process(axiom);
@@ -0,0 +1,222 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * A profile checker that checks the axioms of the imports closure in a fork join pool, with a
+ * {@link ProfileVisitor} for each thread. Violations are passed to a callback as soon as they are
+ * found, and the check can stop after a number of violations. The violations found are the same
+ * as those in the report of the profile, but their order depends on the scheduling of the threads.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class ParallelProfileChecker {
+
+    private final Profiles profile;
+    private final List<Profiles> profiles;
+    private final int threads;
+
+    /**
+     * @param profile profile to check
+     */
+    public ParallelProfileChecker(Profiles profile) {
+        this(profile, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param profile profile to check
+     * @param threads number of threads to use; 1 means the check runs on the calling thread
+     */
+    public ParallelProfileChecker(Profiles profile, int threads) {
+        this.profile = checkNotNull(profile, "profile cannot be null");
+        profiles = checks(profile);
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * @param profile profile
+     * @return the checks done by the profile checker for the profile
+     */
+    private static List<Profiles> checks(Profiles profile) {
+        switch (profile) {
+            case OWL2_FULL:
+                return Collections.emptyList();
+            case OWL2_DL:
+                return Collections.singletonList(Profiles.OWL2_DL);
+            case OWL2_EL:
+            case OWL2_QL:
+            case OWL2_RL:
+            default:
+                return Arrays.asList(Profiles.OWL2_DL, profile);
+        }
+    }
+
+    /**
+     * @param ontology ontology to check, with its imports closure
+     * @return a report including all violations
+     */
+    public OWLProfileReport checkOntology(OWLOntology ontology) {
+        List<OWLProfileViolation> violations = new ArrayList<>();
+        check(ontology, violations::add, Integer.MAX_VALUE);
+        return new OWLProfileReport(profile.getOWLProfile(), violations);
+    }
+
+    /**
+     * @param ontology ontology to check, with its imports closure
+     * @return true if the ontology is in the profile; the check stops at the first violation
+     */
+    public boolean isInProfile(OWLOntology ontology) {
+        List<OWLProfileViolation> violations = new ArrayList<>(1);
+        return check(ontology, violations::add, 1) == 0;
+    }
+
+    /**
+     * Checks an ontology and its imports closure, stopping after a number of violations. The
+     * callback is called by one thread at a time, so it does not need to be thread safe.
+     *
+     * @param ontology ontology to check, with its imports closure
+     * @param callback callback for the violations found
+     * @param limit maximum number of violations to pass to the callback
+     * @return number of violations passed to the callback
+     */
+    public int check(OWLOntology ontology, Consumer<OWLProfileViolation> callback, int limit) {
+        checkNotNull(ontology, "ontology cannot be null");
+        Sink sink = new Sink(checkNotNull(callback, "callback cannot be null"), limit);
+        List<OWLOntology> closure = asList(ontology.importsClosure());
+        if (threads == 1) {
+            Worker worker = new Worker(sink);
+            for (OWLOntology o : closure) {
+                worker.header(o);
+                o.axioms().filter(ax -> !sink.isFull()).forEach(ax -> worker.check(o, ax));
+            }
+            return sink.count;
+        }
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> new Worker(sink));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (OWLOntology o : closure) {
+                workers.get().header(o);
+                List<OWLAxiom> axioms = asList(o.axioms());
+                pool.submit(() -> axioms.parallelStream().filter(ax -> !sink.isFull())
+                    .forEach(ax -> workers.get().check(o, ax))).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return sink.count;
+    }
+
+    /**
+     * Collection passed to the profile visitors, which sends the violations added to it to the
+     * callback until the limit is reached.
+     */
+    private static class Sink extends AbstractCollection<OWLProfileViolation> {
+
+        private final Consumer<OWLProfileViolation> callback;
+        private final int limit;
+        private int count = 0;
+        private volatile boolean full;
+
+        Sink(Consumer<OWLProfileViolation> callback, int limit) {
+            this.callback = callback;
+            this.limit = limit;
+            full = limit <= 0;
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
+        @Override
+        public synchronized boolean add(OWLProfileViolation e) {
+            if (full) {
+                return false;
+            }
+            count++;
+            full = count >= limit;
+            callback.accept(e);
+            return true;
+        }
+
+        @Override
+        public Iterator<OWLProfileViolation> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    /**
+     * Walks single axioms with its own profile visitor.
+     */
+    private class Worker extends OWLOntologyProfileWalker {
+
+        private final ProfileWalker structure = new ProfileWalker(this);
+        private final ProfileVisitor visitor;
+
+        Worker(Sink sink) {
+            super(Collections.emptyList());
+            setStructureWalker(structure);
+            visitor = new ProfileVisitor(this, sink, profiles);
+            setVisitor(visitor);
+        }
+
+        void header(OWLOntology o) {
+            ontology = o;
+            setAxiom(null);
+            structure.visitHeader(o);
+        }
+
+        void check(OWLOntology o, OWLAxiom axiom) {
+            if (ontology != o) {
+                // the property manager of the visitor depends on the ontology
+                ontology = o;
+                visitor.propertyManager = null;
+            }
+            axiom.accept(structure);
+        }
+    }
+}
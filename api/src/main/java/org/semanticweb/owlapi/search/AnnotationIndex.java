@@ -0,0 +1,323 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.search;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.optional;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologySetProvider;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+/**
+ * An index of the annotation assertion axioms in a set of ontologies, keyed by subject and
+ * annotation property. Unlike {@link EntitySearcher}, lookups do not stream and filter all the
+ * annotations of a subject, and the preferred value for a list of languages is computed once for
+ * each subject and property, until their annotations change.
+ * <p>
+ * The index listens to the managers of the indexed ontologies and is updated as annotation
+ * assertion axioms are added and removed. It is built again when the imports of an indexed ontology
+ * change, or when an ontology that is not indexed, but is now provided by the ontology set
+ * provider, changes. The {@link #dispose()} method must be called when the index is no longer
+ * used, so that it stops listening to changes.
+ *
+ * @since 5.5.1
+ */
+public class AnnotationIndex {
+
+    private final OWLOntologySetProvider ontologySetProvider;
+    private final Imports imports;
+    private final OWLOntologyChangeListener listener = this::handleChanges;
+    private volatile Map<OWLAnnotationSubject, Map<OWLAnnotationProperty, Entry>> index =
+        new ConcurrentHashMap<>();
+    private Set<OWLOntology> ontologies = Collections.emptySet();
+    private Set<OWLOntologyManager> managers = Collections.emptySet();
+
+    /**
+     * @param ontologySetProvider the provider of the ontologies to index
+     * @param imports whether the imports closures of the ontologies are indexed
+     */
+    public AnnotationIndex(OWLOntologySetProvider ontologySetProvider, Imports imports) {
+        this.ontologySetProvider =
+            checkNotNull(ontologySetProvider, "ontologySetProvider cannot be null");
+        this.imports = checkNotNull(imports, "imports cannot be null");
+        rebuild();
+    }
+
+    /**
+     * @return the provider of the indexed ontologies
+     */
+    public OWLOntologySetProvider getOntologySetProvider() {
+        return ontologySetProvider;
+    }
+
+    /**
+     * Builds the index again from the ontologies currently provided.
+     */
+    public synchronized void rebuild() {
+        Set<OWLOntology> current = indexedOntologies();
+        Map<OWLAnnotationSubject, Map<OWLAnnotationProperty, Entry>> map =
+            new ConcurrentHashMap<>();
+        current.stream().flatMap(o -> o.axioms(AxiomType.ANNOTATION_ASSERTION))
+            .collect(Collectors.groupingBy(OWLAnnotationAssertionAxiom::getSubject,
+                Collectors.groupingBy(OWLAnnotationAssertionAxiom::getProperty)))
+            .forEach((subject, byProperty) -> {
+                Map<OWLAnnotationProperty, Entry> entries = new HashMap<>();
+                byProperty.forEach((property, list) -> entries.put(property, new Entry(list)));
+                map.put(subject, entries);
+            });
+        Set<OWLOntologyManager> currentManagers =
+            asUnorderedSet(current.stream().map(OWLOntology::getOWLOntologyManager));
+        managers.stream().filter(man -> !currentManagers.contains(man))
+            .forEach(man -> man.removeOntologyChangeListener(listener));
+        currentManagers.stream().filter(man -> !managers.contains(man))
+            .forEach(man -> man.addOntologyChangeListener(listener));
+        ontologies = current;
+        managers = currentManagers;
+        index = map;
+    }
+
+    /**
+     * Stops listening to ontology changes.
+     */
+    public synchronized void dispose() {
+        managers.forEach(man -> man.removeOntologyChangeListener(listener));
+        managers = Collections.emptySet();
+    }
+
+    private Set<OWLOntology> indexedOntologies() {
+        return asUnorderedSet(ontologySetProvider.ontologies()
+            .flatMap(o -> imports == Imports.INCLUDED ? o.importsClosure() : Stream.of(o)));
+    }
+
+    synchronized void handleChanges(List<? extends OWLOntologyChange> changes) {
+        boolean rebuild = false;
+        boolean unknown = false;
+        for (OWLOntologyChange change : changes) {
+            if (!ontologies.contains(change.getOntology())) {
+                unknown = true;
+            } else if (change.isImportChange()) {
+                rebuild = true;
+            } else if (!rebuild && change.isAxiomChange()
+                && change.getAxiom() instanceof OWLAnnotationAssertionAxiom) {
+                OWLAnnotationAssertionAxiom ax = (OWLAnnotationAssertionAxiom) change.getAxiom();
+                if (change.isAddAxiom()) {
+                    update(ax, true);
+                } else if (ontologies.stream().noneMatch(o -> o.containsAxiom(ax))) {
+                    // the axiom may still be asserted in another indexed ontology
+                    update(ax, false);
+                }
+            }
+        }
+        if (rebuild || unknown && !ontologies.equals(indexedOntologies())) {
+            rebuild();
+        }
+    }
+
+    private void update(OWLAnnotationAssertionAxiom ax, boolean add) {
+        index.compute(ax.getSubject(), (subject, entries) -> {
+            Map<OWLAnnotationProperty, Entry> updated =
+                entries == null ? new HashMap<>() : new HashMap<>(entries);
+            Entry entry = updated.get(ax.getProperty());
+            Entry changed;
+            if (add) {
+                changed = entry == null ? new Entry(Collections.singletonList(ax)) : entry.add(ax);
+            } else {
+                changed = entry == null ? null : entry.remove(ax);
+            }
+            if (changed == null) {
+                updated.remove(ax.getProperty());
+            } else {
+                updated.put(ax.getProperty(), changed);
+            }
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    @Nullable
+    private Entry entry(OWLAnnotationSubject subject, OWLAnnotationProperty property) {
+        Map<OWLAnnotationProperty, Entry> entries = index.get(subject);
+        if (entries == null) {
+            return null;
+        }
+        return entries.get(property);
+    }
+
+    /**
+     * @param subject the annotation subject
+     * @param property the annotation property
+     * @return the annotation assertion axioms with the subject and property, sorted
+     */
+    public Stream<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxioms(
+        OWLAnnotationSubject subject, OWLAnnotationProperty property) {
+        Entry entry = entry(subject, property);
+        if (entry == null) {
+            return Stream.empty();
+        }
+        return entry.axioms.stream();
+    }
+
+    /**
+     * @param subject the annotation subject
+     * @param property the annotation property
+     * @return the annotations in the annotation assertion axioms with the subject and property
+     */
+    public Stream<OWLAnnotation> getAnnotationObjects(OWLAnnotationSubject subject,
+        OWLAnnotationProperty property) {
+        return getAnnotationAssertionAxioms(subject, property)
+            .map(OWLAnnotationAssertionAxiom::getAnnotation);
+    }
+
+    /**
+     * @param e entity
+     * @param property the annotation property
+     * @return the annotations in the annotation assertion axioms with the entity IRI as subject
+     *         and the property
+     */
+    public Stream<OWLAnnotation> getAnnotationObjects(OWLEntity e,
+        OWLAnnotationProperty property) {
+        return getAnnotationObjects(e.getIRI(), property);
+    }
+
+    /**
+     * Finds the preferred annotation value for a subject and property, as described in
+     * {@link #preferredValue(Collection, List)}. The result is cached until the annotations of the
+     * subject with the property change.
+     *
+     * @param subject the annotation subject
+     * @param property the annotation property
+     * @param preferredLanguages languages in order of preference; may be null or empty
+     * @return the preferred value, if any
+     */
+    public Optional<OWLAnnotationValue> getPreferredValue(OWLAnnotationSubject subject,
+        OWLAnnotationProperty property, @Nullable List<String> preferredLanguages) {
+        Entry entry = entry(subject, property);
+        if (entry == null) {
+            return emptyOptional();
+        }
+        List<String> languages =
+            preferredLanguages == null ? Collections.emptyList() : preferredLanguages;
+        Optional<OWLAnnotationValue> value = entry.preferredValues.get(languages);
+        if (value == null) {
+            value = preferredValue(entry.axioms, languages);
+            // the caller may change its list later
+            entry.preferredValues.putIfAbsent(new ArrayList<>(languages), value);
+        }
+        return value;
+    }
+
+    /**
+     * Selects the preferred value among the values of some annotation assertion axioms, in order.
+     * If no languages are given, the first literal is selected. Otherwise, the literal whose
+     * language appears first in the list is selected, and literals in other languages are ignored.
+     * IRI values are selected in place of literals whose language is not the first in the list;
+     * anonymous individuals are never selected.
+     *
+     * @param axioms annotation assertion axioms
+     * @param preferredLanguages languages in order of preference
+     * @return the preferred value, if any
+     */
+    public static Optional<OWLAnnotationValue> preferredValue(
+        Collection<OWLAnnotationAssertionAxiom> axioms, List<String> preferredLanguages) {
+        OWLAnnotationValue candidate = null;
+        int lastLangMatchIndex = Integer.MAX_VALUE;
+        for (OWLAnnotationAssertionAxiom ax : axioms) {
+            OWLAnnotationValue value = ax.getValue();
+            if (value instanceof OWLLiteral) {
+                if (preferredLanguages.isEmpty()) {
+                    return optional(value);
+                }
+                int index = preferredLanguages.indexOf(((OWLLiteral) value).getLang());
+                if (index >= 0 && index < lastLangMatchIndex) {
+                    lastLangMatchIndex = index;
+                    candidate = value;
+                }
+            } else if (value.isIRI()) {
+                candidate = value;
+            }
+            if (lastLangMatchIndex == 0) {
+                // a perfect match - no need to carry on search
+                break;
+            }
+        }
+        return optional(candidate);
+    }
+
+    /**
+     * The axioms for a subject and property. Entries are replaced rather than changed, so that
+     * lookups need no locking.
+     */
+    private static final class Entry {
+
+        final List<OWLAnnotationAssertionAxiom> axioms;
+        final Map<List<String>, Optional<OWLAnnotationValue>> preferredValues =
+            new ConcurrentHashMap<>();
+
+        Entry(List<OWLAnnotationAssertionAxiom> axioms) {
+            List<OWLAnnotationAssertionAxiom> sorted = new ArrayList<>(axioms);
+            sorted.sort(null);
+            for (int i = sorted.size() - 1; i > 0; i--) {
+                if (sorted.get(i).equals(sorted.get(i - 1))) {
+                    sorted.remove(i);
+                }
+            }
+            this.axioms = Collections.unmodifiableList(sorted);
+        }
+
+        Entry add(OWLAnnotationAssertionAxiom ax) {
+            if (axioms.contains(ax)) {
+                return this;
+            }
+            List<OWLAnnotationAssertionAxiom> list = new ArrayList<>(axioms);
+            list.add(ax);
+            return new Entry(list);
+        }
+
+        @Nullable
+        Entry remove(OWLAnnotationAssertionAxiom ax) {
+            if (!axioms.contains(ax)) {
+                return this;
+            }
+            List<OWLAnnotationAssertionAxiom> list = new ArrayList<>(axioms);
+            list.remove(ax);
+            return list.isEmpty() ? null : new Entry(list);
+        }
+    }
+}
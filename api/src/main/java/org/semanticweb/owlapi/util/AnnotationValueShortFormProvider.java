@@ -19,6 +19,7 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -26,12 +27,14 @@ import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologySetProvider;
+import org.semanticweb.owlapi.search.AnnotationIndex;
 
 /**
  * A short form provider that generates short forms based on entity annotation values. A list of
@@ -50,6 +53,8 @@ public class AnnotationValueShortFormProvider implements ShortFormProvider {
     private final IRIShortFormProvider alternateIRIShortFormProvider;
     private final List<OWLAnnotationProperty> annotationProperties;
     private final Map<OWLAnnotationProperty, List<String>> preferredLanguageMap;
+    @Nullable
+    private final AnnotationIndex annotationIndex;
     private StringAnnotationVisitor literalRenderer = new StringAnnotationVisitor();
 
     /**
@@ -130,10 +135,59 @@ public class AnnotationValueShortFormProvider implements ShortFormProvider {
             checkNotNull(annotationProperties, "annotationProperties cannot be null");
         this.preferredLanguageMap =
             checkNotNull(preferredLanguageMap, "preferredLanguageMap cannot be null");
+        annotationIndex = null;
+    }
+
+    /**
+     * Constructs a short form provider that looks up annotation values in an annotation index
+     * rather than in the ontologies. Values are selected as with the other constructors, and the
+     * selected value for an entity and annotation property is cached by the index until the
+     * annotations change.
+     * <p>
+     * The result can differ from the other constructors in two ways. The imports closures of the
+     * ontologies are only searched if the index was built with
+     * {@link org.semanticweb.owlapi.model.parameters.Imports#INCLUDED}, while the other
+     * constructors always search them. The values from all the ontologies are ranked in a
+     * single sorted order, while the other constructors rank the values of each ontology in the
+     * order the ontologies are provided; so, when several values are equally preferred and come
+     * from different ontologies, a different value can be selected.
+     *
+     * @param annotationIndex               index of the ontologies from which candidate
+     *                                      annotation axioms should be taken
+     * @param alternateShortFormProvider    short form provider
+     * @param alternateIRIShortFormProvider iri short form provider
+     * @param annotationProperties          annotation properties
+     * @param preferredLanguageMap          preferred language map
+     */
+    public AnnotationValueShortFormProvider(AnnotationIndex annotationIndex,
+        ShortFormProvider alternateShortFormProvider,
+        IRIShortFormProvider alternateIRIShortFormProvider,
+        List<OWLAnnotationProperty> annotationProperties,
+        Map<OWLAnnotationProperty, List<String>> preferredLanguageMap) {
+        this.annotationIndex = checkNotNull(annotationIndex, "annotationIndex cannot be null");
+        ontologySetProvider = annotationIndex.getOntologySetProvider();
+        this.alternateShortFormProvider =
+            checkNotNull(alternateShortFormProvider, "alternateShortFormProvider cannot be null");
+        this.alternateIRIShortFormProvider = checkNotNull(alternateIRIShortFormProvider,
+            "alternateIRIShortFormProvider cannot be null");
+        this.annotationProperties =
+            checkNotNull(annotationProperties, "annotationProperties cannot be null");
+        this.preferredLanguageMap =
+            checkNotNull(preferredLanguageMap, "preferredLanguageMap cannot be null");
     }
 
     @Override
     public String getShortForm(OWLEntity entity) {
+        if (annotationIndex != null) {
+            for (OWLAnnotationProperty prop : annotationProperties) {
+                Optional<OWLAnnotationValue> match = annotationIndex
+                    .getPreferredValue(entity.getIRI(), prop, preferredLanguageMap.get(prop));
+                if (match.isPresent()) {
+                    return getRendering(match.get());
+                }
+            }
+            return alternateShortFormProvider.getShortForm(entity);
+        }
         Stream<OWLOntology> onts = ontologySetProvider.ontologies();
         List<OWLAnnotationAssertionAxiom> flatMap = asList(
             onts.flatMap(o -> o.annotationAssertionAxioms(entity.getIRI(), INCLUDED).sorted()));
@@ -41,6 +41,7 @@ import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -159,6 +160,28 @@ public class DLExpressivityChecker implements OWLObjectVisitor {
         this.ontologies = new ArrayList<>(ontologies);
     }
 
+    /**
+     * @param ontologies ontologies
+     * @param constructs constructs found in the ontologies, before trimming
+     */
+    DLExpressivityChecker(Collection<OWLOntology> ontologies, Collection<Construct> constructs) {
+        this(ontologies);
+        this.constructs = new TreeSet<>();
+        constructs.forEach(this::addConstruct);
+    }
+
+    /**
+     * @param axiom axiom to check
+     * @return the constructs used by the axiom, before trimming
+     */
+    Set<Construct> constructs(OWLAxiom axiom) {
+        Set<Construct> found = new TreeSet<>();
+        DLExpressivityChecker checker = new DLExpressivityChecker(ontologies);
+        checker.constructs = found;
+        axiom.accept(checker);
+        return found;
+    }
+
     private static boolean isTop(OWLClassExpression classExpression) {
         return classExpression.isOWLThing();
     }
@@ -0,0 +1,214 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * Keeps the DL expressivity of a set of ontologies up to date as axioms are added and removed.
+ * Each construct has a count of the logical axioms of the ontologies that use it, so a change only
+ * requires the constructs of the changed axiom; the expressivity is recomputed from the constructs
+ * with a non zero count only when that set changes. The initial counts are computed in a fork join
+ * pool.
+ * <p>
+ * The tracker listens to the managers of the ontologies; the {@link #dispose()} method must be
+ * called when the tracker is no longer used, so that it stops listening to changes.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class DLExpressivityTracker {
+
+    private final List<OWLOntology> ontologies;
+    private final Set<OWLOntologyManager> managers;
+    private final DLExpressivityChecker constructFinder;
+    private final OWLOntologyChangeListener listener = this::handleChanges;
+    private final int[] counts = new int[Construct.values().length];
+    private DLExpressivityChecker checker;
+
+    /**
+     * @param ontologies ontologies to track; imported ontologies are not included unless listed
+     */
+    public DLExpressivityTracker(Collection<OWLOntology> ontologies) {
+        this(ontologies, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param ontologies ontologies to track; imported ontologies are not included unless listed
+     * @param threads number of threads to use for the initial count; 1 means the count runs on the
+     *        calling thread
+     */
+    public DLExpressivityTracker(Collection<OWLOntology> ontologies, int threads) {
+        this.ontologies = asList(checkNotNull(ontologies, "ontologies cannot be null").stream());
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        constructFinder = new DLExpressivityChecker(this.ontologies);
+        List<OWLAxiom> axioms =
+            asList(this.ontologies.stream().flatMap(OWLOntology::logicalAxioms));
+        int[] initial = threads == 1 ? count(axioms) : count(axioms, threads);
+        System.arraycopy(initial, 0, counts, 0, counts.length);
+        checker = snapshot();
+        managers = asUnorderedSet(this.ontologies.stream().map(OWLOntology::getOWLOntologyManager));
+        managers.forEach(man -> man.addOntologyChangeListener(listener));
+    }
+
+    private int[] count(List<OWLAxiom> axioms) {
+        int[] result = new int[counts.length];
+        axioms.forEach(ax -> add(result, ax));
+        return result;
+    }
+
+    private int[] count(List<OWLAxiom> axioms, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> axioms.parallelStream().collect(() -> new int[counts.length],
+                this::add, DLExpressivityTracker::merge)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void add(int[] result, OWLAxiom axiom) {
+        constructFinder.constructs(axiom).forEach(c -> result[c.ordinal()]++);
+    }
+
+    private static void merge(int[] result, int[] other) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] += other[i];
+        }
+    }
+
+    private DLExpressivityChecker snapshot() {
+        return new DLExpressivityChecker(ontologies, used());
+    }
+
+    private Set<Construct> used() {
+        Set<Construct> used = EnumSet.noneOf(Construct.class);
+        for (Construct c : Construct.values()) {
+            if (counts[c.ordinal()] > 0) {
+                used.add(c);
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Stops listening to ontology changes.
+     */
+    public synchronized void dispose() {
+        managers.forEach(man -> man.removeOntologyChangeListener(listener));
+    }
+
+    synchronized void handleChanges(List<? extends OWLOntologyChange> changes) {
+        boolean changed = false;
+        for (OWLOntologyChange change : changes) {
+            if (change.isAxiomChange() && change.getAxiom().isLogicalAxiom()
+                && ontologies.contains(change.getOntology())) {
+                int delta = change.isAddAxiom() ? 1 : -1;
+                for (Construct c : constructFinder.constructs(change.getAxiom())) {
+                    int before = counts[c.ordinal()];
+                    counts[c.ordinal()] += delta;
+                    changed |= before == 0 || counts[c.ordinal()] == 0;
+                }
+            }
+        }
+        if (changed) {
+            checker = snapshot();
+        }
+    }
+
+    /**
+     * @param c construct
+     * @return number of logical axioms in the tracked ontologies that use the construct; an axiom
+     *         in more than one ontology is counted once for each ontology
+     */
+    public synchronized int count(Construct c) {
+        return counts[checkNotNull(c, "c cannot be null").ordinal()];
+    }
+
+    /**
+     * @return ordered constructs
+     * @see DLExpressivityChecker#getConstructs()
+     */
+    public synchronized List<Construct> getConstructs() {
+        return checker.getConstructs();
+    }
+
+    /**
+     * @return DL name
+     * @see DLExpressivityChecker#getDescriptionLogicName()
+     */
+    public synchronized String getDescriptionLogicName() {
+        return checker.getDescriptionLogicName();
+    }
+
+    /**
+     * @return collection of Languages that include all constructs used in the ontologies
+     * @see DLExpressivityChecker#expressibleInLanguages()
+     */
+    public synchronized Collection<Languages> expressibleInLanguages() {
+        return checker.expressibleInLanguages();
+    }
+
+    /**
+     * @param l language to check
+     * @return true if l is minimal for the constructs found
+     * @see DLExpressivityChecker#minimal(Languages)
+     */
+    public synchronized boolean minimal(Languages l) {
+        return checker.minimal(l);
+    }
+
+    /**
+     * @param l language to check
+     * @return true if l is sufficient to express the ontologies
+     * @see DLExpressivityChecker#isWithin(Languages)
+     */
+    public synchronized boolean isWithin(Languages l) {
+        return checker.isWithin(l);
+    }
+
+    /**
+     * @param c construct to check
+     * @return true if the matching constructs are found
+     * @see DLExpressivityChecker#has(Construct)
+     */
+    public synchronized boolean has(Construct c) {
+        return checker.has(c);
+    }
+}
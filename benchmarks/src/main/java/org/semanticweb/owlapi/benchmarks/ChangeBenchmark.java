@@ -0,0 +1,73 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+
+/**
+ * Throughput of {@code addAxioms} and {@code removeAxioms}. Adding fills an empty ontology with
+ * all generated axioms; removing empties a full one. The ontology is rebuilt before each
+ * invocation, outside the measurement.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChangeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    @Param({"false", "true"})
+    public boolean concurrent;
+    private List<OWLAxiom> axioms;
+    private OWLOntologyManager manager;
+    private OWLOntology empty;
+    private OWLOntology full;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        manager = concurrent ? OWLManager.createConcurrentOWLOntologyManager()
+            : OWLManager.createOWLOntologyManager();
+        axioms = SyntheticOntologies.axioms(manager.getOWLDataFactory(), size, size);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws OWLOntologyCreationException {
+        manager.clearOntologies();
+        empty = manager.createOntology(IRI.create("urn:benchmark:", "empty"));
+        full = manager.createOntology(IRI.create("urn:benchmark:", "full"));
+        full.addAxioms(axioms);
+    }
+
+    @Benchmark
+    public ChangeApplied addAxioms() {
+        return empty.addAxioms(axioms);
+    }
+
+    @Benchmark
+    public ChangeApplied removeAxioms() {
+        return full.removeAxioms(axioms);
+    }
+}
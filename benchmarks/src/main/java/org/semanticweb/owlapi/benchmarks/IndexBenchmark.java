@@ -0,0 +1,94 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
+import static org.semanticweb.owlapi.model.parameters.Navigation.IN_SUB_POSITION;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.search.EntitySearcher;
+
+/**
+ * Latency of index backed lookups through {@code OWLAxiomIndex} and {@code EntitySearcher}. Each
+ * invocation performs one lookup per class in a fixed, randomly ordered sample.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndexBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    private OWLOntology ontology;
+    private OWLClass[] classes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        ontology = SyntheticOntologies.create(OWLManager.createOWLOntologyManager(), size, size);
+        classes = SyntheticOntologies.lookupClasses(ontology, size, size);
+        // initialise the lazy indexes outside the measurement
+        for (OWLClass c : classes) {
+            ontology.subClassAxiomsForSubClass(c).count();
+            ontology.axioms(OWLSubClassOfAxiom.class, c, EXCLUDED, IN_SUB_POSITION).count();
+            ontology.referencingAxioms(c).count();
+            EntitySearcher.getAnnotations(c, ontology).count();
+        }
+    }
+
+    @Benchmark
+    public void subClassAxiomsForSubClass(Blackhole bh) {
+        for (OWLClass c : classes) {
+            ontology.subClassAxiomsForSubClass(c).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void axiomsByType(Blackhole bh) {
+        for (OWLClass c : classes) {
+            ontology.axioms(OWLSubClassOfAxiom.class, c, EXCLUDED, IN_SUB_POSITION)
+                .forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void referencingAxioms(Blackhole bh) {
+        for (OWLClass c : classes) {
+            ontology.referencingAxioms(c).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void entitySearcherSuperClasses(Blackhole bh) {
+        for (OWLClass c : classes) {
+            EntitySearcher.getSuperClasses(c, ontology).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void entitySearcherAnnotations(Blackhole bh) {
+        for (OWLClass c : classes) {
+            EntitySearcher.getAnnotations(c, ontology).forEach(bh::consume);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Parsing throughput and latency for each supported syntax. The input is a synthetic ontology
+ * rendered once per trial; each invocation parses it into a fresh manager.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"RDFXML", "TURTLE", "FUNCTIONAL", "OWLXML", "MANCHESTER", "OBO"})
+    public Syntax syntax;
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    private String document;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager m = OWLManager.createOWLOntologyManager();
+        OWLOntology o = SyntheticOntologies.create(m, size, size);
+        StringDocumentTarget target = new StringDocumentTarget();
+        o.saveOntology(syntax.format(), target);
+        document = target.toString();
+    }
+
+    @Benchmark
+    public OWLOntology parse() throws OWLOntologyCreationException {
+        OWLOntologyManager m = OWLManager.createOWLOntologyManager();
+        return m.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(document, "urn:benchmark:parse", syntax.format(), null));
+    }
+}
@@ -0,0 +1,37 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.function.Supplier;
+
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+
+/**
+ * Syntaxes exercised by the parse and render benchmarks.
+ */
+public enum Syntax {
+    //@formatter:off
+    /** RDF/XML. */                RDFXML      (RDFXMLDocumentFormat::new),
+    /** Turtle. */                 TURTLE      (TurtleDocumentFormat::new),
+    /** Functional syntax. */      FUNCTIONAL  (FunctionalSyntaxDocumentFormat::new),
+    /** OWL/XML. */                OWLXML      (OWLXMLDocumentFormat::new),
+    /** Manchester syntax. */      MANCHESTER  (ManchesterSyntaxDocumentFormat::new),
+    /** OBO. */                    OBO         (OBODocumentFormat::new);
+    //@formatter:on
+    private final Supplier<OWLDocumentFormat> format;
+
+    Syntax(Supplier<OWLDocumentFormat> format) {
+        this.format = format;
+    }
+
+    /**
+     * @return a new format instance for this syntax
+     */
+    public OWLDocumentFormat format() {
+        return format.get();
+    }
+}
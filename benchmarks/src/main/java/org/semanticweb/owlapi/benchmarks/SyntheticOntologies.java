@@ -0,0 +1,112 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Generates ontologies of configurable size for benchmarks, so that no download is needed. The
+ * output only depends on size and seed: a class tree with labels and existential restrictions,
+ * object properties with a small hierarchy, and individuals with class and property assertions.
+ * Only constructs that every supported syntax, OBO included, can represent are used.
+ */
+public final class SyntheticOntologies {
+
+    /** Namespace of the generated entities. */
+    public static final String NS = "http://owlapi.sourceforge.net/benchmarks/synthetic#";
+    private static final int PROPERTIES = 20;
+
+    private SyntheticOntologies() {}
+
+    /**
+     * @param df data factory
+     * @param classes number of classes; the number of properties is fixed, individuals are half
+     *        the number of classes
+     * @param seed random seed
+     * @return axioms of the ontology, in generation order
+     */
+    public static List<OWLAxiom> axioms(OWLDataFactory df, int classes, long seed) {
+        Random r = new Random(seed);
+        List<OWLAxiom> axioms = new ArrayList<>();
+        List<OWLObjectProperty> properties = new ArrayList<>();
+        for (int i = 0; i < PROPERTIES; i++) {
+            OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS, "p" + i));
+            properties.add(p);
+            axioms.add(df.getOWLDeclarationAxiom(p));
+            axioms.add(df.getOWLAnnotationAssertionAxiom(p.getIRI(),
+                df.getRDFSLabel(df.getOWLLiteral("property " + i))));
+            if (i > 0) {
+                axioms.add(df.getOWLSubObjectPropertyOfAxiom(p, properties.get(r.nextInt(i))));
+            }
+        }
+        List<OWLClass> owlClasses = new ArrayList<>();
+        for (int i = 0; i < classes; i++) {
+            OWLClass c = df.getOWLClass(IRI.create(NS, "C" + i));
+            owlClasses.add(c);
+            axioms.add(df.getOWLDeclarationAxiom(c));
+            axioms.add(df.getOWLAnnotationAssertionAxiom(c.getIRI(),
+                df.getRDFSLabel(df.getOWLLiteral("class " + i))));
+            if (i > 0) {
+                axioms.add(df.getOWLSubClassOfAxiom(c, owlClasses.get(r.nextInt(i))));
+            }
+            if (i > 1 && r.nextInt(4) == 0) {
+                axioms.add(df.getOWLSubClassOfAxiom(c,
+                    df.getOWLObjectSomeValuesFrom(properties.get(r.nextInt(PROPERTIES)),
+                        owlClasses.get(r.nextInt(i)))));
+            }
+        }
+        List<OWLNamedIndividual> individuals = new ArrayList<>();
+        for (int i = 0; i < classes / 2; i++) {
+            OWLNamedIndividual ind = df.getOWLNamedIndividual(IRI.create(NS, "i" + i));
+            individuals.add(ind);
+            axioms.add(df.getOWLDeclarationAxiom(ind));
+            axioms.add(df.getOWLClassAssertionAxiom(owlClasses.get(r.nextInt(classes)), ind));
+            if (i > 0) {
+                axioms.add(df.getOWLObjectPropertyAssertionAxiom(
+                    properties.get(r.nextInt(PROPERTIES)), ind, individuals.get(r.nextInt(i))));
+            }
+        }
+        return axioms;
+    }
+
+    /**
+     * @param m manager to create the ontology with
+     * @param classes number of classes
+     * @param seed random seed
+     * @return new ontology
+     * @throws OWLOntologyCreationException if the ontology cannot be created
+     */
+    public static OWLOntology create(OWLOntologyManager m, int classes, long seed)
+        throws OWLOntologyCreationException {
+        OWLOntology o = m.createOntology(IRI.create("http://owlapi.sourceforge.net/benchmarks/",
+            "synthetic" + classes));
+        o.addAxioms(axioms(m.getOWLDataFactory(), classes, seed));
+        return o;
+    }
+
+    /**
+     * @param o ontology
+     * @param classes number of classes in the ontology
+     * @param seed random seed
+     * @return classes of the ontology in a random order, for lookups
+     */
+    public static OWLClass[] lookupClasses(OWLOntology o, int classes, long seed) {
+        Random r = new Random(seed);
+        OWLDataFactory df = o.getOWLOntologyManager().getOWLDataFactory();
+        OWLClass[] result = new OWLClass[Math.min(classes, 1024)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = df.getOWLClass(IRI.create(NS, "C" + r.nextInt(classes)));
+        }
+        return result;
+    }
+}
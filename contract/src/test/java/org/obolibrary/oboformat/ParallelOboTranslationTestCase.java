@@ -0,0 +1,96 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class ParallelOboTranslationTestCase extends TestBase {
+
+    // remote imports, and a file the parser rejects
+    private static final Set<String> SKIPPED = new HashSet<>(Arrays.asList("annotated_import.obo",
+        "import_test_main.obo", "writer_round_trip.obo", "fbbt_comment_test.obo"));
+
+    static Stream<String> oboFiles() {
+        return Arrays.stream(new File(RESOURCES, "obo").list())
+            .filter(f -> f.endsWith(".obo") && !SKIPPED.contains(f)).sorted();
+    }
+
+    private OWLOntology load(OWLOntologyDocumentSource source, int threads) {
+        OWLOntologyLoaderConfiguration conf = new OWLOntologyLoaderConfiguration()
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT)
+            .setParsingThreads(threads);
+        return loadFrom(source, conf);
+    }
+
+    private void assertSameTranslation(OWLOntologyDocumentSource source) {
+        OWLOntology sequential = load(source, 1);
+        OWLOntology parallel = load(source, 4);
+        assertEquals(sequential.getOntologyID(), parallel.getOntologyID());
+        assertEquals(asUnorderedSet(sequential.annotations()),
+            asUnorderedSet(parallel.annotations()));
+        assertEquals(asUnorderedSet(sequential.importsDeclarations()),
+            asUnorderedSet(parallel.importsDeclarations()));
+        assertEquals(asUnorderedSet(sequential.axioms()), asUnorderedSet(parallel.axioms()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("oboFiles")
+    void shouldTranslateAsSequentialTranslation(String fileName) {
+        File file = new File(new File(RESOURCES, "obo"), fileName);
+        assertSameTranslation(new FileDocumentSource(file));
+    }
+
+    @Test
+    void shouldTranslateTermsBeforeTypedefsAsSequentialTranslation() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("format-version: 1.2\nontology: test\ndefault-namespace: test\n"
+            + "subsetdef: test_slim \"Test slim\"\n\n");
+        int size = 2500;
+        for (int i = 0; i < size; i++) {
+            sb.append("[Term]\nid: TEST:").append(i).append("\nname: term ").append(i).append('\n');
+            if (i > 0) {
+                sb.append("is_a: TEST:").append(i / 2).append('\n');
+            }
+            if (i % 3 == 0) {
+                // shorthand relation, expanded through the xref of the typedef
+                sb.append("relationship: part_of TEST:").append((i + 7) % size).append('\n');
+            }
+            if (i % 5 == 0) {
+                sb.append("intersection_of: TEST:").append(i / 3).append('\n')
+                    .append("intersection_of: part_of TEST:").append(i / 5).append('\n');
+            }
+            if (i % 7 == 0) {
+                // metadata relation, translated as an annotation
+                sb.append("relationship: curated_by TEST:").append(i / 7).append('\n')
+                    .append("subset: test_slim\n");
+            }
+            if (i % 11 == 0) {
+                sb.append("alt_id: TEST:alt").append(i).append('\n');
+            }
+            sb.append('\n');
+        }
+        sb.append("[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\n"
+            + "is_transitive: true\n\n");
+        sb.append("[Typedef]\nid: curated_by\nname: curated by\nis_metadata_tag: true\n");
+        assertSameTranslation(new StringDocumentSource(sb.toString(), IRI.create("urn:test:obo"),
+            new OBODocumentFormat(), null));
+    }
+}
@@ -0,0 +1,180 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.obolibrary.obo2owl.OWLAPIObo2Owl;
+import org.obolibrary.obo2owl.OWLAPIOwl2Obo;
+import org.obolibrary.obo2owl.Obo2OWLConstants;
+import org.obolibrary.obo2owl.Obo2OWLConstants.Obo2OWLVocabulary;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.writer.OBOFormatWriter;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+
+class ParallelOwl2OboTestCase extends OboFormatTestBasics {
+
+    // remote imports, a file the parser rejects, and a file whose conversion changes the ontology
+    private static final Set<String> SKIPPED = new HashSet<>(Arrays.asList("annotated_import.obo",
+        "import_test_main.obo", "writer_round_trip.obo", "fbbt_comment_test.obo",
+        "logical-definition-view-relation-test.obo"));
+    private static final int SIZE = 2500;
+
+    static Stream<String> oboFiles() {
+        return Arrays.stream(new File(RESOURCES, "obo").list())
+            .filter(f -> f.endsWith(".obo") && !SKIPPED.contains(f)).sorted();
+    }
+
+    private static String synthetic() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("format-version: 1.2\nontology: test\ndefault-namespace: test\n"
+            + "subsetdef: test_slim \"Test slim\"\n\n");
+        for (int i = 0; i < SIZE; i++) {
+            sb.append("[Term]\nid: TEST:").append(i).append("\nname: term ").append(i).append('\n');
+            if (i > 0) {
+                sb.append("is_a: TEST:").append(i / 2).append('\n');
+            }
+            if (i % 3 == 0) {
+                sb.append("relationship: part_of TEST:").append((i + 7) % SIZE).append('\n');
+            }
+            if (i % 5 == 0) {
+                sb.append("intersection_of: TEST:").append(i / 3).append('\n')
+                    .append("intersection_of: part_of TEST:").append(i / 5).append('\n');
+            }
+            if (i % 7 == 0) {
+                sb.append("disjoint_from: TEST:").append(i + 1).append('\n')
+                    .append("subset: test_slim\n");
+            }
+            if (i % 11 == 0) {
+                sb.append("alt_id: TEST:alt").append(i).append('\n');
+            }
+            sb.append('\n');
+        }
+        sb.append("[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\n"
+            + "is_transitive: true\n");
+        return sb.toString();
+    }
+
+    private OWLOntology toOWL(OBODoc doc) {
+        return convert(doc, new OWLAPIObo2Owl(setupManager()));
+    }
+
+    private OBODoc convert(OWLOntology o, int threads) {
+        OWLAPIOwl2Obo bridge = new OWLAPIOwl2Obo(m1);
+        bridge.setThreads(threads);
+        return bridge.convert(o);
+    }
+
+    // some test files convert to frames that the writer rejects, so the structure is not checked
+    private static String write(OBODoc doc) {
+        OBOFormatWriter writer = new OBOFormatWriter();
+        writer.setCheckStructure(false);
+        StringWriter out = new StringWriter();
+        try {
+            writer.write(doc, out);
+        } catch (IOException ex) {
+            throw new OWLRuntimeException(ex);
+        }
+        return out.toString();
+    }
+
+    @ParameterizedTest
+    @MethodSource("oboFiles")
+    void shouldConvertAsSequentialConversion(String fileName) {
+        File file = new File(new File(RESOURCES, "obo"), fileName);
+        // the order of clauses with the same tag depends on the ontology instance
+        OWLOntology o = toOWL(parseOBOFile(file));
+        String expected = write(convert(o, 1));
+        assertEquals(expected, write(convert(o, 4)));
+    }
+
+    @Test
+    void shouldConvertManyTermsAsSequentialConversion() {
+        OWLOntology o = toOWL(parseOboToString(synthetic()));
+        String expected = write(convert(o, 1));
+        assertEquals(expected, write(convert(o, 4)));
+    }
+
+    private List<OWLOntologyChange> changes(OWLOntology o) {
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        OWLClass c1 = df.getOWLClass(Obo2OWLConstants.DEFAULT_IRI_PREFIX, "TEST_1");
+        OWLClass c2 = df.getOWLClass(Obo2OWLConstants.DEFAULT_IRI_PREFIX, "TEST_2");
+        OWLClass c3 = df.getOWLClass(Obo2OWLConstants.DEFAULT_IRI_PREFIX, "TEST_3");
+        OWLClass c4 = df.getOWLClass(Obo2OWLConstants.DEFAULT_IRI_PREFIX, "TEST_4");
+        OWLClass added = df.getOWLClass(Obo2OWLConstants.DEFAULT_IRI_PREFIX, "TEST_new");
+        changes.add(new AddAxiom(o, df.getOWLSubClassOfAxiom(c1, c3)));
+        o.subClassAxiomsForSubClass(c2).forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        o.annotationAssertionAxioms(c3.getIRI()).filter(ax -> ax.getProperty().isLabel())
+            .forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        // TEST:4 becomes an alt_id of TEST:10
+        o.annotationAssertionAxioms(c4.getIRI())
+            .forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        o.subClassAxiomsForSubClass(c4).forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        for (OWLAxiom ax : Arrays.asList(
+            df.getOWLAnnotationAssertionAxiom(
+                df.getOWLAnnotationProperty(Obo2OWLVocabulary.IRI_IAO_0100001.getIRI()),
+                c4.getIRI(), df.getOWLLiteral("TEST:10")),
+            df.getOWLAnnotationAssertionAxiom(
+                df.getOWLAnnotationProperty(Obo2OWLConstants.IRI_IAO_0000231), c4.getIRI(),
+                Obo2OWLConstants.IRI_IAO_0000227),
+            df.getOWLAnnotationAssertionAxiom(df.getOWLDeprecated(), c4.getIRI(),
+                df.getOWLLiteral(true)),
+            df.getOWLDeclarationAxiom(added),
+            df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), added.getIRI(),
+                df.getOWLLiteral("new term")),
+            df.getOWLSubClassOfAxiom(added, c1))) {
+            changes.add(new AddAxiom(o, ax));
+        }
+        o.applyChanges(changes);
+        return changes;
+    }
+
+    @Test
+    void shouldConvertChangedTermsAsFullConversion() {
+        for (int threads : new int[] {1, 4}) {
+            OWLOntology o = toOWL(parseOboToString(synthetic()));
+            OBODoc previous = convert(o, 1);
+            List<OWLOntologyChange> changes = changes(o);
+            String expected = write(convert(o, 1));
+            OWLAPIOwl2Obo bridge = new OWLAPIOwl2Obo(m1);
+            bridge.setThreads(threads);
+            OBODoc actual = bridge.convert(o, previous, changes);
+            assertEquals(expected, write(actual));
+            // frames of unchanged terms are reused
+            assertSame(previous.getTermFrame("TEST:100"), actual.getTermFrame("TEST:100"));
+        }
+    }
+
+    @Test
+    void shouldConvertChangedTypedefsAsFullConversion() {
+        OWLOntology o = toOWL(parseOboToString(synthetic()));
+        OBODoc previous = convert(o, 1);
+        IRI partOf = IRI.create(Obo2OWLConstants.DEFAULT_IRI_PREFIX, "BFO_0000050");
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        changes.add(new AddAxiom(o, df.getOWLAnnotationAssertionAxiom(df.getRDFSComment(), partOf,
+            df.getOWLLiteral("changed"))));
+        o.applyChanges(changes);
+        String expected = write(convert(o, 1));
+        assertEquals(expected,
+            write(new OWLAPIOwl2Obo(m1).convert(o, previous, changes)));
+    }
+}
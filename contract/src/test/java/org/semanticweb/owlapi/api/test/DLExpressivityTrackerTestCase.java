@@ -0,0 +1,114 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.util.Construct;
+import org.semanticweb.owlapi.util.DLExpressivityChecker;
+import org.semanticweb.owlapi.util.DLExpressivityTracker;
+import org.semanticweb.owlapi.util.Languages;
+
+/**
+ * Checks that the expressivity tracked through ontology changes matches the expressivity checked
+ * from scratch.
+ */
+class DLExpressivityTrackerTestCase extends TestBase {
+
+    static Collection<Object[]> getData() {
+        return DLExpressivityCheckerTestCase.getData();
+    }
+
+    private static void assertSameExpressivity(OWLOntology o, DLExpressivityTracker tracker) {
+        DLExpressivityChecker checker = new DLExpressivityChecker(Collections.singleton(o));
+        assertEquals(checker.getDescriptionLogicName(), tracker.getDescriptionLogicName());
+        assertEquals(checker.getConstructs(), tracker.getConstructs());
+        assertEquals(checker.expressibleInLanguages(), tracker.expressibleInLanguages());
+        for (Languages l : Languages.values()) {
+            assertEquals(Boolean.valueOf(checker.isWithin(l)),
+                Boolean.valueOf(tracker.isWithin(l)), l.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("getData")
+    void shouldFollowAddedAndRemovedAxioms(@SuppressWarnings("unused") String name,
+        String expected, @SuppressWarnings("unused") List<Construct> constructs,
+        @SuppressWarnings("unused") List<Languages> expressible,
+        @SuppressWarnings("unused") List<Languages> within,
+        @SuppressWarnings("unused") List<Languages> minimal, List<OWLAxiom> objects) {
+        OWLOntology o = create(iriTest);
+        DLExpressivityTracker tracker =
+            new DLExpressivityTracker(Collections.singleton(o), 1);
+        o.add(objects);
+        assertEquals(expected, tracker.getDescriptionLogicName());
+        assertSameExpressivity(o, tracker);
+        o.remove(objects);
+        assertEquals("", tracker.getDescriptionLogicName());
+        assertSameExpressivity(o, tracker);
+        tracker.dispose();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldMatchCheckerOnPizza(int threads) throws OWLOntologyCreationException {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new File(RESOURCES, "pizza.owl"));
+        DLExpressivityTracker tracker =
+            new DLExpressivityTracker(Collections.singleton(o), threads);
+        assertSameExpressivity(o, tracker);
+        List<OWLAxiom> axioms = asList(o.logicalAxioms().map(OWLAxiom.class::cast).sorted());
+        List<OWLAxiom> removed = new ArrayList<>();
+        for (int i = 0; i < axioms.size(); i += 2) {
+            removed.add(axioms.get(i));
+        }
+        // one at a time, then in a batch
+        removed.subList(0, 20).forEach(o::remove);
+        assertSameExpressivity(o, tracker);
+        o.remove(removed.subList(20, removed.size()));
+        assertSameExpressivity(o, tracker);
+        o.remove(asList(o.logicalAxioms()));
+        assertEquals("", tracker.getDescriptionLogicName());
+        o.add(axioms);
+        assertSameExpressivity(o, tracker);
+        tracker.dispose();
+    }
+
+    @Test
+    void shouldStopFollowingChangesWhenDisposed() throws OWLOntologyCreationException {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new File(RESOURCES, "pizza.owl"));
+        DLExpressivityTracker tracker = new DLExpressivityTracker(Collections.singleton(o));
+        String name = tracker.getDescriptionLogicName();
+        int inverse = tracker.count(Construct.ROLE_INVERSE);
+        assertTrue(inverse > 0);
+        tracker.dispose();
+        o.remove(asList(o.logicalAxioms()));
+        assertEquals(name, tracker.getDescriptionLogicName());
+        assertEquals(inverse, tracker.count(Construct.ROLE_INVERSE));
+    }
+}
@@ -0,0 +1,108 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.InterningStrategy;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+import uk.ac.manchester.cs.owl.owlapi.InterningStatistics;
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+class InterningStrategyTestCase extends TestBase {
+
+    private static OWLDataFactoryImpl factory(InterningStrategy strategy) {
+        return new OWLDataFactoryImpl(
+            new OWLOntologyLoaderConfiguration().setInterningStrategy(strategy));
+    }
+
+    @ParameterizedTest
+    @EnumSource(InterningStrategy.class)
+    void shouldCreateEqualEntities(InterningStrategy strategy) {
+        OWLDataFactoryImpl f = factory(strategy);
+        IRI a = iri("A");
+        assertEquals(f.getOWLClass(a), f.getOWLClass(iri("A")));
+        assertEquals(f.getOWLAnnotation(f.getRDFSLabel(), f.getOWLLiteral("x")),
+            f.getOWLAnnotation(f.getRDFSLabel(), f.getOWLLiteral("x")));
+        if (strategy == InterningStrategy.NONE) {
+            assertNotSame(f.getOWLClass(a), f.getOWLClass(a));
+        } else if (strategy == InterningStrategy.SHARED) {
+            // weak keys are compared by identity
+            assertSame(f.getOWLClass(a), f.getOWLClass(a));
+        } else {
+            assertSame(f.getOWLClass(a), f.getOWLClass(IRI.create(a.toString())));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = InterningStrategy.class, names = {"STRIPED", "WEAK"})
+    void shouldCountHitsAndMissesPerFactory(InterningStrategy strategy) {
+        OWLDataFactoryImpl f = factory(strategy);
+        OWLDataFactoryImpl other = factory(strategy);
+        for (int i = 0; i < 10; i++) {
+            f.getOWLObjectProperty(iri("p" + i));
+            f.getOWLObjectProperty(iri("p" + i));
+            f.getOWLObjectProperty(iri("p" + i));
+        }
+        InterningStatistics stats = f.getInterningStatistics();
+        assertEquals(10, stats.getMisses());
+        assertEquals(20, stats.getHits());
+        assertEquals(0, other.getInterningStatistics().getHits()
+            + other.getInterningStatistics().getMisses());
+    }
+
+    @Test
+    void shouldEvictWhenStripedCacheIsFull() {
+        OWLDataFactoryImpl f = factory(InterningStrategy.STRIPED);
+        for (int i = 0; i < 20000; i++) {
+            f.getOWLClass(iri("C" + i));
+        }
+        InterningStatistics stats = f.getInterningStatistics();
+        assertEquals(20000, stats.getMisses());
+        assertTrue(stats.getEvictions() > 0, stats.toString());
+        f.purge();
+        f.getOWLClass(iri("C0"));
+        assertEquals(20001, f.getInterningStatistics().getMisses());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = InterningStrategy.class, names = {"STRIPED", "WEAK"})
+    void shouldReturnOneInstanceAcrossThreads(InterningStrategy strategy) {
+        OWLDataFactoryImpl f = factory(strategy);
+        List<IRI> iris =
+            IntStream.range(0, 100).mapToObj(i -> iri("D" + i)).collect(Collectors.toList());
+        ConcurrentMap<IRI, OWLClass> seen = new ConcurrentHashMap<>();
+        IntStream.range(0, 10000).parallel().forEach(i -> {
+            IRI iri = iris.get(i % iris.size());
+            OWLClass c = f.getOWLClass(IRI.create(iri.toString()));
+            assertSame(seen.computeIfAbsent(iri, x -> c), c);
+        });
+        assertEquals(100, f.getInterningStatistics().getMisses());
+    }
+}
@@ -0,0 +1,147 @@
+package org.semanticweb.owlapi.api.test.annotations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologySetProvider;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.search.AnnotationIndex;
+import org.semanticweb.owlapi.search.EntitySearcher;
+import org.semanticweb.owlapi.util.AnnotationValueShortFormProvider;
+import org.semanticweb.owlapi.util.OWLOntologySingletonSetProvider;
+import org.semanticweb.owlapi.util.SimpleIRIShortFormProvider;
+import org.semanticweb.owlapi.util.SimpleShortFormProvider;
+
+class AnnotationIndexTestCase extends TestBase {
+
+    private static final String NS = "urn:test:index#";
+    private final OWLAnnotationProperty label = df.getRDFSLabel();
+    private final OWLClass a = df.getOWLClass(NS, "A");
+
+    private static AnnotationValueShortFormProvider provider(AnnotationIndex index,
+        List<OWLAnnotationProperty> properties, Map<OWLAnnotationProperty, List<String>> langs) {
+        return new AnnotationValueShortFormProvider(index, new SimpleShortFormProvider(),
+            new SimpleIRIShortFormProvider(), properties, langs);
+    }
+
+    @Test
+    void shouldFindAnnotationsAsEntitySearcher() throws OWLOntologyCreationException {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new File(RESOURCES, "pizza.owl"));
+        AnnotationIndex index = new AnnotationIndex(m, Imports.INCLUDED);
+        List<OWLAnnotationProperty> properties = asList(o.annotationPropertiesInSignature());
+        properties.add(label);
+        for (OWLEntity e : asList(o.signature())) {
+            for (OWLAnnotationProperty p : properties) {
+                assertEquals(asUnorderedSet(EntitySearcher.getAnnotationObjects(e, o, p)),
+                    asUnorderedSet(index.getAnnotationObjects(e, p)));
+            }
+        }
+        Map<OWLAnnotationProperty, List<String>> langs = new HashMap<>();
+        langs.put(label, Arrays.asList("pt", "en"));
+        List<OWLAnnotationProperty> labels = Collections.singletonList(label);
+        AnnotationValueShortFormProvider expected =
+            new AnnotationValueShortFormProvider(labels, langs, m);
+        AnnotationValueShortFormProvider actual = provider(index, labels, langs);
+        o.signature().forEach(e -> assertEquals(expected.getShortForm(e), actual.getShortForm(e)));
+        index.dispose();
+    }
+
+    @Test
+    void shouldFollowChanges() {
+        OWLOntology o = create(iri(NS, "o"));
+        OWLOntology other = create(iri(NS, "other"));
+        OWLAnnotationAssertionAxiom en = df.getOWLAnnotationAssertionAxiom(label, a.getIRI(),
+            df.getOWLLiteral("apple", "en"));
+        OWLAnnotationAssertionAxiom it = df.getOWLAnnotationAssertionAxiom(label, a.getIRI(),
+            df.getOWLLiteral("mela", "it"));
+        o.add(en);
+        AnnotationIndex index = new AnnotationIndex(m, Imports.INCLUDED);
+        Map<OWLAnnotationProperty, List<String>> langs = new HashMap<>();
+        langs.put(label, Arrays.asList("it", "en"));
+        AnnotationValueShortFormProvider sfp =
+            provider(index, Collections.singletonList(label), langs);
+        assertEquals("apple", sfp.getShortForm(a));
+        o.add(it);
+        assertEquals("mela", sfp.getShortForm(a));
+        // still asserted in the other ontology
+        other.add(it);
+        o.remove(it);
+        assertEquals("mela", sfp.getShortForm(a));
+        other.remove(it);
+        assertEquals("apple", sfp.getShortForm(a));
+        o.remove(en);
+        assertEquals("A", sfp.getShortForm(a));
+        assertFalse(index.getAnnotationAssertionAxioms(a.getIRI(), label).findAny().isPresent());
+        index.dispose();
+        o.add(en);
+        assertEquals("A", sfp.getShortForm(a));
+    }
+
+    @Test
+    void shouldFollowImportsAndNewOntologies() {
+        OWLOntology o = create(iri(NS, "o"));
+        AnnotationIndex index =
+            new AnnotationIndex(new OWLOntologySingletonSetProvider(o), Imports.INCLUDED);
+        OWLOntology imported = create(iri(NS, "imported"));
+        imported.add(df.getOWLAnnotationAssertionAxiom(label, a.getIRI(), df.getOWLLiteral("a")));
+        assertFalse(index.getAnnotationObjects(a, label).findAny().isPresent());
+        o.applyChange(new AddImport(o, df.getOWLImportsDeclaration(IRI.create(NS, "imported"))));
+        assertEquals(1, index.getAnnotationObjects(a, label).count());
+        index.dispose();
+        AnnotationIndex all = new AnnotationIndex(m, Imports.EXCLUDED);
+        OWLOntology created = create(iri(NS, "created"));
+        created.add(df.getOWLAnnotationAssertionAxiom(label, a.getIRI(), df.getOWLLiteral("b")));
+        assertEquals(2, all.getAnnotationObjects(a, label).count());
+        assertTrue(all.getPreferredValue(a.getIRI(), label, null).isPresent());
+        all.dispose();
+    }
+
+    @Test
+    void shouldDifferFromOntologySearchAsDocumented() {
+        OWLOntology first = create(iri(NS, "first"));
+        OWLOntology second = create(iri(NS, "second"));
+        first.add(df.getOWLAnnotationAssertionAxiom(label, a.getIRI(), df.getOWLLiteral("zzz")));
+        second.add(df.getOWLAnnotationAssertionAxiom(label, a.getIRI(), df.getOWLLiteral("aaa")));
+        OWLOntologySetProvider ontologies = () -> Stream.of(first, second);
+        List<OWLAnnotationProperty> labels = Collections.singletonList(label);
+        Map<OWLAnnotationProperty, List<String>> langs = Collections.emptyMap();
+        // values are ranked per ontology, in the order of the ontologies
+        assertEquals("zzz",
+            new AnnotationValueShortFormProvider(labels, langs, ontologies).getShortForm(a));
+        // values are ranked in a single order
+        AnnotationIndex index = new AnnotationIndex(ontologies, Imports.INCLUDED);
+        assertEquals("aaa", provider(index, labels, langs).getShortForm(a));
+        index.dispose();
+        // imports are always searched without an index
+        OWLOntology importing = create(iri(NS, "importing"));
+        importing.applyChange(
+            new AddImport(importing, df.getOWLImportsDeclaration(IRI.create(NS, "first"))));
+        OWLOntologySetProvider importingOnly = new OWLOntologySingletonSetProvider(importing);
+        assertEquals("zzz",
+            new AnnotationValueShortFormProvider(labels, langs, importingOnly).getShortForm(a));
+        AnnotationIndex excluded = new AnnotationIndex(importingOnly, Imports.EXCLUDED);
+        assertEquals("A", provider(excluded, labels, langs).getShortForm(a));
+        excluded.dispose();
+    }
+}
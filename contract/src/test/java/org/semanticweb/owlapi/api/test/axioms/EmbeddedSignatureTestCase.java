@@ -0,0 +1,95 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.axioms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.util.OWLEntityCollector;
+
+/**
+ * Checks the signatures that axioms keep in a field against signatures collected by visiting the
+ * axioms.
+ */
+class EmbeddedSignatureTestCase extends TestBase {
+
+    private static List<OWLEntity> ofType(Set<OWLEntity> signature, Class<?> type) {
+        List<OWLEntity> list = new ArrayList<>();
+        signature.stream().filter(type::isInstance).forEach(list::add);
+        return list;
+    }
+
+    private void assertSignature(OWLAxiom ax) {
+        Set<OWLEntity> expected = new TreeSet<>();
+        ax.accept(new OWLEntityCollector(expected));
+        // twice: once computed, once stored
+        for (int i = 0; i < 2; i++) {
+            assertEquals(new ArrayList<>(expected), asList(ax.signature()));
+            assertEquals(new ArrayList<>(expected), asList(ax.signature().sorted()));
+            assertEquals(ofType(expected, OWLClass.class), asList(ax.classesInSignature()));
+            assertEquals(ofType(expected, OWLObjectProperty.class),
+                asList(ax.objectPropertiesInSignature()));
+            assertEquals(ofType(expected, OWLDataProperty.class),
+                asList(ax.dataPropertiesInSignature()));
+            assertEquals(ofType(expected, OWLNamedIndividual.class),
+                asList(ax.individualsInSignature()));
+            assertEquals(ofType(expected, OWLDatatype.class), asList(ax.datatypesInSignature()));
+            assertEquals(ofType(expected, OWLAnnotationProperty.class),
+                asList(ax.annotationPropertiesInSignature()));
+            expected.forEach(e -> assertTrue(ax.containsEntityInSignature(e)));
+        }
+    }
+
+    @Test
+    void shouldMatchCollectedSignatures() throws OWLOntologyCreationException {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new File(RESOURCES, "pizza.owl"));
+        o.axioms().forEach(this::assertSignature);
+    }
+
+    @Test
+    void shouldMatchSignaturesWithAllEntityTypes() {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        axioms.add(SubClassOf(A, ObjectSomeValuesFrom(P, DataSomeValuesFrom(DP, Integer()))));
+        axioms.add(SubClassOf(ObjectIntersectionOf(A, B), ObjectHasValue(P, i),
+            Annotation(RDFSLabel(), Literal("label"))));
+        axioms.add(DataPropertyAssertion(DP, i, Literal(1)));
+        axioms.add(AnnotationAssertion(RDFSComment(), A.getIRI(), Literal("comment")));
+        axioms.add(Declaration(A));
+        axioms.add(SubClassOf(OWLThing(), OWLThing()));
+        axioms.forEach(this::assertSignature);
+        OWLAxiom ax = axioms.get(0);
+        assertFalse(ax.containsEntityInSignature(B));
+        assertFalse(ax.containsEntityInSignature(Class(P.getIRI())));
+        assertTrue(ax.containsEntityInSignature(ObjectProperty(P.getIRI())));
+    }
+}
@@ -0,0 +1,235 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyIRIMapper;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+import org.semanticweb.owlapi.util.SimpleIRIMapper;
+
+class ParallelImportsLoadingTestCase extends TestBase {
+
+    private static final String NS = "http://example.com/parallel/";
+
+    private IRI write(String name, String... imports) throws IOException {
+        StringBuilder b = new StringBuilder("Prefix(:=<" + NS + ">)\nOntology(<" + NS + name + ">\n");
+        for (String i : imports) {
+            b.append("Import(<").append(NS).append(i).append(">)\n");
+        }
+        b.append("Declaration(Class(:").append(name).append("))\n");
+        for (String i : imports) {
+            b.append("SubClassOf(:").append(name).append(" :").append(i).append(")\n");
+        }
+        b.append(")");
+        File file = new File(folder, name + ".ofn");
+        Files.write(file.toPath(), b.toString().getBytes(StandardCharsets.UTF_8));
+        IRI documentIRI = IRI.create(file);
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + name), documentIRI));
+        m1.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + name), documentIRI));
+        return documentIRI;
+    }
+
+    private IRI document(String name, String extension, String content) throws IOException {
+        File file = new File(folder, name + extension);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        IRI documentIRI = IRI.create(file);
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + name), documentIRI));
+        m1.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + name), documentIRI));
+        return documentIRI;
+    }
+
+    /**
+     * The property used in the RDF/XML document is only declared in its import: without the
+     * import, the RDF parser reads the triple as an annotation assertion. Punning repair would
+     * hide the difference, so the loads below disable it.
+     */
+    private IRI rdfImportingDeclarations() throws IOException {
+        document("declarations", ".ttl",
+            "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n<" + NS
+                + "declarations> a owl:Ontology .\n<" + NS + "p> a owl:DatatypeProperty .\n");
+        return document("rdf", ".owl",
+            "<?xml version=\"1.0\"?>\n<rdf:RDF"
+                + " xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\""
+                + " xmlns:owl=\"http://www.w3.org/2002/07/owl#\" xmlns:ex=\"" + NS + "\">\n"
+                + "<owl:Ontology rdf:about=\"" + NS + "rdf\">"
+                + "<owl:imports rdf:resource=\"" + NS + "declarations\"/></owl:Ontology>\n"
+                + "<owl:NamedIndividual rdf:about=\"" + NS + "x\">"
+                + "<ex:p>y</ex:p></owl:NamedIndividual>\n</rdf:RDF>");
+    }
+
+    private void assertSameClosureAsSequentialLoading(IRI root)
+        throws OWLOntologyCreationException {
+        OWLOntology parallel = m.loadOntologyFromOntologyDocument(new IRIDocumentSource(root),
+            parallel(m).setRepairIllegalPunnings(false));
+        OWLOntology sequential = m1.loadOntologyFromOntologyDocument(new IRIDocumentSource(root),
+            m1.getOntologyLoaderConfiguration().setRepairIllegalPunnings(false));
+        assertTrue(parallel.importsClosure().flatMap(OWLOntology::axioms)
+            .anyMatch(OWLDataPropertyAssertionAxiom.class::isInstance));
+        assertEquals(closureAxioms(sequential), closureAxioms(parallel));
+        assertEquals(asUnorderedSet(m1.ontologies().map(OWLOntology::getOntologyID)),
+            asUnorderedSet(m.ontologies().map(OWLOntology::getOntologyID)));
+        parallel.importsDeclarations().forEach(d -> assertNotNull(m.getImportedOntology(d)));
+    }
+
+    private IRI diamond() throws IOException {
+        // never written: loading it fails without going to the network
+        IRI missing = IRI.create(new File(folder, "missing.ofn"));
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + "missing"), missing));
+        m1.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + "missing"), missing));
+        write("d");
+        write("e", "d");
+        write("a", "d");
+        write("b", "d", "e");
+        write("c", "a", "missing");
+        return write("root", "a", "b", "c");
+    }
+
+    /**
+     * @return names of the threads that looked up the document IRIs of the ontologies below
+     */
+    private Set<String> recordLookupThreads() {
+        Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+        m.getIRIMappers().add((OWLOntologyIRIMapper) iri -> {
+            threads.add(Thread.currentThread().getName());
+            return null;
+        });
+        return threads;
+    }
+
+    private static OWLOntologyLoaderConfiguration parallel(OWLOntologyManager manager) {
+        return manager.getOntologyLoaderConfiguration().setImportsLoadingThreads(4)
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+    }
+
+    private static Set<OWLAxiom> closureAxioms(OWLOntology o) {
+        return asUnorderedSet(o.importsClosure().flatMap(OWLOntology::axioms));
+    }
+
+    @Test
+    void shouldLoadSameClosureAsSequentialLoading() throws Exception {
+        IRI root = diamond();
+        List<IRI> missing = new ArrayList<>();
+        m.addMissingImportListener(e -> missing.add(e.getImportedOntologyURI()));
+        OWLOntology parallel = m.loadOntologyFromOntologyDocument(
+            new IRIDocumentSource(root), parallel(m));
+        OWLOntology sequential = m1.loadOntologyFromOntologyDocument(
+            new IRIDocumentSource(root),
+            m1.getOntologyLoaderConfiguration()
+                .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+        assertEquals(6, m.ontologies().count());
+        assertEquals(asUnorderedSet(m1.ontologies().map(OWLOntology::getOntologyID)),
+            asUnorderedSet(m.ontologies().map(OWLOntology::getOntologyID)));
+        assertEquals(closureAxioms(sequential), closureAxioms(parallel));
+        assertEquals(Collections.singletonList(IRI.create(NS + "missing")), missing);
+        parallel.importsDeclarations().forEach(d -> assertNotNull(m.getImportedOntology(d)));
+        m.ontologies().forEach(o -> {
+            assertEquals(m, o.getOWLOntologyManager());
+            assertNotNull(m.getOntologyDocumentIRI(o));
+            assertNotNull(m.getOntologyFormat(o));
+        });
+    }
+
+    @Test
+    void shouldLoadRDFRootWithImportedDeclarations() throws Exception {
+        assertSameClosureAsSequentialLoading(rdfImportingDeclarations());
+    }
+
+    @Test
+    void shouldLoadRDFImportWithImportedDeclarations() throws Exception {
+        rdfImportingDeclarations();
+        assertSameClosureAsSequentialLoading(write("functional", "rdf"));
+    }
+
+    @Test
+    void shouldLoadImportsOfRDFRootOnCallingThread() throws Exception {
+        IRI root = document("rdfroot", ".owl",
+            "<?xml version=\"1.0\"?>\n<rdf:RDF"
+                + " xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\""
+                + " xmlns:owl=\"http://www.w3.org/2002/07/owl#\">\n"
+                + "<owl:Ontology rdf:about=\"" + NS + "rdfroot\">"
+                + "<owl:imports rdf:resource=\"" + NS + "a\"/></owl:Ontology>\n</rdf:RDF>");
+        write("d");
+        write("a", "d");
+        Set<String> threads = recordLookupThreads();
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new IRIDocumentSource(root), parallel(m));
+        assertEquals(3, o.importsClosure().count());
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void shouldRegisterOntologiesInDeclarationOrder() throws Exception {
+        IRI root = diamond();
+        List<OWLOntologyID> previous = null;
+        for (int i = 0; i < 5; i++) {
+            OWLOntologyManager manager = setupManager();
+            manager.getIRIMappers().set(m.getIRIMappers());
+            manager.loadOntologyFromOntologyDocument(
+                new IRIDocumentSource(root), parallel(manager));
+            List<OWLOntologyID> ids =
+                manager.ontologies().map(OWLOntology::getOntologyID).collect(Collectors.toList());
+            if (previous != null) {
+                assertEquals(previous, ids);
+            }
+            previous = ids;
+        }
+    }
+
+    @Test
+    void shouldThrowOnMissingImport() throws Exception {
+        IRI root = diamond();
+        OWLOntologyLoaderConfiguration config = parallel(m)
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.THROW_EXCEPTION);
+        assertThrows(UnloadableImportException.class, () -> m.loadOntologyFromOntologyDocument(
+            new IRIDocumentSource(root), config));
+        assertEquals(0, m.ontologies().count());
+    }
+
+    @Test
+    void shouldNotLoadTwiceWhenImportsAreCyclic() throws IOException, OWLOntologyCreationException {
+        write("x", "y");
+        write("y", "x");
+        IRI z = write("z", "x", "y");
+        OWLOntology o = m.loadOntologyFromOntologyDocument(
+            new IRIDocumentSource(z), parallel(m));
+        assertEquals(3, m.ontologies().count());
+        assertEquals(3, o.importsClosure().count());
+    }
+}
@@ -0,0 +1,189 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.multithread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentOWLOntologyImpl;
+
+class LockFreeReadsTestCase extends TestBase {
+
+    private final OWLClass a = Class(iri("A"));
+    private final OWLClass b = Class(iri("B"));
+
+    private static ConcurrentOWLOntologyImpl createOntology() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+        manager.getOntologyConfigurator().withLockFreeReads(true);
+        return (ConcurrentOWLOntologyImpl) manager.createOntology(iri("urn:test:", "snapshot"));
+    }
+
+    @Test
+    void shouldSeeEachWriteAsSoonAsItCompletes() throws OWLOntologyCreationException {
+        ConcurrentOWLOntologyImpl o = createOntology();
+        OWLAxiom first = SubClassOf(a, b);
+        OWLAxiom second = SubClassOf(b, a);
+        o.add(first);
+        assertTrue(o.containsAxiom(first));
+        assertFalse(o.containsAxiom(second));
+        o.add(second);
+        assertTrue(o.containsAxiom(second));
+        assertEquals(2, o.getAxiomCount());
+        o.remove(first);
+        assertFalse(o.containsAxiom(first));
+        assertTrue(o.containsClassInSignature(a.getIRI()));
+        assertEquals(asList(o.subClassAxiomsForSubClass(b)), asList(o.axioms()));
+        o.remove(second);
+        assertFalse(o.containsClassInSignature(a.getIRI()));
+        assertEquals(0, o.getAxiomCount());
+    }
+
+    @Test
+    void shouldKeepResultsOfEarlierReadsUnchanged() throws OWLOntologyCreationException {
+        ConcurrentOWLOntologyImpl o = createOntology();
+        o.add(SubClassOf(a, b));
+        Stream<OWLSubClassOfAxiom> before = o.subClassAxiomsForSubClass(a);
+        Stream<OWLClass> classes = o.classesInSignature();
+        o.add(SubClassOf(a, Class(iri("C"))));
+        o.remove(SubClassOf(a, b));
+        assertEquals(Collections.singletonList(SubClassOf(a, b)), asList(before));
+        assertEquals(Arrays.asList(a, b), asList(classes));
+        assertEquals(Collections.singletonList(SubClassOf(a, Class(iri("C")))),
+            asList(o.subClassAxiomsForSubClass(a)));
+    }
+
+    @Test
+    void shouldPublishHeaderChanges() throws OWLOntologyCreationException {
+        ConcurrentOWLOntologyImpl o = createOntology();
+        OWLImportsDeclaration imported = ImportsDeclaration(iri("urn:test:", "imported"));
+        OWLAnnotation annotation = Annotation(RDFSComment(), "comment");
+        o.applyChanges(new AddImport(o, imported), new AddOntologyAnnotation(o, annotation));
+        assertEquals(Collections.singletonList(imported), asList(o.importsDeclarations()));
+        assertEquals(Collections.singletonList(annotation), asList(o.annotations()));
+        assertTrue(asList(o.signature()).contains(RDFSComment()));
+        o.applyChange(new RemoveOntologyAnnotation(o, annotation));
+        assertEquals(Collections.emptyList(), asList(o.annotations()));
+        assertFalse(asList(o.signature()).contains(RDFSComment()));
+        assertEquals(Collections.singletonList(imported), asList(o.importsDeclarations()));
+    }
+
+    @Test
+    void shouldPublishBulkLoadsWhenTheyEnd() throws OWLOntologyCreationException {
+        ConcurrentOWLOntologyImpl o = createOntology();
+        o.add(Declaration(a));
+        o.beginBulkLoad();
+        for (int i = 0; i < 100; i++) {
+            o.add(SubClassOf(Class(iri("C" + i)), a));
+        }
+        // the loading thread sees its own changes
+        assertEquals(100, o.subClassAxiomsForSuperClass(a).count());
+        o.endBulkLoad();
+        assertEquals(100, o.subClassAxiomsForSuperClass(a).count());
+        assertEquals(101, o.getAxiomCount());
+        o.remove(SubClassOf(Class(iri("C0")), a));
+        assertEquals(99, o.subClassAxiomsForSuperClass(a).count());
+        assertFalse(o.containsClassInSignature(iri("C0")));
+        assertTrue(o.containsClassInSignature(iri("C1")));
+    }
+
+    @Test
+    void shouldIndexManyChangesIncrementally() throws OWLOntologyCreationException {
+        ConcurrentOWLOntologyImpl o = createOntology();
+        for (int i = 0; i < 2000; i++) {
+            o.add(SubClassOf(Class(iri("C" + i)), Class(iri("C" + i % 7))));
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            o.remove(SubClassOf(Class(iri("C" + i)), Class(iri("C" + i % 7))));
+        }
+        assertEquals(1000, o.getAxiomCount(AxiomType.SUBCLASS_OF));
+        for (int i = 0; i < 7; i++) {
+            OWLClass c = Class(iri("C" + i));
+            int expected = 0;
+            for (int j = 1; j < 2000; j += 2) {
+                if (j % 7 == i) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, o.subClassAxiomsForSuperClass(c).count());
+        }
+        // odd subclasses, plus the even superclasses C0, C2, C4 and C6
+        assertEquals(1000 + 4, o.classesInSignature().count());
+    }
+
+    @Test
+    void shouldResolveImportsThroughOwner() throws OWLOntologyCreationException {
+        ConcurrentOWLOntologyImpl o = createOntology();
+        o.add(SubClassOf(a, b));
+        assertEquals(asList(o.importsClosure()), asList(o.getOWLOntologyManager().ontologies()));
+        assertEquals(1, o.getAxiomCount(Imports.INCLUDED));
+    }
+
+    @Test
+    void shouldReadConsistentlyWhileWriting() throws Exception {
+        ConcurrentOWLOntologyImpl o = createOntology();
+        o.add(SubClassOf(a, b));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            readers.add(executor.submit(() -> {
+                boolean ok = true;
+                for (int j = 0; j < 2000; j++) {
+                    ok &= o.subClassAxiomsForSubClass(a).count() == 1;
+                    ok &= o.containsClassInSignature(a.getIRI());
+                }
+                return Boolean.valueOf(ok);
+            }));
+        }
+        Future<?> writer = executor.submit(() -> {
+            for (int j = 0; j < 200; j++) {
+                o.add(SubClassOf(Class(iri("C" + j)), b));
+            }
+        });
+        writer.get();
+        for (Future<Boolean> f : readers) {
+            assertTrue(f.get().booleanValue());
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals(201, o.getAxiomCount(AxiomType.SUBCLASS_OF));
+    }
+}
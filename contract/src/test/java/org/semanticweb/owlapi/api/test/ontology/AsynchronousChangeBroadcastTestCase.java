@@ -0,0 +1,194 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AsynchronousChangeBroadcastStrategy;
+import org.semanticweb.owlapi.model.AsynchronousChangeBroadcastStrategy.Backpressure;
+import org.semanticweb.owlapi.model.AsynchronousChangeBroadcastStrategy.Lag;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.SetOntologyID;
+
+class AsynchronousChangeBroadcastTestCase extends TestBase {
+
+    private final OWLAxiom ab = SubClassOf(A, B);
+    private final OWLAxiom bc = SubClassOf(B, C);
+    private final OWLAxiom cd = SubClassOf(C, D);
+
+    /** Records the changes it receives, and waits for a latch while handling the first list. */
+    private static class SlowListener implements OWLOntologyChangeListener {
+
+        final List<List<OWLOntologyChange>> received =
+            Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(new ArrayList<>(changes));
+        }
+
+        List<OWLOntologyChange> all() {
+            List<OWLOntologyChange> all = new ArrayList<>();
+            received.forEach(all::addAll);
+            return all;
+        }
+    }
+
+    private SlowListener listen(AsynchronousChangeBroadcastStrategy strategy) {
+        SlowListener listener = new SlowListener();
+        m.addOntologyChangeListener(listener, strategy);
+        return listener;
+    }
+
+    @Test
+    void shouldNotWaitForListenersAndCoalesceQueuedChanges() throws InterruptedException {
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy(10);
+        OWLOntology o = create("async");
+        SlowListener listener = listen(strategy);
+        o.add(ab);
+        assertTrue(listener.started.await(10, TimeUnit.SECONDS));
+        // the listener is busy: these are queued and delivered together
+        o.add(bc);
+        o.remove(bc);
+        o.add(cd);
+        Lag lag = strategy.getLag(listener).get();
+        assertEquals(4, lag.getQueuedChanges());
+        assertTrue(lag.getDelay(TimeUnit.NANOSECONDS) > 0);
+        listener.release.countDown();
+        assertTrue(strategy.awaitDelivery(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(Collections.singletonList(new AddAxiom(o, ab)),
+            Collections.singletonList(new AddAxiom(o, cd))), listener.received);
+        lag = strategy.getLag(listener).get();
+        assertEquals(0, lag.getQueuedChanges());
+        assertEquals(0, lag.getDelay(TimeUnit.NANOSECONDS));
+        assertEquals(2, lag.getDeliveredChanges());
+        assertEquals(2, lag.getCoalescedChanges());
+        strategy.close();
+    }
+
+    @Test
+    void shouldBlockWritersWhenQueueIsFull()
+        throws InterruptedException, ExecutionException, TimeoutException {
+        AsynchronousChangeBroadcastStrategy strategy =
+            new AsynchronousChangeBroadcastStrategy(1, Backpressure.BLOCK, (l, n) -> {
+                // not expected
+            });
+        OWLOntology o = create("block");
+        SlowListener listener = listen(strategy);
+        o.add(ab);
+        assertTrue(listener.started.await(10, TimeUnit.SECONDS));
+        o.add(bc);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blocked = writer.submit(() -> o.add(cd));
+            assertThrows(TimeoutException.class, () -> blocked.get(200, TimeUnit.MILLISECONDS));
+            listener.release.countDown();
+            blocked.get(10, TimeUnit.SECONDS);
+        } finally {
+            writer.shutdownNow();
+        }
+        assertTrue(strategy.awaitDelivery(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(new AddAxiom(o, ab), new AddAxiom(o, bc), new AddAxiom(o, cd)),
+            listener.all());
+        assertEquals(0, strategy.getLag(listener).get().getDroppedChanges());
+        strategy.close();
+    }
+
+    @Test
+    void shouldDropChangesAndResync() throws InterruptedException {
+        AtomicLong resynced = new AtomicLong();
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy(1,
+            Backpressure.DROP_TO_RESYNC, (l, n) -> resynced.addAndGet(n));
+        OWLOntology o = create("drop");
+        SlowListener listener = listen(strategy);
+        o.add(ab);
+        assertTrue(listener.started.await(10, TimeUnit.SECONDS));
+        o.add(bc);
+        o.add(cd);
+        o.remove(ab);
+        listener.release.countDown();
+        assertTrue(strategy.awaitDelivery(10, TimeUnit.SECONDS));
+        assertEquals(2, resynced.get());
+        assertEquals(Arrays.asList(new AddAxiom(o, ab), new RemoveAxiom(o, ab)), listener.all());
+        assertEquals(2, strategy.getLag(listener).get().getDroppedChanges());
+        strategy.close();
+    }
+
+    @Test
+    void shouldMergeQueuedChangesWhenQueueIsFull() throws InterruptedException {
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy(1);
+        OWLOntology o = create("coalesce");
+        SlowListener listener = listen(strategy);
+        o.add(ab);
+        assertTrue(listener.started.await(10, TimeUnit.SECONDS));
+        o.add(bc);
+        o.add(cd);
+        o.remove(bc);
+        // one change being delivered, one left after merging
+        assertEquals(2, strategy.getLag(listener).get().getQueuedChanges());
+        listener.release.countDown();
+        assertTrue(strategy.awaitDelivery(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(Collections.singletonList(new AddAxiom(o, ab)),
+            Collections.singletonList(new AddAxiom(o, cd))), listener.received);
+        assertEquals(2, strategy.getLag(listener).get().getCoalescedChanges());
+        strategy.removeListener(listener);
+        assertFalse(strategy.getLag(listener).isPresent());
+        strategy.close();
+    }
+
+    @Test
+    void shouldCoalesceAdditionsAndRemovals() {
+        OWLOntology o = create("pairs");
+        OWLOntology other = create("other");
+        SetOntologyID rename = new SetOntologyID(o, new OWLOntologyID(iri("renamed")));
+        List<OWLOntologyChange> changes = Arrays.asList(new AddAxiom(o, ab),
+            new RemoveAxiom(o, bc), new AddAxiom(other, ab), rename, new RemoveAxiom(o, ab),
+            new AddAxiom(o, bc), new AddAxiom(o, ab), new RemoveAxiom(other, cd));
+        assertEquals(
+            Arrays.asList(new AddAxiom(other, ab), rename, new AddAxiom(o, ab),
+                new RemoveAxiom(other, cd)),
+            AsynchronousChangeBroadcastStrategy.coalesce(changes));
+    }
+}
@@ -0,0 +1,156 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.ChangeDetails;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+
+/**
+ * Checks that applying runs of axiom changes in one batch gives the same ontology, indexes and
+ * change results as applying the changes one by one.
+ */
+class BatchChangesTestCase extends TestBase {
+
+    private static final int SIZE = 3000;
+    private final List<OWLClass> classes = new ArrayList<>();
+    private final List<OWLNamedIndividual> individuals = new ArrayList<>();
+    private final OWLObjectProperty p = ObjectProperty(iri("p"));
+
+    private List<OWLAxiom> axioms(int from, int to) {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            axioms.add(Declaration(classes.get(i)));
+            axioms.add(SubClassOf(classes.get(i), classes.get(i / 10)));
+            axioms.add(SubClassOf(classes.get(i),
+                ObjectSomeValuesFrom(p, classes.get((i * 7) % SIZE))));
+            axioms.add(EquivalentClasses(classes.get(i), ObjectHasSelf(p)));
+            axioms.add(ClassAssertion(classes.get(i % 3), individuals.get(i)));
+            axioms.add(ObjectPropertyAssertion(p, individuals.get(i), individuals.get(i % 5)));
+            axioms.add(AnnotationAssertion(RDFSLabel(), classes.get(i).getIRI(),
+                Literal("class " + i)));
+            axioms.add(SubClassOf(ObjectSomeValuesFrom(p, classes.get(i)), classes.get(0)));
+        }
+        return axioms;
+    }
+
+    // additions and removals, large enough to be indexed in parallel, with duplicates and
+    // removals of axioms that are not in the ontology
+    private List<OWLOntologyChange> changes(OWLOntology o) {
+        for (int i = 0; i < SIZE; i++) {
+            classes.add(Class(iri("C" + i)));
+            individuals.add(NamedIndividual(iri("i" + i)));
+        }
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        axioms(0, SIZE).forEach(ax -> changes.add(new AddAxiom(o, ax)));
+        axioms(0, 10).forEach(ax -> changes.add(new AddAxiom(o, ax)));
+        axioms(SIZE / 2, SIZE).forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        axioms(SIZE - 10, SIZE).forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        axioms(SIZE - 100, SIZE).forEach(ax -> changes.add(new AddAxiom(o, ax)));
+        changes.add(new RemoveAxiom(o, Declaration(classes.get(0))));
+        changes.add(new AddAxiom(o, Declaration(classes.get(0))));
+        return changes;
+    }
+
+    // initializes the lazy indexes, so that they are updated by the changes
+    private void query(OWLOntology o) {
+        o.axioms(classes.get(1)).count();
+        o.subClassAxiomsForSubClass(classes.get(1)).count();
+        o.equivalentClassesAxioms(classes.get(1)).count();
+        o.classAssertionAxioms(individuals.get(1)).count();
+        o.annotationAssertionAxioms(classes.get(1).getIRI()).count();
+    }
+
+    private void assertSameIndexes(OWLOntology expected, OWLOntology actual) {
+        assertEquals(asUnorderedSet(expected.axioms()), asUnorderedSet(actual.axioms()));
+        assertEquals(asUnorderedSet(expected.signature()), asUnorderedSet(actual.signature()));
+        assertEquals(asUnorderedSet(expected.generalClassAxioms()),
+            asUnorderedSet(actual.generalClassAxioms()));
+        for (OWLClass c : classes) {
+            assertEquals(asUnorderedSet(expected.axioms(c)),
+                asUnorderedSet(actual.axioms(c)));
+            assertEquals(asUnorderedSet(expected.subClassAxiomsForSubClass(c)),
+                asUnorderedSet(actual.subClassAxiomsForSubClass(c)));
+            assertEquals(asUnorderedSet(expected.equivalentClassesAxioms(c)),
+                asUnorderedSet(actual.equivalentClassesAxioms(c)));
+            assertEquals(asUnorderedSet(expected.referencingAxioms(c)),
+                asUnorderedSet(actual.referencingAxioms(c)));
+            assertEquals(asUnorderedSet(expected.declarationAxioms(c)),
+                asUnorderedSet(actual.declarationAxioms(c)));
+            assertEquals(asUnorderedSet(expected.annotationAssertionAxioms(c.getIRI())),
+                asUnorderedSet(actual.annotationAssertionAxioms(c.getIRI())));
+        }
+        for (OWLNamedIndividual i : individuals) {
+            assertEquals(asUnorderedSet(expected.referencingAxioms(i)),
+                asUnorderedSet(actual.referencingAxioms(i)));
+            assertEquals(asUnorderedSet(expected.classAssertionAxioms(i)),
+                asUnorderedSet(actual.classAssertionAxioms(i)));
+        }
+    }
+
+    @Test
+    void shouldApplyBatchAsSingleChanges() throws OWLOntologyCreationException {
+        OWLOntology expected = m.createOntology();
+        OWLOntology batch = m1.createOntology();
+        List<OWLOntologyChange> changes = changes(batch);
+        query(expected);
+        query(batch);
+        List<OWLOntologyChange> expectedApplied = new ArrayList<>();
+        for (OWLOntologyChange change : changes) {
+            OWLOntologyChange c = change.isAddAxiom() ? new AddAxiom(expected, change.getAxiom())
+                : new RemoveAxiom(expected, change.getAxiom());
+            if (expected.applyChange(c) == ChangeApplied.SUCCESSFULLY) {
+                expectedApplied.add(change);
+            }
+        }
+        List<List<? extends OWLOntologyChange>> events = new ArrayList<>();
+        m1.addOntologyChangeListener(events::add);
+        ChangeDetails details = m1.applyChangesAndGetDetails(changes);
+        assertEquals(ChangeApplied.SUCCESSFULLY, details.getChangeEffect());
+        assertEquals(expectedApplied, details.getEnactedChanges());
+        assertEquals(1, events.size());
+        assertEquals(expectedApplied, events.get(0));
+        assertSameIndexes(expected, batch);
+    }
+
+    @Test
+    void shouldApplyBatchDirectlyAsSingleChanges() throws OWLOntologyCreationException {
+        OWLOntology expected = m.createOntology();
+        OWLOntology batch = m1.createOntology();
+        List<OWLOntologyChange> changes = changes(batch);
+        query(expected);
+        query(batch);
+        List<ChangeApplied> expectedResults = new ArrayList<>();
+        for (OWLOntologyChange change : changes) {
+            expectedResults.add(expected.applyDirectChange(change));
+        }
+        assertEquals(expectedResults, batch.applyDirectChanges(changes));
+        assertSameIndexes(expected, batch);
+    }
+}
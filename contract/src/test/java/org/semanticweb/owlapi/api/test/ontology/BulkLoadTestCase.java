@@ -0,0 +1,135 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Checks that deferring index construction during a bulk load gives the same indexes as adding
+ * axioms one by one.
+ */
+class BulkLoadTestCase extends TestBase {
+
+    private final List<OWLClass> classes = new ArrayList<>();
+    private final List<OWLNamedIndividual> individuals = new ArrayList<>();
+    private final OWLObjectProperty p = ObjectProperty(iri("p"));
+
+    // large enough to be indexed in parallel
+    private List<OWLAxiom> axioms() {
+        int size = 3000;
+        for (int i = 0; i < size; i++) {
+            classes.add(Class(iri("C" + i)));
+            individuals.add(NamedIndividual(iri("i" + i)));
+        }
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            axioms.add(Declaration(classes.get(i)));
+            axioms.add(SubClassOf(classes.get(i), classes.get(i / 10)));
+            axioms.add(SubClassOf(classes.get(i),
+                ObjectSomeValuesFrom(p, classes.get((i * 7) % size))));
+            axioms.add(ClassAssertion(classes.get(i % 3), individuals.get(i)));
+            axioms.add(ObjectPropertyAssertion(p, individuals.get(i), individuals.get(i % 5)));
+            axioms.add(AnnotationAssertion(RDFSLabel(), classes.get(i).getIRI(),
+                Literal("class " + i)));
+        }
+        axioms.add(SubClassOf(ObjectSomeValuesFrom(p, OWLThing()), classes.get(0)));
+        return axioms;
+    }
+
+    private void assertSameIndexes(OWLOntology expected, OWLOntology actual) {
+        assertEquals(asUnorderedSet(expected.axioms()), asUnorderedSet(actual.axioms()));
+        assertEquals(asUnorderedSet(expected.signature()), asUnorderedSet(actual.signature()));
+        assertEquals(asUnorderedSet(expected.generalClassAxioms()),
+            asUnorderedSet(actual.generalClassAxioms()));
+        for (OWLClass c : classes) {
+            assertEquals(asUnorderedSet(expected.subClassAxiomsForSubClass(c)),
+                asUnorderedSet(actual.subClassAxiomsForSubClass(c)));
+            assertEquals(asUnorderedSet(expected.referencingAxioms(c)),
+                asUnorderedSet(actual.referencingAxioms(c)));
+            assertEquals(asUnorderedSet(expected.declarationAxioms(c)),
+                asUnorderedSet(actual.declarationAxioms(c)));
+        }
+        for (OWLNamedIndividual i : individuals) {
+            assertEquals(asUnorderedSet(expected.referencingAxioms(i)),
+                asUnorderedSet(actual.referencingAxioms(i)));
+        }
+    }
+
+    @Test
+    void shouldBuildSameIndexesAtEndOfBulkLoad() throws OWLOntologyCreationException {
+        List<OWLAxiom> axioms = axioms();
+        OWLOntology expected = m.createOntology();
+        expected.add(axioms);
+        OWLOntology bulk = m1.createOntology();
+        bulk.beginBulkLoad();
+        bulk.add(axioms);
+        assertEquals(expected.getAxiomCount(), bulk.getAxiomCount());
+        bulk.endBulkLoad();
+        assertSameIndexes(expected, bulk);
+    }
+
+    @Test
+    void shouldAnswerQueriesDuringBulkLoad() throws OWLOntologyCreationException {
+        List<OWLAxiom> axioms = axioms();
+        OWLOntology expected = m.createOntology();
+        OWLOntology bulk = m1.createOntology();
+        bulk.beginBulkLoad();
+        int half = axioms.size() / 2;
+        expected.add(axioms.subList(0, half));
+        bulk.add(axioms.subList(0, half));
+        assertTrue(bulk.containsClassInSignature(classes.get(1).getIRI()));
+        assertEquals(asUnorderedSet(expected.subClassAxiomsForSubClass(classes.get(1))),
+            asUnorderedSet(bulk.subClassAxiomsForSubClass(classes.get(1))));
+        OWLAxiom removed = axioms.get(1);
+        expected.remove(removed);
+        bulk.remove(removed);
+        assertFalse(bulk.containsAxiom(removed));
+        expected.add(axioms.subList(half, axioms.size()));
+        bulk.add(axioms.subList(half, axioms.size()));
+        bulk.endBulkLoad();
+        assertSameIndexes(expected, bulk);
+    }
+
+    @Test
+    void shouldLoadDocumentsInBulkLoadMode()
+        throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntology o = m.createOntology(iri("urn:test:", "bulk"));
+        o.add(axioms());
+        String text = saveOntology(o, new FunctionalSyntaxDocumentFormat()).toString();
+        OWLOntology expected = m1.loadOntologyFromOntologyDocument(new StringDocumentSource(text));
+        OWLOntologyManager manager = setupManager();
+        manager.getOntologyConfigurator().withBulkLoad(true);
+        OWLOntology loaded =
+            manager.loadOntologyFromOntologyDocument(new StringDocumentSource(text));
+        assertSameIndexes(expected, loaded);
+    }
+}
@@ -0,0 +1,123 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AxiomIndexBackend;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * Checks that the compact axiom index answers the same as the default one.
+ */
+class CompactAxiomIndexTestCase extends TestBase {
+
+    private final List<OWLClass> classes = new ArrayList<>();
+    private final List<OWLNamedIndividual> individuals = new ArrayList<>();
+    private final OWLObjectProperty p = ObjectProperty(iri("p"));
+
+    private List<OWLAxiom> axioms() {
+        for (int i = 0; i < 200; i++) {
+            classes.add(Class(iri("C" + i)));
+            individuals.add(NamedIndividual(iri("i" + i)));
+        }
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            axioms.add(Declaration(classes.get(i)));
+            axioms.add(SubClassOf(classes.get(i), classes.get(i / 10)));
+            axioms.add(SubClassOf(classes.get(i),
+                ObjectSomeValuesFrom(p, classes.get((i * 7) % 200))));
+            axioms.add(ClassAssertion(classes.get(i % 3), individuals.get(i)));
+            axioms.add(ObjectPropertyAssertion(p, individuals.get(i), individuals.get(i % 5)));
+        }
+        return axioms;
+    }
+
+    private static OWLOntology create(OWLOntologyManager manager, AxiomIndexBackend backend,
+        List<OWLAxiom> axioms) {
+        manager.getOntologyConfigurator().withAxiomIndexBackend(backend);
+        try {
+            OWLOntology o = manager.createOntology();
+            o.add(axioms);
+            return o;
+        } catch (OWLOntologyCreationException ex) {
+            throw new OWLRuntimeException(ex);
+        }
+    }
+
+    private void assertSameIndexes(OWLOntology expected, OWLOntology actual) {
+        assertEquals(asUnorderedSet(expected.axioms()), asUnorderedSet(actual.axioms()));
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+        assertEquals(asUnorderedSet(expected.signature()), asUnorderedSet(actual.signature()));
+        assertEquals(asUnorderedSet(expected.axioms(AxiomType.SUBCLASS_OF)),
+            asUnorderedSet(actual.axioms(AxiomType.SUBCLASS_OF)));
+        for (OWLClass c : classes) {
+            assertEquals(asUnorderedSet(expected.subClassAxiomsForSubClass(c)),
+                asUnorderedSet(actual.subClassAxiomsForSubClass(c)));
+            assertEquals(asUnorderedSet(expected.subClassAxiomsForSuperClass(c)),
+                asUnorderedSet(actual.subClassAxiomsForSuperClass(c)));
+            assertEquals(asUnorderedSet(expected.referencingAxioms(c)),
+                asUnorderedSet(actual.referencingAxioms(c)));
+            assertEquals(asUnorderedSet(expected.classAssertionAxioms(c)),
+                asUnorderedSet(actual.classAssertionAxioms(c)));
+        }
+        for (OWLNamedIndividual i : individuals) {
+            assertEquals(asUnorderedSet(expected.objectPropertyAssertionAxioms(i)),
+                asUnorderedSet(actual.objectPropertyAssertionAxioms(i)));
+        }
+    }
+
+    @Test
+    void shouldAnswerLikeHashIndex() {
+        List<OWLAxiom> axioms = axioms();
+        OWLOntology hash = create(m, AxiomIndexBackend.HASH, axioms);
+        OWLOntology compact = create(m1, AxiomIndexBackend.COMPACT, axioms);
+        assertSameIndexes(hash, compact);
+        assertTrue(axioms.stream().allMatch(compact::containsAxiom));
+    }
+
+    @Test
+    void shouldAnswerLikeHashIndexAfterRemovals() {
+        List<OWLAxiom> axioms = axioms();
+        OWLOntology hash = create(m, AxiomIndexBackend.HASH, axioms);
+        OWLOntology compact = create(m1, AxiomIndexBackend.COMPACT, axioms);
+        List<OWLAxiom> removed = new ArrayList<>();
+        for (int i = 0; i < axioms.size(); i += 3) {
+            removed.add(axioms.get(i));
+        }
+        hash.remove(removed);
+        compact.remove(removed);
+        assertSameIndexes(hash, compact);
+        assertFalse(removed.stream().anyMatch(compact::containsAxiom));
+        // adding back must reuse the recycled ids
+        hash.add(removed);
+        compact.add(removed);
+        assertSameIndexes(hash, compact);
+    }
+}
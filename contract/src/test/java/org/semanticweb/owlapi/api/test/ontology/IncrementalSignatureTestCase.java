@@ -0,0 +1,168 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomIndexBackend;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
+import org.semanticweb.owlapi.util.OWLEntityCollector;
+
+/**
+ * Checks that the signature of an ontology follows axiom and annotation changes.
+ */
+class IncrementalSignatureTestCase extends TestBase {
+
+    private static List<OWLEntity> ofType(Set<OWLEntity> signature, Class<?> type) {
+        List<OWLEntity> list = new ArrayList<>();
+        signature.stream().filter(type::isInstance).forEach(list::add);
+        return list;
+    }
+
+    private static void assertSignature(OWLOntology o) {
+        Set<OWLEntity> expected = new TreeSet<>();
+        OWLEntityCollector collector = new OWLEntityCollector(expected);
+        o.axioms().forEach(ax -> ax.accept(collector));
+        o.annotations().forEach(a -> a.accept(collector));
+        assertEquals(new ArrayList<>(expected), asList(o.signature()));
+        assertEquals(new ArrayList<>(expected), asList(o.signature().sorted()));
+        assertEquals(ofType(expected, OWLClass.class), asList(o.classesInSignature()));
+        assertEquals(ofType(expected, OWLObjectProperty.class),
+            asList(o.objectPropertiesInSignature()));
+        assertEquals(ofType(expected, OWLDataProperty.class),
+            asList(o.dataPropertiesInSignature()));
+        assertEquals(ofType(expected, OWLNamedIndividual.class),
+            asList(o.individualsInSignature()));
+        assertEquals(ofType(expected, OWLDatatype.class), asList(o.datatypesInSignature()));
+        assertEquals(ofType(expected, OWLAnnotationProperty.class),
+            asList(o.annotationPropertiesInSignature()));
+        expected.forEach(e -> assertTrue(o.containsEntityInSignature(e)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(AxiomIndexBackend.class)
+    void shouldFollowAxiomChanges(AxiomIndexBackend backend) throws OWLOntologyCreationException {
+        m.getOntologyConfigurator().withAxiomIndexBackend(backend);
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new File(RESOURCES, "pizza.owl"));
+        assertSignature(o);
+        List<OWLAxiom> axioms = asList(o.axioms().sorted());
+        List<OWLAxiom> removed = new ArrayList<>();
+        for (int i = 0; i < axioms.size(); i += 3) {
+            removed.add(axioms.get(i));
+        }
+        // one at a time, then in a batch
+        removed.subList(0, 20).forEach(o::remove);
+        assertSignature(o);
+        o.remove(removed.subList(20, removed.size()));
+        assertSignature(o);
+        OWLClass added = Class(iri("added"));
+        OWLAxiom axiom = SubClassOf(added, Class(iri("other")));
+        o.add(axiom);
+        assertTrue(o.containsEntityInSignature(added));
+        assertSignature(o);
+        o.add(removed);
+        o.remove(axiom);
+        assertFalse(o.containsEntityInSignature(added));
+        assertSignature(o);
+        assertEquals(axioms, asList(o.axioms().sorted()));
+    }
+
+    @Test
+    void shouldCountOntologyAnnotationsAndAxioms() {
+        OWLOntology o = create();
+        OWLAnnotationProperty ap = AnnotationProperty(iri("ap"));
+        OWLAnnotation annotation = Annotation(ap, Literal(1));
+        OWLAxiom axiom = AnnotationAssertion(ap, iri("s"), Literal("value"));
+        o.applyChange(new AddOntologyAnnotation(o, annotation));
+        o.add(axiom);
+        assertTrue(o.containsEntityInSignature(Integer()));
+        assertSignature(o);
+        o.remove(axiom);
+        assertTrue(o.containsEntityInSignature(ap));
+        assertFalse(o.containsEntityInSignature(df.getStringOWLDatatype()));
+        assertSignature(o);
+        o.add(axiom);
+        o.applyChange(new RemoveOntologyAnnotation(o, annotation));
+        assertTrue(o.containsEntityInSignature(ap));
+        assertFalse(o.containsEntityInSignature(Integer()));
+        assertSignature(o);
+        o.remove(axiom);
+        assertFalse(o.containsEntityInSignature(ap));
+        assertFalse(o.signature().findAny().isPresent());
+    }
+
+    @Test
+    void shouldNotSeeChangesInOpenStreams() {
+        OWLOntology o = create();
+        o.add(SubClassOf(A, B));
+        Iterator<OWLClass> classes = o.classesInSignature().iterator();
+        o.add(SubClassOf(C, D));
+        o.remove(SubClassOf(A, B));
+        assertEquals(A, classes.next());
+        assertEquals(B, classes.next());
+        assertFalse(classes.hasNext());
+        assertEquals(Arrays.asList(C, D), asList(o.classesInSignature()));
+    }
+
+    @Test
+    void shouldRebuildSignatureAfterSerialization() throws IOException, ClassNotFoundException {
+        OWLOntology o = create();
+        o.add(SubClassOf(A, ObjectSomeValuesFrom(P, B)));
+        o.applyChange(new AddOntologyAnnotation(o, Annotation(RDFSLabel(), Literal("o"))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(m);
+        }
+        try (ObjectInputStream stream =
+            new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            OWLOntologyManager manager = (OWLOntologyManager) stream.readObject();
+            OWLOntology copy = verifyNotNull(manager.getOntology(o.getOntologyID()));
+            assertEquals(asList(o.signature()), asList(copy.signature()));
+            assertSignature(copy);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.reasoners;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+
+import com.clarkparsia.owlapi.explanation.BlackBoxExplanation;
+import com.clarkparsia.owlapi.explanation.HSTExplanationGenerator;
+
+class ParallelExplanationTestCase extends TestBase {
+
+    private static final String NS = "urn:test:explanation#";
+
+    /**
+     * A class is unsatisfiable if owl:Nothing is among its told superclasses.
+     */
+    static class ToldNothingReasoner extends StructuralReasoner {
+
+        ToldNothingReasoner(OWLOntology ontology, OWLReasonerConfiguration configuration) {
+            super(ontology, configuration, BufferingMode.NON_BUFFERING);
+        }
+
+        @Override
+        public boolean isSatisfiable(OWLClassExpression classExpression) {
+            Set<OWLClassExpression> visited = new HashSet<>();
+            Queue<OWLClassExpression> toVisit = new ArrayDeque<>();
+            toVisit.add(classExpression);
+            while (!toVisit.isEmpty()) {
+                OWLClassExpression c = toVisit.remove();
+                if (c.isOWLNothing()) {
+                    return false;
+                }
+                if (!c.isAnonymous() && visited.add(c)) {
+                    getRootOntology().subClassAxiomsForSubClass(c.asOWLClass())
+                        .map(OWLSubClassOfAxiom::getSuperClass).forEach(toVisit::add);
+                }
+            }
+            return true;
+        }
+    }
+
+    static class ToldNothingReasonerFactory extends StructuralReasonerFactory {
+
+        @Override
+        public OWLReasoner createNonBufferingReasoner(OWLOntology ontology,
+            OWLReasonerConfiguration config) {
+            return new ToldNothingReasoner(ontology, config);
+        }
+
+        @Override
+        public OWLReasoner createReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+            return new ToldNothingReasoner(ontology, config);
+        }
+    }
+
+    private final ToldNothingReasonerFactory factory = new ToldNothingReasonerFactory();
+
+    /**
+     * Every path from X to owl:Nothing through two layers of three classes is a justification for
+     * the unsatisfiability of X; there are 9 of them.
+     */
+    private OWLOntology layers() {
+        OWLOntology o = create(iri(NS, "layers"));
+        OWLClass[] previous = {df.getOWLClass(NS, "X")};
+        for (int layer = 0; layer < 2; layer++) {
+            OWLClass[] current = new OWLClass[3];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = df.getOWLClass(NS, "C" + layer + i);
+                for (OWLClass sub : previous) {
+                    o.add(df.getOWLSubClassOfAxiom(sub, current[i]));
+                }
+            }
+            previous = current;
+        }
+        for (OWLClass sub : previous) {
+            o.add(df.getOWLSubClassOfAxiom(sub, df.getOWLNothing()));
+        }
+        o.signature().forEach(e -> o.add(df.getOWLDeclarationAxiom(e)));
+        return o;
+    }
+
+    private HSTExplanationGenerator generator(OWLOntology o, int threads) {
+        BlackBoxExplanation single =
+            new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o));
+        if (threads == 1) {
+            return new HSTExplanationGenerator(single);
+        }
+        return new HSTExplanationGenerator(single, OWLManager::createOWLOntologyManager,
+            threads);
+    }
+
+    @Test
+    void shouldFindAllJustificationsAsSequentialSearch() {
+        OWLOntology o = layers();
+        OWLClass x = df.getOWLClass(NS, "X");
+        Set<Set<OWLAxiom>> expected = generator(o, 1).getExplanations(x);
+        assertEquals(9, expected.size());
+        Set<OWLAxiom> axioms = asUnorderedSet(o.axioms(INCLUDED));
+        Set<Set<OWLAxiom>> actual = generator(o, 4).getExplanations(x);
+        assertEquals(expected, actual);
+        // workers do not change the ontology
+        assertEquals(axioms, asUnorderedSet(o.axioms(INCLUDED)));
+    }
+
+    @Test
+    void shouldStopAtMaximumNumberOfJustifications() {
+        OWLOntology o = layers();
+        OWLClass x = df.getOWLClass(NS, "X");
+        Set<Set<OWLAxiom>> all = generator(o, 1).getExplanations(x);
+        Set<Set<OWLAxiom>> actual = generator(o, 4).getExplanations(x, 5);
+        assertEquals(5, actual.size());
+        assertTrue(all.containsAll(actual));
+    }
+
+    @Test
+    void shouldStopAtTimeout() {
+        OWLOntology o = layers();
+        OWLClass x = df.getOWLClass(NS, "X");
+        Set<Set<OWLAxiom>> all = generator(o, 1).getExplanations(x);
+        HSTExplanationGenerator generator = generator(o, 4);
+        generator.setTimeout(1);
+        Set<Set<OWLAxiom>> actual = generator.getExplanations(x);
+        assertFalse(actual.isEmpty());
+        assertTrue(all.containsAll(actual));
+    }
+}
@@ -15,8 +15,13 @@ package org.semanticweb.owlapi.api.test.reasoners;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
@@ -24,6 +29,7 @@ import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
 import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerConfiguration;
 
 /**
  * @author Matthew Horridge, The University of Manchester, Bio-Health Informatics Group
@@ -74,4 +80,103 @@ class StructuralReasonerTestCase extends TestBase {
         ont.remove(SubClassOf(A, OWLThing()));
         testClassHierarchy(reasoner);
     }
+
+    @Test
+    void testClassHierarchyIncremental() {
+        OWLOntology ont = create("ont");
+        ont.addAxiom(EquivalentClasses(OWLThing(), C));
+        ont.addAxiom(SubClassOf(B, A));
+        ont.addAxiom(EquivalentClasses(A, D));
+        StructuralReasoner reasoner = new StructuralReasoner(ont,
+            new StructuralReasonerConfiguration().withIncrementalUpdates(true),
+            BufferingMode.NON_BUFFERING);
+        testClassHierarchy(reasoner);
+        ont.add(SubClassOf(A, OWLThing()));
+        testClassHierarchy(reasoner);
+        ont.remove(SubClassOf(A, OWLThing()));
+        testClassHierarchy(reasoner);
+    }
+
+    @Test
+    void shouldMatchRecomputationAfterIncrementalChanges() {
+        OWLOntology ont = create("incremental");
+        List<OWLClass> classes = classes(40);
+        Random random = new Random(42);
+        List<OWLAxiom> axioms = randomAxioms(classes, random, 60);
+        ont.add(axioms);
+        StructuralReasoner reasoner = new StructuralReasoner(ont,
+            new StructuralReasonerConfiguration().withIncrementalUpdates(true),
+            BufferingMode.NON_BUFFERING);
+        for (int i = 0; i < 60; i++) {
+            if (random.nextBoolean()) {
+                ont.remove(axioms.remove(random.nextInt(axioms.size())));
+            } else {
+                List<OWLAxiom> added = randomAxioms(classes, random, 1);
+                axioms.addAll(added);
+                ont.add(added);
+            }
+            reasoner.precomputeInferences();
+            assertSameHierarchy(classes, new StructuralReasoner(ont, new SimpleConfiguration(),
+                BufferingMode.NON_BUFFERING), reasoner);
+        }
+    }
+
+    @Test
+    void shouldMatchSequentialComputationInParallel() {
+        OWLOntology ont = create("parallel");
+        List<OWLClass> classes = classes(300);
+        ont.add(randomAxioms(classes, new Random(7), 250));
+        StructuralReasoner sequential =
+            new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        StructuralReasoner parallel = new StructuralReasoner(ont,
+            new StructuralReasonerConfiguration().withHierarchyThreads(4),
+            BufferingMode.NON_BUFFERING);
+        assertSameHierarchy(classes, sequential, parallel);
+    }
+
+    private static List<OWLClass> classes(int n) {
+        List<OWLClass> classes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            classes.add(Class(iri("C" + i)));
+        }
+        classes.add(OWLThing());
+        classes.add(OWLNothing());
+        return classes;
+    }
+
+    /**
+     * Mostly subclass axioms between random classes, so that there are cycles and classes
+     * equivalent to top or bottom, with a few equivalences and intersections.
+     */
+    private static List<OWLAxiom> randomAxioms(List<OWLClass> classes, Random random, int n) {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            OWLClass sub = classes.get(random.nextInt(classes.size()));
+            OWLClass sup = classes.get(random.nextInt(classes.size()));
+            switch (random.nextInt(6)) {
+                case 0:
+                    axioms.add(EquivalentClasses(sub, sup));
+                    break;
+                case 1:
+                    axioms.add(SubClassOf(sub,
+                        ObjectIntersectionOf(sup, classes.get(random.nextInt(classes.size())))));
+                    break;
+                default:
+                    axioms.add(SubClassOf(sub, sup));
+            }
+        }
+        return axioms;
+    }
+
+    private static void assertSameHierarchy(List<OWLClass> classes, StructuralReasoner expected,
+        StructuralReasoner actual) {
+        for (OWLClass c : classes) {
+            assertEquals(expected.getEquivalentClasses(c), actual.getEquivalentClasses(c),
+                c.toString());
+            assertEquals(expected.getSuperClasses(c, true), actual.getSuperClasses(c, true),
+                c.toString());
+            assertEquals(expected.getSubClasses(c, true), actual.getSubClasses(c, true),
+                c.toString());
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.snapshot.BinarySnapshotParser;
+
+class BinarySnapshotTestCase extends TestBase {
+
+    private static final String MIXED = "Prefix(:=<http://example.com/snapshot#>)\n"
+        + "Prefix(rdfs:=<http://www.w3.org/2000/01/rdf-schema#>)\n"
+        + "Prefix(xsd:=<http://www.w3.org/2001/XMLSchema#>)\n"
+        + "Ontology(<http://example.com/snapshot> <http://example.com/snapshot/2>\n"
+        + "Import(<http://example.com/missing>)\n"
+        + "Annotation(rdfs:comment \"ontology è annotation\"@it)\n"
+        + "Declaration(Class(:A)) Declaration(Class(:B)) Declaration(ObjectProperty(:p))\n"
+        + "Declaration(DataProperty(:d)) Declaration(NamedIndividual(:i))\n"
+        + "Declaration(Datatype(:dt))\n"
+        + "SubClassOf(Annotation(Annotation(rdfs:label \"deep\") rdfs:comment \"nested\") :A "
+        + "ObjectIntersectionOf(:B ObjectMinCardinality(2 ObjectInverseOf(:p) "
+        + "ObjectComplementOf(ObjectOneOf(:i)))))\n"
+        + "SubClassOf(:B DataSomeValuesFrom(:d DatatypeRestriction(xsd:integer "
+        + "xsd:minInclusive \"1\"^^xsd:integer xsd:maxExclusive \"10\"^^xsd:integer)))\n"
+        + "SubClassOf(:B DataAllValuesFrom(:d DataUnionOf(DataOneOf(\"a\" \"b\"@en) "
+        + "DataComplementOf(xsd:string))))\n"
+        + "DatatypeDefinition(:dt DataIntersectionOf(xsd:int DataOneOf(\"3\"^^xsd:int)))\n"
+        + "SubObjectPropertyOf(ObjectPropertyChain(:p ObjectInverseOf(:p)) :p)\n"
+        + "HasKey(:A (:p) (:d))\n"
+        + "ClassAssertion(:A _:x)\n"
+        + "ObjectPropertyAssertion(:p _:x :i)\n"
+        + "DataPropertyAssertion(:d :i \"2.5\"^^xsd:decimal)\n"
+        + "AnnotationAssertion(rdfs:label :A \"label\"@en)\n"
+        + "AnnotationAssertion(rdfs:seeAlso :A <http://example.com/other>)\n"
+        + "DLSafeRule(Body(ClassAtom(:A Variable(:x)) ObjectPropertyAtom(:p Variable(:x) :i) "
+        + "DataPropertyAtom(:d Variable(:x) Variable(:v)) "
+        + "BuiltInAtom(<http://www.w3.org/2003/11/swrlb#greaterThan> Variable(:v) \"1\"^^xsd:int))"
+        + "Head(ClassAtom(:B Variable(:x)) SameIndividualAtom(Variable(:x) :i)))\n" + ")";
+
+    private static void assertSameOntology(OWLOntology expected, OWLOntology actual) {
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(asUnorderedSet(expected.importsDeclarations()),
+            asUnorderedSet(actual.importsDeclarations()));
+        assertEquals(asUnorderedSet(expected.annotations()), asUnorderedSet(actual.annotations()));
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+        // node ids are remapped on loading, as for the other formats
+        assertEquals(expected.anonymousIndividuals().count(),
+            actual.anonymousIndividuals().count());
+        Predicate<OWLAxiom> named = ax -> ax.anonymousIndividuals().count() == 0;
+        assertEquals(asUnorderedSet(expected.axioms().filter(named)),
+            asUnorderedSet(actual.axioms().filter(named)));
+    }
+
+    private static byte[] store(OWLOntology o) throws OWLOntologyStorageException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        o.saveOntology(new BinarySnapshotDocumentFormat(), out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void shouldRoundTripPrimerThroughStream()
+        throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntology primer = m
+            .loadOntologyFromOntologyDocument(new File(RESOURCES, "primer.functionalsyntax.txt"));
+        byte[] bytes = store(primer);
+        // output does not depend on iteration order
+        assertArrayEquals(bytes, store(primer));
+        OWLOntology loaded =
+            m1.loadOntologyFromOntologyDocument(new ByteArrayInputStream(bytes));
+        assertEquals(BinarySnapshotDocumentFormat.class, loaded.getNonnullFormat().getClass());
+        assertSameOntology(primer, loaded);
+    }
+
+    @Test
+    void shouldRoundTripThroughMappedFile() throws Exception {
+        m.getOntologyConfigurator()
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+        m1.getOntologyConfigurator()
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+        OWLOntology mixed = m.loadOntologyFromOntologyDocument(new StringDocumentSource(MIXED));
+        File file = new File(folder, "mixed.owlb");
+        mixed.saveOntology(new BinarySnapshotDocumentFormat(), IRI.create(file));
+        OWLOntology loaded = m1.loadOntologyFromOntologyDocument(new FileDocumentSource(file),
+            m1.getOntologyLoaderConfiguration().setParsingThreads(4));
+        assertSameOntology(mixed, loaded);
+    }
+
+    @Test
+    void shouldRejectTextualInput() {
+        OWLOntology o = createAnon();
+        StreamDocumentSource source = new StreamDocumentSource(
+            new ByteArrayInputStream("Ontology()".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(OWLParserException.class, () -> new BinarySnapshotParser().parse(source, o,
+            m.getOntologyLoaderConfiguration()));
+    }
+}
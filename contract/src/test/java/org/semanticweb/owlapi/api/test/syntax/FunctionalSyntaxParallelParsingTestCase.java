@@ -0,0 +1,99 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.File;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+class FunctionalSyntaxParallelParsingTestCase extends TestBase {
+
+    private static OWLOntology parse(OWLOntologyManager manager, OWLOntologyDocumentSource source,
+        int threads) throws OWLOntologyCreationException {
+        return manager.loadOntologyFromOntologyDocument(source,
+            manager.getOntologyLoaderConfiguration().setParsingThreads(threads));
+    }
+
+    private static void assertSameOntology(OWLOntology expected, OWLOntology actual) {
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(asUnorderedSet(expected.importsDeclarations()),
+            asUnorderedSet(actual.importsDeclarations()));
+        assertEquals(asUnorderedSet(expected.annotations()), asUnorderedSet(actual.annotations()));
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+        assertEquals(asUnorderedSet(expected.axioms()), asUnorderedSet(actual.axioms()));
+    }
+
+    @Test
+    void shouldParsePrimerAsSequentialParse() throws OWLOntologyCreationException {
+        File primer = new File(RESOURCES, "primer.functionalsyntax.txt");
+        OWLOntology sequential = parse(m, new FileDocumentSource(primer), 1);
+        OWLOntology parallel = parse(m1, new FileDocumentSource(primer), 4);
+        assertSameOntology(sequential, parallel);
+    }
+
+    @Test
+    void shouldSplitOnlyAtTopLevelParentheses() throws OWLOntologyCreationException {
+        StringBuilder b = new StringBuilder();
+        b.append("Prefix(:=<http://example.com/chunks#>)\n");
+        b.append("Prefix(rdfs:=<http://www.w3.org/2000/01/rdf-schema#>)\n");
+        b.append("# a comment with ) and ( before the ontology\n");
+        b.append("Ontology(<http://example.com/chunks> <http://example.com/chunks/1.0>\n");
+        b.append("Annotation(rdfs:comment \"header (not an axiom)\")\n");
+        // enough axioms to need more than one chunk
+        for (int i = 0; i < 25000; i++) {
+            b.append("SubClassOf(:C").append(i).append(" :C").append(i + 1).append(")\n");
+            b.append("# comment ) ").append(i).append('\n');
+            b.append("AnnotationAssertion(rdfs:label <http://example.com/chunks#C(").append(i)
+                .append(")> \"label ) with # and \\\" (").append(i).append("\"@en)\n");
+            if (i % 1000 == 0) {
+                b.append("ClassAssertion(:C").append(i).append(" _:shared)\n");
+            }
+        }
+        b.append(")\n");
+        String text = b.toString();
+        assertTrue(text.length() > 2 << 20);
+        OWLOntology sequential = parse(m, new StringDocumentSource(text), 1);
+        OWLOntology parallel = parse(m1, new StringDocumentSource(text), 4);
+        assertEquals(50025, parallel.getAxiomCount());
+        assertEquals(sequential.getAxiomCount(), parallel.getAxiomCount());
+        assertEquals(asUnorderedSet(sequential.annotations()),
+            asUnorderedSet(parallel.annotations()));
+        // the same node id maps to the same individual across chunks
+        assertEquals(1, parallel.anonymousIndividuals().count());
+        Predicate<OWLAxiom> named = ax -> ax.anonymousIndividuals().count() == 0;
+        assertEquals(asUnorderedSet(sequential.axioms().filter(named)),
+            asUnorderedSet(parallel.axioms().filter(named)));
+    }
+
+    @Test
+    void shouldReportErrorsInChunks() {
+        String text = "Prefix(:=<http://example.com/chunks#>)\nOntology(<http://example.com/chunks>\n"
+            + "SubClassOf(:A :B)\nSubClassOf(:A)\n)";
+        assertThrows(OWLOntologyCreationException.class,
+            () -> parse(m, new StringDocumentSource(text), 4));
+    }
+}
@@ -0,0 +1,99 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnnotationAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnonymousIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DisjointClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.IRI;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSLabel;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+class ParallelRenderingTestCase extends TestBase {
+
+    private static final String NS = "http://example.com/parallel#";
+
+    private String save(OWLOntology o, OWLDocumentFormat format, int threads) {
+        o.getOWLOntologyManager().setOntologyWriterConfiguration(
+            o.getOWLOntologyManager().getOntologyWriterConfiguration()
+                .withRenderingThreads(threads));
+        return saveOntology(o, format).toString();
+    }
+
+    private void assertSameOutput(OWLOntology o) {
+        for (OWLDocumentFormat format : new OWLDocumentFormat[] {
+            new FunctionalSyntaxDocumentFormat(), new RDFXMLDocumentFormat(),
+            new TurtleDocumentFormat()}) {
+            String sequential = save(o, format, 1);
+            assertEquals(sequential, save(o, format, 4), format.getKey());
+        }
+    }
+
+    @Test
+    void shouldRenderPrimerAsSequentialRendering() throws OWLOntologyCreationException {
+        assertSameOutput(m.loadOntologyFromOntologyDocument(
+            new FileDocumentSource(new File(RESOURCES, "primer.functionalsyntax.txt"))));
+    }
+
+    @Test
+    void shouldRenderSharedAxiomsOnceAsSequentialRendering() {
+        OWLOntology o = create(IRI(NS + "ontology"));
+        OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+        int size = 1500;
+        for (int i = 0; i < size; i++) {
+            OWLClass c = Class(IRI(NS + "C" + i));
+            OWLClass d = Class(IRI(NS + "C" + (i + 1) % size));
+            OWLNamedIndividual a = NamedIndividual(IRI(NS + "a" + i));
+            // axioms shared between frames are written by the first entity only
+            o.add(SubClassOf(c, d), ClassAssertion(c, a), AnnotationAssertion(RDFSLabel(),
+                c.getIRI(), Literal("class " + i)));
+            if (i % 7 == 0) {
+                o.add(EquivalentClasses(c, Class(IRI(NS + "C" + (i + 13) % size))));
+                o.add(ObjectPropertyAssertion(p, a, NamedIndividual(IRI(NS + "a" + (i + 3)))));
+            }
+            if (i % 11 == 0) {
+                o.add(DisjointClasses(c, d, Class(IRI(NS + "C" + (i + 2) % size))));
+                o.add(SubClassOf(ObjectSomeValuesFrom(p, c), d));
+            }
+            if (i % 97 == 0) {
+                o.add(ClassAssertion(c, AnonymousIndividual()));
+                o.add(AnnotationAssertion(RDFSLabel(), IRI(NS + "untyped" + i), Literal(i)));
+            }
+        }
+        assertSameOutput(o);
+    }
+}
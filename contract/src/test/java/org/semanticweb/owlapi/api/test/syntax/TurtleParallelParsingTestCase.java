@@ -0,0 +1,230 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.rdf.turtle.parser.FastTurtleParser;
+import org.semanticweb.owlapi.rdf.turtle.parser.TripleHandler;
+import org.semanticweb.owlapi.rdf.turtle.parser.TurtleParser;
+
+class TurtleParallelParsingTestCase extends TestBase {
+
+    private static final IRI BASE = IRI.create("http://example.com/base/document.ttl");
+
+    private static OWLOntology parse(OWLOntologyManager manager, OWLOntologyDocumentSource source,
+        int threads) throws OWLOntologyCreationException {
+        return manager.loadOntologyFromOntologyDocument(source,
+            manager.getOntologyLoaderConfiguration().setParsingThreads(threads));
+    }
+
+    /**
+     * Records triples as strings; anonymous blank nodes are renamed in order of appearance, so
+     * that two parses of the same document can be compared.
+     */
+    private static class Recorder implements TripleHandler {
+
+        private static final Pattern ANONYMOUS = Pattern.compile("_:genid[0-9]+");
+        final List<String> triples = new ArrayList<>();
+        private final Map<IRI, String> anonymous = new HashMap<>();
+
+        private String name(@Nullable Object o) {
+            if (o instanceof IRI && ANONYMOUS.matcher(o.toString()).matches()) {
+                return anonymous.computeIfAbsent((IRI) o, x -> "_:b" + anonymous.size());
+            }
+            return String.valueOf(o);
+        }
+
+        private void add(Object... terms) {
+            StringBuilder b = new StringBuilder();
+            for (Object t : terms) {
+                b.append(name(t)).append(' ');
+            }
+            triples.add(b.toString());
+        }
+
+        @Override
+        public void handlePrefixDirective(String prefixName, String prefix) {
+            add("@prefix", prefixName, prefix);
+        }
+
+        @Override
+        public void handleBaseDirective(IRI base) {
+            add("@base", base);
+        }
+
+        @Override
+        public void handleComment(String comment) {
+            // not recorded
+        }
+
+        @Override
+        public void handleTriple(IRI subject, IRI predicate, IRI object) {
+            add(subject, predicate, object);
+        }
+
+        @Override
+        public void handleTriple(IRI subject, IRI predicate, String object) {
+            add(subject, predicate, '"' + object + '"');
+        }
+
+        @Override
+        public void handleTriple(IRI subject, IRI predicate, String object,
+            @Nullable String lang) {
+            add(subject, predicate, '"' + object + '"', "@" + lang);
+        }
+
+        @Override
+        public void handleTriple(IRI subject, IRI predicate, String object,
+            @Nullable IRI datatype) {
+            add(subject, predicate, '"' + object + '"', "^^" + datatype);
+        }
+
+        @Override
+        public void handleEnd() {
+            triples.add("end");
+        }
+    }
+
+    private static List<String> generated(Reader r) throws IOException {
+        Recorder recorder = new Recorder();
+        new TurtleParser(r, recorder, BASE).parseDocument();
+        return recorder.triples;
+    }
+
+    private static List<String> fast(Reader r, int threads) throws IOException {
+        Recorder recorder = new Recorder();
+        new FastTurtleParser(r, recorder, BASE).parseDocument(threads);
+        return recorder.triples;
+    }
+
+    private static String document() {
+        StringBuilder b = new StringBuilder();
+        b.append("@prefix : <http://example.com/chunks#> .\n");
+        b.append("@prefix owl: <http://www.w3.org/2002/07/owl#> .\n");
+        b.append("@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n");
+        b.append("# a comment. with a dot\n");
+        b.append("<http://example.com/chunks> a owl:Ontology .\n");
+        for (int i = 0; i < 20000; i++) {
+            b.append(":C").append(i).append(" a owl:Class ;\n    rdfs:subClassOf :C")
+                .append(i + 1).append(" , [ a owl:Restriction ; owl:onProperty :p ;\n")
+                .append("        owl:someValuesFrom :D").append(i).append(" ] .\n");
+            b.append(":C").append(i).append(" rdfs:label \"label. \\\"quoted\\\" ")
+                .append(i).append("\"@en-GB ; # comment.\n    rdfs:comment \"\"\"long. \n")
+                .append("text\"\"\" , 'single. ' , 1.5 , -2 , 3.0e2 , true .\n");
+            b.append(":C").append(i).append(" :value ").append(i).append(" .\n");
+            if (i % 1000 == 0) {
+                b.append(":C").append(i).append(" :knows _:shared .\n");
+                b.append(":list").append(i).append(" :items ( :A").append(i)
+                    .append(" \"a. b\" :B.x ) .\n");
+            }
+            if (i == 10000) {
+                // a directive in the middle changes the prefixes of the chunks after it
+                b.append("@prefix : <http://example.com/redefined#> .\n");
+                b.append("@base <http://example.com/other/> .\n");
+                b.append("<relative> a owl:Class .\n");
+            }
+        }
+        return b.toString();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"noBaseEscapedSlashes.ttl",
+        "rdfParserReservedPropertiesAnnotations.ttl", "testBlankNodes.ttl", "testBlankNodes2.ttl", "testBlankNodesAssertions.ttl",
+        "testBlankNodesDomain.ttl", "primer.turtle.rdf"})
+    void shouldSendSameTriplesAsGeneratedParser(String name) throws IOException {
+        File file = new File(RESOURCES, name);
+        String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        List<String> expected = generated(new StringReader(text));
+        assertEquals(expected, fast(new StringReader(text), 1));
+        assertEquals(expected, fast(new StringReader(text), 4));
+    }
+
+    @Test
+    void shouldSplitOnlyAtStatementEnds() throws IOException {
+        String text = document();
+        assertTrue(text.length() > 2 << 20);
+        List<String> expected = generated(new StringReader(text));
+        assertEquals(expected, fast(new StringReader(text), 1));
+        assertEquals(expected, fast(new StringReader(text), 4));
+        // small reads refill the lexer buffer in the middle of tokens
+        assertEquals(expected, fast(new InputStreamReader(
+            new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8) {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 7));
+            }
+        }, 1));
+    }
+
+    @Test
+    void shouldLoadSameOntologyInParallel() throws OWLOntologyCreationException {
+        String text = document();
+        OWLOntology sequential = parse(m, new StringDocumentSource(text), 1);
+        OWLOntology parallel = parse(m1, new StringDocumentSource(text), 4);
+        assertEquals(sequential.getAxiomCount(), parallel.getAxiomCount());
+        assertEquals(asUnorderedSet(sequential.annotations()),
+            asUnorderedSet(parallel.annotations()));
+        Predicate<OWLAxiom> named = ax -> ax.anonymousIndividuals().count() == 0;
+        assertEquals(asUnorderedSet(sequential.axioms().filter(named)),
+            asUnorderedSet(parallel.axioms().filter(named)));
+    }
+
+    @Test
+    void shouldReportErrorsInChunks() {
+        String prefix = "@prefix : <http://example.com/chunks#> .\n:A :p :B .\n";
+        String unclosed = prefix + ":A :p [ :q :C .\n";
+        String undeclared = prefix + ":A :p undeclared:B .\n";
+        String unterminated = prefix + ":A :p <http://example.com/B .\n";
+        for (String text : Arrays.asList(unclosed, undeclared, unterminated)) {
+            assertThrows(RuntimeException.class, () -> generated(new StringReader(text)), text);
+            assertThrows(RuntimeException.class, () -> fast(new StringReader(text), 1), text);
+            assertThrows(RuntimeException.class, () -> fast(new StringReader(text), 4), text);
+            assertThrows(OWLOntologyCreationException.class,
+                () -> parse(m, new StringDocumentSource(text), 4), text);
+        }
+    }
+}
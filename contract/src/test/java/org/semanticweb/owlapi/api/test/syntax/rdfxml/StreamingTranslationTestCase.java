@@ -0,0 +1,204 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax.rdfxml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.rdf.rdfxml.parser.OWLRDFConsumer;
+import org.semanticweb.owlapi.rdf.rdfxml.parser.RDFParser;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+class StreamingTranslationTestCase extends TestBase {
+
+    private static final String MIXED = "Prefix(:=<http://example.com/streaming#>)\n"
+        + "Prefix(rdfs:=<http://www.w3.org/2000/01/rdf-schema#>)\n"
+        + "Prefix(xsd:=<http://www.w3.org/2001/XMLSchema#>)\n"
+        + "Ontology(<http://example.com/streaming> <http://example.com/streaming/2>\n"
+        + "Import(<http://example.com/missing>)\n"
+        + "Annotation(rdfs:comment \"ontology annotation\")\n"
+        + "Declaration(Class(:A)) Declaration(Class(:B)) Declaration(Class(:C))\n"
+        + "Declaration(ObjectProperty(:p)) Declaration(ObjectProperty(:q))\n"
+        + "Declaration(DataProperty(:d)) Declaration(NamedIndividual(:i))\n"
+        + "Declaration(NamedIndividual(:j)) Declaration(Datatype(:dt))\n"
+        + "SubClassOf(Annotation(Annotation(rdfs:label \"deep\") rdfs:comment \"nested\") :A "
+        + "ObjectIntersectionOf(:B ObjectMinCardinality(2 ObjectInverseOf(:p) "
+        + "ObjectComplementOf(ObjectOneOf(:i)))))\n"
+        + "SubClassOf(:B DataSomeValuesFrom(:d DatatypeRestriction(xsd:integer "
+        + "xsd:minInclusive \"1\"^^xsd:integer xsd:maxExclusive \"10\"^^xsd:integer)))\n"
+        + "EquivalentClasses(:C ObjectUnionOf(:A ObjectAllValuesFrom(:q :B)))\n"
+        + "DisjointUnion(Annotation(rdfs:comment \"union\") :C :A :B)\n"
+        + "DisjointClasses(Annotation(rdfs:comment \"three\") :A :B :C)\n"
+        + "DatatypeDefinition(:dt DataIntersectionOf(xsd:int DataOneOf(\"3\"^^xsd:int)))\n"
+        + "SubObjectPropertyOf(Annotation(rdfs:comment \"chain\") "
+        + "ObjectPropertyChain(:p ObjectInverseOf(:q)) :p)\n"
+        + "InverseObjectProperties(:p :q)\n"
+        + "HasKey(:A (:p) (:d))\n"
+        + "ClassAssertion(ObjectSomeValuesFrom(:p :B) :i)\n"
+        + "ClassAssertion(:A _:x)\n"
+        + "ObjectPropertyAssertion(:p _:x :i)\n"
+        + "NegativeObjectPropertyAssertion(:q :i :j)\n"
+        + "DataPropertyAssertion(Annotation(rdfs:comment \"data\") :d :i \"2.5\"^^xsd:decimal)\n"
+        + "AnnotationAssertion(rdfs:label :A \"label\"@en)\n"
+        + "AnnotationAssertion(rdfs:seeAlso :A <http://example.com/other>)\n"
+        + "DLSafeRule(Body(ClassAtom(:A Variable(:v)) ObjectPropertyAtom(:p Variable(:v) :i)) "
+        + "Head(ClassAtom(:B Variable(:v))))\n" + ")";
+    /**
+     * A refers to a blank node described after the next named subject, so its group has to be
+     * kept aside until the description arrives.
+     */
+    private static final String LATE_NODE = "<?xml version=\"1.0\"?>\n"
+        + "<rdf:RDF xmlns=\"http://example.com/late#\" xml:base=\"http://example.com/late\"\n"
+        + " xmlns:owl=\"http://www.w3.org/2002/07/owl#\"\n"
+        + " xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"\n"
+        + " xmlns:rdfs=\"http://www.w3.org/2000/01/rdf-schema#\">\n"
+        + "<owl:Ontology rdf:about=\"http://example.com/late\"/>\n"
+        + "<owl:ObjectProperty rdf:about=\"http://example.com/late#p\"/>\n"
+        + "<owl:Class rdf:about=\"http://example.com/late#B\"/>\n"
+        + "<owl:Class rdf:about=\"http://example.com/late#A\">\n"
+        + "  <rdfs:subClassOf rdf:nodeID=\"r\"/>\n" + "</owl:Class>\n"
+        + "<owl:Class rdf:about=\"http://example.com/late#C\">\n"
+        + "  <rdfs:subClassOf rdf:resource=\"http://example.com/late#B\"/>\n" + "</owl:Class>\n"
+        + "<owl:Restriction rdf:nodeID=\"r\">\n"
+        + "  <owl:onProperty rdf:resource=\"http://example.com/late#p\"/>\n"
+        + "  <owl:someValuesFrom rdf:resource=\"http://example.com/late#B\"/>\n"
+        + "</owl:Restriction>\n"
+        + "<owl:Class rdf:about=\"http://example.com/late#D\">\n"
+        + "  <rdfs:subClassOf rdf:nodeID=\"r\"/>\n" + "</owl:Class>\n" + "</rdf:RDF>";
+
+    private static OWLOntologyLoaderConfiguration streaming(OWLOntologyManager manager) {
+        return manager.getOntologyLoaderConfiguration().setStreamingRDFTranslation(true);
+    }
+
+    private static void assertSameOntology(OWLOntology expected, OWLOntology actual) {
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(asUnorderedSet(expected.importsDeclarations()),
+            asUnorderedSet(actual.importsDeclarations()));
+        assertEquals(asUnorderedSet(expected.annotations()), asUnorderedSet(actual.annotations()));
+        // node ids are remapped on loading
+        assertEquals(expected.anonymousIndividuals().count(),
+            actual.anonymousIndividuals().count());
+        Predicate<OWLAxiom> named = ax -> ax.anonymousIndividuals().count() == 0;
+        assertEquals(asUnorderedSet(expected.axioms().filter(named)),
+            asUnorderedSet(actual.axioms().filter(named)));
+    }
+
+    private String toRDFXML(OWLOntology o) {
+        return saveOntology(o, new RDFXMLDocumentFormat()).toString();
+    }
+
+    @Test
+    void shouldTranslatePrimerAsBuffered() throws OWLOntologyCreationException {
+        String rdfxml = toRDFXML(
+            m.loadOntologyFromOntologyDocument(new File(RESOURCES, "primer.functionalsyntax.txt")));
+        OWLOntology buffered = m1.loadOntologyFromOntologyDocument(new StringDocumentSource(rdfxml));
+        OWLOntologyManager manager = setupManager();
+        OWLOntology streamed = manager
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(rdfxml), streaming(manager));
+        assertSameOntology(buffered, streamed);
+    }
+
+    @Test
+    void shouldTranslateReifiedAxiomsAndListsAsBuffered() throws OWLOntologyCreationException {
+        m.getOntologyConfigurator()
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+        m1.getOntologyConfigurator()
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+        OWLOntology mixed = m.loadOntologyFromOntologyDocument(new StringDocumentSource(MIXED));
+        String rdfxml = toRDFXML(mixed);
+        OWLOntology streamed =
+            m1.loadOntologyFromOntologyDocument(new StringDocumentSource(rdfxml), streaming(m1));
+        assertSameOntology(mixed, streamed);
+    }
+
+    @Test
+    void shouldWaitForLateBlankNodeDescriptions() throws OWLOntologyCreationException {
+        OWLOntology buffered =
+            m.loadOntologyFromOntologyDocument(new StringDocumentSource(LATE_NODE));
+        OWLOntology streamed = m1.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(LATE_NODE), streaming(m1));
+        assertSameOntology(buffered, streamed);
+        // with no room to keep groups aside, they are translated at the end of the document
+        OWLOntologyManager manager = setupManager();
+        OWLOntology unspilled = manager.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(LATE_NODE),
+            streaming(manager).setStreamingRDFSpillLimit(0));
+        assertSameOntology(buffered, unspilled);
+    }
+
+    @Test
+    void shouldTranslateBeforeTheDocumentEnds()
+        throws OWLOntologyCreationException, SAXException, IOException {
+        OWLOntology o = createAnon();
+        String ns = "http://example.com/chain#";
+        OWLObjectProperty p = df.getOWLObjectProperty(ns, "p");
+        o.add(df.getOWLDeclarationAxiom(p));
+        for (int i = 0; i < 2000; i++) {
+            OWLClass c = df.getOWLClass(ns, "C" + i);
+            o.add(df.getOWLDeclarationAxiom(c), df.getOWLSubClassOfAxiom(c,
+                df.getOWLObjectSomeValuesFrom(p, df.getOWLClass(ns, "C" + (i + 1)))));
+        }
+        o.add(df.getOWLDeclarationAxiom(df.getOWLClass(ns, "C2000")));
+        String rdfxml = toRDFXML(o);
+        // buffered translation adds class axioms only after the whole document has been parsed
+        assertEquals(0, subClassAxiomsHalfway(rdfxml, m1.getOntologyLoaderConfiguration()));
+        assertTrue(subClassAxiomsHalfway(rdfxml, streaming(m1)) > 0);
+    }
+
+    private int subClassAxiomsHalfway(String rdfxml, OWLOntologyLoaderConfiguration config)
+        throws OWLOntologyCreationException, SAXException, IOException {
+        OWLOntology target = m1.createOntology();
+        int[] halfway = new int[1];
+        RDFParser parser = new RDFParser();
+        OWLRDFConsumer consumer = new OWLRDFConsumer(target, config) {
+            {
+                setIRIProvider(parser);
+            }
+
+            @Override
+            public void endDescription(String subject, boolean topLevel) {
+                super.endDescription(subject, topLevel);
+                if (subject.endsWith("#C1000")) {
+                    halfway[0] = target.getAxiomCount(AxiomType.SUBCLASS_OF);
+                }
+            }
+        };
+        consumer.setOntologyFormat(new RDFXMLDocumentFormat());
+        InputSource source = new InputSource(new StringReader(rdfxml));
+        source.setSystemId("http://example.com/chain");
+        parser.parse(source, consumer);
+        assertEquals(2000, target.getAxiomCount(AxiomType.SUBCLASS_OF));
+        m1.removeOntology(target);
+        return halfway[0];
+    }
+}
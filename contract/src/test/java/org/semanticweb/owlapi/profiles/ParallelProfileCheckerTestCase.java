@@ -0,0 +1,99 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+class ParallelProfileCheckerTestCase extends TestBase {
+
+    private static final int SIZE = 1000;
+
+    private OWLOntology ontology() throws OWLOntologyCreationException {
+        OWLOntology pizza =
+            m.loadOntologyFromOntologyDocument(new File(RESOURCES, "pizza.owl"));
+        OWLOntology o = create(iri("main"));
+        o.applyChange(new AddImport(o,
+            ImportsDeclaration(pizza.getOntologyID().getOntologyIRI().get())));
+        OWLObjectProperty transitive = ObjectProperty(iri("transitive"));
+        o.add(TransitiveObjectProperty(transitive));
+        for (int i = 0; i < SIZE; i++) {
+            OWLClass c = Class(iri("C" + i));
+            OWLClass d = Class(iri("C" + (i + 1)));
+            o.add(Declaration(c));
+            o.add(SubClassOf(c, d));
+            if (i % 3 == 0) {
+                o.add(SubClassOf(ObjectUnionOf(c, d), ObjectAllValuesFrom(P, c)));
+            }
+            if (i % 5 == 0) {
+                o.add(SubClassOf(c, ObjectMaxCardinality(1, transitive, d)));
+            }
+            if (i % 7 == 0) {
+                o.add(ClassAssertion(c, AnonymousIndividual()));
+                o.add(SubClassOf(ObjectSomeValuesFrom(ObjectInverseOf(P), c), d));
+            }
+        }
+        return o;
+    }
+
+    private static List<String> sorted(List<OWLProfileViolation> violations) {
+        List<String> list = new ArrayList<>();
+        violations.forEach(v -> list.add(v.toString()));
+        Collections.sort(list);
+        return list;
+    }
+
+    @ParameterizedTest
+    @EnumSource(Profiles.class)
+    void shouldFindViolationsAsProfile(Profiles profile) throws OWLOntologyCreationException {
+        OWLOntology o = ontology();
+        OWLProfileReport expected = profile.checkOntology(o);
+        assertEquals(profile == Profiles.OWL2_FULL, expected.isInProfile());
+        for (int threads : new int[] {1, 4}) {
+            ParallelProfileChecker checker = new ParallelProfileChecker(profile, threads);
+            OWLProfileReport actual = checker.checkOntology(o);
+            assertEquals(expected.getProfile().getIRI(), actual.getProfile().getIRI());
+            assertEquals(sorted(expected.getViolations()), sorted(actual.getViolations()));
+            assertEquals(expected.isInProfile(), checker.isInProfile(o));
+        }
+    }
+
+    @Test
+    void shouldStopAfterLimit() throws OWLOntologyCreationException {
+        OWLOntology o = ontology();
+        List<OWLProfileViolation> violations = new ArrayList<>();
+        ParallelProfileChecker checker = new ParallelProfileChecker(Profiles.OWL2_EL, 4);
+        assertEquals(10, checker.check(o, violations::add, 10));
+        assertEquals(10, violations.size());
+        assertFalse(checker.isInProfile(o));
+        OWLOntology empty = create(iri("empty"));
+        assertTrue(checker.isInProfile(empty));
+        assertEquals(0, checker.check(empty, violations::add, 10));
+    }
+}
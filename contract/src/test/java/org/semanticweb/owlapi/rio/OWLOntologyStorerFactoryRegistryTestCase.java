@@ -12,7 +12,7 @@ import org.semanticweb.owlapi.util.PriorityCollection;
  */
 class OWLOntologyStorerFactoryRegistryTestCase extends TestBase {
 
-    private static final int EXPECTED_STORERS = 21;
+    private static final int EXPECTED_STORERS = 22;
 
     @Test
     void setUp() {
@@ -0,0 +1,82 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apitest.TestFiles;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+class BatchModuleExtractionTestCase extends TestBase {
+
+    private static List<Set<OWLEntity>> signatures(OWLOntology o) {
+        List<OWLEntity> entities = asList(o.signature(Imports.INCLUDED).sorted());
+        Random random = new Random(42);
+        List<Set<OWLEntity>> signatures = new ArrayList<>();
+        for (OWLEntity e : entities) {
+            signatures.add(Collections.singleton(e));
+        }
+        for (int i = 0; i < 50; i++) {
+            Set<OWLEntity> signature = new HashSet<>();
+            for (int j = random.nextInt(6); j >= 0; j--) {
+                signature.add(entities.get(random.nextInt(entities.size())));
+            }
+            signatures.add(signature);
+        }
+        // repeated signatures are extracted once
+        signatures.addAll(signatures.subList(0, 10));
+        return signatures;
+    }
+
+    private void assertSameModules(OWLOntology o, ModuleType type) {
+        List<Set<OWLEntity>> signatures = signatures(o);
+        SyntacticLocalityModuleExtractor batch = new SyntacticLocalityModuleExtractor(m, o, type);
+        List<Set<OWLAxiom>> modules = batch.extract(signatures, 4);
+        assertEquals(signatures.size(), modules.size());
+        SyntacticLocalityModuleExtractor single = new SyntacticLocalityModuleExtractor(m, o, type);
+        for (int i = 0; i < signatures.size(); i++) {
+            assertEquals(single.extract(signatures.get(i)), modules.get(i));
+        }
+        // modules are copies, and cached modules are not changed by callers
+        modules.forEach(Set::clear);
+        List<Set<OWLAxiom>> cached = batch.extract(signatures, 4);
+        for (int i = 0; i < signatures.size(); i++) {
+            assertEquals(batch.extract(signatures.get(i)), cached.get(i));
+        }
+        assertTrue(cached.stream().anyMatch(module -> !module.isEmpty()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ModuleType.class)
+    void shouldExtractKoalaModulesAsSingleExtractions(ModuleType type) {
+        assertSameModules(loadFrom(TestFiles.KOALA, new RDFXMLDocumentFormat()), type);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ModuleType.class)
+    void shouldExtractPizzaModulesAsSingleExtractions(ModuleType type)
+        throws OWLOntologyCreationException {
+        assertSameModules(m.loadOntologyFromOntologyDocument(
+            new FileDocumentSource(new File(RESOURCES, "pizza.owl"))), type);
+    }
+}
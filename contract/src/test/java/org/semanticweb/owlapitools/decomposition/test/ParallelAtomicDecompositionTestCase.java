@@ -0,0 +1,95 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apitest.TestFiles;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapitools.decomposition.AtomList;
+import org.semanticweb.owlapitools.decomposition.AxiomWrapper;
+import org.semanticweb.owlapitools.decomposition.OntologyAtom;
+
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecomposition;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+class ParallelAtomicDecompositionTestCase extends TestBase {
+
+    private static List<OWLAxiom> axioms(List<AxiomWrapper> list) {
+        return asList(list.stream().map(AxiomWrapper::getAxiom));
+    }
+
+    private static List<Integer> ids(OntologyAtom atom) {
+        return asList(atom.getDependencies().stream().map(OntologyAtom::getId).sorted());
+    }
+
+    private static void assertSameDecomposition(OWLOntology o, ModuleType type) {
+        AtomicDecomposition sequential = new AtomicDecompositionImpl(o, type, 1);
+        AtomicDecomposition parallel = new AtomicDecompositionImpl(o, type, 4);
+        AtomList expected = sequential.getAtomList();
+        AtomList actual = parallel.getAtomList();
+        assertTrue(expected.size() > 0);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(axioms(expected.get(i).getAtomAxioms()),
+                axioms(actual.get(i).getAtomAxioms()));
+            assertEquals(axioms(expected.get(i).getModule()), axioms(actual.get(i).getModule()));
+            assertEquals(ids(expected.get(i)), ids(actual.get(i)));
+        }
+        assertEquals(sequential.getTautologies(), parallel.getTautologies());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ModuleType.class)
+    void shouldDecomposeKoalaAsSequentialDecomposition(ModuleType type) {
+        assertSameDecomposition(loadFrom(TestFiles.KOALA, new RDFXMLDocumentFormat()), type);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ModuleType.class)
+    void shouldDecomposePizzaAsSequentialDecomposition(ModuleType type)
+        throws OWLOntologyCreationException {
+        assertSameDecomposition(m.loadOntologyFromOntologyDocument(
+            new FileDocumentSource(new File(RESOURCES, "pizza.owl"))), type);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ModuleType.class)
+    void shouldDecomposeRandomOntologyAsSequentialDecomposition(ModuleType type) {
+        Random random = new Random(42);
+        List<OWLClass> classes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            classes.add(df.getOWLClass("urn:test:decomposition#", "C" + i));
+        }
+        OWLObjectProperty p = df.getOWLObjectProperty("urn:test:decomposition#", "p");
+        OWLOntology o = create("urn:test:decomposition");
+        for (int i = 1; i < classes.size(); i++) {
+            OWLClass c = classes.get(i);
+            o.add(df.getOWLSubClassOfAxiom(c, classes.get(random.nextInt(i))));
+            if (random.nextInt(4) == 0) {
+                o.add(df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(p,
+                    classes.get(random.nextInt(classes.size())))));
+            }
+            if (random.nextInt(10) == 0) {
+                o.add(df.getOWLEquivalentClassesAxiom(c, df.getOWLObjectIntersectionOf(
+                    classes.get(random.nextInt(i)), classes.get(random.nextInt(i)))));
+            }
+        }
+        assertSameDecomposition(o, type);
+    }
+}
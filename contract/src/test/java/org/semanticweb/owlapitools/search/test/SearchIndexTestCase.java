@@ -0,0 +1,176 @@
+package org.semanticweb.owlapitools.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapitools.search.SearchIndex;
+import org.semanticweb.owlapitools.search.SearchResult;
+import org.semanticweb.owlapitools.search.SearchResult.MatchType;
+
+class SearchIndexTestCase extends TestBase {
+
+    private static final String NS = "urn:test:search#";
+    private final OWLAnnotationProperty label = df.getRDFSLabel();
+    private final OWLAnnotationProperty synonym = df.getOWLAnnotationProperty(NS, "synonym");
+    private final List<OWLAnnotationProperty> properties = Arrays.asList(label, synonym);
+    private final OWLClass heart = df.getOWLClass(NS, "C1");
+    private final OWLClass valve = df.getOWLClass(NS, "C2");
+    private final OWLClass hearth = df.getOWLClass(NS, "C3");
+    private final OWLClass left = df.getOWLClass(NS, "C4");
+    private final OWLClass attack = df.getOWLClass(NS, "HeartAttack");
+    private final OWLClass cardiac = df.getOWLClass(NS, "C5");
+
+    private OWLOntology ontology() {
+        OWLOntology o = create(iri(NS, "o"));
+        for (OWLClass c : Arrays.asList(heart, valve, hearth, left, attack, cardiac)) {
+            o.add(df.getOWLDeclarationAxiom(c));
+        }
+        o.add(labelled(heart, label, "heart"), labelled(valve, label, "heart valve"),
+            labelled(hearth, label, "hearth"), labelled(left, label, "left heart"),
+            labelled(cardiac, label, "cardiac muscle"), labelled(cardiac, synonym, "Heart"));
+        return o;
+    }
+
+    private OWLAnnotationAssertionAxiom labelled(OWLEntity e, OWLAnnotationProperty p,
+        String value) {
+        return df.getOWLAnnotationAssertionAxiom(p, e.getIRI(), df.getOWLLiteral(value));
+    }
+
+    private static List<OWLEntity> entities(List<SearchResult> results) {
+        return results.stream().map(SearchResult::getEntity).collect(Collectors.toList());
+    }
+
+    private static List<String> texts(List<SearchResult> results) {
+        return results.stream().map(r -> r.getMatchType() + " " + r.getEntity() + " " + r.getText())
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> first(List<SearchResult> results, int limit) {
+        return texts(results).subList(0, Math.min(limit, results.size()));
+    }
+
+    @Test
+    void shouldRankPrefixMatches() {
+        SearchIndex index = new SearchIndex(ontology(), Imports.EXCLUDED, properties);
+        List<SearchResult> results = index.prefixSearch("Heart", 10);
+        assertEquals(Arrays.asList(heart, cardiac, hearth, valve, attack, left), entities(results));
+        assertEquals(MatchType.EXACT, results.get(0).getMatchType());
+        assertEquals(synonym, results.get(1).getProperty());
+        assertEquals(MatchType.WORD_PREFIX, results.get(5).getMatchType());
+        assertEquals(Arrays.asList(valve), entities(index.prefixSearch("hea val", 10)));
+        assertEquals(Arrays.asList(attack), entities(index.prefixSearch("heart att", 10)));
+        assertEquals(2, index.prefixSearch("heart", 2).size());
+        assertTrue(index.prefixSearch("lung", 10).isEmpty());
+        index.dispose();
+    }
+
+    @Test
+    void shouldFindSubstringAndFuzzyMatches() {
+        SearchIndex index = new SearchIndex(ontology(), Imports.EXCLUDED, properties);
+        List<SearchResult> results = index.substringSearch("art val", 10);
+        assertEquals(Arrays.asList(valve), entities(results));
+        assertEquals(MatchType.SUBSTRING, results.get(0).getMatchType());
+        assertEquals(Arrays.asList(cardiac), entities(index.substringSearch("diac", 10)));
+        results = index.fuzzySearch("haert", 2, 10);
+        assertEquals(Arrays.asList(heart, left, valve, cardiac, attack), entities(results));
+        assertEquals(2, results.get(0).getEdits());
+        assertEquals(MatchType.FUZZY, results.get(0).getMatchType());
+        assertEquals(Arrays.asList(cardiac), entities(index.fuzzySearch("cardiak musle", 1, 10)));
+        assertTrue(index.fuzzySearch("cardiak musle", 0, 10).isEmpty());
+        index.dispose();
+    }
+
+    @Test
+    void shouldReturnTheBestResultsUpToTheLimit() {
+        OWLOntology o = ontology();
+        for (int i = 0; i < 500; i++) {
+            OWLClass c = df.getOWLClass(NS, "N" + i);
+            o.add(df.getOWLDeclarationAxiom(c), labelled(c, label, "heart node " + i % 37),
+                labelled(c, synonym, i % 3 == 0 ? "heart" : "node heart " + i));
+        }
+        SearchIndex index = new SearchIndex(o, Imports.EXCLUDED, properties);
+        for (int limit : new int[] {1, 5, 40, 400}) {
+            assertEquals(first(index.prefixSearch("heart", 1000), limit),
+                texts(index.prefixSearch("heart", limit)));
+            assertEquals(first(index.substringSearch("ode 1", 1000), limit),
+                texts(index.substringSearch("ode 1", limit)));
+            assertEquals(first(index.fuzzySearch("haert nod", 2, 1000), limit),
+                texts(index.fuzzySearch("haert nod", 2, limit)));
+        }
+        assertTrue(index.prefixSearch("heart", 0).isEmpty());
+        index.dispose();
+    }
+
+    @Test
+    void shouldFollowChanges() {
+        OWLOntology o = ontology();
+        SearchIndex index = new SearchIndex(o, Imports.EXCLUDED, properties);
+        OWLClass lung = df.getOWLClass(NS, "C6");
+        o.add(df.getOWLDeclarationAxiom(lung), labelled(lung, label, "lung"));
+        assertEquals(Arrays.asList(lung), entities(index.prefixSearch("lu", 10)));
+        o.remove(labelled(hearth, label, "hearth"));
+        o.add(labelled(hearth, label, "fireplace"));
+        assertEquals(Arrays.asList(hearth), entities(index.prefixSearch("fire", 10)));
+        assertEquals(Arrays.asList(heart, cardiac, valve, attack, left),
+            entities(index.prefixSearch("heart", 10)));
+        o.remove(df.getOWLDeclarationAxiom(lung));
+        assertTrue(index.prefixSearch("lu", 10).isEmpty());
+        // enough changes to merge the changed entities into the arrays
+        for (int i = 0; i < 3000; i++) {
+            OWLClass c = df.getOWLClass(NS, "N" + i);
+            o.add(df.getOWLDeclarationAxiom(c), labelled(c, label, "node " + i));
+        }
+        o.remove(labelled(heart, label, "heart"));
+        SearchIndex fresh = new SearchIndex(o, Imports.EXCLUDED, properties);
+        for (String query : Arrays.asList("heart", "node 12", "fire", "n")) {
+            assertEquals(texts(fresh.prefixSearch(query, 20)),
+                texts(index.prefixSearch(query, 20)));
+        }
+        index.dispose();
+        fresh.dispose();
+        o.add(df.getOWLDeclarationAxiom(lung));
+        assertTrue(index.prefixSearch("lu", 10).isEmpty());
+    }
+
+    @Test
+    void shouldLoadSavedIndex() throws IOException, OWLOntologyCreationException {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new File(RESOURCES, "pizza.owl"));
+        SearchIndex index = new SearchIndex(o, Imports.INCLUDED, properties);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.save(out);
+        index.dispose();
+        SearchIndex loaded = SearchIndex.load(new ByteArrayInputStream(out.toByteArray()), o,
+            Imports.INCLUDED, properties);
+        for (String query : Arrays.asList("piz", "americana", "mozz", "veg top")) {
+            assertEquals(texts(index.prefixSearch(query, 20)),
+                texts(loaded.prefixSearch(query, 20)));
+        }
+        assertEquals(texts(index.fuzzySearch("mozarela", 2, 5)),
+            texts(loaded.fuzzySearch("mozarela", 2, 5)));
+        loaded.dispose();
+        // a saved index for another state of the ontology is built again
+        OWLClass added = df.getOWLClass(NS, "Calzone");
+        o.add(df.getOWLDeclarationAxiom(added));
+        SearchIndex rebuilt = SearchIndex.load(new ByteArrayInputStream(out.toByteArray()), o,
+            Imports.INCLUDED, properties);
+        assertEquals(Arrays.asList(added), entities(rebuilt.prefixSearch("calz", 5)));
+        rebuilt.dispose();
+    }
+}
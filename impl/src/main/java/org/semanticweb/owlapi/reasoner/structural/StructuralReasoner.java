@@ -20,6 +20,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -29,6 +30,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -52,6 +57,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
@@ -98,7 +104,9 @@ public class StructuralReasoner extends OWLReasonerBase {
         new ObjectPropertyHierarchyInfo();
     private final DataPropertyHierarchyInfo dataPropertyHierarchyInfo =
         new DataPropertyHierarchyInfo();
-    private boolean interrupted = false;
+    private final boolean incrementalUpdates;
+    private final int hierarchyThreads;
+    private volatile boolean interrupted = false;
     private boolean prepared = false;
 
     /**
@@ -111,6 +119,14 @@ public class StructuralReasoner extends OWLReasonerBase {
         super(rootOntology, configuration, bufferingMode);
         checkNotNull(configuration, "configuration cannot be null");
         pm = configuration.getProgressMonitor();
+        if (configuration instanceof StructuralReasonerConfiguration) {
+            StructuralReasonerConfiguration c = (StructuralReasonerConfiguration) configuration;
+            incrementalUpdates = c.shouldUpdateIncrementally();
+            hierarchyThreads = c.getHierarchyThreads();
+        } else {
+            incrementalUpdates = false;
+            hierarchyThreads = 1;
+        }
         prepareReasoner();
     }
 
@@ -178,6 +194,10 @@ public class StructuralReasoner extends OWLReasonerBase {
 
     @Override
     public void precomputeInferences(InferenceType... inferenceTypes) {
+        if (incrementalUpdates && prepared) {
+            // hierarchies are kept up to date while changes are processed
+            return;
+        }
         prepareReasoner();
     }
 
@@ -757,6 +777,19 @@ public class StructuralReasoner extends OWLReasonerBase {
             }
         }
 
+        /**
+         * @return the entities in cycles, except for the top and bottom nodes
+         */
+        public Set<T> getEntitiesInCycles() {
+            Set<T> result = new HashSet<>();
+            for (Node<T> node : map.values()) {
+                if (node.getSize() > 1 && !node.isTopNode() && !node.isBottomNode()) {
+                    node.entities().forEach(result::add);
+                }
+            }
+            return result;
+        }
+
         public void clear() {
             map.clear();
             clearTopNode();
@@ -771,6 +804,24 @@ public class StructuralReasoner extends OWLReasonerBase {
         }
     }
 
+    /**
+     * Results of the tarjan algorithm over part of a hierarchy.
+     */
+    private static class HierarchyFragment<T extends OWLObject> {
+
+        final Set<Set<T>> cycles = new HashSet<>();
+        final Set<T> processed = new HashSet<>();
+        final Set<T> childrenOfTop = new HashSet<>();
+        final Set<T> parentsOfBottom = new HashSet<>();
+
+        void addAll(HierarchyFragment<T> other) {
+            cycles.addAll(other.cycles);
+            processed.addAll(other.processed);
+            childrenOfTop.addAll(other.childrenOfTop);
+            parentsOfBottom.addAll(other.parentsOfBottom);
+        }
+    }
+
     // HierarchyInfo
     private abstract class AbstractHierarchyInfo<T extends OWLObject> {
 
@@ -828,6 +879,13 @@ public class StructuralReasoner extends OWLReasonerBase {
          */
         protected abstract Stream<? extends T> getEntitiesInSignature(OWLAxiom ax);
 
+        /**
+         * @param entity The entity
+         * @return true if the entity is in the signature of the imports closure of the root
+         *         ontology
+         */
+        protected abstract boolean isInSignature(T entity);
+
         Set<T> getEntitiesInSignature(Set<OWLAxiom> axioms) {
             return asUnorderedSet(axioms.stream().flatMap(this::getEntitiesInSignature));
         }
@@ -836,40 +894,238 @@ public class StructuralReasoner extends OWLReasonerBase {
             pm.reasonerTaskStarted("Computing " + name + " hierarchy");
             pm.reasonerTaskBusy();
             nodeCache.clear();
-            Map<T, Collection<T>> cache = new HashMap<>();
+            directChildrenOfTopNode.clear();
+            directParentsOfBottomNode.clear();
             Set<T> entities =
                 asUnorderedSet(getRootOntology().importsClosure().flatMap(this::getEntities));
             classificationSize = entities.size();
             pm.reasonerTaskProgressChanged(0, classificationSize);
-            updateForSignature(entities, cache);
+            if (hierarchyThreads > 1) {
+                computeHierarchyInParallel(entities);
+            } else {
+                Map<T, Collection<T>> cache = new HashMap<>();
+                updateForSignature(entities, cache);
+            }
             pm.reasonerTaskStopped();
         }
 
+        /**
+         * Computes the hierarchy for the specified entities, running the tarjan algorithm on each
+         * disconnected component of the raw hierarchy in a fork join pool.
+         *
+         * @param entities the entities to classify
+         */
+        private void computeHierarchyInParallel(Set<T> entities) {
+            ForkJoinPool pool = new ForkJoinPool(hierarchyThreads);
+            try {
+                Map<T, Collection<T>> cache = new ConcurrentHashMap<>();
+                Set<T> childrenOfTop = ConcurrentHashMap.newKeySet();
+                pool.submit(() -> entities.parallelStream()
+                    .forEach(e -> cache.put(e, computeParents(e, childrenOfTop)))).get();
+                List<Future<HierarchyFragment<T>>> tasks = new ArrayList<>();
+                for (List<T> batch : batches(components(entities, cache, childrenOfTop))) {
+                    tasks.add(pool.submit(() -> {
+                        HierarchyFragment<T> fragment = new HierarchyFragment<>();
+                        collect(batch, cache, fragment, false);
+                        return fragment;
+                    }));
+                }
+                HierarchyFragment<T> result = new HierarchyFragment<>();
+                result.childrenOfTop.addAll(childrenOfTop);
+                for (Future<HierarchyFragment<T>> task : tasks) {
+                    result.addAll(task.get());
+                    pm.reasonerTaskProgressChanged(result.processed.size(), classificationSize);
+                    throwExceptionIfInterrupted();
+                }
+                store(result);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReasonerInterruptedException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new OWLRuntimeException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        /**
+         * Splits the entities into the weakly connected components of the raw hierarchy. Tarjan
+         * visits from an entity never leave its component.
+         *
+         * @param entities      the entities
+         * @param cache         raw parents of the entities; parents that are not entities are
+         *                      added to it
+         * @param childrenOfTop collects the entities added to the cache that have a raw parent
+         *                      that is the top entity
+         * @return the components
+         */
+        private Collection<List<T>> components(Set<T> entities, Map<T, Collection<T>> cache,
+            Set<T> childrenOfTop) {
+            Map<T, T> representatives = new HashMap<>();
+            Deque<T> toVisit = new LinkedList<>(entities);
+            while (!toVisit.isEmpty()) {
+                T entity = toVisit.poll();
+                T root = find(representatives, entity);
+                Collection<T> parents = cache.get(entity);
+                if (parents == null) {
+                    parents = computeParents(entity, childrenOfTop);
+                    cache.put(entity, parents);
+                }
+                for (T parent : parents) {
+                    if (!cache.containsKey(parent) && !representatives.containsKey(parent)) {
+                        toVisit.add(parent);
+                    }
+                    T parentRoot = find(representatives, parent);
+                    if (!parentRoot.equals(root)) {
+                        representatives.put(parentRoot, root);
+                    }
+                }
+            }
+            Map<T, List<T>> components = new HashMap<>();
+            for (T entity : representatives.keySet()) {
+                components.computeIfAbsent(find(representatives, entity), x -> new ArrayList<>())
+                    .add(entity);
+            }
+            return components.values();
+        }
+
+        private T find(Map<T, T> representatives, T entity) {
+            T root = entity;
+            T parent = representatives.putIfAbsent(root, root);
+            while (parent != null && !parent.equals(root)) {
+                root = parent;
+                parent = representatives.get(root);
+            }
+            // path compression
+            T current = entity;
+            while (!current.equals(root)) {
+                current = representatives.put(current, root);
+            }
+            return root;
+        }
+
+        /**
+         * Groups small components together so that the number of tasks stays proportional to the
+         * number of threads.
+         *
+         * @param components the components
+         * @return batches of entities, each made of whole components
+         */
+        private List<List<T>> batches(Collection<List<T>> components) {
+            int target = Math.max(1, classificationSize / (hierarchyThreads * 8));
+            List<List<T>> batches = new ArrayList<>();
+            List<T> batch = new ArrayList<>();
+            for (List<T> component : components) {
+                batch.addAll(component);
+                if (batch.size() >= target) {
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+            }
+            return batches;
+        }
+
         private void updateForSignature(Set<T> signature, @Nullable Map<T, Collection<T>> cache) {
-            HashSet<Set<T>> cyclesResult = new HashSet<>();
-            Set<T> processed = new HashSet<>();
             nodeCache.clearTopNode();
             nodeCache.clearBottomNode();
             nodeCache.clearNodes(signature);
             directChildrenOfTopNode.removeAll(signature);
-            Set<T> equivTopOrChildrenOfTop = new HashSet<>();
-            Set<T> equivBottomOrParentsOfBottom = new HashSet<>();
-            for (T entity : signature) {
-                if (!processed.contains(entity)) {
-                    pm.reasonerTaskProgressChanged(processed.size(), signature.size());
+            HierarchyFragment<T> fragment = new HierarchyFragment<>();
+            collect(signature, cache, fragment, true);
+            store(fragment);
+        }
+
+        /**
+         * Updates only the nodes affected by changes to the specified signature. The nodes that
+         * currently contain the signature entities are dropped and recomputed together with the
+         * entities above them; the top and bottom nodes are only recomputed if the signature
+         * refers to them.
+         *
+         * @param signature The signature
+         */
+        private void updateIncrementally(Set<T> signature) {
+            Set<T> top = asUnorderedSet(nodeCache.getTopNode().entities());
+            Set<T> bottom = asUnorderedSet(nodeCache.getBottomNode().entities());
+            Set<T> affected = new HashSet<>(signature);
+            signature.forEach(e -> nodeCache.getNode(e).entities().forEach(affected::add));
+            refresh(affected);
+            // whether a cycle is a child of top or a parent of bottom depends on the members of
+            // the top and bottom nodes
+            if (!top.equals(asUnorderedSet(nodeCache.getTopNode().entities()))
+                || !bottom.equals(asUnorderedSet(nodeCache.getBottomNode().entities()))) {
+                refresh(nodeCache.getEntitiesInCycles());
+            }
+        }
+
+        /**
+         * Drops the nodes of the specified entities and applies the tarjan algorithm to them
+         * again.
+         *
+         * @param affected the entities to recompute; must include all the members of their nodes
+         */
+        private void refresh(Set<T> affected) {
+            nodeCache.clearNodes(affected);
+            if (affected.contains(topEntity)) {
+                nodeCache.clearTopNode();
+            }
+            if (affected.contains(bottomEntity)) {
+                nodeCache.clearBottomNode();
+            }
+            directChildrenOfTopNode.removeAll(affected);
+            directParentsOfBottomNode.removeAll(affected);
+            HierarchyFragment<T> fragment = new HierarchyFragment<>();
+            collect(affected, null, fragment, false);
+            // entities no longer used are not children of top or parents of bottom
+            for (T entity : affected) {
+                if (!isInSignature(entity)) {
+                    fragment.childrenOfTop.remove(entity);
+                    fragment.parentsOfBottom.remove(entity);
+                }
+            }
+            store(fragment);
+        }
+
+        /**
+         * Applies the tarjan algorithm to each of the specified entities not yet processed.
+         *
+         * @param entities       the entities
+         * @param cache          A cache of children to parents - may be {@code null} if no
+         *                       caching is to take place.
+         * @param fragment       collects cycles, processed entities, children of top and parents
+         *                       of bottom
+         * @param reportProgress true if progress should be reported to the progress monitor
+         */
+        private void collect(Collection<T> entities, @Nullable Map<T, Collection<T>> cache,
+            HierarchyFragment<T> fragment, boolean reportProgress) {
+            for (T entity : entities) {
+                if (!fragment.processed.contains(entity)) {
+                    if (reportProgress) {
+                        pm.reasonerTaskProgressChanged(fragment.processed.size(), entities.size());
+                    }
                     tarjan(entity, 0, new LinkedList<T>(), new HashMap<T, Integer>(),
-                        new HashMap<T, Integer>(), cyclesResult, processed, new HashSet<T>(), cache,
-                        equivTopOrChildrenOfTop, equivBottomOrParentsOfBottom);
+                        new HashMap<T, Integer>(), fragment.cycles, fragment.processed,
+                        new HashSet<T>(), cache, fragment.childrenOfTop, fragment.parentsOfBottom,
+                        reportProgress);
                     throwExceptionIfInterrupted();
                 }
             }
+        }
+
+        private void store(HierarchyFragment<T> fragment) {
+            Set<Set<T>> cyclesResult = fragment.cycles;
             // Store new cycles
             for (Set<T> cycle : cyclesResult) {
                 nodeCache.addNode(cycle);
             }
-            directChildrenOfTopNode.addAll(equivTopOrChildrenOfTop);
+            directChildrenOfTopNode.addAll(fragment.childrenOfTop);
             nodeCache.getTopNode().entities().forEach(directChildrenOfTopNode::remove);
-            directParentsOfBottomNode.addAll(equivBottomOrParentsOfBottom);
+            directParentsOfBottomNode.addAll(fragment.parentsOfBottom);
             nodeCache.getBottomNode().entities().forEach(directParentsOfBottomNode::remove);
             // Now check that each found cycle has a proper parent an child
             for (Set<T> node : cyclesResult) {
@@ -913,7 +1169,11 @@ public class StructuralReasoner extends OWLReasonerBase {
          */
         @SuppressWarnings("unused")
         public void processChanges(Set<T> signature, Set<OWLAxiom> added, Set<OWLAxiom> removed) {
-            updateForSignature(signature, null);
+            if (incrementalUpdates) {
+                updateIncrementally(signature);
+            } else {
+                updateForSignature(signature, null);
+            }
         }
 
         /**
@@ -936,7 +1196,17 @@ public class StructuralReasoner extends OWLReasonerBase {
         public void tarjan(T entity, int inputIndex, Deque<T> stack, Map<T, Integer> indexMap,
             Map<T, Integer> lowlinkMap, Set<Set<T>> result, Set<T> processed, Set<T> stackEntities,
             @Nullable Map<T, Collection<T>> cache, Set<T> childrenOfTop, Set<T> parentsOfBottom) {
-            int index = inputIndex;
+            tarjan(entity, inputIndex, stack, indexMap, lowlinkMap, result, processed,
+                stackEntities, cache, childrenOfTop, parentsOfBottom, true);
+        }
+
+        private void tarjan(T entity, int inputIndex, Deque<T> stack, Map<T, Integer> indexMap,
+            Map<T, Integer> lowlinkMap, Set<Set<T>> result, Set<T> processed, Set<T> stackEntities,
+            @Nullable Map<T, Collection<T>> cache, Set<T> childrenOfTop, Set<T> parentsOfBottom,
+            boolean reportProgress) {
+            // indexes must be unique within a visit: the input index does not account for the
+            // entities visited by the siblings of this entity
+            int index = Math.max(inputIndex, indexMap.size());
             throwExceptionIfInterrupted();
             if (processed.add(entity)) {
                 Collection<T> rawChildren = rawParentChildProvider.getChildren(entity);
@@ -944,7 +1214,9 @@ public class StructuralReasoner extends OWLReasonerBase {
                     parentsOfBottom.add(entity);
                 }
             }
-            pm.reasonerTaskProgressChanged(processed.size(), classificationSize);
+            if (reportProgress) {
+                pm.reasonerTaskProgressChanged(processed.size(), classificationSize);
+            }
             indexMap.put(entity, Integer.valueOf(index));
             lowlinkMap.put(entity, Integer.valueOf(index));
             index += 1;
@@ -961,7 +1233,7 @@ public class StructuralReasoner extends OWLReasonerBase {
             for (T superEntity : rawParents) {
                 if (!indexMap.containsKey(superEntity)) {
                     tarjan(superEntity, index, stack, indexMap, lowlinkMap, result, processed,
-                        stackEntities, cache, childrenOfTop, parentsOfBottom);
+                        stackEntities, cache, childrenOfTop, parentsOfBottom, reportProgress);
                     lowlinkMap.put(entity,
                         Integer.valueOf(Math.min(lowlinkMap.get(entity).intValue(),
                             lowlinkMap.get(superEntity).intValue())));
@@ -1081,6 +1353,11 @@ public class StructuralReasoner extends OWLReasonerBase {
             return ont.classesInSignature();
         }
 
+        @Override
+        protected boolean isInSignature(OWLClass entity) {
+            return getRootOntology().containsClassInSignature(entity.getIRI(), INCLUDED);
+        }
+
         @Override
         protected DefaultNode<OWLClass> createNode() {
             return new OWLClassNode();
@@ -1116,6 +1393,12 @@ public class StructuralReasoner extends OWLReasonerBase {
             return result.stream();
         }
 
+        @Override
+        protected boolean isInSignature(OWLObjectPropertyExpression entity) {
+            return getRootOntology()
+                .containsObjectPropertyInSignature(entity.getNamedProperty().getIRI(), INCLUDED);
+        }
+
         @Override
         protected DefaultNode<OWLObjectPropertyExpression> createNode(
             Set<OWLObjectPropertyExpression> cycle) {
@@ -1170,6 +1453,11 @@ public class StructuralReasoner extends OWLReasonerBase {
             return ont.dataPropertiesInSignature();
         }
 
+        @Override
+        protected boolean isInSignature(OWLDataProperty entity) {
+            return getRootOntology().containsDataPropertyInSignature(entity.getIRI(), INCLUDED);
+        }
+
         @Override
         protected DefaultNode<OWLDataProperty> createNode(Set<OWLDataProperty> cycle) {
             return new OWLDataPropertyNode(cycle);
@@ -39,6 +39,18 @@ public class ClassAxiomByClassPointer extends MapPointer<OWLClass, OWLClassAxiom
         super(t, v, initialized, i, OWLClassAxiom.class);
     }
 
+    /**
+     * @param t axiom type
+     * @param v visitor
+     * @param initialized initialized
+     * @param i internals
+     * @param store storage for the key to values associations
+     */
+    ClassAxiomByClassPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v,
+        boolean initialized, Internals i, PostingStore<OWLClass, OWLClassAxiom> store) {
+        super(t, v, initialized, i, store);
+    }
+
     @Override
     public synchronized ClassAxiomByClassPointer init() {
         if (isInitialized()) {
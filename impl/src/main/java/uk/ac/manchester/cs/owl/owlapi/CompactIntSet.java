@@ -0,0 +1,235 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of non negative integers stored as sorted, delta encoded variable length bytes. The
+ * encoded part is split into blocks of {@value #BLOCK} entries; the first value of each block is
+ * kept uncompressed in a skip array, so that a lookup is a binary search on the skip array plus
+ * the decoding of a single block. Updates are buffered in two small sorted arrays and merged into
+ * the encoded part when the buffers grow beyond a fraction of the set size.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class CompactIntSet {
+
+    static final int BLOCK = 64;
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final byte[] EMPTY_BYTES = new byte[0];
+    private byte[] data = EMPTY_BYTES;
+    private int[] blockFirst = EMPTY_INTS;
+    private int[] blockOffset = EMPTY_INTS;
+    private int encodedSize = 0;
+    /** Values not in the encoded part, sorted. */
+    private int[] added = EMPTY_INTS;
+    private int addedSize = 0;
+    /** Values in the encoded part that have been removed, sorted. */
+    private int[] removed = EMPTY_INTS;
+    private int removedSize = 0;
+
+    /**
+     * @return number of values in the set
+     */
+    int size() {
+        return encodedSize + addedSize - removedSize;
+    }
+
+    /**
+     * @return true if the set is empty
+     */
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param value value to look up
+     * @return true if the value is in the set
+     */
+    boolean contains(int value) {
+        if (Arrays.binarySearch(added, 0, addedSize, value) >= 0) {
+            return true;
+        }
+        return Arrays.binarySearch(removed, 0, removedSize, value) < 0 && encodedContains(value);
+    }
+
+    /**
+     * @param value value to add
+     * @return true if the value was not already in the set
+     */
+    boolean add(int value) {
+        int removedIndex = Arrays.binarySearch(removed, 0, removedSize, value);
+        if (removedIndex >= 0) {
+            removed = delete(removed, removedSize--, removedIndex);
+            return true;
+        }
+        int addedIndex = Arrays.binarySearch(added, 0, addedSize, value);
+        if (addedIndex >= 0 || encodedContains(value)) {
+            return false;
+        }
+        added = insert(added, addedSize++, -addedIndex - 1, value);
+        mergeIfNeeded();
+        return true;
+    }
+
+    /**
+     * @param value value to remove
+     * @return true if the value was in the set
+     */
+    boolean remove(int value) {
+        int addedIndex = Arrays.binarySearch(added, 0, addedSize, value);
+        if (addedIndex >= 0) {
+            added = delete(added, addedSize--, addedIndex);
+            return true;
+        }
+        int removedIndex = Arrays.binarySearch(removed, 0, removedSize, value);
+        if (removedIndex >= 0 || !encodedContains(value)) {
+            return false;
+        }
+        removed = insert(removed, removedSize++, -removedIndex - 1, value);
+        mergeIfNeeded();
+        return true;
+    }
+
+    /**
+     * @param consumer consumer for all values, in ascending order
+     */
+    void forEach(IntConsumer consumer) {
+        for (int i : toArray()) {
+            consumer.accept(i);
+        }
+    }
+
+    /**
+     * @return the values in the set, in ascending order
+     */
+    int[] toArray() {
+        int[] toReturn = new int[size()];
+        int count = 0;
+        int a = 0;
+        int r = 0;
+        int[] pos = new int[1];
+        for (int block = 0; block < blockFirst.length; block++) {
+            pos[0] = blockOffset[block];
+            int current = blockFirst[block];
+            int entries = Math.min(BLOCK, encodedSize - block * BLOCK);
+            for (int e = 0; e < entries; e++) {
+                if (e > 0) {
+                    current += readVarInt(pos);
+                }
+                while (a < addedSize && added[a] < current) {
+                    toReturn[count++] = added[a++];
+                }
+                if (r < removedSize && removed[r] == current) {
+                    r++;
+                } else {
+                    toReturn[count++] = current;
+                }
+            }
+        }
+        while (a < addedSize) {
+            toReturn[count++] = added[a++];
+        }
+        return toReturn;
+    }
+
+    private boolean encodedContains(int value) {
+        if (encodedSize == 0 || value < blockFirst[0]) {
+            return false;
+        }
+        int block = Arrays.binarySearch(blockFirst, value);
+        if (block >= 0) {
+            return true;
+        }
+        block = -block - 2;
+        int[] pos = {blockOffset[block]};
+        int current = blockFirst[block];
+        int entries = Math.min(BLOCK, encodedSize - block * BLOCK);
+        for (int e = 1; e < entries && current < value; e++) {
+            current += readVarInt(pos);
+        }
+        return current == value;
+    }
+
+    private void mergeIfNeeded() {
+        if (addedSize + removedSize > Math.max(32, size() >> 4)) {
+            encode(toArray());
+        }
+    }
+
+    private void encode(int[] values) {
+        int blocks = (values.length + BLOCK - 1) / BLOCK;
+        blockFirst = new int[blocks];
+        blockOffset = new int[blocks];
+        byte[] buffer = new byte[values.length * 2 + 8];
+        int length = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (buffer.length - length < 5) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            if (i % BLOCK == 0) {
+                blockFirst[i / BLOCK] = values[i];
+                blockOffset[i / BLOCK] = length;
+            } else {
+                length = writeVarInt(buffer, length, values[i] - values[i - 1]);
+            }
+        }
+        data = Arrays.copyOf(buffer, length);
+        encodedSize = values.length;
+        added = EMPTY_INTS;
+        addedSize = 0;
+        removed = EMPTY_INTS;
+        removedSize = 0;
+    }
+
+    private static int writeVarInt(byte[] buffer, int offset, int value) {
+        int pos = offset;
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            buffer[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buffer[pos++] = (byte) v;
+        return pos;
+    }
+
+    private int readVarInt(int[] pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static int[] insert(int[] array, int size, int index, int value) {
+        int[] target = array;
+        if (size == array.length) {
+            target = Arrays.copyOf(array, Math.max(4, size * 2));
+        }
+        System.arraycopy(target, index, target, index + 1, size - index);
+        target[index] = value;
+        return target;
+    }
+
+    private static int[] delete(int[] array, int size, int index) {
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        return array;
+    }
+}
@@ -0,0 +1,157 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import com.carrotsearch.hppcrt.maps.IntObjectHashMap;
+import com.carrotsearch.hppcrt.procedures.IntObjectProcedure;
+
+/**
+ * Storage for map pointers that replaces object references with dense integer ids and keeps, for
+ * each key id, a delta encoded set of value ids. Lookups decode the values into a fresh list.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ * @param <K> key
+ * @param <V> value
+ */
+class CompactPostingStore<K, V> implements PostingStore<K, V> {
+
+    private final IntObjectHashMap<CompactIntSet> postings = new IntObjectHashMap<>();
+    private final DenseIdRegistry ids;
+    private final Class<V> valueWithness;
+
+    /**
+     * @param ids registry for ids, shared between stores
+     * @param valueWithness witness for the value type
+     */
+    CompactPostingStore(DenseIdRegistry ids, Class<V> valueWithness) {
+        this.ids = ids;
+        this.valueWithness = valueWithness;
+    }
+
+    @Override
+    public boolean put(K k, V v) {
+        int key = ids.acquire(k);
+        CompactIntSet set = postings.get(key);
+        if (set == null) {
+            // the key id reference is held by the posting list until it is emptied
+            set = new CompactIntSet();
+            postings.put(key, set);
+        } else {
+            ids.release(key);
+        }
+        int value = ids.acquire(v);
+        if (set.add(value)) {
+            return true;
+        }
+        ids.release(value);
+        return false;
+    }
+
+    @Override
+    public boolean remove(K k, V v) {
+        int key = ids.find(k);
+        int value = ids.find(v);
+        if (key < 0 || value < 0) {
+            return false;
+        }
+        CompactIntSet set = postings.get(key);
+        if (set == null || !set.remove(value)) {
+            return false;
+        }
+        ids.release(value);
+        if (set.isEmpty()) {
+            postings.remove(key);
+            ids.release(key);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(K k, V v) {
+        CompactIntSet set = posting(k);
+        if (set == null) {
+            return false;
+        }
+        int value = ids.find(v);
+        return value >= 0 && set.contains(value);
+    }
+
+    @Override
+    public boolean containsKey(K k) {
+        return posting(k) != null;
+    }
+
+    @Override
+    @Nullable
+    public Collection<V> get(K k) {
+        CompactIntSet set = posting(k);
+        if (set == null) {
+            return null;
+        }
+        return decode(set);
+    }
+
+    @Override
+    public int count(K k) {
+        CompactIntSet set = posting(k);
+        if (set == null) {
+            return 0;
+        }
+        return set.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachKey(Consumer<K> consumer) {
+        IntObjectProcedure<CompactIntSet> p = (k, set) -> consumer.accept((K) ids.get(k));
+        postings.forEach(p);
+    }
+
+    @Override
+    public void forEachValues(Consumer<Collection<V>> consumer) {
+        IntObjectProcedure<CompactIntSet> p = (k, set) -> consumer.accept(decode(set));
+        postings.forEach(p);
+    }
+
+    @Nullable
+    private CompactIntSet posting(K k) {
+        int key = ids.find(k);
+        if (key < 0) {
+            return null;
+        }
+        return postings.get(key);
+    }
+
+    private List<V> decode(CompactIntSet set) {
+        List<V> l = new ArrayList<>(set.size());
+        set.forEach(i -> l.add(valueWithness.cast(ids.get(i))));
+        return l;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("{");
+        IntObjectProcedure<CompactIntSet> p = (k, set) -> b.append(ids.get(k)).append('=')
+            .append(decode(set)).append(", ");
+        postings.forEach(p);
+        return b.append('}').toString();
+    }
+}
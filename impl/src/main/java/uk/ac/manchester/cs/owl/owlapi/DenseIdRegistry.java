@@ -0,0 +1,103 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+
+import com.carrotsearch.hppcrt.maps.ObjectIntHashMap;
+
+/**
+ * Assigns dense integer ids to the objects indexed by a {@link CompactPostingStore}. Ids are
+ * reference counted and recycled once no posting list refers to them, so that the id space stays
+ * close to the number of distinct live objects. Instances are shared by all the stores of one
+ * {@link CompactInternals} and are therefore synchronized.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class DenseIdRegistry {
+
+    private static final int NONE = -1;
+    private final ObjectIntHashMap<Object> idsByObject = new ObjectIntHashMap<>();
+    private Object[] objects = new Object[64];
+    private int[] references = new int[64];
+    private int[] free = new int[16];
+    private int freeSize = 0;
+    private int next = 0;
+
+    DenseIdRegistry() {
+        idsByObject.setDefaultValue(NONE);
+    }
+
+    /**
+     * Increments the reference count for an object, allocating a new id if needed.
+     *
+     * @param o object
+     * @return id for the object
+     */
+    synchronized int acquire(Object o) {
+        int id = idsByObject.get(o);
+        if (id == NONE) {
+            id = freeSize > 0 ? free[--freeSize] : next++;
+            if (id == objects.length) {
+                int length = objects.length + (objects.length >> 1);
+                objects = Arrays.copyOf(objects, length);
+                references = Arrays.copyOf(references, length);
+            }
+            objects[id] = o;
+            idsByObject.put(o, id);
+        }
+        references[id]++;
+        return id;
+    }
+
+    /**
+     * @param o object
+     * @return id for the object, or -1 if the object has no id
+     */
+    synchronized int find(Object o) {
+        return idsByObject.get(o);
+    }
+
+    /**
+     * @param id id
+     * @return the object with the id
+     */
+    synchronized Object get(int id) {
+        return objects[id];
+    }
+
+    /**
+     * Decrements the reference count for an id; the id is recycled when the count reaches zero.
+     *
+     * @param id id to release
+     */
+    synchronized void release(int id) {
+        if (--references[id] > 0) {
+            return;
+        }
+        idsByObject.remove(objects[id]);
+        objects[id] = null;
+        if (freeSize == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeSize++] = id;
+    }
+
+    /**
+     * @return number of objects currently holding an id
+     */
+    synchronized int size() {
+        return idsByObject.size();
+    }
+}
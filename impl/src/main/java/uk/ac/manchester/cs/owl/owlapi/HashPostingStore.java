@@ -0,0 +1,150 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.util.SmallSet;
+
+import com.carrotsearch.hppcrt.cursors.ObjectCursor;
+import com.carrotsearch.hppcrt.maps.ObjectObjectHashMap;
+
+/**
+ * Default storage for map pointers: an object keyed hash map holding singletons, small sets or
+ * hash sets depending on the number of values for each key.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+class HashPostingStore<K, V> implements PostingStore<K, V> {
+
+    private ObjectObjectHashMap<K, Collection<V>> map = new ObjectObjectHashMap<>(17, 0.75F);
+    private final Class<V> valueWithness;
+
+    /**
+     * @param valueWithness witness for the value type
+     */
+    HashPostingStore(Class<V> valueWithness) {
+        this.valueWithness = valueWithness;
+    }
+
+    @Override
+    public boolean put(K k, V v) {
+        Collection<V> set = map.get(k);
+        if (set == null) {
+            set = Collections.singleton(v);
+            map.put(k, set);
+            return true;
+        }
+        if (set.size() == 1) {
+            if (set.contains(v)) {
+                return false;
+            } else {
+                set = new SmallSet<>(set);
+                map.put(k, set);
+            }
+        } else if (set.size() == 3) {
+            if (set.contains(v)) {
+                return false;
+            } else {
+                set = new HPPCSet<>(set, v, valueWithness);
+                map.put(k, set);
+                return true;
+            }
+        }
+        return set.add(v);
+    }
+
+    @Override
+    public boolean remove(K k, V v) {
+        Collection<V> t = map.get(k);
+        if (t == null) {
+            return false;
+        }
+        if (t.size() == 1) {
+            if (t.contains(v)) {
+                map.remove(k);
+                return true;
+            } else {
+                return false;
+            }
+        }
+        boolean removed = t.remove(v);
+        if (t.isEmpty()) {
+            map.remove(k);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean contains(K k, V v) {
+        Collection<V> t = map.get(k);
+        if (t == null) {
+            return false;
+        }
+        return t.contains(v);
+    }
+
+    @Override
+    public boolean containsKey(K k) {
+        return map.containsKey(k);
+    }
+
+    @Override
+    @Nullable
+    public Collection<V> get(K k) {
+        return map.get(k);
+    }
+
+    @Override
+    public int count(K k) {
+        Collection<V> t = map.get(k);
+        if (t == null) {
+            return 0;
+        }
+        return t.size();
+    }
+
+    @Override
+    public void forEachKey(Consumer<K> consumer) {
+        Consumer<ObjectCursor<K>> c = q -> consumer.accept(q.value);
+        map.keys().forEach(c);
+    }
+
+    @Override
+    public void forEachValues(Consumer<Collection<V>> consumer) {
+        Consumer<ObjectCursor<Collection<V>>> c = q -> consumer.accept(q.value);
+        map.values().forEach(c);
+    }
+
+    @Override
+    public void ensureCapacity(int additionalKeys) {
+        int expected = map.size() + additionalKeys;
+        if (expected <= map.capacity()) {
+            return;
+        }
+        ObjectObjectHashMap<K, Collection<V>> resized = new ObjectObjectHashMap<>(expected, 0.75F);
+        resized.putAll(map);
+        map = resized;
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
@@ -0,0 +1,424 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable hash array mapped trie. Updates copy the path from the root to the changed entry
+ * and share everything else with the original, so that a new version costs a logarithmic number
+ * of small array copies and the old version stays valid for its readers.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ * @param <K> key
+ * @param <V> value
+ */
+final class HashTrie<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final HashTrie<?, ?> EMPTY = new HashTrie<>(null, 0);
+    @Nullable
+    private final Node root;
+    private final int size;
+
+    private HashTrie(@Nullable Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @param <K> key
+     * @param <V> value
+     * @return the empty trie
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> HashTrie<K, V> empty() {
+        return (HashTrie<K, V>) EMPTY;
+    }
+
+    /**
+     * @return number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no entries
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param k key
+     * @return value for the key, or null if there is none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    V get(Object k) {
+        Node n = root;
+        return n == null ? null : (V) n.get(0, hash(k), k);
+    }
+
+    /**
+     * @param k key
+     * @return true if the key is present
+     */
+    boolean containsKey(Object k) {
+        return get(k) != null;
+    }
+
+    /**
+     * @param k key
+     * @param v value, not null
+     * @return a trie with the association; this trie if the key is already mapped to the same
+     *         value instance
+     */
+    HashTrie<K, V> put(K k, V v) {
+        int h = hash(k);
+        Node n = root;
+        if (n == null) {
+            return new HashTrie<>(BitmapNode.EMPTY.put(0, h, k, v), 1);
+        }
+        Node updated = n.put(0, h, k, v);
+        if (updated == n) {
+            return this;
+        }
+        return new HashTrie<>(updated, n.get(0, h, k) == null ? size + 1 : size);
+    }
+
+    /**
+     * @param k key
+     * @return a trie without the key; this trie if the key is not present
+     */
+    HashTrie<K, V> remove(Object k) {
+        Node n = root;
+        if (n == null) {
+            return this;
+        }
+        Node updated = n.remove(0, hash(k), k);
+        if (updated == n) {
+            return this;
+        }
+        if (size == 1) {
+            return empty();
+        }
+        return new HashTrie<>(updated, size - 1);
+    }
+
+    /**
+     * @param consumer consumer for all entries
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<K, V> consumer) {
+        Node n = root;
+        if (n != null) {
+            n.forEach((BiConsumer<Object, Object>) consumer);
+        }
+    }
+
+    /**
+     * @return iterator on the keys
+     */
+    Iterator<K> keys() {
+        return new KeyIterator<>(root);
+    }
+
+    private static int hash(Object k) {
+        int h = k.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private abstract static class Node {
+
+        @Nullable
+        abstract Object get(int shift, int h, Object k);
+
+        abstract Node put(int shift, int h, Object k, Object v);
+
+        /**
+         * @return the updated node, this node if the key is not present, or null if the node has
+         *         become empty
+         */
+        @Nullable
+        abstract Node remove(int shift, int h, Object k);
+
+        abstract void forEach(BiConsumer<Object, Object> consumer);
+
+        /**
+         * @return entries as key, value pairs; a null key marks a child node in the value slot
+         */
+        abstract Object[] slots();
+    }
+
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        @Nullable
+        Object get(int shift, int h, Object k) {
+            int bit = 1 << ((h >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = index(bit);
+            Object key = slots[i];
+            if (key == null) {
+                return ((Node) slots[i + 1]).get(shift + BITS, h, k);
+            }
+            return key.equals(k) ? slots[i + 1] : null;
+        }
+
+        @Override
+        Node put(int shift, int h, Object k, Object v) {
+            int bit = 1 << ((h >>> shift) & MASK);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, copy, 0, i);
+                copy[i] = k;
+                copy[i + 1] = v;
+                System.arraycopy(slots, i, copy, i + 2, slots.length - i);
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            Object key = slots[i];
+            Object value = slots[i + 1];
+            if (key == null) {
+                Node child = (Node) value;
+                Node updated = child.put(shift + BITS, h, k, v);
+                return updated == child ? this : with(i, null, updated);
+            }
+            if (key.equals(k)) {
+                return value == v ? this : with(i, key, v);
+            }
+            return with(i, null, split(shift + BITS, key, value, h, k, v));
+        }
+
+        private static Node split(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            if (shift >= Integer.SIZE) {
+                // all the hash bits have been used: the hashes are the same
+                return new CollisionNode(new Object[] {k1, v1, k2, v2});
+            }
+            return EMPTY.put(shift, hash(k1), k1, v1).put(shift, h2, k2, v2);
+        }
+
+        private BitmapNode with(int i, @Nullable Object k, Object v) {
+            Object[] copy = slots.clone();
+            copy[i] = k;
+            copy[i + 1] = v;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        @Nullable
+        Node remove(int shift, int h, Object k) {
+            int bit = 1 << ((h >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = index(bit);
+            Object key = slots[i];
+            if (key == null) {
+                Node child = (Node) slots[i + 1];
+                Node updated = child.remove(shift + BITS, h, k);
+                if (updated == child) {
+                    return this;
+                }
+                if (updated == null) {
+                    return without(bit, i);
+                }
+                Object[] s = updated.slots();
+                if (s.length == 2 && s[0] != null) {
+                    // a single entry left: keep it in this node
+                    return with(i, s[0], s[1]);
+                }
+                return with(i, null, updated);
+            }
+            if (!key.equals(k)) {
+                return this;
+            }
+            return without(bit, i);
+        }
+
+        @Nullable
+        private BitmapNode without(int bit, int i) {
+            if (slots.length == 2) {
+                return null;
+            }
+            Object[] copy = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, copy, 0, i);
+            System.arraycopy(slots, i + 2, copy, i, slots.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> consumer) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null) {
+                    ((Node) slots[i + 1]).forEach(consumer);
+                } else {
+                    consumer.accept(slots[i], slots[i + 1]);
+                }
+            }
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+    }
+
+    /** Entries whose keys have the same hash. */
+    private static final class CollisionNode extends Node {
+
+        private final Object[] slots;
+
+        CollisionNode(Object[] slots) {
+            this.slots = slots;
+        }
+
+        private int find(Object k) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i].equals(k)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        @Nullable
+        Object get(int shift, int h, Object k) {
+            int i = find(k);
+            return i < 0 ? null : slots[i + 1];
+        }
+
+        @Override
+        Node put(int shift, int h, Object k, Object v) {
+            int i = find(k);
+            if (i >= 0) {
+                if (slots[i + 1] == v) {
+                    return this;
+                }
+                Object[] copy = slots.clone();
+                copy[i + 1] = v;
+                return new CollisionNode(copy);
+            }
+            Object[] copy = Arrays.copyOf(slots, slots.length + 2);
+            copy[slots.length] = k;
+            copy[slots.length + 1] = v;
+            return new CollisionNode(copy);
+        }
+
+        @Override
+        @Nullable
+        Node remove(int shift, int h, Object k) {
+            int i = find(k);
+            if (i < 0) {
+                return this;
+            }
+            if (slots.length == 2) {
+                return null;
+            }
+            Object[] copy = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, copy, 0, i);
+            System.arraycopy(slots, i + 2, copy, i, slots.length - i - 2);
+            return new CollisionNode(copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> consumer) {
+            for (int i = 0; i < slots.length; i += 2) {
+                consumer.accept(slots[i], slots[i + 1]);
+            }
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+    }
+
+    private static final class KeyIterator<K> implements Iterator<K> {
+
+        private final Deque<Object[]> nodes = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        @Nullable
+        private Object[] current;
+        private int position;
+
+        KeyIterator(@Nullable Node root) {
+            current = root == null ? null : root.slots();
+            advance();
+        }
+
+        /** Moves to the next key slot, descending into child nodes as needed. */
+        private void advance() {
+            while (current != null) {
+                Object[] c = current;
+                if (position >= c.length) {
+                    current = nodes.poll();
+                    Integer p = positions.poll();
+                    position = p == null ? 0 : p.intValue();
+                } else if (c[position] == null) {
+                    nodes.push(c);
+                    positions.push(Integer.valueOf(position + 2));
+                    current = ((Node) c[position + 1]).slots();
+                    position = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            Object[] c = current;
+            if (c == null) {
+                throw new NoSuchElementException();
+            }
+            K k = (K) c[position];
+            position += 2;
+            advance();
+            return k;
+        }
+    }
+}
@@ -70,10 +70,13 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -150,11 +153,15 @@ import org.slf4j.LoggerFactory;
 public class Internals implements Serializable {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(Internals.class);
+    /** Below this many deferred axioms, indexing in parallel is not worth the overhead. */
+    private static final int PARALLEL_INDEXING_THRESHOLD = 10_000;
     //@formatter:off
     private final AddAxiomVisitor addChangeVisitor = new AddAxiomVisitor();
     private final RemoveAxiomVisitor removeChangeVisitor = new RemoveAxiomVisitor();
     private final ReferenceChecker refChecker = new ReferenceChecker();
     private final ReferencedAxiomsCollector refAxiomsCollector = new ReferencedAxiomsCollector();
+    private transient List<MapPointer<?, ?>> pointers = new ArrayList<>();
+    private transient SignatureIndex signature = signatureIndex();
     protected transient MapPointer<OWLClassExpression, OWLClassAssertionAxiom>                          classAssertionAxiomsByClass                         = buildLazy(CLASS_ASSERTION, CLASSEXPRESSIONS, OWLClassAssertionAxiom.class);
     protected transient MapPointer<OWLAnnotationSubject, OWLAnnotationAssertionAxiom>                   annotationAssertionAxiomsBySubject                  = buildLazy(ANNOTATION_ASSERTION, ANNOTSUPERNAMED, OWLAnnotationAssertionAxiom.class);
     protected transient MapPointer<OWLClass, OWLSubClassOfAxiom>                                        subClassAxiomsBySubPosition                         = buildLazy(SUBCLASS_OF, CLASSSUBNAMED, OWLSubClassOfAxiom.class);
@@ -199,18 +206,24 @@ public class Internals implements Serializable {
     protected SetPointer<OWLSubPropertyChainOfAxiom> propertyChainSubPropertyAxioms = new SetPointer<>();
     @SuppressWarnings("rawtypes")
     protected transient MapPointer<AxiomType, OWLAxiom>             axiomsByType = build(OWLAxiom.class);
-    protected transient MapPointer<OWLClass, OWLAxiom>              owlClassReferences = build(OWLAxiom.class);
-    protected transient MapPointer<OWLObjectProperty, OWLAxiom>     owlObjectPropertyReferences = build(OWLAxiom.class);
-    protected transient MapPointer<OWLDataProperty, OWLAxiom>       owlDataPropertyReferences = build(OWLAxiom.class);
-    protected transient MapPointer<OWLNamedIndividual, OWLAxiom>    owlIndividualReferences = build(OWLAxiom.class);
+    protected transient MapPointer<OWLClass, OWLAxiom>              owlClassReferences = buildReferences();
+    protected transient MapPointer<OWLObjectProperty, OWLAxiom>     owlObjectPropertyReferences = buildReferences();
+    protected transient MapPointer<OWLDataProperty, OWLAxiom>       owlDataPropertyReferences = buildReferences();
+    protected transient MapPointer<OWLNamedIndividual, OWLAxiom>    owlIndividualReferences = buildReferences();
     protected transient MapPointer<OWLAnonymousIndividual, OWLAxiom>owlAnonymousIndividualReferences = build(OWLAxiom.class);
-    protected transient MapPointer<OWLDatatype, OWLAxiom>           owlDatatypeReferences = build(OWLAxiom.class);
-    protected transient MapPointer<OWLAnnotationProperty, OWLAxiom> owlAnnotationPropertyReferences = build(OWLAxiom.class);
+    protected transient MapPointer<OWLDatatype, OWLAxiom>           owlDatatypeReferences = buildReferences();
+    protected transient MapPointer<OWLAnnotationProperty, OWLAxiom> owlAnnotationPropertyReferences = buildReferences();
     protected transient MapPointer<OWLEntity, OWLDeclarationAxiom>  declarationsByEntity = build(OWLDeclarationAxiom.class);
     //@formatter:on
 
     @Nullable
     private List<OWLAxiom> axiomsForSerialization;
+    /** Axioms added during a bulk load that are only indexed by type so far. */
+    private transient List<OWLAxiom> deferredAxioms = new ArrayList<>();
+    private transient Object deferredLock = new Object();
+    private transient volatile boolean bulkLoading = false;
+    private transient volatile boolean deferredPending = false;
+    private transient boolean indexingDeferred = false;
 
     /**
      * @param p pointer
@@ -227,14 +240,18 @@ public class Internals implements Serializable {
     @SuppressWarnings("null")
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
+        pointers = new ArrayList<>();
+        deferredAxioms = new ArrayList<>();
+        deferredLock = new Object();
+        signature = signatureIndex();
         axiomsByType = build(OWLAxiom.class);
-        owlClassReferences = build(OWLAxiom.class);
-        owlObjectPropertyReferences = build(OWLAxiom.class);
-        owlDataPropertyReferences = build(OWLAxiom.class);
-        owlIndividualReferences = build(OWLAxiom.class);
+        owlClassReferences = buildReferences();
+        owlObjectPropertyReferences = buildReferences();
+        owlDataPropertyReferences = buildReferences();
+        owlIndividualReferences = buildReferences();
         owlAnonymousIndividualReferences = build(OWLAxiom.class);
-        owlDatatypeReferences = build(OWLAxiom.class);
-        owlAnnotationPropertyReferences = build(OWLAxiom.class);
+        owlDatatypeReferences = buildReferences();
+        owlAnnotationPropertyReferences = buildReferences();
         declarationsByEntity = build(OWLDeclarationAxiom.class);
         classAssertionAxiomsByClass =
             buildLazy(CLASS_ASSERTION, CLASSEXPRESSIONS, OWLClassAssertionAxiom.class);
@@ -312,6 +329,7 @@ public class Internals implements Serializable {
             buildLazy(SAME_INDIVIDUAL, ICOLLECTIONS, OWLSameIndividualAxiom.class);
         axiomsForSerialization.forEach(this::addAxiom);
         axiomsForSerialization = null;
+        ontologyAnnotations.stream().flatMap(OWLAnnotation::signature).forEach(signature::add);
     }
 
     /**
@@ -620,120 +638,447 @@ public class Internals implements Serializable {
         return build(null, null, valueWithness);
     }
 
+    /**
+     * @param <K> entity type
+     * @return pointer from entities to the axioms referencing them, which keeps the signature up
+     *         to date
+     */
+    protected <K extends OWLEntity> MapPointer<K, OWLAxiom> buildReferences() {
+        return register(
+            new MapPointer<>(null, null, true, this, store(OWLAxiom.class), signature));
+    }
+
     protected <K, V extends OWLAxiom> MapPointer<K, V> buildLazy(AxiomType<?> t,
         OWLAxiomVisitorEx<?> v, Class<V> valueWithness) {
-        return new MapPointer<>(t, v, false, this, valueWithness);
+        return register(new MapPointer<>(t, v, false, this, store(valueWithness)));
     }
 
     protected ClassAxiomByClassPointer buildClassAxiomByClass() {
-        return new ClassAxiomByClassPointer(null, null, false, this);
+        return register(
+            new ClassAxiomByClassPointer(null, null, false, this, store(OWLClassAxiom.class)));
     }
 
     protected <K, V extends OWLAxiom> MapPointer<K, V> build(@Nullable AxiomType<?> t,
         @Nullable OWLAxiomVisitorEx<?> v, Class<V> valueWithness) {
-        return new MapPointer<>(t, v, true, this, valueWithness);
+        return register(new MapPointer<>(t, v, true, this, store(valueWithness)));
+    }
+
+    private <P extends MapPointer<?, ?>> P register(P p) {
+        pointers.add(p);
+        return p;
     }
 
     /**
-     * @param axiom axiom to add
-     * @return true if the axiom was not already included
+     * Initializes all indexes and makes them read only. Reads on frozen internals do not lock, so
+     * frozen internals can be shared between threads as immutable snapshots, provided they are
+     * published safely after this method returns. Any later modification attempt fails with an
+     * {@link IllegalStateException}.
      */
-    public boolean addAxiom(final OWLAxiom axiom) {
-        checkNotNull(axiom, "axiom cannot be null");
-        if (axiomsByType.put(axiom.getAxiomType(), axiom)) {
-            axiom.accept(addChangeVisitor);
-            AbstractCollector referenceAdder = new AbstractCollector() {
+    public void freeze() {
+        bulkLoading = false;
+        indexDeferredAxioms();
+        // initialize everything first: some pointers are built from others
+        pointers.forEach(MapPointer::init);
+        pointers.forEach(MapPointer::freeze);
+        importsDeclarations.freeze();
+        ontologyAnnotations.freeze();
+        generalClassAxioms.freeze();
+        propertyChainSubPropertyAxioms.freeze();
+    }
 
-                @Override
-                public void visit(OWLClass ce) {
-                    owlClassReferences.put(ce, axiom);
-                }
+    /**
+     * @return true if these internals have been frozen
+     */
+    public boolean isFrozen() {
+        return axiomsByType.isFrozen();
+    }
 
-                @Override
-                public void visit(OWLObjectProperty property) {
-                    owlObjectPropertyReferences.put(property, axiom);
-                }
+    /**
+     * Starts a bulk load: axioms added from now on are only indexed by type. All other indexes are
+     * built in one pass by {@link #endBulkLoad()}, or as soon as one of them is read.
+     */
+    public void beginBulkLoad() {
+        bulkLoading = true;
+    }
 
-                @Override
-                public void visit(OWLDataProperty property) {
-                    owlDataPropertyReferences.put(property, axiom);
-                }
+    /**
+     * Ends a bulk load and indexes the axioms added since {@link #beginBulkLoad()}.
+     */
+    public void endBulkLoad() {
+        bulkLoading = false;
+        indexDeferredAxioms();
+    }
 
-                @Override
-                public void visit(OWLNamedIndividual individual) {
-                    owlIndividualReferences.put(individual, axiom);
-                }
+    /**
+     * @return true if a bulk load is in progress
+     */
+    public boolean isBulkLoading() {
+        return bulkLoading;
+    }
+
+    /**
+     * Indexes the axioms added during a bulk load, if any. This is called before reading any index
+     * that might be incomplete, and is cheap when there is nothing to do.
+     */
+    void indexDeferredAxioms() {
+        if (!deferredPending) {
+            return;
+        }
+        synchronized (deferredLock) {
+            // the indexing thread can get here again through the pointers it updates
+            if (!deferredPending || indexingDeferred) {
+                return;
+            }
+            indexingDeferred = true;
+            try {
+                List<OWLAxiom> toIndex = deferredAxioms;
+                deferredAxioms = new ArrayList<>();
+                indexAll(toIndex);
+            } finally {
+                indexingDeferred = false;
+                deferredPending = false;
+            }
+        }
+    }
 
-                @Override
-                public void visit(OWLAnnotationProperty property) {
-                    owlAnnotationPropertyReferences.put(property, axiom);
+    private void indexAll(List<OWLAxiom> axioms) {
+        if (axioms.size() < PARALLEL_INDEXING_THRESHOLD) {
+            axioms.forEach(this::index);
+            return;
+        }
+        // the entities referenced by each axiom are collected once; each reference map is then
+        // filled by its own task, and the indexes for each axiom type by another, so few tasks
+        // update the same pointer. Declarations give the number of distinct keys to expect, so
+        // the reference maps are sized once.
+        List<List<OWLObject>> references =
+            asList(axioms.parallelStream().map(Internals::references));
+        Map<EntityType<?>, Long> declared = axioms.stream()
+            .filter(OWLDeclarationAxiom.class::isInstance)
+            .map(ax -> ((OWLDeclarationAxiom) ax).getEntity().getEntityType())
+            .collect(Collectors.groupingBy(t -> t, Collectors.counting()));
+        declarationsByEntity.ensureCapacity(count(declared.values()));
+        List<Runnable> tasks = byType(axioms, addChangeVisitor);
+        Collections.addAll(tasks, () -> index(owlClassReferences, OWLClass.class,
+            declared.get(EntityType.CLASS), axioms, references),
+            () -> index(owlObjectPropertyReferences, OWLObjectProperty.class,
+                declared.get(EntityType.OBJECT_PROPERTY), axioms, references),
+            () -> index(owlDataPropertyReferences, OWLDataProperty.class,
+                declared.get(EntityType.DATA_PROPERTY), axioms, references),
+            () -> index(owlIndividualReferences, OWLNamedIndividual.class,
+                declared.get(EntityType.NAMED_INDIVIDUAL), axioms, references),
+            () -> index(owlAnnotationPropertyReferences, OWLAnnotationProperty.class,
+                declared.get(EntityType.ANNOTATION_PROPERTY), axioms, references),
+            () -> index(owlDatatypeReferences, OWLDatatype.class,
+                declared.get(EntityType.DATATYPE), axioms, references),
+            () -> index(owlAnonymousIndividualReferences, OWLAnonymousIndividual.class, null,
+                axioms, references));
+        tasks.parallelStream().forEach(Runnable::run);
+    }
+
+    /**
+     * @return one task for each axiom type, applying the visitor to the axioms of that type. The
+     *         visitors update a few pointers shared between types, such as the class axioms by
+     *         class; pointers synchronize their updates.
+     */
+    private static List<Runnable> byType(List<OWLAxiom> axioms, OWLAxiomVisitor visitor) {
+        List<Runnable> tasks = new ArrayList<>();
+        axioms.stream().collect(Collectors.groupingBy(OWLAxiom::getAxiomType)).values()
+            .forEach(list -> tasks.add(() -> list.forEach(ax -> ax.accept(visitor))));
+        return tasks;
+    }
+
+    private void unindexAll(List<OWLAxiom> axioms) {
+        if (axioms.size() < PARALLEL_INDEXING_THRESHOLD) {
+            axioms.forEach(this::unindex);
+            return;
+        }
+        List<List<OWLObject>> references =
+            asList(axioms.parallelStream().map(Internals::references));
+        List<Runnable> tasks = byType(axioms, removeChangeVisitor);
+        Collections.addAll(tasks,
+            () -> unindex(owlClassReferences, OWLClass.class, axioms, references),
+            () -> unindex(owlObjectPropertyReferences, OWLObjectProperty.class, axioms,
+                references),
+            () -> unindex(owlDataPropertyReferences, OWLDataProperty.class, axioms, references),
+            () -> unindex(owlIndividualReferences, OWLNamedIndividual.class, axioms, references),
+            () -> unindex(owlAnnotationPropertyReferences, OWLAnnotationProperty.class, axioms,
+                references),
+            () -> unindex(owlDatatypeReferences, OWLDatatype.class, axioms, references),
+            () -> unindex(owlAnonymousIndividualReferences, OWLAnonymousIndividual.class, axioms,
+                references));
+        tasks.parallelStream().forEach(Runnable::run);
+    }
+
+    private static <K> void unindex(MapPointer<K, OWLAxiom> pointer, Class<K> type,
+        List<OWLAxiom> axioms, List<List<OWLObject>> references) {
+        for (int j = 0; j < axioms.size(); j++) {
+            OWLAxiom axiom = axioms.get(j);
+            for (OWLObject o : references.get(j)) {
+                if (type.isInstance(o)) {
+                    pointer.remove(type.cast(o), axiom);
                 }
+            }
+        }
+    }
 
-                @Override
-                public void visit(OWLDatatype node) {
-                    owlDatatypeReferences.put(node, axiom);
+    private static int count(Collection<Long> counts) {
+        return (int) counts.stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static <K> void index(MapPointer<K, OWLAxiom> pointer, Class<K> type,
+        @Nullable Long expectedKeys, List<OWLAxiom> axioms, List<List<OWLObject>> references) {
+        if (expectedKeys != null) {
+            pointer.ensureCapacity(expectedKeys.intValue());
+        }
+        for (int j = 0; j < axioms.size(); j++) {
+            OWLAxiom axiom = axioms.get(j);
+            for (OWLObject o : references.get(j)) {
+                if (type.isInstance(o)) {
+                    pointer.put(type.cast(o), axiom);
                 }
+            }
+        }
+    }
+
+    private static List<OWLObject> references(OWLAxiom axiom) {
+        List<OWLObject> list = new ArrayList<>();
+        axiom.accept(new AbstractCollector() {
+
+            @Override
+            public void visit(OWLClass ce) {
+                list.add(ce);
+            }
+
+            @Override
+            public void visit(OWLObjectProperty property) {
+                list.add(property);
+            }
+
+            @Override
+            public void visit(OWLDataProperty property) {
+                list.add(property);
+            }
+
+            @Override
+            public void visit(OWLNamedIndividual individual) {
+                list.add(individual);
+            }
+
+            @Override
+            public void visit(OWLAnnotationProperty property) {
+                list.add(property);
+            }
+
+            @Override
+            public void visit(OWLDatatype node) {
+                list.add(node);
+            }
+
+            @Override
+            public void visit(OWLAnonymousIndividual individual) {
+                list.add(individual);
+            }
+        });
+        return list;
+    }
 
-                @Override
-                public void visit(OWLAnonymousIndividual individual) {
-                    owlAnonymousIndividualReferences.put(individual, axiom);
+    /**
+     * Storage used by the map pointers of this object. Note: this method is called from field
+     * initializers, so overriding implementations cannot rely on their own fields being set.
+     *
+     * @param valueWithness witness for the value type
+     * @param <K> key type
+     * @param <V> value type
+     * @return new empty storage
+     */
+    <K, V extends OWLAxiom> PostingStore<K, V> store(Class<V> valueWithness) {
+        return new HashPostingStore<>(valueWithness);
+    }
+
+    /**
+     * Signature index updated by the reference pointers of this object. Note: this method is
+     * called from field initializers, so overriding implementations cannot rely on their own
+     * fields being set.
+     *
+     * @return new empty signature index
+     */
+    SignatureIndex signatureIndex() {
+        return new SignatureIndex();
+    }
+
+    /**
+     * @return the signature index of this object
+     */
+    SignatureIndex getSignatureIndex() {
+        return signature;
+    }
+
+    /**
+     * @return all the map pointers of this object, in declaration order
+     */
+    List<MapPointer<?, ?>> getPointers() {
+        return pointers;
+    }
+
+    /**
+     * @param axiom axiom to add
+     * @return true if the axiom was not already included
+     */
+    public boolean addAxiom(final OWLAxiom axiom) {
+        checkNotNull(axiom, "axiom cannot be null");
+        if (axiomsByType.put(axiom.getAxiomType(), axiom)) {
+            if (bulkLoading) {
+                synchronized (deferredLock) {
+                    deferredAxioms.add(axiom);
+                    deferredPending = true;
                 }
-            };
-            axiom.accept(referenceAdder);
+            } else {
+                index(axiom);
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * Adds a batch of axioms. The result is the same as adding the axioms one by one in order, but
+     * large batches update the indexes with parallel tasks.
+     *
+     * @param axioms axioms to add
+     * @return the axioms that were not already included, in order
+     */
+    public List<OWLAxiom> addAxioms(Collection<? extends OWLAxiom> axioms) {
+        if (bulkLoading) {
+            return asList(axioms.stream().filter(this::addAxiom).map(OWLAxiom.class::cast));
+        }
+        indexDeferredAxioms();
+        List<OWLAxiom> added = new ArrayList<>();
+        for (OWLAxiom axiom : axioms) {
+            checkNotNull(axiom, "axiom cannot be null");
+            if (axiomsByType.put(axiom.getAxiomType(), axiom)) {
+                added.add(axiom);
+            }
+        }
+        indexAll(added);
+        return added;
+    }
+
+    private void index(final OWLAxiom axiom) {
+        axiom.accept(addChangeVisitor);
+        AbstractCollector referenceAdder = new AbstractCollector() {
+
+            @Override
+            public void visit(OWLClass ce) {
+                owlClassReferences.put(ce, axiom);
+            }
+
+            @Override
+            public void visit(OWLObjectProperty property) {
+                owlObjectPropertyReferences.put(property, axiom);
+            }
+
+            @Override
+            public void visit(OWLDataProperty property) {
+                owlDataPropertyReferences.put(property, axiom);
+            }
+
+            @Override
+            public void visit(OWLNamedIndividual individual) {
+                owlIndividualReferences.put(individual, axiom);
+            }
+
+            @Override
+            public void visit(OWLAnnotationProperty property) {
+                owlAnnotationPropertyReferences.put(property, axiom);
+            }
+
+            @Override
+            public void visit(OWLDatatype node) {
+                owlDatatypeReferences.put(node, axiom);
+            }
+
+            @Override
+            public void visit(OWLAnonymousIndividual individual) {
+                owlAnonymousIndividualReferences.put(individual, axiom);
+            }
+        };
+        axiom.accept(referenceAdder);
+    }
+
     /**
      * @param axiom axiom to remove
      * @return true if removed
      */
     public boolean removeAxiom(final OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
+        indexDeferredAxioms();
         if (axiomsByType.remove(axiom.getAxiomType(), axiom)) {
-            axiom.accept(removeChangeVisitor);
-            AbstractCollector referenceRemover = new AbstractCollector() {
+            unindex(axiom);
+            return true;
+        }
+        return false;
+    }
 
-                @Override
-                public void visit(OWLClass ce) {
-                    owlClassReferences.remove(ce, axiom);
-                }
+    /**
+     * Removes a batch of axioms. The result is the same as removing the axioms one by one in
+     * order, but large batches update the indexes with parallel tasks.
+     *
+     * @param axioms axioms to remove
+     * @return the axioms that were included, in order
+     */
+    public List<OWLAxiom> removeAxioms(Collection<? extends OWLAxiom> axioms) {
+        indexDeferredAxioms();
+        List<OWLAxiom> removed = new ArrayList<>();
+        for (OWLAxiom axiom : axioms) {
+            checkNotNull(axiom, "axiom cannot be null");
+            if (axiomsByType.remove(axiom.getAxiomType(), axiom)) {
+                removed.add(axiom);
+            }
+        }
+        unindexAll(removed);
+        return removed;
+    }
 
-                @Override
-                public void visit(OWLObjectProperty property) {
-                    owlObjectPropertyReferences.remove(property, axiom);
-                }
+    private void unindex(final OWLAxiom axiom) {
+        axiom.accept(removeChangeVisitor);
+        AbstractCollector referenceRemover = new AbstractCollector() {
 
-                @Override
-                public void visit(OWLDataProperty property) {
-                    owlDataPropertyReferences.remove(property, axiom);
-                }
+            @Override
+            public void visit(OWLClass ce) {
+                owlClassReferences.remove(ce, axiom);
+            }
 
-                @Override
-                public void visit(OWLNamedIndividual individual) {
-                    owlIndividualReferences.remove(individual, axiom);
-                }
+            @Override
+            public void visit(OWLObjectProperty property) {
+                owlObjectPropertyReferences.remove(property, axiom);
+            }
 
-                @Override
-                public void visit(OWLAnnotationProperty property) {
-                    owlAnnotationPropertyReferences.remove(property, axiom);
-                }
+            @Override
+            public void visit(OWLDataProperty property) {
+                owlDataPropertyReferences.remove(property, axiom);
+            }
 
-                @Override
-                public void visit(OWLDatatype node) {
-                    owlDatatypeReferences.remove(node, axiom);
-                }
+            @Override
+            public void visit(OWLNamedIndividual individual) {
+                owlIndividualReferences.remove(individual, axiom);
+            }
 
-                @Override
-                public void visit(OWLAnonymousIndividual individual) {
-                    owlAnonymousIndividualReferences.remove(individual, axiom);
-                }
-            };
-            axiom.accept(referenceRemover);
-            return true;
-        }
-        return false;
+            @Override
+            public void visit(OWLAnnotationProperty property) {
+                owlAnnotationPropertyReferences.remove(property, axiom);
+            }
+
+            @Override
+            public void visit(OWLDatatype node) {
+                owlDatatypeReferences.remove(node, axiom);
+            }
+
+            @Override
+            public void visit(OWLAnonymousIndividual individual) {
+                owlAnonymousIndividualReferences.remove(individual, axiom);
+            }
+        };
+        axiom.accept(referenceRemover);
     }
 
     /**
@@ -818,7 +1163,11 @@ public class Internals implements Serializable {
      * @return true if annotation added
      */
     public boolean addOntologyAnnotation(OWLAnnotation ann) {
-        return ontologyAnnotations.add(ann);
+        if (ontologyAnnotations.add(ann)) {
+            ann.signature().forEach(signature::add);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -826,7 +1175,38 @@ public class Internals implements Serializable {
      * @return true if annotation removed
      */
     public boolean removeOntologyAnnotation(OWLAnnotation ann) {
-        return ontologyAnnotations.remove(ann);
+        if (ontologyAnnotations.remove(ann)) {
+            ann.signature().forEach(signature::remove);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the entities referenced by axioms or ontology annotations, sorted
+     */
+    public Stream<OWLEntity> signature() {
+        indexDeferredAxioms();
+        return signature.entities();
+    }
+
+    /**
+     * @param type entity type
+     * @param <T> entity class
+     * @return the entities of the type referenced by axioms or ontology annotations, sorted
+     */
+    public <T extends OWLEntity> Stream<T> signature(EntityType<T> type) {
+        indexDeferredAxioms();
+        return signature.entities(type);
+    }
+
+    /**
+     * @param entity entity
+     * @return true if the entity is referenced by an axiom or an ontology annotation
+     */
+    public boolean containsEntityInSignature(OWLEntity entity) {
+        indexDeferredAxioms();
+        return signature.contains(entity);
     }
 
     /**
@@ -987,31 +1367,116 @@ public class Internals implements Serializable {
     protected class SetPointer<K extends Serializable> implements Serializable {
 
         private final Set<K> set = createSyncSet();
+        /**
+         * Content of frozen pointers and of their copies, which do not use the set: copies share
+         * the trie with the original until they are modified.
+         */
+        @Nullable
+        private transient HashTrie<K, K> persistent;
+        private transient boolean frozen = false;
+        /** Sorted content of the trie, built when first needed. */
+        @Nullable
+        private transient volatile List<K> sorted;
 
         public boolean isEmpty() {
+            HashTrie<K, K> p = persistent;
+            if (p != null) {
+                return p.isEmpty();
+            }
+            indexDeferredAxioms();
             return set.isEmpty();
         }
 
         public boolean add(K k) {
-            return set.add(k);
+            checkNotFrozen();
+            HashTrie<K, K> p = persistent;
+            if (p == null) {
+                return set.add(k);
+            }
+            if (p.containsKey(k)) {
+                return false;
+            }
+            persistent = p.put(k, k);
+            sorted = null;
+            return true;
         }
 
         public boolean remove(K k) {
-            return set.remove(k);
+            checkNotFrozen();
+            HashTrie<K, K> p = persistent;
+            if (p == null) {
+                return set.remove(k);
+            }
+            HashTrie<K, K> updated = p.remove(k);
+            if (updated == p) {
+                return false;
+            }
+            persistent = updated;
+            sorted = null;
+            return true;
+        }
+
+        void freeze() {
+            if (persistent == null) {
+                HashTrie<K, K> p = HashTrie.empty();
+                for (K k : set) {
+                    p = p.put(k, k);
+                }
+                persistent = p;
+                set.clear();
+            }
+            frozen = true;
+        }
+
+        /**
+         * Makes this pointer a copy of a frozen pointer in constant time; the content is shared
+         * with the original, which is not affected by changes to this pointer.
+         *
+         * @param other frozen pointer to copy
+         */
+        void copyOf(SetPointer<K> other) {
+            checkNotFrozen();
+            if (!other.frozen) {
+                throw new IllegalStateException("Only frozen pointers can be copied");
+            }
+            persistent = other.persistent;
+            sorted = other.sorted;
+            set.clear();
+        }
+
+        private void checkNotFrozen() {
+            if (frozen) {
+                throw new IllegalStateException("Frozen index cannot be modified");
+            }
         }
 
         public Stream<K> stream() {
+            HashTrie<K, K> p = persistent;
+            if (p != null) {
+                List<K> s = sorted;
+                if (s == null) {
+                    List<K> l = new ArrayList<>(p.size());
+                    p.keys().forEachRemaining(l::add);
+                    s = sort(l);
+                    sorted = s;
+                }
+                return s.stream();
+            }
+            indexDeferredAxioms();
             if (set.isEmpty()) {
                 return Stream.empty();
             }
-            List<K> toReturn = new ArrayList<>(set);
+            return sort(new ArrayList<>(set)).stream();
+        }
+
+        private List<K> sort(List<K> toReturn) {
             try {
                 toReturn.sort(null);
             } catch (IllegalArgumentException e) {
                 // print a warning and leave the list unsorted
                 LOGGER.warn("Misbehaving triple comparator, leaving triples unsorted", e);
             }
-            return toReturn.stream();
+            return toReturn;
         }
     }
 
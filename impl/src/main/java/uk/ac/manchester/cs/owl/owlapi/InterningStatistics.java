@@ -0,0 +1,75 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+/**
+ * Counters for the caches a data factory uses to reuse entities and annotations. Use them to size
+ * {@link org.semanticweb.owlapi.model.parameters.ConfigurationOptions#CACHE_SIZE}: a high eviction
+ * count relative to misses means the caches are too small.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class InterningStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    /**
+     * @param hits number of lookups answered from a cache
+     * @param misses number of lookups that created a new object
+     * @param evictions number of entries dropped from a cache
+     */
+    public InterningStatistics(long hits, long misses, long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return number of lookups answered from a cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of lookups that created a new object
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of entries dropped from a cache
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @param other statistics to add
+     * @return statistics with the counters of this object and {@code other} summed
+     */
+    public InterningStatistics plus(InterningStatistics other) {
+        return new InterningStatistics(hits + other.hits, misses + other.misses,
+            evictions + other.evictions);
+    }
+
+    @Override
+    public String toString() {
+        return "InterningStatistics(hits=" + hits + ", misses=" + misses + ", evictions="
+            + evictions + ')';
+    }
+}
@@ -34,13 +34,12 @@ import org.semanticweb.owlapi.model.HasIRI;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLAxiomVisitorEx;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 import org.semanticweb.owlapi.util.SmallSet;
 
 import com.carrotsearch.hppcrt.cursors.ObjectCursor;
-import com.carrotsearch.hppcrt.maps.ObjectObjectHashMap;
-import com.carrotsearch.hppcrt.procedures.ObjectProcedure;
 import com.carrotsearch.hppcrt.sets.ObjectHashSet;
 
 import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitCollectionVisitor;
@@ -61,12 +60,15 @@ public class MapPointer<K, V extends OWLAxiom> {
     @Nullable
     private final OWLAxiomVisitorEx<?> visitor;
     private boolean initialized;
+    /** Frozen pointers are fully initialized and never modified, so reads do not lock. */
+    private boolean frozen = false;
     protected final Internals i;
     @Nullable
-    private SoftReference<Set<IRI>> iris;
+    private volatile SoftReference<Set<IRI>> iris;
     private int size = 0;
-    private final ObjectObjectHashMap<K, Collection<V>> map = new ObjectObjectHashMap<>(17, 0.75F);
-    private final Class<V> valueWithness;
+    private final PostingStore<K, V> map;
+    @Nullable
+    private final SignatureIndex signature;
 
     /**
      * @param t type of axioms contained
@@ -77,11 +79,38 @@ public class MapPointer<K, V extends OWLAxiom> {
      */
     public MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v,
         boolean initialized, Internals i, Class<V> valueWithness) {
+        this(t, v, initialized, i, new HashPostingStore<>(valueWithness));
+    }
+
+    /**
+     * @param t type of axioms contained
+     * @param v visitor
+     * @param initialized true if initialized
+     * @param i internals containing this pointer
+     * @param store storage for the key to values associations
+     */
+    MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
+        Internals i, PostingStore<K, V> store) {
+        this(t, v, initialized, i, store, null);
+    }
+
+    /**
+     * @param t type of axioms contained
+     * @param v visitor
+     * @param initialized true if initialized
+     * @param i internals containing this pointer
+     * @param store storage for the key to values associations
+     * @param signature signature to update when a key gains its first value or loses its last
+     *        one; keys must be entities
+     */
+    MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
+        Internals i, PostingStore<K, V> store, @Nullable SignatureIndex signature) {
         type = t;
         visitor = v;
         this.initialized = initialized;
         this.i = checkNotNull(i, "i cannot be null");
-        this.valueWithness = valueWithness;
+        map = checkNotNull(store, "store cannot be null");
+        this.signature = signature;
     }
 
     /**
@@ -97,29 +126,45 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param e entity
      * @return true if an entity with the same iri as the input exists in the collection
      */
-    public synchronized boolean containsReference(K e) {
-        return map.containsKey(e);
+    public boolean containsReference(K e) {
+        if (frozen) {
+            return map.containsKey(e);
+        }
+        indexDeferred();
+        synchronized (this) {
+            return map.containsKey(e);
+        }
     }
 
     /**
      * @param e IRI
      * @return true if an entity with the same iri as the input exists in the collection
      */
-    public synchronized boolean containsReference(IRI e) {
+    public boolean containsReference(IRI e) {
+        if (frozen) {
+            return iris().contains(e);
+        }
+        indexDeferred();
+        synchronized (this) {
+            return iris().contains(e);
+        }
+    }
+
+    private Set<IRI> iris() {
+        SoftReference<Set<IRI>> reference = iris;
         Set<IRI> set = null;
-        if (iris != null) {
-            set = iris.get();
+        if (reference != null) {
+            set = reference.get();
         }
         if (set == null) {
             set = initSet();
         }
-        return set.contains(e);
+        return set;
     }
 
     private Set<IRI> initSet() {
         Set<IRI> set = CollectionFactory.createSet();
-        ObjectProcedure<K> consumer = k -> consumer(set, k);
-        map.keys().forEach(consumer);
+        map.forEachKey(k -> consumer(set, k));
         iris = new SoftReference<>(set);
         return set;
     }
@@ -164,6 +209,41 @@ public class MapPointer<K, V extends OWLAxiom> {
         return this;
     }
 
+    /**
+     * Initializes this pointer and makes it read only; reads on a frozen pointer do not
+     * synchronize. This is only safe if the pointer is published to other threads after this call
+     * returns, and all pointers of the owning internals are frozen together.
+     */
+    public synchronized void freeze() {
+        init();
+        frozen = true;
+    }
+
+    /**
+     * Makes this pointer a copy of a frozen pointer in constant time, sharing its storage. Both
+     * pointers must use a {@link PersistentPostingStore}, so that later changes to this pointer do
+     * not affect the original.
+     *
+     * @param other frozen pointer to copy
+     */
+    @SuppressWarnings("unchecked")
+    synchronized void copyOf(MapPointer<?, ?> other) {
+        checkNotFrozen();
+        if (!other.isFrozen()) {
+            throw new IllegalStateException("Only frozen pointers can be copied");
+        }
+        ((PersistentPostingStore<K, V>) map).copyOf((PersistentPostingStore<K, V>) other.map);
+        initialized = true;
+        size = other.size;
+    }
+
+    /**
+     * @return true if this pointer is frozen
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     @Override
     public synchronized String toString() {
         return initialized + map.toString();
@@ -172,11 +252,20 @@ public class MapPointer<K, V extends OWLAxiom> {
     /**
      * @return key set
      */
-    public synchronized Stream<K> keySet() {
-        init();
+    public Stream<K> keySet() {
+        if (frozen) {
+            return keys();
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return keys();
+        }
+    }
+
+    private Stream<K> keys() {
         List<K> l = new ArrayList<>();
-        Consumer<ObjectCursor<K>> p = c -> l.add(c.value);
-        map.keys().forEach(p);
+        map.forEachKey(l::add);
         return l.stream();
     }
 
@@ -184,8 +273,18 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key to look up
      * @return value
      */
-    public synchronized Stream<V> getValues(K key) {
-        init();
+    public Stream<V> getValues(K key) {
+        if (frozen) {
+            return valuesFor(key);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return valuesFor(key);
+        }
+    }
+
+    private Stream<V> valuesFor(K key) {
         Collection<V> t = map.get(key);
         if (t == null) {
             return Stream.empty();
@@ -203,9 +302,16 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key to look up
      * @param function consumer to apply
      */
-    public synchronized void forEach(K key, Consumer<V> function) {
-        init();
-        get(key).forEach(function);
+    public void forEach(K key, Consumer<V> function) {
+        if (frozen) {
+            get(key).forEach(function);
+            return;
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            get(key).forEach(function);
+        }
     }
 
     /**
@@ -213,17 +319,33 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param function predicate to evaluate
      * @return value
      */
-    public synchronized boolean matchOnValues(K key, Predicate<V> function) {
-        init();
-        return get(key).anyMatch(function);
+    public boolean matchOnValues(K key, Predicate<V> function) {
+        if (frozen) {
+            return get(key).anyMatch(function);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return get(key).anyMatch(function);
+        }
     }
 
     /**
      * @param key key to look up
      * @return value
      */
-    public synchronized Collection<V> getValuesAsCollection(K key) {
-        init();
+    public Collection<V> getValuesAsCollection(K key) {
+        if (frozen) {
+            return valuesCollection(key);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return valuesCollection(key);
+        }
+    }
+
+    private Collection<V> valuesCollection(K key) {
         Collection<V> t = map.get(key);
         if (t == null) {
             return Collections.emptyList();
@@ -241,17 +363,19 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key to look up
      * @return value
      */
-    public synchronized int countValues(K key) {
-        init();
-        return count(key);
+    public int countValues(K key) {
+        if (frozen) {
+            return count(key);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return count(key);
+        }
     }
 
     private int count(K k) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return 0;
-        }
-        return t.size();
+        return map.count(k);
     }
 
     /**
@@ -260,10 +384,20 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param classType type of the returned values
      * @return value
      */
+    public <O extends V> Stream<O> values(K key, Class<O> classType) {
+        if (frozen) {
+            return valuesFor(key, classType);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return valuesFor(key, classType);
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    public synchronized <O extends V> Stream<O> values(K key,
+    private <O extends V> Stream<O> valuesFor(K key,
         @SuppressWarnings("unused") Class<O> classType) {
-        init();
         Collection<V> t = map.get(key);
         if (t == null) {
             return Stream.empty();
@@ -283,8 +417,18 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key
      * @return set of values
      */
-    public synchronized <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
-        init();
+    public <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
+        if (frozen) {
+            return filter(filter, key);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return filter(filter, key);
+        }
+    }
+
+    private <T> Collection<OWLAxiom> filter(OWLAxiomSearchFilter filter, T key) {
         List<OWLAxiom> toReturn = new ArrayList<>();
         for (AxiomType<?> at : filter.getAxiomTypes()) {
             // This method is only used for MapPointer<AxiomType, OWLAxiom>
@@ -303,6 +447,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return true if addition happens
      */
     public synchronized boolean put(K key, V value) {
+        checkNotFrozen();
         // lazy init: no elements added until a recall is made
         if (!initialized) {
             return false;
@@ -317,6 +462,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return true if removal happens
      */
     public synchronized boolean remove(K key, V value) {
+        checkNotFrozen();
         if (!initialized) {
             return false;
         }
@@ -328,9 +474,15 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key to look up
      * @return true if there are values for key
      */
-    public synchronized boolean containsKey(K key) {
-        init();
-        return map.containsKey(key);
+    public boolean containsKey(K key) {
+        if (frozen) {
+            return map.containsKey(key);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return map.containsKey(key);
+        }
     }
 
     /**
@@ -338,106 +490,113 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param value value to look up
      * @return true if key and value are contained
      */
-    public synchronized boolean contains(K key, V value) {
-        init();
-        return containsEntry(key, value);
+    public boolean contains(K key, V value) {
+        if (frozen) {
+            return containsEntry(key, value);
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return containsEntry(key, value);
+        }
     }
 
     /**
      * @return all values contained
      */
-    public synchronized Stream<V> getAllValues() {
-        init();
-        return values();
+    public Stream<V> getAllValues() {
+        if (frozen) {
+            return values();
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return values();
+        }
     }
 
     /**
      * @return number of mapping contained
      */
-    public synchronized int size() {
-        init();
-        return size;
+    public int size() {
+        if (frozen) {
+            return size;
+        }
+        indexDeferred();
+        synchronized (this) {
+            init();
+            return size;
+        }
     }
 
     /**
      * @return true if empty
      */
-    public synchronized boolean isEmpty() {
-        init();
-        return size == 0;
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Pre-sizes the storage for a number of keys about to be added.
+     *
+     * @param additionalKeys expected number of new keys
+     */
+    synchronized void ensureCapacity(int additionalKeys) {
+        checkNotFrozen();
+        if (initialized) {
+            map.ensureCapacity(additionalKeys);
+        }
+    }
+
+    /**
+     * Axioms added during a bulk load are not indexed until an index is read; the axioms by type
+     * map is always up to date and is used to initialize lazy pointers, so it does not wait.
+     */
+    private void indexDeferred() {
+        if (this != i.getAxiomsByType()) {
+            i.indexDeferredAxioms();
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Frozen index cannot be modified");
+        }
     }
 
     private boolean putInternal(@Nullable K k, V v) {
         if (k == null) {
             return false;
         }
-        Collection<V> set = map.get(k);
-        if (set == null) {
-            set = Collections.singleton(v);
-            map.put(k, set);
-            size++;
-            return true;
-        }
-        if (set.size() == 1) {
-            if (set.contains(v)) {
-                return false;
-            } else {
-                set = new SmallSet<>(set);
-                map.put(k, set);
-            }
-        } else if (set.size() == 3) {
-            if (set.contains(v)) {
-                return false;
-            } else {
-                set = new HPPCSet<>(set, v, valueWithness);
-                map.put(k, set);
-                size++;
-                return true;
-            }
-        }
-        boolean added = set.add(v);
+        boolean newKey = signature != null && !map.containsKey(k);
+        boolean added = map.put(k, v);
         if (added) {
             size++;
+            if (newKey && signature != null) {
+                signature.add((OWLEntity) k);
+            }
         }
         return added;
     }
 
     private boolean containsEntry(K k, V v) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return false;
-        }
-        return t.contains(v);
+        return map.contains(k, v);
     }
 
     private boolean removeInternal(K k, V v) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return false;
-        }
-        if (t.size() == 1) {
-            if (t.contains(v)) {
-                map.remove(k);
-                size--;
-                return true;
-            } else {
-                return false;
-            }
-        }
-        boolean removed = t.remove(v);
+        boolean removed = map.remove(k, v);
         if (removed) {
             size--;
-        }
-        if (t.isEmpty()) {
-            map.remove(k);
+            if (signature != null && !map.containsKey(k)) {
+                signature.remove((OWLEntity) k);
+            }
         }
         return removed;
     }
 
     private Stream<V> values() {
         List<V> l = new ArrayList<>();
-        Consumer<ObjectCursor<Collection<V>>> c = q -> l.addAll(q.value);
-        map.values().forEach(c);
+        map.forEachValues(l::addAll);
         return l.stream();
     }
 
@@ -16,12 +16,25 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.sorted;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.TreeSet;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
 import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.util.NNF;
 
 /**
@@ -30,7 +43,20 @@ import org.semanticweb.owlapi.util.NNF;
  */
 public abstract class OWLAxiomImpl extends OWLObjectImpl implements OWLAxiom {
 
+    /**
+     * True if axioms keep their signature in a field, false if they use the shared caches in
+     * {@link OWLObjectImpl}.
+     */
+    static final boolean EMBEDDED_SIGNATURES = ConfigurationOptions.EMBEDDED_SIGNATURES
+        .getValue(Boolean.class, Collections.emptyMap()).booleanValue();
+    private static final OWLEntity[] NO_ENTITIES = new OWLEntity[0];
     protected final List<OWLAnnotation> annotations;
+    /**
+     * The sorted signature, computed on first use. Entities sort by type first, so the entities of
+     * each type are contiguous.
+     */
+    @Nullable
+    private transient volatile OWLEntity[] embeddedSignature;
 
     /**
      * @param annotations annotations on the axiom
@@ -67,6 +93,97 @@ public abstract class OWLAxiomImpl extends OWLObjectImpl implements OWLAxiom {
         return sorted(OWLAnnotation.class, Stream.concat(annos, annotations()));
     }
 
+    private OWLEntity[] embeddedSignature() {
+        OWLEntity[] s = embeddedSignature;
+        if (s == null) {
+            // racing threads compute equal arrays, so either can be kept
+            s = addSignatureEntitiesToSet(new TreeSet<>()).toArray(NO_ENTITIES);
+            embeddedSignature = s;
+        }
+        return s;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends OWLEntity> Stream<T> embeddedSignature(Class<T> type) {
+        OWLEntity[] s = embeddedSignature();
+        int from = 0;
+        while (from < s.length && !type.isInstance(s[from])) {
+            from++;
+        }
+        int to = from;
+        while (to < s.length && type.isInstance(s[to])) {
+            to++;
+        }
+        if (from == to) {
+            return Stream.empty();
+        }
+        return streamFromSorted((T[]) Arrays.copyOfRange(s, from, to));
+    }
+
+    @Override
+    public Stream<OWLEntity> signature() {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.signature();
+        }
+        return streamFromSorted(embeddedSignature());
+    }
+
+    @Override
+    public boolean containsEntityInSignature(OWLEntity owlEntity) {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.containsEntityInSignature(owlEntity);
+        }
+        return Arrays.binarySearch(embeddedSignature(), owlEntity) >= 0;
+    }
+
+    @Override
+    public Stream<OWLClass> classesInSignature() {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.classesInSignature();
+        }
+        return embeddedSignature(OWLClass.class);
+    }
+
+    @Override
+    public Stream<OWLDataProperty> dataPropertiesInSignature() {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.dataPropertiesInSignature();
+        }
+        return embeddedSignature(OWLDataProperty.class);
+    }
+
+    @Override
+    public Stream<OWLObjectProperty> objectPropertiesInSignature() {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.objectPropertiesInSignature();
+        }
+        return embeddedSignature(OWLObjectProperty.class);
+    }
+
+    @Override
+    public Stream<OWLNamedIndividual> individualsInSignature() {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.individualsInSignature();
+        }
+        return embeddedSignature(OWLNamedIndividual.class);
+    }
+
+    @Override
+    public Stream<OWLDatatype> datatypesInSignature() {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.datatypesInSignature();
+        }
+        return embeddedSignature(OWLDatatype.class);
+    }
+
+    @Override
+    public Stream<OWLAnnotationProperty> annotationPropertiesInSignature() {
+        if (!EMBEDDED_SIGNATURES) {
+            return super.annotationPropertiesInSignature();
+        }
+        return embeddedSignature(OWLAnnotationProperty.class);
+    }
+
     @Override
     public OWLAxiom getNNF() {
         return accept(new NNF(new OWLDataFactoryImpl()));
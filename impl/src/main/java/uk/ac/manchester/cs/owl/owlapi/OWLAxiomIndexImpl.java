@@ -1,5 +1,7 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
 import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
@@ -18,7 +20,18 @@ import org.semanticweb.owlapi.search.Filters;
 public abstract class OWLAxiomIndexImpl extends OWLObjectImpl
     implements OWLAxiomIndex, HasTrimToSize {
 
-    protected final Internals ints = new Internals();
+    protected final Internals ints;
+
+    protected OWLAxiomIndexImpl() {
+        this(new Internals());
+    }
+
+    /**
+     * @param ints internals holding the axiom indexes
+     */
+    protected OWLAxiomIndexImpl(Internals ints) {
+        this.ints = checkNotNull(ints, "ints cannot be null");
+    }
 
     @Override
     public void trimToSize() {
@@ -52,6 +52,7 @@ import javax.inject.Singleton;
 
 import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.InterningStrategy;
 import org.semanticweb.owlapi.model.NodeID;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
@@ -214,8 +215,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
     private static final String ENTITY_TYPE_CANNOT_BE_NULL = "entityType cannot be null";
     private static final String ANNOTATIONS_CANNOT_BE_NULL = "annotations cannot be null";
     private final boolean useCompression = false;
-    private transient OWLDataFactoryInternals dataFactoryInternals =
-        new OWLDataFactoryInternalsImpl(useCompression);
+    private transient OWLDataFactoryInternals dataFactoryInternals;
 
     private OWLOntologyLoaderConfiguration config;
 
@@ -232,6 +232,30 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
      */
     public OWLDataFactoryImpl(OWLOntologyLoaderConfiguration config) {
         this.config = config;
+        dataFactoryInternals = internals();
+    }
+
+    private OWLDataFactoryInternals internals() {
+        InterningStrategy strategy = config.getInterningStrategy();
+        switch (strategy) {
+            case STRIPED:
+            case WEAK:
+                return new OWLDataFactoryInternalsImplLocalCache(useCompression, strategy);
+            case NONE:
+                return new OWLDataFactoryInternalsImplNoCache(useCompression);
+            case SHARED:
+            default:
+                return new OWLDataFactoryInternalsImpl(useCompression);
+        }
+    }
+
+    /**
+     * @return counters for the caches this data factory uses to reuse entities and annotations.
+     *         With {@link InterningStrategy#SHARED} the caches, and therefore the counters, are
+     *         shared by all data factories using that strategy.
+     */
+    public InterningStatistics getInterningStatistics() {
+        return dataFactoryInternals.getInterningStatistics();
     }
 
     private static void checkAnnotations(Collection<OWLAnnotation> o) {
@@ -240,7 +264,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
 
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
-        dataFactoryInternals = new OWLDataFactoryInternalsImpl(useCompression);
+        dataFactoryInternals = internals();
     }
 
     @Override
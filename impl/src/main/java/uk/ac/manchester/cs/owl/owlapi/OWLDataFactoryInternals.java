@@ -42,6 +42,13 @@ public interface OWLDataFactoryInternals extends Serializable {
      */
     void purge();
 
+    /**
+     * @return counters for the caches used by this object; all zero if no caches are used
+     */
+    default InterningStatistics getInterningStatistics() {
+        return new InterningStatistics(0, 0, 0);
+    }
+
     /**
      * @param iri new object property IRI
      * @return a new OWLObjectProperty object, or a cached one depending on policies
@@ -63,7 +63,7 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
     }
 
     private static <F, T> LoadingCache<F, T> builder(CacheLoader<F, T> f) {
-        return Caffeine.newBuilder().weakKeys().maximumSize(size()).build(f);
+        return Caffeine.newBuilder().weakKeys().maximumSize(size()).recordStats().build(f);
     }
 
     protected static long size() {
@@ -87,6 +87,17 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
         annotations.invalidateAll();
     }
 
+    /**
+     * The caches are shared by all data factories using them, so the counters are too.
+     */
+    @Override
+    public InterningStatistics getInterningStatistics() {
+        return Stream.of(classes, objectProperties, dataProperties, datatypes, individuals,
+            annotationProperties, annotations).map(LoadingCache::stats)
+            .map(s -> new InterningStatistics(s.hitCount(), s.missCount(), s.evictionCount()))
+            .reduce(InterningStatistics::plus).orElseGet(() -> new InterningStatistics(0, 0, 0));
+    }
+
     @Override
     public OWLObjectProperty getOWLObjectProperty(IRI iri) {
         return objectProperties.get(iri);
@@ -0,0 +1,127 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.HasIRI;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.InterningStrategy;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+/**
+ * Caches owned by a single data factory, so that factories do not evict each other's entries.
+ * See {@link InterningStrategy#STRIPED} and {@link InterningStrategy#WEAK}. Annotations are their
+ * own keys and cannot be held weakly, so they always use a striped cache.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class OWLDataFactoryInternalsImplLocalCache extends OWLDataFactoryInternalsImplNoCache {
+
+    //@formatter:off
+    private final transient Interner<IRI, OWLAnnotationProperty>   annotationProperties;
+    private final transient Interner<OWLAnnotation, OWLAnnotation> annotations;
+    private final transient Interner<IRI, OWLClass>                classes;
+    private final transient Interner<IRI, OWLObjectProperty>       objectProperties;
+    private final transient Interner<IRI, OWLDataProperty>         dataProperties;
+    private final transient Interner<IRI, OWLDatatype>             datatypes;
+    private final transient Interner<IRI, OWLNamedIndividual>      individuals;
+    //@formatter:on
+
+    /**
+     * @param useCompression true if literals should be compressed
+     * @param strategy {@link InterningStrategy#STRIPED} or {@link InterningStrategy#WEAK}
+     */
+    public OWLDataFactoryInternalsImplLocalCache(boolean useCompression,
+        InterningStrategy strategy) {
+        super(useCompression);
+        long size = OWLDataFactoryInternalsImpl.size();
+        annotations = new StripedInterner<>(Function.identity(), size);
+        annotationProperties = interner(strategy, size);
+        classes = interner(strategy, size);
+        objectProperties = interner(strategy, size);
+        dataProperties = interner(strategy, size);
+        datatypes = interner(strategy, size);
+        individuals = interner(strategy, size);
+    }
+
+    private static <V extends HasIRI> Interner<IRI, V> interner(InterningStrategy strategy,
+        long size) {
+        if (strategy == InterningStrategy.WEAK) {
+            return new WeakInterner<>();
+        }
+        return new StripedInterner<>(HasIRI::getIRI, size);
+    }
+
+    private Stream<Interner<?, ?>> interners() {
+        return Stream.of(annotationProperties, annotations, classes, objectProperties,
+            dataProperties, datatypes, individuals);
+    }
+
+    @Override
+    public void purge() {
+        interners().forEach(Interner::clear);
+    }
+
+    @Override
+    public InterningStatistics getInterningStatistics() {
+        return interners().map(Interner::statistics).reduce(InterningStatistics::plus)
+            .orElseGet(() -> new InterningStatistics(0, 0, 0));
+    }
+
+    @Override
+    public OWLClass getOWLClass(IRI iri) {
+        return classes.intern(iri, OWLClassImpl::new);
+    }
+
+    @Override
+    public OWLObjectProperty getOWLObjectProperty(IRI iri) {
+        return objectProperties.intern(iri, OWLObjectPropertyImpl::new);
+    }
+
+    @Override
+    public OWLDataProperty getOWLDataProperty(IRI iri) {
+        return dataProperties.intern(iri, OWLDataPropertyImpl::new);
+    }
+
+    @Override
+    public OWLNamedIndividual getOWLNamedIndividual(IRI iri) {
+        return individuals.intern(iri, OWLNamedIndividualImpl::new);
+    }
+
+    @Override
+    public OWLDatatype getOWLDatatype(IRI iri) {
+        return datatypes.intern(iri, OWLDatatypeImpl::new);
+    }
+
+    @Override
+    public OWLAnnotationProperty getOWLAnnotationProperty(IRI iri) {
+        return annotationProperties.intern(iri, OWLAnnotationPropertyImpl::new);
+    }
+
+    @Override
+    public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property, OWLAnnotationValue value,
+        Stream<OWLAnnotation> anns) {
+        return annotations.intern(new OWLAnnotationImpl(property, value, anns),
+            Function.identity());
+    }
+}
@@ -17,7 +17,6 @@ import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
-import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.empty;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
 
@@ -34,11 +33,10 @@ import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
+import org.semanticweb.owlapi.model.AxiomIndexBackend;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.EntityType;
-import org.semanticweb.owlapi.model.HasAnnotationPropertiesInSignature;
 import org.semanticweb.owlapi.model.HasAxiomsByType;
-import org.semanticweb.owlapi.model.HasDatatypesInSignature;
 import org.semanticweb.owlapi.model.HasSignature;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -75,6 +73,7 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLPrimitive;
+import org.semanticweb.owlapi.model.OntologyConfigurator;
 import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
@@ -91,34 +90,12 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
     implements OWLOntology, Serializable {
     // @formatter:off
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLEntity>>              ontsignatures =                      
-        build(OWLImmutableOntologyImpl::build);
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLAnonymousIndividual>> ontanonCaches =                    build(key -> asList(key.ints.get(OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLClass>>              ontclassesSignatures =              build(key -> asList(key.ints.get(OWLClass.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLDataProperty>>       ontdataPropertySignatures =         build(key -> asList(key.ints.get(OWLDataProperty.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLObjectProperty>>     ontobjectPropertySignatures =       build(key -> asList(key.ints.get(OWLObjectProperty.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLDatatype>>           ontdatatypeSignatures =             build(key -> asList(Stream.concat(key.ints.get(OWLDatatype.class, OWLAxiom.class).get().keySet(), key.ints.getOntologyAnnotations().flatMap(HasDatatypesInSignature::datatypesInSignature)).distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLNamedIndividual>>    ontindividualSignatures =           build(key -> asList(key.ints.get(OWLNamedIndividual.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLAnnotationProperty>> ontannotationPropertiesSignatures = build(key -> asList(Stream.concat(key.ints.get(OWLAnnotationProperty.class, OWLAxiom.class, Navigation.IN_SUB_POSITION).get().keySet(),key.ints.getOntologyAnnotations().flatMap(HasAnnotationPropertiesInSignature::annotationPropertiesInSignature)).distinct().sorted()));
-    // @formatter:on
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLAnonymousIndividual>> ontanonCaches =
+        build(key -> asList(key.ints.get(OWLAnonymousIndividual.class, OWLAxiom.class).get()
+            .keySet().distinct().sorted()));
+
     protected static void invalidateOntologyCaches(OWLImmutableOntologyImpl o) {
-        ontsignatures.invalidate(o);
         ontanonCaches.invalidate(o);
-        ontclassesSignatures.invalidate(o);
-        ontdataPropertySignatures.invalidate(o);
-        ontobjectPropertySignatures.invalidate(o);
-        ontdatatypeSignatures.invalidate(o);
-        ontindividualSignatures.invalidate(o);
-        ontannotationPropertiesSignatures.invalidate(o);
-    }
-
-    private static Set<OWLEntity> build(OWLImmutableOntologyImpl key) {
-        Stream<OWLEntity> stream =
-            Stream.of(key.classesInSignature(), key.objectPropertiesInSignature(),
-                key.dataPropertiesInSignature(), key.individualsInSignature(),
-                key.datatypesInSignature(), key.annotationPropertiesInSignature(),
-                key.annotations().flatMap(OWLAnnotation::signature)).flatMap(x -> x);
-        return asSet(stream.distinct().sorted());
     }
 
     @Nullable
@@ -131,11 +108,31 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
      * @param ontologyID ontology id
      */
     public OWLImmutableOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID) {
+        this(manager, ontologyID, internals(manager));
+    }
+
+    /**
+     * @param manager ontology manager
+     * @param ontologyID ontology id
+     * @param ints internals to use for indexing axioms
+     */
+    protected OWLImmutableOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID,
+        Internals ints) {
+        super(ints);
         this.manager = checkNotNull(manager, "manager cannot be null");
         this.ontologyID = checkNotNull(ontologyID, "ontologyID cannot be null");
         df = manager.getOWLDataFactory();
     }
 
+    private static Internals internals(OWLOntologyManager manager) {
+        OntologyConfigurator config =
+            checkNotNull(manager, "manager cannot be null").getOntologyConfigurator();
+        if (config != null && config.getAxiomIndexBackend() == AxiomIndexBackend.COMPACT) {
+            return new CompactInternals();
+        }
+        return new Internals();
+    }
+
     private static void add(Set<IRI> punned, Set<IRI> test, OWLEntity e) {
         if (!test.add(e.getIRI())) {
             punned.add(e.getIRI());
@@ -392,22 +389,12 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
 
     @Override
     public boolean containsEntityInSignature(OWLEntity owlEntity) {
-        // Do not use the cached signature if it has not been created already.
-        // Creating the cache while this method is called during updates leads to very expensive
-        // lookups.
-        Set<OWLEntity> set = ontsignatures.getIfPresent(this);
-        if (set == null) {
-            if (ints.containsReference(owlEntity)) {
-                return true;
-            }
-            return annotations().flatMap(OWLAnnotation::signature).anyMatch(owlEntity::equals);
-        }
-        return set.contains(owlEntity);
+        return ints.containsEntityInSignature(owlEntity);
     }
 
     @Override
     public Stream<OWLEntity> signature() {
-        return streamFromSorted(ontsignatures.get(this));
+        return ints.signature();
     }
 
     @Override
@@ -417,27 +404,27 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
 
     @Override
     public Stream<OWLClass> classesInSignature() {
-        return streamFromSorted(ontclassesSignatures.get(this));
+        return ints.signature(EntityType.CLASS);
     }
 
     @Override
     public Stream<OWLDataProperty> dataPropertiesInSignature() {
-        return streamFromSorted(ontdataPropertySignatures.get(this));
+        return ints.signature(EntityType.DATA_PROPERTY);
     }
 
     @Override
     public Stream<OWLObjectProperty> objectPropertiesInSignature() {
-        return streamFromSorted(ontobjectPropertySignatures.get(this));
+        return ints.signature(EntityType.OBJECT_PROPERTY);
     }
 
     @Override
     public Stream<OWLNamedIndividual> individualsInSignature() {
-        return streamFromSorted(ontindividualSignatures.get(this));
+        return ints.signature(EntityType.NAMED_INDIVIDUAL);
     }
 
     @Override
     public Stream<OWLDatatype> datatypesInSignature() {
-        return streamFromSorted(ontdatatypeSignatures.get(this));
+        return ints.signature(EntityType.DATATYPE);
     }
 
     @Override
@@ -447,7 +434,7 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
 
     @Override
     public Stream<OWLAnnotationProperty> annotationPropertiesInSignature() {
-        return streamFromSorted(ontannotationPropertiesSignatures.get(this));
+        return ints.signature(EntityType.ANNOTATION_PROPERTY);
     }
 
     @Override
@@ -192,7 +192,10 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
                         ont = createOWLOntology(manager, ontologyID,
                             documentSource.getDocumentIRI(), handler);
                     }
-                    OWLDocumentFormat format = parser.parse(documentSource, ont, configuration);
+                    // the handler knows the format being parsed while imports are requested
+                    handler.setOntologyFormat(ont,
+                        parserFactory.getSupportedFormat().createFormat());
+                    OWLDocumentFormat format = parse(parser, documentSource, ont, configuration);
                     handler.setOntologyFormat(ont, format);
                     return ont;
                 } catch (UnloadableImportException e) {
@@ -237,6 +240,27 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
             configuration);
     }
 
+    private static OWLDocumentFormat parse(OWLParser parser,
+        OWLOntologyDocumentSource documentSource, OWLOntology ont,
+        OWLOntologyLoaderConfiguration configuration) {
+        if (!configuration.shouldBulkLoad()) {
+            return parser.parse(documentSource, ont, configuration);
+        }
+        ont.beginBulkLoad();
+        try {
+            return parser.parse(documentSource, ont, configuration);
+        } finally {
+            ont.endBulkLoad();
+        }
+    }
+
+    /**
+     * @return the builder used to create ontologies
+     */
+    OWLOntologyBuilder getOntologyBuilder() {
+        return ontologyBuilder;
+    }
+
     @Override
     public void setLock(ReadWriteLock lock) {
         ontologyBuilder.setLock(lock);
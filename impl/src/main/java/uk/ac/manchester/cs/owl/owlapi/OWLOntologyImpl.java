@@ -14,6 +14,7 @@ package uk.ac.manchester.cs.owl.owlapi;
 
 import static org.semanticweb.owlapi.model.parameters.ChangeApplied.NO_OPERATION;
 import static org.semanticweb.owlapi.model.parameters.ChangeApplied.SUCCESSFULLY;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -25,6 +26,7 @@ import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
 import org.semanticweb.owlapi.model.ChangeDetails;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLMutableOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeVisitorEx;
@@ -58,13 +60,57 @@ public class OWLOntologyImpl extends OWLImmutableOntologyImpl
         return change.accept(changeFilter);
     }
 
+    @Override
+    public List<ChangeApplied> applyDirectChanges(List<? extends OWLOntologyChange> changes) {
+        List<ChangeApplied> results = new ArrayList<>(changes.size());
+        OWLOntologyChangeFilter changeFilter = new OWLOntologyChangeFilter();
+        int start = 0;
+        while (start < changes.size()) {
+            OWLOntologyChange change = changes.get(start);
+            int end = start + 1;
+            // runs of additions or of removals are applied as one batch
+            while (change.isAxiomChange() && end < changes.size()
+                && changes.get(end).isAxiomChange()
+                && changes.get(end).isAddAxiom() == change.isAddAxiom()) {
+                end++;
+            }
+            if (end - start > 1) {
+                applyAxiomChanges(changes.subList(start, end), change.isAddAxiom(), results);
+            } else {
+                results.add(change.accept(changeFilter));
+            }
+            start = end;
+        }
+        return results;
+    }
+
+    private void applyAxiomChanges(List<? extends OWLOntologyChange> changes, boolean add,
+        List<ChangeApplied> results) {
+        List<OWLAxiom> axioms = asList(changes.stream().map(OWLOntologyChange::getAxiom));
+        List<OWLAxiom> applied = add ? ints.addAxioms(axioms) : ints.removeAxioms(axioms);
+        if (!applied.isEmpty()) {
+            invalidateOntologyCaches(this);
+        }
+        // the applied axioms are the same instances, in the same order, as in the changes
+        int next = 0;
+        for (OWLAxiom axiom : axioms) {
+            if (next < applied.size() && applied.get(next) == axiom) {
+                results.add(SUCCESSFULLY);
+                next++;
+            } else {
+                results.add(NO_OPERATION);
+            }
+        }
+    }
+
     @Override
     public ChangeDetails applyChangesAndGetDetails(List<? extends OWLOntologyChange> changes) {
         List<OWLOntologyChange> enactedChanges = new ArrayList<>();
         ChangeApplied appliedChanges = SUCCESSFULLY;
-        OWLOntologyChangeFilter changeFilter = new OWLOntologyChangeFilter();
-        for (OWLOntologyChange change : changes) {
-            ChangeApplied result = change.accept(changeFilter);
+        List<ChangeApplied> results = applyDirectChanges(changes);
+        for (int i = 0; i < changes.size(); i++) {
+            OWLOntologyChange change = changes.get(i);
+            ChangeApplied result = results.get(i);
             if (result == SUCCESSFULLY) {
                 enactedChanges.add(change);
             }
@@ -78,6 +124,16 @@ public class OWLOntologyImpl extends OWLImmutableOntologyImpl
         return new ChangeDetails(appliedChanges, enactedChanges);
     }
 
+    @Override
+    public void beginBulkLoad() {
+        ints.beginBulkLoad();
+    }
+
+    @Override
+    public void endBulkLoad() {
+        ints.endBulkLoad();
+    }
+
     protected class OWLOntologyChangeFilter
         implements OWLOntologyChangeVisitorEx<ChangeApplied>, Serializable {
 
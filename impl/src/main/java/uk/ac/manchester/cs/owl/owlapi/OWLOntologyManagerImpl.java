@@ -173,6 +173,8 @@ public class OWLOntologyManagerImpl
     private OntologyConfigurator configProvider = new OntologyConfigurator();
     private transient Optional<OWLOntologyLoaderConfiguration> loaderConfig = emptyOptional();
     private transient Optional<OWLOntologyWriterConfiguration> writerConfig = emptyOptional();
+    @Nullable
+    private transient ParallelImportsLoader parallelImports;
 
     /**
      * @param dataFactory data factory
@@ -635,12 +637,24 @@ public class OWLOntologyManagerImpl
     protected void actuallyApply(List<? extends OWLOntologyChange> changes,
         AtomicBoolean rollbackRequested, AtomicBoolean allNoOps,
         List<OWLOntologyChange> appliedChanges) {
-        for (OWLOntologyChange change : changes) {
-            // once rollback is requested by a failed change, do not carry
-            // out any more changes
-            if (!rollbackRequested.get()) {
-                assert change != null;
-                ChangeApplied enactChangeApplication = enactChangeApplication(change);
+        int start = 0;
+        // once rollback is requested by a failed change, do not carry
+        // out any more changes
+        while (start < changes.size() && !rollbackRequested.get()) {
+            int end = axiomChangesEnd(changes, start);
+            List<? extends OWLOntologyChange> batch = changes.subList(start, end);
+            List<ChangeApplied> results;
+            if (batch.size() > 1) {
+                // a run of axiom changes to one ontology is applied in one call, so that the
+                // ontology can update its indexes in bulk
+                results =
+                    ((OWLMutableOntology) batch.get(0).getOntology()).applyDirectChanges(batch);
+            } else {
+                results = Collections.singletonList(enactChangeApplication(batch.get(0)));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                OWLOntologyChange change = batch.get(i);
+                ChangeApplied enactChangeApplication = results.get(i);
                 if (enactChangeApplication == ChangeApplied.UNSUCCESSFULLY) {
                     rollbackRequested.set(true);
                 }
@@ -650,7 +664,26 @@ public class OWLOntologyManagerImpl
                 }
                 fireChangeApplied(change);
             }
+            start = end;
+        }
+    }
+
+    /**
+     * @return the end of the run of applicable axiom changes to the same mutable ontology that
+     *         starts at the given index; the run contains at least the change at that index
+     */
+    private int axiomChangesEnd(List<? extends OWLOntologyChange> changes, int start) {
+        OWLOntology ont = changes.get(start).getOntology();
+        int end = start;
+        while (end < changes.size() && ont instanceof OWLMutableOntology) {
+            OWLOntologyChange change = changes.get(end);
+            if (!change.isAxiomChange() || change.getOntology() != ont
+                || !isChangeApplicable(change)) {
+                break;
+            }
+            end++;
         }
+        return Math.max(end, start + 1);
     }
 
     protected void rollBack(List<OWLOntologyChange> appliedChanges) {
@@ -760,6 +793,10 @@ public class OWLOntologyManagerImpl
         try {
             OWLOntologyID ontologyID = ontology.getOntologyID();
             ontologyFormatsByOntology.put(ontologyID, ontologyFormat);
+            ParallelImportsLoader importsLoader = parallelImports;
+            if (importsLoader != null) {
+                importsLoader.setRootFormat(ontologyFormat);
+            }
         } finally {
             writeLock.unlock();
         }
@@ -1047,12 +1084,32 @@ public class OWLOntologyManagerImpl
             }
             fireStartedLoadingEvent(new OWLOntologyID(optional(ontologyIRI), emptyOptional()),
                 documentSource.getDocumentIRI(), loadCount.get() > 0);
+            // the imports closure of a top level load can be loaded concurrently
+            ParallelImportsLoader importsLoader = null;
+            if (loadCount.get() == 0 && configuration.getImportsLoadingThreads() > 1
+                && ParallelImportsLoader.supports(this)) {
+                importsLoader = new ParallelImportsLoader(this, configuration);
+                parallelImports = importsLoader;
+            }
             loadCount.incrementAndGet();
             broadcastChanges.set(false);
             Exception ex = null;
             OWLOntologyID idOfLoadedOntology = new OWLOntologyID();
             try {
                 OWLOntology o = load(documentSource, configuration);
+                if (o != null && importsLoader != null) {
+                    if (importsLoader.complete(o)) {
+                        if (configuration.shouldRepairIllegalPunnings()) {
+                            fixIllegalPunnings(o);
+                        }
+                    } else {
+                        // an import in the closure needs imported declarations to be parsed
+                        removeOntology(o);
+                        importsLoader.shutdown();
+                        parallelImports = null;
+                        o = load(documentSource, configuration);
+                    }
+                }
                 if (o != null) {
                     idOfLoadedOntology = o.getOntologyID();
                     return o;
@@ -1067,6 +1124,10 @@ public class OWLOntologyManagerImpl
                 }
                 throw e;
             } finally {
+                if (importsLoader != null) {
+                    importsLoader.shutdown();
+                    parallelImports = null;
+                }
                 if (loadCount.decrementAndGet() == 0) {
                     broadcastChanges.set(true);
                     // Completed loading ontology and imports
@@ -1697,6 +1758,16 @@ public class OWLOntologyManagerImpl
         try {
             IRI iri = declaration.getIRI();
             if (!configuration.isIgnoredImport(iri) && !importedIRIs.containsKey(iri)) {
+                ParallelImportsLoader importsLoader = parallelImports;
+                if (importsLoader != null) {
+                    if (importsLoader.request(null, declaration, configuration)) {
+                        // loaded and registered once the root ontology has been parsed
+                        return;
+                    }
+                    // the root document needs the declarations of its imports while parsing
+                    importsLoader.shutdown();
+                    parallelImports = null;
+                }
                 // insert temporary value - we do not know the actual ID yet
                 importedIRIs.put(iri, new Object());
                 try {
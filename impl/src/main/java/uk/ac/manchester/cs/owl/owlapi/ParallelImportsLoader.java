@@ -0,0 +1,396 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFDocumentFormat;
+import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportEvent;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLMutableOntology;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBuilder;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyFactory;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyIRIMapper;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OntologyConfigurator;
+import org.semanticweb.owlapi.model.PriorityCollectionSorting;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+import org.semanticweb.owlapi.model.parameters.OntologyCopy;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * Loads the imports closure of an ontology on a bounded executor. Each import is parsed by a
+ * private, unlocked manager; imports requested while parsing are routed back here, deduplicated
+ * through the owning manager's imported IRIs, and scheduled in turn. Once the root ontology has
+ * been parsed, {@link #complete(OWLOntology)} waits for the whole closure and moves the loaded
+ * ontologies into the owning manager in breadth first, declaration order, so that the final state
+ * of the manager does not depend on thread scheduling.
+ * <p>
+ * RDF and Manchester syntax parsers resolve entity types against the declarations in the imports
+ * closure, which they cannot see while imports are parsed concurrently. Imports requested by the
+ * root document in one of those formats are refused before anything is scheduled, and the caller
+ * loads them sequentially. If a document in one of those formats is found deeper in the closure,
+ * loading stops and the caller is expected to load the ontology again sequentially.
+ * <p>
+ * Workers create ontologies through their own factories, which share only the ontology builders of
+ * the owning manager; this is only possible for {@link OWLOntologyFactoryImpl} factories, see
+ * {@link #supports(OWLOntologyManagerImpl)}.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class ParallelImportsLoader {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+    private final OWLOntologyManagerImpl manager;
+    private final OWLOntologyLoaderConfiguration configuration;
+    private final ExecutorService executor;
+    private final List<OWLOntologyBuilder> builders;
+    private final List<OWLParserFactory> parsers;
+    private final List<OWLOntologyIRIMapper> mappers;
+    private final OntologyConfigurator configurator;
+    private final List<ImportTask> requests = Collections.synchronizedList(new ArrayList<>());
+    /** All the scheduled tasks; guarded by this loader. */
+    private final List<Future<OWLOntology>> scheduled = new ArrayList<>();
+    /** IRIs this loader reserved in the owning manager's imported IRIs. */
+    private final Set<IRI> reserved = ConcurrentHashMap.newKeySet();
+    /** Format of the root document being parsed. */
+    @Nullable
+    private volatile OWLDocumentFormat rootFormat;
+    /** True if a document that needs imported declarations was found in the closure. */
+    private boolean abandoned = false;
+
+    /**
+     * @param manager manager that will own the loaded ontologies; must be write locked by the
+     *        calling thread
+     * @param configuration configuration of the top level load
+     */
+    ParallelImportsLoader(OWLOntologyManagerImpl manager,
+        OWLOntologyLoaderConfiguration configuration) {
+        this.manager = manager;
+        this.configuration = configuration;
+        // copies are taken here because the workers cannot acquire the manager lock while the
+        // loading thread holds it
+        builders = new ArrayList<>();
+        manager.getOntologyFactories()
+            .forEach(f -> builders.add(((OWLOntologyFactoryImpl) f).getOntologyBuilder()));
+        parsers = copy(manager.getOntologyParsers());
+        mappers = copy(manager.getIRIMappers());
+        configurator = manager.getOntologyConfigurator();
+        int pool = POOL_COUNTER.incrementAndGet();
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread t = new Thread(r, "owlapi-imports-" + pool + "-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        executor =
+            Executors.newFixedThreadPool(configuration.getImportsLoadingThreads(), threadFactory);
+    }
+
+    /**
+     * @param manager manager about to load an ontology
+     * @return true if the ontology factories of the manager can be used by the workers
+     */
+    static boolean supports(OWLOntologyManagerImpl manager) {
+        for (OWLOntologyFactory f : manager.getOntologyFactories()) {
+            if (f.getClass() != OWLOntologyFactoryImpl.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param format format of the root document being parsed
+     */
+    void setRootFormat(OWLDocumentFormat format) {
+        rootFormat = format;
+    }
+
+    /**
+     * Schedule an import, unless its IRI is ignored or has already been requested.
+     *
+     * @param parent task whose ontology contains the declaration, or null for the root ontology
+     * @param declaration imports declaration
+     * @param config configuration for the import
+     * @return false if the root document needs the declarations of its imports to be parsed and
+     *         nothing has been scheduled yet; the caller must then load the import, and the rest of
+     *         the closure, sequentially
+     */
+    synchronized boolean request(@Nullable ImportTask parent, OWLImportsDeclaration declaration,
+        OWLOntologyLoaderConfiguration config) {
+        IRI iri = declaration.getIRI();
+        if (abandoned || config.isIgnoredImport(iri)) {
+            return true;
+        }
+        if (needsImportedDeclarations(parent == null ? rootFormat : parent.worker.format)) {
+            if (parent == null && requests.isEmpty()) {
+                return false;
+            }
+            // the requesting document has to be parsed again once its imports are loaded
+            abandoned = true;
+            scheduled.forEach(f -> f.cancel(true));
+            return true;
+        }
+        if (manager.importedIRIs.putIfAbsent(iri, new Object()) != null) {
+            return true;
+        }
+        reserved.add(iri);
+        ImportTask task = new ImportTask(declaration, config);
+        task.result = executor.submit(task::load);
+        scheduled.add(task.result);
+        if (parent == null) {
+            requests.add(task);
+        } else {
+            parent.children.add(task);
+        }
+        return true;
+    }
+
+    /**
+     * Wait for the imports closure of the root ontology and move it to the owning manager.
+     *
+     * @param root root ontology, already managed by the owning manager
+     * @return false if a document in the closure needed imported declarations to be parsed; in
+     *         that case nothing has been moved to the owning manager
+     * @throws OWLOntologyCreationException if loading was interrupted
+     */
+    boolean complete(OWLOntology root) throws OWLOntologyCreationException {
+        List<ImportTask> closure = new ArrayList<>();
+        Deque<ImportTask> queue = new ArrayDeque<>(snapshot(requests));
+        while (!queue.isEmpty()) {
+            ImportTask task = queue.poll();
+            // tasks of an abandoned load have been cancelled and do not block
+            task.await();
+            closure.add(task);
+            // a task cannot request further imports once its parse has completed
+            queue.addAll(snapshot(task.children));
+        }
+        if (isAbandoned()) {
+            reserved.forEach(manager.importedIRIs::remove);
+            return false;
+        }
+        if (configuration
+            .getMissingImportHandlingStrategy() == MissingImportHandlingStrategy.THROW_EXCEPTION) {
+            for (ImportTask task : closure) {
+                if (task.failure != null) {
+                    manager.removeOntology(root.getOntologyID());
+                    throw new UnloadableImportException(task.failure, task.declaration);
+                }
+            }
+        }
+        for (ImportTask task : closure) {
+            OWLOntologyCreationException failure = task.failure;
+            if (failure != null) {
+                manager.fireMissingImportEvent(
+                    new MissingImportEvent(task.declaration.getIRI(), failure));
+            } else if (task.ontology != null) {
+                register(task, task.ontology);
+            }
+        }
+        manager.importsClosureCache.clear();
+        return true;
+    }
+
+    private synchronized boolean isAbandoned() {
+        return abandoned;
+    }
+
+    private static boolean needsImportedDeclarations(@Nullable OWLDocumentFormat format) {
+        return format instanceof RDFDocumentFormat
+            || format instanceof ManchesterSyntaxDocumentFormat;
+    }
+
+    private void register(ImportTask task, OWLOntology ontology)
+        throws OWLOntologyCreationException {
+        OWLOntologyID id = ontology.getOntologyID();
+        IRI documentIRI = task.worker.getOntologyDocumentIRI(ontology);
+        OWLOntology existing = manager.getOntology(id);
+        if (existing == null) {
+            existing = manager.ontologiesByID.values().stream()
+                .filter(o -> documentIRI.equals(manager.documentIRIsByID.get(o.getOntologyID())))
+                .findAny().orElse(null);
+        }
+        if (existing == null) {
+            // first ontology with this id: take ownership of it
+            manager.copyOntology(ontology, OntologyCopy.MOVE);
+            manager.ontologyConfigurationsByOntologyID.put(id, task.config);
+            existing = ontology;
+        }
+        manager.ontologyIDsByImportsDeclaration.put(task.declaration, existing.getOntologyID());
+        manager.importedIRIs.put(task.declaration.getIRI(), existing.getOntologyID());
+    }
+
+    /**
+     * Stop the worker threads.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <T> List<T> copy(Iterable<T> c) {
+        List<T> list = new ArrayList<>();
+        c.forEach(list::add);
+        return list;
+    }
+
+    private static List<ImportTask> snapshot(List<ImportTask> tasks) {
+        synchronized (tasks) {
+            return new ArrayList<>(tasks);
+        }
+    }
+
+    private class ImportTask {
+        final OWLImportsDeclaration declaration;
+        final OWLOntologyLoaderConfiguration config;
+        /** Configuration for the worker, which must not start a loader of its own. */
+        final OWLOntologyLoaderConfiguration workerConfig;
+        final List<ImportTask> children = Collections.synchronizedList(new ArrayList<>());
+        final ImportsWorker worker;
+        @Nullable
+        Future<OWLOntology> result;
+        @Nullable
+        OWLOntology ontology;
+        @Nullable
+        OWLOntologyCreationException failure;
+
+        ImportTask(OWLImportsDeclaration declaration, OWLOntologyLoaderConfiguration config) {
+            this.declaration = declaration;
+            this.config = config;
+            workerConfig = config.setImportsLoadingThreads(1);
+            worker = new ImportsWorker(this);
+        }
+
+        OWLOntology load() throws OWLOntologyCreationException {
+            return worker.loadOntology(declaration.getIRI(), true, workerConfig);
+        }
+
+        void await() throws OWLOntologyCreationException {
+            Future<OWLOntology> f = result;
+            if (f == null) {
+                return;
+            }
+            try {
+                ontology = f.get();
+            } catch (CancellationException e) {
+                // loading has been abandoned
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLOntologyCreationException("Interrupted while loading imports", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof OWLOntologyCreationException) {
+                    failure = (OWLOntologyCreationException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new OWLOntologyCreationException(cause);
+                }
+            }
+        }
+    }
+
+    /**
+     * Private manager used to parse a single import. It is only ever accessed by one thread at a
+     * time, so it does not lock; imports it is asked to load are handed back to the loader.
+     */
+    private class ImportsWorker extends OWLOntologyManagerImpl {
+
+        private final ImportTask task;
+        /** Format of the document being parsed. */
+        @Nullable
+        OWLDocumentFormat format;
+
+        ImportsWorker(ImportTask task) {
+            super(manager.getOWLDataFactory(), new NoOpReadWriteLock(),
+                PriorityCollectionSorting.ON_SET_INJECTION_ONLY);
+            this.task = task;
+            setOntologyConfigurator(configurator);
+            List<OWLOntologyFactory> factories = new ArrayList<>();
+            builders.forEach(
+                b -> factories.add(new OWLOntologyFactoryImpl(new WorkerOntologyBuilder(b))));
+            getOntologyFactories().set(factories);
+            getOntologyParsers().set(parsers);
+            getIRIMappers().set(mappers);
+        }
+
+        @Override
+        public void setOntologyFormat(OWLOntology ontology, OWLDocumentFormat ontologyFormat) {
+            format = ontologyFormat;
+            super.setOntologyFormat(ontology, ontologyFormat);
+        }
+
+        @Override
+        public void makeLoadImportRequest(OWLImportsDeclaration declaration,
+            OWLOntologyLoaderConfiguration config) {
+            request(task, declaration, config);
+        }
+    }
+
+    /**
+     * Builder for the ontologies of a worker. Ontologies are created by the builder of the owning
+     * manager and then given the lock of the worker, so that the shared builder is never modified.
+     */
+    private static class WorkerOntologyBuilder implements OWLOntologyBuilder {
+
+        private final OWLOntologyBuilder builder;
+        private ReadWriteLock lock = new NoOpReadWriteLock();
+
+        WorkerOntologyBuilder(OWLOntologyBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public OWLOntology createOWLOntology(OWLOntologyManager manager, OWLOntologyID id) {
+            OWLOntology ontology = builder.createOWLOntology(manager, id);
+            if (ontology instanceof OWLMutableOntology) {
+                ((OWLMutableOntology) ontology).setLock(lock);
+            }
+            return ontology;
+        }
+
+        @Override
+        public void setLock(ReadWriteLock lock) {
+            this.lock = lock;
+        }
+    }
+}
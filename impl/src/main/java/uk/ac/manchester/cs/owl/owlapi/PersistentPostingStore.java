@@ -0,0 +1,153 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Storage for map pointers built on immutable hash tries. Updates replace the tries instead of
+ * modifying them, so a copy made with {@link #copyOf(PersistentPostingStore)} shares all the
+ * associations with the original and is not affected by later changes to it, and the value
+ * collections returned by {@link #get(Object)} never change.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ * @param <K> key
+ * @param <V> value
+ */
+class PersistentPostingStore<K, V> implements PostingStore<K, V> {
+
+    private HashTrie<K, HashTrie<V, V>> postings = HashTrie.empty();
+
+    /**
+     * Replaces the content of this store with the content of another store, in constant time.
+     *
+     * @param other store to copy
+     */
+    void copyOf(PersistentPostingStore<K, V> other) {
+        postings = other.postings;
+    }
+
+    @Override
+    public boolean put(K k, V v) {
+        HashTrie<V, V> values = postings.get(k);
+        if (values == null) {
+            values = HashTrie.empty();
+        } else if (values.containsKey(v)) {
+            return false;
+        }
+        postings = postings.put(k, values.put(v, v));
+        return true;
+    }
+
+    @Override
+    public boolean remove(K k, V v) {
+        HashTrie<V, V> values = postings.get(k);
+        if (values == null) {
+            return false;
+        }
+        HashTrie<V, V> updated = values.remove(v);
+        if (updated == values) {
+            return false;
+        }
+        postings = updated.isEmpty() ? postings.remove(k) : postings.put(k, updated);
+        return true;
+    }
+
+    @Override
+    public boolean contains(K k, V v) {
+        HashTrie<V, V> values = postings.get(k);
+        return values != null && values.containsKey(v);
+    }
+
+    @Override
+    public boolean containsKey(K k) {
+        return postings.containsKey(k);
+    }
+
+    @Override
+    @Nullable
+    public Collection<V> get(K k) {
+        HashTrie<V, V> values = postings.get(k);
+        if (values == null) {
+            return null;
+        }
+        return new Values<>(values);
+    }
+
+    @Override
+    public int count(K k) {
+        HashTrie<V, V> values = postings.get(k);
+        if (values == null) {
+            return 0;
+        }
+        return values.size();
+    }
+
+    @Override
+    public void forEachKey(Consumer<K> consumer) {
+        postings.forEach((k, values) -> consumer.accept(k));
+    }
+
+    @Override
+    public void forEachValues(Consumer<Collection<V>> consumer) {
+        postings.forEach((k, values) -> consumer.accept(new Values<>(values)));
+    }
+
+    @Override
+    public void ensureCapacity(int additionalKeys) {
+        // tries grow one entry at a time
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("{");
+        postings.forEach((k, values) -> {
+            if (b.length() > 1) {
+                b.append(", ");
+            }
+            b.append(k).append('=').append(new Values<>(values));
+        });
+        return b.append('}').toString();
+    }
+
+    /** Read only view of an immutable value trie. */
+    private static class Values<V> extends AbstractCollection<V> {
+
+        private final HashTrie<V, V> values;
+
+        Values(HashTrie<V, V> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return values.keys();
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            return o != null && values.containsKey(o);
+        }
+    }
+}
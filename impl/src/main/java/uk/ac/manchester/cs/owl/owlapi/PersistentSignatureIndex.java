@@ -0,0 +1,132 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * A signature index whose counts are kept in immutable hash tries, so that
+ * {@link #copyOf(PersistentSignatureIndex)} shares them with the original in constant time. The
+ * sorted entities of a type are computed the first time they are needed and carried over to
+ * copies until the entities of that type change.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class PersistentSignatureIndex extends SignatureIndex {
+
+    private final List<HashTrie<OWLEntity, Integer>> counts = new ArrayList<>(ORDER.size());
+    private final AtomicReferenceArray<OWLEntity[]> sorted =
+        new AtomicReferenceArray<>(ORDER.size());
+    @Nullable
+    private volatile OWLEntity[] all;
+
+    PersistentSignatureIndex() {
+        ORDER.forEach(t -> counts.add(HashTrie.empty()));
+    }
+
+    /**
+     * Replaces the content of this index with the content of another index.
+     *
+     * @param other index to copy
+     */
+    void copyOf(PersistentSignatureIndex other) {
+        for (int i = 0; i < counts.size(); i++) {
+            counts.set(i, other.counts.get(i));
+            sorted.set(i, other.sorted.get(i));
+        }
+        all = other.all;
+    }
+
+    @Override
+    void add(OWLEntity e) {
+        int i = ORDER.indexOf(e.getEntityType());
+        HashTrie<OWLEntity, Integer> c = counts.get(i);
+        Integer count = c.get(e);
+        counts.set(i, c.put(e, Integer.valueOf(count == null ? 1 : count.intValue() + 1)));
+        if (count == null) {
+            changed(i);
+        }
+    }
+
+    @Override
+    void remove(OWLEntity e) {
+        int i = ORDER.indexOf(e.getEntityType());
+        HashTrie<OWLEntity, Integer> c = counts.get(i);
+        Integer count = c.get(e);
+        if (count == null) {
+            return;
+        }
+        if (count.intValue() > 1) {
+            counts.set(i, c.put(e, Integer.valueOf(count.intValue() - 1)));
+            return;
+        }
+        counts.set(i, c.remove(e));
+        changed(i);
+    }
+
+    private void changed(int i) {
+        sorted.set(i, null);
+        all = null;
+    }
+
+    @Override
+    boolean contains(OWLEntity e) {
+        return counts.get(ORDER.indexOf(e.getEntityType())).containsKey(e);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    <T extends OWLEntity> Stream<T> entities(EntityType<T> type) {
+        return (Stream<T>) streamFromSorted(sorted(ORDER.indexOf(type)));
+    }
+
+    @Override
+    Stream<OWLEntity> entities() {
+        OWLEntity[] snapshot = all;
+        if (snapshot == null) {
+            List<OWLEntity> l = new ArrayList<>();
+            for (int i = 0; i < counts.size(); i++) {
+                l.addAll(Arrays.asList(sorted(i)));
+            }
+            snapshot = l.toArray(EMPTY);
+            all = snapshot;
+        }
+        return streamFromSorted(snapshot);
+    }
+
+    private OWLEntity[] sorted(int i) {
+        OWLEntity[] snapshot = sorted.get(i);
+        if (snapshot == null) {
+            HashTrie<OWLEntity, Integer> c = counts.get(i);
+            snapshot = new OWLEntity[c.size()];
+            int[] next = new int[1];
+            OWLEntity[] target = snapshot;
+            c.forEach((e, count) -> target[next[0]++] = e);
+            Arrays.sort(snapshot);
+            sorted.set(i, snapshot);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,90 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Storage used by a {@link MapPointer} to keep its key to values associations. Implementations
+ * are not required to be thread safe; the owning pointer synchronizes access.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+interface PostingStore<K, V> {
+
+    /**
+     * @param k key
+     * @param v value
+     * @return true if the pair was not already present
+     */
+    boolean put(K k, V v);
+
+    /**
+     * @param k key
+     * @param v value
+     * @return true if the pair was present and has been removed
+     */
+    boolean remove(K k, V v);
+
+    /**
+     * @param k key
+     * @param v value
+     * @return true if the pair is present
+     */
+    boolean contains(K k, V v);
+
+    /**
+     * @param k key
+     * @return true if there is at least one value for the key
+     */
+    boolean containsKey(K k);
+
+    /**
+     * @param k key
+     * @return the values for the key, or null if there are none. The collection might be backed by
+     *         the store; callers must copy it before releasing the pointer lock.
+     */
+    @Nullable
+    Collection<V> get(K k);
+
+    /**
+     * @param k key
+     * @return number of values for the key
+     */
+    int count(K k);
+
+    /**
+     * @param consumer consumer for all keys
+     */
+    void forEachKey(Consumer<K> consumer);
+
+    /**
+     * @param consumer consumer for all values collections
+     */
+    void forEachValues(Consumer<Collection<V>> consumer);
+
+    /**
+     * Prepares the store for a known number of new keys, so that adding them does not cause
+     * repeated resizing. Stores that do not need this can ignore the hint.
+     *
+     * @param additionalKeys number of keys about to be added
+     */
+    default void ensureCapacity(int additionalKeys) {
+        // no resizing needed by default
+    }
+}
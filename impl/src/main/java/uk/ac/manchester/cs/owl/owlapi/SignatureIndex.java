@@ -0,0 +1,154 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * The named entities in the signature of an ontology, kept sorted as axioms and ontology
+ * annotations are added and removed. Each entity is counted once for the axioms referencing it and
+ * once for each ontology annotation referencing it, and leaves the signature when the count drops
+ * to zero. Lookups take logarithmic time; iteration uses a sorted snapshot which is copied, not
+ * sorted, the first time it is needed after the entities of a type have changed.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class SignatureIndex {
+
+    // the order of the entity type indexes, so that the full signature is sorted
+    static final List<EntityType<?>> ORDER =
+        Arrays.asList(EntityType.CLASS, EntityType.OBJECT_PROPERTY, EntityType.DATA_PROPERTY,
+            EntityType.NAMED_INDIVIDUAL, EntityType.ANNOTATION_PROPERTY, EntityType.DATATYPE);
+    static final OWLEntity[] EMPTY = new OWLEntity[0];
+    private final Map<EntityType<?>, Entities> byType = new HashMap<>();
+    @Nullable
+    private OWLEntity[] all;
+
+    SignatureIndex() {
+        ORDER.forEach(t -> byType.put(t, new Entities()));
+    }
+
+    /**
+     * @param e entity gaining a reference
+     */
+    void add(OWLEntity e) {
+        byType.get(e.getEntityType()).add(e);
+    }
+
+    /**
+     * @param e entity losing a reference
+     */
+    void remove(OWLEntity e) {
+        byType.get(e.getEntityType()).remove(e);
+    }
+
+    /**
+     * @param e entity
+     * @return true if the entity is in the signature
+     */
+    boolean contains(OWLEntity e) {
+        return byType.get(e.getEntityType()).counts.containsKey(e);
+    }
+
+    /**
+     * @param type entity type
+     * @param <T> entity class
+     * @return sorted entities of the type
+     */
+    @SuppressWarnings("unchecked")
+    <T extends OWLEntity> Stream<T> entities(EntityType<T> type) {
+        return (Stream<T>) streamFromSorted(byType.get(type).snapshot());
+    }
+
+    /**
+     * @return sorted signature
+     */
+    Stream<OWLEntity> entities() {
+        return streamFromSorted(all());
+    }
+
+    // snapshots are built and discarded under a lock, so a snapshot built while the entities change
+    // is never kept
+    private synchronized OWLEntity[] all() {
+        OWLEntity[] snapshot = all;
+        if (snapshot == null) {
+            OWLEntity[][] parts = new OWLEntity[ORDER.size()][];
+            int size = 0;
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = byType.get(ORDER.get(i)).snapshot();
+                size += parts[i].length;
+            }
+            snapshot = new OWLEntity[size];
+            int start = 0;
+            for (OWLEntity[] part : parts) {
+                System.arraycopy(part, 0, snapshot, start, part.length);
+                start += part.length;
+            }
+            all = snapshot;
+        }
+        return snapshot;
+    }
+
+    private synchronized void clearAll() {
+        all = null;
+    }
+
+    private class Entities {
+
+        final ConcurrentSkipListMap<OWLEntity, Integer> counts = new ConcurrentSkipListMap<>();
+        @Nullable
+        OWLEntity[] sorted;
+
+        void add(OWLEntity e) {
+            if (counts.merge(e, Integer.valueOf(1), Integer::sum).intValue() == 1) {
+                changed();
+            }
+        }
+
+        void remove(OWLEntity e) {
+            if (counts.computeIfPresent(e, (k, v) -> v.intValue() == 1 ? null
+                : Integer.valueOf(v.intValue() - 1)) == null) {
+                changed();
+            }
+        }
+
+        private void changed() {
+            synchronized (this) {
+                sorted = null;
+            }
+            clearAll();
+        }
+
+        synchronized OWLEntity[] snapshot() {
+            OWLEntity[] snapshot = sorted;
+            if (snapshot == null) {
+                snapshot = counts.keySet().toArray(EMPTY);
+                sorted = snapshot;
+            }
+            return snapshot;
+        }
+    }
+}
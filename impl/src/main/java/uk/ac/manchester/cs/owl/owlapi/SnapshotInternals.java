@@ -0,0 +1,90 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.List;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * Internals for immutable ontology snapshots. Indexes are kept in immutable hash tries, so that
+ * {@link #copy()} returns, in constant time, internals sharing all their content with these ones;
+ * changing the copy only copies the trie paths leading to the changed entries. Signature lookups
+ * by IRI use the reference indexes directly, so that a new copy does not need to collect the IRIs
+ * of all the keys.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class SnapshotInternals extends Internals {
+
+    @Override
+    <K, V extends OWLAxiom> PostingStore<K, V> store(Class<V> valueWithness) {
+        return new PersistentPostingStore<>();
+    }
+
+    @Override
+    SignatureIndex signatureIndex() {
+        return new PersistentSignatureIndex();
+    }
+
+    /**
+     * @return modifiable internals with the same content as these internals, which must be frozen
+     */
+    public SnapshotInternals copy() {
+        SnapshotInternals copy = new SnapshotInternals();
+        List<MapPointer<?, ?>> from = getPointers();
+        List<MapPointer<?, ?>> to = copy.getPointers();
+        for (int i = 0; i < from.size(); i++) {
+            to.get(i).copyOf(from.get(i));
+        }
+        ((PersistentSignatureIndex) copy.getSignatureIndex())
+            .copyOf((PersistentSignatureIndex) getSignatureIndex());
+        copy.importsDeclarations.copyOf(importsDeclarations);
+        copy.ontologyAnnotations.copyOf(ontologyAnnotations);
+        copy.generalClassAxioms.copyOf(generalClassAxioms);
+        copy.propertyChainSubPropertyAxioms.copyOf(propertyChainSubPropertyAxioms);
+        return copy;
+    }
+
+    @Override
+    public boolean containsClassInSignature(IRI i) {
+        return containsClassInSignature(new OWLClassImpl(i));
+    }
+
+    @Override
+    public boolean containsObjectPropertyInSignature(IRI i) {
+        return containsObjectPropertyInSignature(new OWLObjectPropertyImpl(i));
+    }
+
+    @Override
+    public boolean containsDataPropertyInSignature(IRI i) {
+        return containsDataPropertyInSignature(new OWLDataPropertyImpl(i));
+    }
+
+    @Override
+    public boolean containsAnnotationPropertyInSignature(IRI i) {
+        return containsAnnotationPropertyInSignature(new OWLAnnotationPropertyImpl(i));
+    }
+
+    @Override
+    public boolean containsIndividualInSignature(IRI i) {
+        return containsIndividualInSignature(new OWLNamedIndividualImpl(i));
+    }
+
+    @Override
+    public boolean containsDatatypeInSignature(IRI i) {
+        return containsDatatypeInSignature(new OWLDatatypeImpl(i));
+    }
+}
@@ -0,0 +1,150 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Interner split into shards, each an open addressing table with linear probing. Keys are not
+ * stored separately: they are extracted from the values, so IRI keyed entities are compared by IRI
+ * namespace and remainder directly. Lookups read a volatile table reference and never lock;
+ * insertions lock their shard only. A table is replaced, never modified in place except for filling
+ * an empty slot, so readers always see a consistent table. When a shard reaches its share of the
+ * size limit it is emptied.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author ignazio
+ * @since 5.5.1
+ */
+final class StripedInterner<K, V> extends Interner<K, V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private final Function<? super V, ? extends K> keyOf;
+    private final List<Shard> shards;
+    private final int shardBits;
+    private final int shardLimit;
+
+    /**
+     * @param keyOf function extracting the key from a value
+     * @param size maximum number of entries
+     */
+    StripedInterner(Function<? super V, ? extends K> keyOf, long size) {
+        this.keyOf = keyOf;
+        int count = Integer.highestOneBit(
+            Math.max(4, Math.min(64, Runtime.getRuntime().availableProcessors() * 2)));
+        shardBits = Integer.numberOfTrailingZeros(count);
+        shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(new Shard());
+        }
+        shardLimit = (int) Math.max(INITIAL_CAPACITY / 2, Math.min(1 << 29, size / count));
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B9;
+    }
+
+    @Override
+    V intern(K key, Function<? super K, ? extends V> create) {
+        int h = spread(key.hashCode());
+        // the top bits pick the shard, the low bits the slot
+        Shard shard = shards.get(h >>> 32 - shardBits & shards.size() - 1);
+        V v = shard.get(key, h);
+        if (v != null) {
+            hits.increment();
+            return v;
+        }
+        return shard.put(key, h, create);
+    }
+
+    @Override
+    void clear() {
+        for (Shard s : shards) {
+            s.clear();
+        }
+    }
+
+    private final class Shard {
+
+        private volatile AtomicReferenceArray<V> table = new AtomicReferenceArray<>(0);
+        private int size;
+
+        V get(K key, int h) {
+            AtomicReferenceArray<V> t = table;
+            int mask = t.length() - 1;
+            if (mask < 0) {
+                return null;
+            }
+            // tables are at most half full, so there is always an empty slot to stop at
+            for (int i = h & mask;; i = i + 1 & mask) {
+                V v = t.get(i);
+                if (v == null) {
+                    return null;
+                }
+                if (key.equals(keyOf.apply(v))) {
+                    return v;
+                }
+            }
+        }
+
+        synchronized V put(K key, int h, Function<? super K, ? extends V> create) {
+            V existing = get(key, h);
+            if (existing != null) {
+                hits.increment();
+                return existing;
+            }
+            misses.increment();
+            if (size >= shardLimit) {
+                evictions.add(size);
+                size = 0;
+                table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+            } else if ((size + 1) * 2 > table.length()) {
+                table = resize(table);
+            }
+            V v = create.apply(key);
+            insert(table, v, h);
+            size++;
+            return v;
+        }
+
+        private void insert(AtomicReferenceArray<V> t, V v, int h) {
+            int mask = t.length() - 1;
+            int i = h & mask;
+            while (t.get(i) != null) {
+                i = i + 1 & mask;
+            }
+            t.set(i, v);
+        }
+
+        private AtomicReferenceArray<V> resize(AtomicReferenceArray<V> old) {
+            AtomicReferenceArray<V> t =
+                new AtomicReferenceArray<>(Math.max(INITIAL_CAPACITY, old.length() * 2));
+            for (int i = 0; i < old.length(); i++) {
+                V v = old.get(i);
+                if (v != null) {
+                    insert(t, v, spread(keyOf.apply(v).hashCode()));
+                }
+            }
+            return t;
+        }
+
+        synchronized void clear() {
+            size = 0;
+            table = new AtomicReferenceArray<>(0);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Interner holding its values weakly: an entry is dropped once its value is no longer referenced
+ * elsewhere. Cleared entries are removed, and counted as evictions, on the next miss. Keys are
+ * held strongly, so the key must not be the value itself.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author ignazio
+ * @since 5.5.1
+ */
+final class WeakInterner<K, V> extends Interner<K, V> {
+
+    private final ConcurrentHashMap<K, WeakValue<K, V>> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    @Override
+    V intern(K key, Function<? super K, ? extends V> create) {
+        WeakValue<K, V> ref = map.get(key);
+        V v = ref == null ? null : ref.get();
+        if (v != null) {
+            hits.increment();
+            return v;
+        }
+        expunge();
+        V created = create.apply(key);
+        ref = map.compute(key, (k, old) -> {
+            // another thread may have installed a value since the lookup above
+            if (old != null && old.get() != null) {
+                hits.increment();
+                return old;
+            }
+            misses.increment();
+            return new WeakValue<>(k, created, queue);
+        });
+        v = ref.get();
+        return v == null ? created : v;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expunge() {
+        for (Object o = queue.poll(); o != null; o = queue.poll()) {
+            WeakValue<K, V> ref = (WeakValue<K, V>) o;
+            if (map.remove(ref.key, ref)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        map.clear();
+    }
+
+    private static final class WeakValue<K, V> extends WeakReference<V> {
+
+        final K key;
+
+        WeakValue(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyBuilder;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OntologyConfigurator;
 
 /**
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 10/04/15
@@ -31,7 +32,12 @@ public class ConcurrentOWLOntologyBuilder implements OWLOntologyBuilder {
     @Override
     public OWLOntology createOWLOntology(OWLOntologyManager manager, OWLOntologyID ontologyID) {
         OWLOntology owlOntology = builder.createOWLOntology(manager, ontologyID);
-        return new ConcurrentOWLOntologyImpl(owlOntology, readWriteLock);
+        return new ConcurrentOWLOntologyImpl(owlOntology, readWriteLock, lockFreeReads(manager));
+    }
+
+    private static boolean lockFreeReads(OWLOntologyManager manager) {
+        OntologyConfigurator config = manager.getOntologyConfigurator();
+        return config != null && config.shouldUseLockFreeReads();
     }
 
     @Override
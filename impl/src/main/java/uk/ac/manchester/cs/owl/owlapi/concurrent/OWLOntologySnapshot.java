@@ -0,0 +1,105 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi.concurrent;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLImmutableOntologyImpl;
+import uk.ac.manchester.cs.owl.owlapi.SnapshotInternals;
+
+/**
+ * Immutable, point in time copy of an ontology, used by {@link ConcurrentOWLOntologyImpl} to
+ * answer reads without locking. The snapshot is never registered with the manager: imports are
+ * resolved through the owning ontology, so that imports closures contain the owner rather than
+ * the snapshot. A new snapshot can be derived from the previous one and the changes made since,
+ * sharing all the indexes the changes do not touch.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class OWLOntologySnapshot extends OWLImmutableOntologyImpl {
+
+    private final OWLOntology owner;
+
+    /**
+     * @param owner ontology exposed to clients
+     * @param source ontology to copy; must not be modified while the copy is made
+     */
+    OWLOntologySnapshot(OWLOntology owner, OWLOntology source) {
+        // snapshot internals are used regardless of the configured backend: they can be copied in
+        // constant time and their reads do not lock
+        super(source.getOWLOntologyManager(), source.getOntologyID(), new SnapshotInternals());
+        this.owner = owner;
+        source.importsDeclarations().forEach(ints::addImportsDeclaration);
+        source.annotations().forEach(ints::addOntologyAnnotation);
+        source.axioms().forEach(ints::addAxiom);
+        ints.freeze();
+    }
+
+    /**
+     * @param previous snapshot of the source before the changes
+     * @param source ontology to copy; must not be modified while the copy is made
+     * @param axioms axioms added or removed since the previous snapshot; an axiom is included in
+     *        the new snapshot if the source contains it
+     * @param headerChanged true if imports declarations or ontology annotations might have changed
+     *        since the previous snapshot
+     */
+    OWLOntologySnapshot(OWLOntologySnapshot previous, OWLOntology source,
+        Collection<OWLAxiom> axioms, boolean headerChanged) {
+        super(previous.getOWLOntologyManager(), source.getOntologyID(),
+            ((SnapshotInternals) previous.ints).copy());
+        owner = previous.owner;
+        for (OWLAxiom ax : axioms) {
+            if (source.containsAxiom(ax)) {
+                ints.addAxiom(ax);
+            } else {
+                ints.removeAxiom(ax);
+            }
+        }
+        if (headerChanged) {
+            List<OWLImportsDeclaration> imports = asList(source.importsDeclarations());
+            previous.importsDeclarations().filter(d -> !imports.contains(d))
+                .forEach(ints::removeImportsDeclaration);
+            imports.forEach(ints::addImportsDeclaration);
+            List<OWLAnnotation> annotations = asList(source.annotations());
+            previous.annotations().filter(a -> !annotations.contains(a))
+                .forEach(ints::removeOntologyAnnotation);
+            annotations.forEach(ints::addOntologyAnnotation);
+        }
+        ints.freeze();
+    }
+
+    @Override
+    public Stream<OWLOntology> imports() {
+        return owner.imports();
+    }
+
+    @Override
+    public Stream<OWLOntology> directImports() {
+        return owner.directImports();
+    }
+
+    @Override
+    public Stream<OWLOntology> importsClosure() {
+        return owner.importsClosure();
+    }
+}
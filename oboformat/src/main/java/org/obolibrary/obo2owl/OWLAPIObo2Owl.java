@@ -9,12 +9,15 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -23,6 +26,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
@@ -30,6 +37,7 @@ import javax.annotation.Nullable;
 import org.obolibrary.obo2owl.Obo2OWLConstants.Obo2OWLVocabulary;
 import org.obolibrary.oboformat.model.Clause;
 import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.Frame.FrameType;
 import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.QualifierValue;
 import org.obolibrary.oboformat.model.Xref;
@@ -106,6 +114,8 @@ public class OWLAPIObo2Owl {
     public static final String IRI_PROP_ISREVERSIBLEPROPERTYCHAIN =
         DEFAULT_IRI_PREFIX + "IAO_isReversiblePropertyChain";
     protected static final Map<String, IRI> ANNOTATIONPROPERTYMAP = initAnnotationPropertyMap();
+    /** Number of term frames handed to a worker at a time. */
+    private static final int FRAMES_PER_TASK = 1000;
     private static final Logger LOG = LoggerFactory.getLogger(OWLAPIObo2Owl.class);
     private static final Set<String> SKIPPED_QUALIFIERS = Sets.newHashSet("gci_relation",
         "gci_filler", "cardinality", "minCardinality", "maxCardinality", "all_some", "all_only");
@@ -446,6 +456,104 @@ public class OWLAPIObo2Owl {
         return tr(in);
     }
 
+    /**
+     * Parses and translates an OBO document in one pass, without building the complete OBODoc.
+     * Term frames are translated on worker threads as they are parsed, and their axioms are added
+     * to the ontology in bulk. Only typedef frames, which the translation of other frames depends
+     * upon, are kept in memory, along with term frames that refer to typedefs that may not have
+     * been parsed yet; these are translated at the end of the document. Term frames with the same
+     * id are translated separately rather than merged. Imports are not followed.
+     *
+     * @param reader the reader for the OBO document
+     * @param in the ontology to fill
+     * @param threads number of translating threads
+     * @return the OWL ontology
+     * @throws OBOFormatParserException parser exception
+     */
+    public OWLOntology convert(Reader reader, OWLOntology in, int threads) {
+        OBOFormatParser parser = new OBOFormatParser();
+        OBODoc doc = parser.parseHeader(reader);
+        init(in.getOWLOntologyManager());
+        obodoc = doc;
+        Frame hf = trOntologyID(in);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "owlapi-obo-translator");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Deque<Future<FrameTranslator>> pending = new ArrayDeque<>();
+            List<Frame> deferred = new ArrayList<>();
+            List<Frame> batch = new ArrayList<>();
+            for (Frame f = parser.nextFrame(doc); f != null; f = parser.nextFrame(doc)) {
+                // typedef frames have been added to the document by the parser
+                if (f.getType() == FrameType.TERM) {
+                    batch.add(f);
+                }
+                if (batch.size() == FRAMES_PER_TASK) {
+                    submit(executor, new FrameTranslator(this, false), batch, pending, deferred,
+                        threads);
+                    batch = new ArrayList<>();
+                }
+            }
+            submit(executor, new FrameTranslator(this, false), batch, pending, deferred, threads);
+            while (!pending.isEmpty()) {
+                add(pending.poll(), deferred);
+            }
+            // all typedefs are known now, and no worker is reading them
+            trHeaderFrame(hf);
+            doc.getTypedefFrames().forEach(this::trTypedefToAnnotationProperty);
+            doc.getTypedefFrames().forEach(this::trTypedefFrame);
+            List<Frame> remaining = new ArrayList<>(deferred);
+            deferred.clear();
+            for (int i = 0; i < remaining.size(); i += FRAMES_PER_TASK) {
+                submit(executor, new FrameTranslator(this, true),
+                    remaining.subList(i, Math.min(i + FRAMES_PER_TASK, remaining.size())), pending,
+                    deferred, threads);
+            }
+            while (!pending.isEmpty()) {
+                add(pending.poll(), deferred);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        trImports(in, hf);
+        postProcess(in);
+        return in;
+    }
+
+    private void submit(ExecutorService executor, FrameTranslator translator, List<Frame> frames,
+        Deque<Future<FrameTranslator>> pending, List<Frame> deferred, int threads) {
+        if (frames.isEmpty()) {
+            return;
+        }
+        pending.add(executor.submit(() -> translator.translate(frames)));
+        // bound the number of translated frames waiting in memory
+        if (pending.size() >= 2 * threads) {
+            add(pending.poll(), deferred);
+        }
+    }
+
+    private void add(@Nullable Future<FrameTranslator> translated, List<Frame> deferred) {
+        FrameTranslator translator;
+        try {
+            translator = verifyNotNull(translated).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLParserException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OWLParserException(cause);
+        }
+        if (!translator.axioms.isEmpty()) {
+            getOwlOntology().addAxioms(translator.axioms);
+        }
+        deferred.addAll(translator.deferred);
+    }
+
     /**
      * Translate ontology.
      *
@@ -453,6 +561,24 @@ public class OWLAPIObo2Owl {
      * @return the OWL ontology
      */
     protected OWLOntology tr(OWLOntology in) {
+        Frame hf = trOntologyID(in);
+        trHeaderFrame(hf);
+        obodoc.getTypedefFrames().forEach(this::trTypedefToAnnotationProperty);
+        obodoc.getTypedefFrames().forEach(this::trTypedefFrame);
+        obodoc.getTermFrames().forEach(this::trTermFrame);
+        // TODO - individuals
+        trImports(in, hf);
+        postProcess(in);
+        return in;
+    }
+
+    /**
+     * Translate the ontology id and the default id space.
+     *
+     * @param in the in
+     * @return the header frame
+     */
+    private Frame trOntologyID(OWLOntology in) {
         setOwlOntology(in);
         Frame hf = verifyNotNull(obodoc.getHeaderFrame());
         Clause ontClause = hf.getClause(OboFormatTag.TAG_ONTOLOGY);
@@ -494,11 +620,10 @@ public class OWLAPIObo2Owl {
                 optional(IRI.create(DEFAULT_IRI_PREFIX, defaultIDSpace)), emptyOptional())));
             // TODO - warn
         }
-        trHeaderFrame(hf);
-        obodoc.getTypedefFrames().forEach(this::trTypedefToAnnotationProperty);
-        obodoc.getTypedefFrames().forEach(this::trTypedefFrame);
-        obodoc.getTermFrames().forEach(this::trTermFrame);
-        // TODO - individuals
+        return hf;
+    }
+
+    private void trImports(OWLOntology in, Frame hf) {
         for (Clause cl : hf.getClauses(OboFormatTag.TAG_IMPORT)) {
             String path = getURI(cl.getValue().toString());
             IRI importIRI = IRI.create(path);
@@ -508,8 +633,6 @@ public class OWLAPIObo2Owl {
             AddImport ai = new AddImport(in, owlImportsDeclaration);
             manager.applyChange(ai);
         }
-        postProcess(in);
-        return in;
     }
 
     /**
@@ -993,7 +1116,7 @@ public class OWLAPIObo2Owl {
         } else if (tagConstant == OboFormatTag.TAG_RELATIONSHIP) {
             // TODO
             IRI relId = oboIdToIRI((String) clause.getValue());
-            OWLAnnotationProperty prop = typedefToAnnotationProperty.get(relId.toString());
+            OWLAnnotationProperty prop = getMetadataProperty(relId);
             if (prop != null) {
                 ax = fac.getOWLAnnotationAssertionAxiom(prop, cls.getIRI(),
                     oboIdToIRI((String) clause.getValue2()), annotations);
@@ -1037,7 +1160,7 @@ public class OWLAPIObo2Owl {
             ax = fac.getOWLSubObjectPropertyOfAxiom(p, trObjectProp((String) v), annotations);
         } else if (tagConstant == OboFormatTag.TAG_RELATIONSHIP) {
             IRI relId = oboIdToIRI((String) v);
-            OWLAnnotationProperty metaProp = typedefToAnnotationProperty.get(relId.toString());
+            OWLAnnotationProperty metaProp = getMetadataProperty(relId);
             if (metaProp != null) {
                 ax = fac.getOWLAnnotationAssertionAxiom(metaProp, p.getIRI(),
                     oboIdToIRI((String) clause.getValue2()), annotations);
@@ -1279,7 +1402,7 @@ public class OWLAPIObo2Owl {
      */
     public OWLClassExpression trRel(String relId, String classId,
         Collection<QualifierValue> quals) {
-        Frame relFrame = obodoc.getTypedefFrame(relId);
+        Frame relFrame = getTypedefFrame(relId);
         OWLObjectPropertyExpression pe = trObjectProp(relId);
         OWLClassExpression ce = trClass(classId);
         Integer exact = getQVInt("cardinality", quals);
@@ -1343,6 +1466,28 @@ public class OWLAPIObo2Owl {
         return trClass((String) v);
     }
 
+    /**
+     * Gets the typedef frame with the given id.
+     *
+     * @param id the id
+     * @return the typedef frame, or null if the document has no typedef with this id
+     */
+    @Nullable
+    protected Frame getTypedefFrame(String id) {
+        return obodoc.getTypedefFrame(id);
+    }
+
+    /**
+     * Gets the annotation property translated from a metadata typedef.
+     *
+     * @param relId the relation IRI
+     * @return the annotation property, or null if the relation is not a metadata tag
+     */
+    @Nullable
+    protected OWLAnnotationProperty getMetadataProperty(IRI relId) {
+        return typedefToAnnotationProperty.get(relId.toString());
+    }
+
     /**
      * See section "header macros" and treat-xrefs-as-equivalent.
      *
@@ -1350,7 +1495,7 @@ public class OWLAPIObo2Owl {
      * @return mapped id
      */
     protected String mapPropId(String id) {
-        Frame f = obodoc.getTypedefFrame(id);
+        Frame f = getTypedefFrame(id);
         if (f != null) {
             Collection<Xref> xrefs = f.getTagValues(OboFormatTag.TAG_XREF, Xref.class);
             for (Xref x : xrefs) {
@@ -1614,7 +1759,7 @@ public class OWLAPIObo2Owl {
         if (id.contains(":")) {
             return id;
         }
-        Frame tdf = obodoc.getTypedefFrame(id);
+        Frame tdf = getTypedefFrame(id);
         if (tdf == null) {
             return id;
         }
@@ -1656,4 +1801,84 @@ public class OWLAPIObo2Owl {
     protected String getDefaultIDSpace() {
         return defaultIDSpace;
     }
+
+    /**
+     * Translator for a batch of term frames on a worker thread. Axioms are collected rather than
+     * added to the ontology. Before all typedefs are known, a frame whose translation needs a typedef
+     * that has not been parsed, or a metadata property, is put aside to be translated again at the
+     * end of the document; axioms translated before that point do not depend on the missing
+     * typedefs and are kept.
+     */
+    private static class FrameTranslator extends OWLAPIObo2Owl {
+
+        private final OWLAPIObo2Owl parent;
+        private final boolean typedefsTranslated;
+        final List<OWLAxiom> axioms = new ArrayList<>();
+        final List<Frame> deferred = new ArrayList<>();
+
+        FrameTranslator(OWLAPIObo2Owl parent, boolean typedefsTranslated) {
+            super(parent.manager);
+            this.parent = parent;
+            this.typedefsTranslated = typedefsTranslated;
+            // created on the parsing thread, while the parent translator is not changing
+            obodoc = parent.obodoc;
+            owlOntology = parent.owlOntology;
+            defaultIDSpace = parent.defaultIDSpace;
+            idSpaceMap.putAll(parent.idSpaceMap);
+            apToDeclare.addAll(parent.apToDeclare);
+        }
+
+        FrameTranslator translate(List<Frame> frames) {
+            for (Frame f : frames) {
+                try {
+                    trTermFrame(f);
+                } catch (MissingTypedefException e) {
+                    deferred.add(f);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        protected void add(@Nullable Set<OWLAxiom> axiomsToAdd) {
+            if (axiomsToAdd == null || axiomsToAdd.isEmpty()) {
+                LOG.error("no axiom");
+                return;
+            }
+            axioms.addAll(axiomsToAdd);
+        }
+
+        @Override
+        @Nullable
+        protected Frame getTypedefFrame(String id) {
+            synchronized (obodoc) {
+                Frame f = obodoc.getTypedefFrame(id);
+                if (f == null && !typedefsTranslated) {
+                    throw MissingTypedefException.INSTANCE;
+                }
+                return f;
+            }
+        }
+
+        @Override
+        @Nullable
+        protected OWLAnnotationProperty getMetadataProperty(IRI relId) {
+            if (!typedefsTranslated) {
+                throw MissingTypedefException.INSTANCE;
+            }
+            return parent.getMetadataProperty(relId);
+        }
+    }
+
+    /**
+     * Signals that a frame cannot be translated until all typedefs are known.
+     */
+    private static class MissingTypedefException extends RuntimeException {
+
+        static final MissingTypedefException INSTANCE = new MissingTypedefException();
+
+        MissingTypedefException() {
+            super(null, null, false, false);
+        }
+    }
 }
@@ -14,14 +14,20 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -80,6 +86,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
 import org.semanticweb.owlapi.model.OWLObjectUnionOf;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLQuantifiedObjectRestriction;
 import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
@@ -123,6 +130,8 @@ public class OWLAPIOwl2Obo {
     private static final Set<String> SKIPPED_QUALIFIERS =
         new HashSet<>(Arrays.asList("gci_relation", "gci_filler", "cardinality", MIN_CARDINALITY,
             MAX_CARDINALITY, "all_some", "all_only", RDFConstants.RDF_TYPE));
+    /** Number of axioms handed to a worker at a time. */
+    private static final int AXIOMS_PER_TASK = 1000;
     protected final Pattern absoluteURLPattern = Pattern.compile("<\\s*http.*?>");
     protected final Set<OWLAxiom> untranslatableAxioms = new HashSet<>();
     protected final Map<String, String> idSpaceMap = new HashMap<>();
@@ -138,6 +147,10 @@ public class OWLAPIOwl2Obo {
      * Mute untranslatable axiom warnings.
      */
     private boolean muteUntranslatableAxioms = false;
+    /**
+     * Number of threads building term frames.
+     */
+    private int threads = 1;
 
     /**
      * @param translationManager the translation manager
@@ -661,6 +674,26 @@ public class OWLAPIOwl2Obo {
         this.discardUntranslatable = discardUntranslatable;
     }
 
+    /**
+     * Gets the number of threads building term frames.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads building term frames. With more than one thread, the axioms about
+     * each class are translated on worker threads, while header and typedef frames are built on the
+     * calling thread.
+     *
+     * @param threads the number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
     /**
      * Gets the manager.
      *
@@ -710,6 +743,126 @@ public class OWLAPIOwl2Obo {
         return tr();
     }
 
+    /**
+     * Converts an ontology again after it has been changed, reusing a previous conversion. Only the
+     * term frames of the classes touched by the changes are built again; the header, the typedef
+     * frames and the other term frames are shared with the previous document. If the changes may
+     * alter the header or typedef frames, or untranslatable axioms have to be kept in the header,
+     * the ontology is converted from scratch.
+     *
+     * @param ont the ontology, with the changes applied
+     * @param previous the conversion of the ontology before the changes
+     * @param changes the changes applied to the ontology since the previous conversion
+     * @return the OBO doc
+     */
+    public OBODoc convert(OWLOntology ont, OBODoc previous,
+        Collection<? extends OWLOntologyChange> changes) {
+        owlOntology = ont;
+        ontologyId = getOntologyId(ont);
+        init();
+        Set<String> affected = affectedTermFrames(previous, changes);
+        if (affected == null) {
+            return tr();
+        }
+        setObodoc(new OBODoc());
+        getObodoc().setHeaderFrame(previous.getHeaderFrame());
+        previous.getTypedefFrames().forEach(this::add);
+        previous.getInstanceFrames().forEach(this::add);
+        previous.getTermFrames().stream().filter(f -> !affected.contains(f.getId()))
+            .forEach(this::add);
+        Map<String, List<OWLAxiom>> termFrameAxioms = termFrameAxioms(new ArrayList<>());
+        termFrameAxioms.keySet().retainAll(affected);
+        if (threads > 1) {
+            trTermFrames(termFrameAxioms.values(), Collections.emptyList());
+        } else {
+            termFrameAxioms.values().forEach(axioms -> accept(axioms.stream()));
+        }
+        if (!untranslatableAxioms.isEmpty() && !discardUntranslatable) {
+            init();
+            return tr();
+        }
+        return getObodoc();
+    }
+
+    /**
+     * Finds the term frames that the changes may alter.
+     *
+     * @param previous the conversion of the ontology before the changes
+     * @param changes the changes
+     * @return the ids of the term frames to build again, or null if the changes may alter other
+     *         frames
+     */
+    @Nullable
+    private Set<String> affectedTermFrames(OBODoc previous,
+        Collection<? extends OWLOntologyChange> changes) {
+        Frame headerFrame = previous.getHeaderFrame();
+        if (headerFrame == null
+            || !discardUntranslatable && headerFrame.getClause(OboFormatTag.TAG_OWL_AXIOMS) != null
+            || getOWLOntology().annotations().anyMatch(a -> a.getProperty().getIRI()
+                .equals(Obo2OWLVocabulary.IRI_OIO_LogicalDefinitionViewRelation.getIRI()))) {
+            // untranslatable axioms are rendered together, and preprocessing changes the ontology
+            return null;
+        }
+        Map<String, Set<String>> altIds = new HashMap<>();
+        for (Frame f : previous.getTermFrames()) {
+            for (Clause c : f.getClauses(OboFormatTag.TAG_ALT_ID)) {
+                altIds.computeIfAbsent(c.getValue(String.class), k -> new HashSet<>())
+                    .add(f.getId());
+            }
+        }
+        Set<String> affected = new HashSet<>();
+        for (OWLOntologyChange change : changes) {
+            if (!change.getOntology().equals(getOWLOntology())) {
+                continue;
+            }
+            if (!change.isAxiomChange()) {
+                return null;
+            }
+            OWLAxiom ax = change.getAxiom();
+            IRI entity = null;
+            if (ax instanceof OWLDeclarationAxiom) {
+                if (!((OWLDeclarationAxiom) ax).getEntity().isOWLClass()) {
+                    return null;
+                }
+                entity = ((OWLDeclarationAxiom) ax).getEntity().getIRI();
+            } else if (ax instanceof OWLAnnotationAssertionAxiom
+                && ((OWLAnnotationAssertionAxiom) ax).getSubject().isIRI()) {
+                entity = (IRI) ((OWLAnnotationAssertionAxiom) ax).getSubject();
+            }
+            if (entity != null) {
+                if (!addClassTermFrames(entity, previous, altIds, affected)) {
+                    return null;
+                }
+                continue;
+            }
+            String id = termFrameId(ax);
+            if (id == null) {
+                return null;
+            }
+            affected.add(id);
+        }
+        return affected;
+    }
+
+    private boolean addClassTermFrames(IRI iri, OBODoc previous, Map<String, Set<String>> altIds,
+        Set<String> affected) {
+        String id = getIdentifier(iri);
+        if (previous.getTypedefFrame(id) != null
+            || getOWLOntology().containsObjectPropertyInSignature(iri)
+            || getOWLOntology().containsAnnotationPropertyInSignature(iri)
+            || getOWLOntology().containsDataPropertyInSignature(iri)
+            || getOWLOntology().containsIndividualInSignature(iri)
+            || getOWLOntology().containsDatatypeInSignature(iri)) {
+            return false;
+        }
+        affected.add(id);
+        // the frames the class was, or is now, an alt_id of
+        affected.addAll(altIds.getOrDefault(id, Collections.emptySet()));
+        checkForOboAltId(asList(getOWLOntology().annotationAssertionAxioms(iri)))
+            .ifPresent(altId -> affected.add(altId.replacedBy));
+        return true;
+    }
+
     protected OWLOntology getOWLOntology() {
         return verifyNotNull(owlOntology);
     }
@@ -732,10 +885,13 @@ public class OWLAPIOwl2Obo {
         setObodoc(new OBODoc());
         preProcess();
         tr(getOWLOntology());
-        // declarations need to be sorted - otherwise there is a risk of id being processed before
-        // altId, which causes spurious clauses.
-        accept(getOWLOntology().axioms(AxiomType.DECLARATION).sorted());
-        AxiomType.skipDeclarations().forEach(t -> accept(getOWLOntology().axioms(t)));
+        if (threads > 1) {
+            List<OWLAxiom> others = new ArrayList<>();
+            Map<String, List<OWLAxiom>> termFrameAxioms = termFrameAxioms(others);
+            trTermFrames(termFrameAxioms.values(), others);
+        } else {
+            accept(axioms());
+        }
         if (!untranslatableAxioms.isEmpty() && !discardUntranslatable) {
             String axiomString = OwlStringTools.translate(untranslatableAxioms);
             if (!axiomString.isEmpty()) {
@@ -755,6 +911,145 @@ public class OWLAPIOwl2Obo {
         axioms.forEach(ax -> ax.accept(visitor));
     }
 
+    /**
+     * @return the axioms to translate, in translation order
+     */
+    private Stream<OWLAxiom> axioms() {
+        // declarations need to be sorted - otherwise there is a risk of id being processed before
+        // altId, which causes spurious clauses.
+        return Stream.concat(getOWLOntology().axioms(AxiomType.DECLARATION).sorted(),
+            AxiomType.skipDeclarations().flatMap(t -> getOWLOntology().axioms(t)));
+    }
+
+    /**
+     * Groups the axioms that only change a term frame by the id of that frame, in translation
+     * order.
+     *
+     * @param others collects the other axioms, in translation order
+     * @return the axioms changing each term frame
+     */
+    private Map<String, List<OWLAxiom>> termFrameAxioms(List<OWLAxiom> others) {
+        Map<String, List<OWLAxiom>> termFrameAxioms = new LinkedHashMap<>();
+        axioms().forEach(ax -> {
+            String id = termFrameId(ax);
+            if (id == null) {
+                others.add(ax);
+            } else {
+                termFrameAxioms.computeIfAbsent(id, k -> new ArrayList<>()).add(ax);
+            }
+        });
+        return termFrameAxioms;
+    }
+
+    /**
+     * Finds the term frame an axiom is translated into. Axioms that are not translatable may be
+     * assigned a frame; their translation does not change it.
+     *
+     * @param ax the axiom
+     * @return the id of the term frame, or null if the axiom is not about a class
+     */
+    @Nullable
+    private String termFrameId(OWLAxiom ax) {
+        OWLClassExpression ce = null;
+        if (ax instanceof OWLDeclarationAxiom) {
+            OWLEntity entity = ((OWLDeclarationAxiom) ax).getEntity();
+            if (!entity.isOWLClass()) {
+                return null;
+            }
+            // alt_ids are added to the frame of the class replacing them
+            Optional<OboAltIdCheckResult> altId = checkForOboAltId(
+                asList(getOWLOntology().annotationAssertionAxioms(entity.getIRI())));
+            if (altId.isPresent()) {
+                return altId.get().replacedBy;
+            }
+            ce = entity.asOWLClass();
+        } else if (ax instanceof OWLSubClassOfAxiom) {
+            ce = ((OWLSubClassOfAxiom) ax).getSubClass();
+            if (ce instanceof OWLObjectIntersectionOf) {
+                // GCIs are added to the frame of their named class
+                List<OWLClassExpression> named =
+                    asList(((OWLObjectIntersectionOf) ce).operands().filter(x -> !x.isAnonymous()));
+                ce = named.size() == 1 ? named.get(0) : null;
+            }
+        } else if (ax instanceof OWLEquivalentClassesAxiom) {
+            List<OWLClassExpression> ces =
+                asList(((OWLEquivalentClassesAxiom) ax).classExpressions());
+            if (ces.size() == 2) {
+                ce = ces.get(0).isAnonymous() ? ces.get(1) : ces.get(0);
+            }
+        } else if (ax instanceof OWLDisjointClassesAxiom) {
+            ce = ((OWLDisjointClassesAxiom) ax).classExpressions().findFirst().orElse(null);
+        }
+        if (ce == null || ce.isAnonymous()) {
+            return null;
+        }
+        return getIdentifier(ce.asOWLClass().getIRI());
+    }
+
+    /**
+     * Builds the term frames on worker threads, while the other axioms are translated on the
+     * calling thread.
+     *
+     * @param termFrameAxioms the axioms changing each term frame
+     * @param others the other axioms
+     */
+    private void trTermFrames(Collection<List<OWLAxiom>> termFrameAxioms,
+        List<OWLAxiom> others) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "owlapi-obo-frame-builder");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<FrameBuilder>> pending = new ArrayList<>();
+            List<List<OWLAxiom>> batch = new ArrayList<>();
+            int size = 0;
+            for (List<OWLAxiom> axioms : termFrameAxioms) {
+                batch.add(axioms);
+                size += axioms.size();
+                if (size >= AXIOMS_PER_TASK) {
+                    pending.add(submit(executor, batch));
+                    batch = new ArrayList<>();
+                    size = 0;
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending.add(submit(executor, batch));
+            }
+            accept(others.stream());
+            for (Future<FrameBuilder> built : pending) {
+                add(built);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Future<FrameBuilder> submit(ExecutorService executor,
+        List<List<OWLAxiom>> termFrameAxioms) {
+        // created on the calling thread, while this translator is not changing
+        FrameBuilder builder = new FrameBuilder(this);
+        return executor.submit(() -> builder.build(termFrameAxioms));
+    }
+
+    private void add(Future<FrameBuilder> built) {
+        FrameBuilder builder;
+        try {
+            builder = built.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OWLRuntimeException(cause);
+        }
+        builder.getObodoc().getTermFrames().forEach(this::add);
+        untranslatableAxioms.addAll(builder.untranslatableAxioms);
+    }
+
     /**
      * Preprocess.
      */
@@ -2183,6 +2478,30 @@ public class OWLAPIOwl2Obo {
         }
     }
 
+    /**
+     * Translator building the term frames of some classes on a worker thread. Frames are built in
+     * a document of their own, and collected with the untranslatable axioms by the translator that
+     * created the worker.
+     */
+    private static class FrameBuilder extends OWLAPIOwl2Obo {
+
+        FrameBuilder(OWLAPIOwl2Obo parent) {
+            super(parent.manager);
+            owlOntology = parent.owlOntology;
+            ontologyId = parent.ontologyId;
+            strictConversion = parent.strictConversion;
+            discardUntranslatable = parent.discardUntranslatable;
+            setMuteUntranslatableAxioms(parent.isMuteUntranslatableAxioms());
+            setObodoc(new OBODoc());
+        }
+
+        FrameBuilder build(List<List<OWLAxiom>> termFrameAxioms) {
+            OWLAxiomVisitor visitor = new Translator();
+            termFrameAxioms.forEach(axioms -> axioms.forEach(ax -> ax.accept(visitor)));
+            return this;
+        }
+    }
+
     /**
      * Helper class: allow to return two values for the alternate id check.
      */
@@ -282,6 +282,66 @@ public class OBOFormatParser {
         }
     }
 
+    /**
+     * Parses the header frame of a document, so that its entity frames can be read one at a time
+     * with {@link #nextFrame(OBODoc)} instead of being collected in a document. Import paths are
+     * resolved, but imports are not followed.
+     *
+     * @param reader reader
+     * @return document holding the header frame only
+     * @throws OBOFormatParserException parser exception
+     */
+    public OBODoc parseHeader(Reader reader) {
+        setReader(new BufferedReader(reader));
+        OBODoc obodoc = new OBODoc();
+        Frame h = new Frame(FrameType.HEADER);
+        obodoc.setHeaderFrame(h);
+        parseHeaderFrame(h);
+        h.freeze();
+        for (Clause cl : h.getClauses(OboFormatTag.TAG_IMPORT)) {
+            cl.setValue(resolvePath(cl.getValue(String.class)));
+        }
+        return obodoc;
+    }
+
+    /**
+     * Parses the next term or typedef frame of a document whose header has been read with
+     * {@link #parseHeader(Reader)}. Term frames are not added to the document; typedef frames are,
+     * while holding the document monitor, since the translation of other frames depends on them.
+     *
+     * @param obodoc document returned by {@link #parseHeader(Reader)}
+     * @return the next frame, or null at the end of the document
+     * @throws OBOFormatParserException parser exception
+     */
+    @Nullable
+    public Frame nextFrame(OBODoc obodoc) {
+        parseZeroOrMoreWsOptCmtNl();
+        if (stream.eof()) {
+            return null;
+        }
+        Frame f;
+        if (stream.rest().startsWith("[Term]")) {
+            f = parseTermFrame();
+        } else if (stream.rest().startsWith("[Instance]")) {
+            skipInstanceFrames();
+            return null;
+        } else {
+            f = parseTypedefFrame();
+            synchronized (obodoc) {
+                addFrame(obodoc, f);
+            }
+        }
+        Frame h = obodoc.getHeaderFrame();
+        if (h != null) {
+            String defaultOboNamespace =
+                h.getTagValue(OboFormatTag.TAG_DEFAULT_NAMESPACE, String.class);
+            if (defaultOboNamespace != null) {
+                addOboNamespace(Collections.singleton(f), defaultOboNamespace);
+            }
+        }
+        return f;
+    }
+
     /**
      * @param doc doc
      * @return list of references
@@ -454,16 +514,30 @@ public class OBOFormatParser {
         if (rest.startsWith("[Term]")) {
             parseTermFrame(obodoc);
         } else if (rest.startsWith("[Instance]")) {
-            LOG.error("Error: Instance frames are not supported yet. Parsing stopped at line: {}",
-                Integer.valueOf(stream.getLineNo()));
-            while (!stream.eof()) {
-                stream.advanceLine();
-            }
+            skipInstanceFrames();
         } else {
             parseTypedefFrame(obodoc);
         }
     }
 
+    private void skipInstanceFrames() {
+        LOG.error("Error: Instance frames are not supported yet. Parsing stopped at line: {}",
+            Integer.valueOf(stream.getLineNo()));
+        while (!stream.eof()) {
+            stream.advanceLine();
+        }
+    }
+
+    private void addFrame(OBODoc obodoc, Frame f) {
+        try {
+            obodoc.addFrame(f);
+        } catch (FrameMergeException e) {
+            throw new OBOFormatParserException(
+                "Could not add frame " + f + " to document, duplicate frame definition?", e,
+                stream.lineNo, stream.line);
+        }
+    }
+
     /**
      * term-frame ::= nl* '[Term]' nl id-Tag Class-ID EOL { term-frame-clause EOL }.
      *
@@ -471,6 +545,10 @@ public class OBOFormatParser {
      * @throws OBOFormatParserException parser exception
      */
     public void parseTermFrame(OBODoc obodoc) {
+        addFrame(obodoc, parseTermFrame());
+    }
+
+    private Frame parseTermFrame() {
         Frame f = new Frame(FrameType.TERM);
         parseZeroOrMoreWsOptCmtNl();
         if (stream.consume("[Term]")) {
@@ -485,17 +563,11 @@ public class OBOFormatParser {
                 parseTermFrameClauseEOL(f);
                 parseZeroOrMoreWsOptCmtNl();
             }
-            try {
-                f.freeze();
-                obodoc.addFrame(f);
-            } catch (FrameMergeException e) {
-                throw new OBOFormatParserException(
-                    "Could not add frame " + f + " to document, duplicate frame definition?", e,
-                    stream.lineNo, stream.line);
-            }
+            f.freeze();
         } else {
             error("Expected a [Term] frame, but found unknown stanza type.");
         }
+        return f;
     }
 
     /**
@@ -590,6 +662,10 @@ public class OBOFormatParser {
      * @throws OBOFormatParserException parser exception
      */
     public void parseTypedefFrame(OBODoc obodoc) {
+        addFrame(obodoc, parseTypedefFrame());
+    }
+
+    private Frame parseTypedefFrame() {
         Frame f = new Frame(FrameType.TYPEDEF);
         parseZeroOrMoreWsOptCmtNl();
         if (stream.consume("[Typedef]")) {
@@ -604,17 +680,11 @@ public class OBOFormatParser {
                 parseTypedefFrameClauseEOL(f);
                 parseZeroOrMoreWsOptCmtNl();
             }
-            try {
-                f.freeze();
-                obodoc.addFrame(f);
-            } catch (FrameMergeException e) {
-                throw new OBOFormatParserException(
-                    "Could not add frame " + f + " to document, duplicate frame definition?", e,
-                    stream.lineNo, stream.line);
-            }
+            f.freeze();
         } else {
             error("Expected a [Typedef] frame, but found unknown stanza type.");
         }
+        return f;
     }
 
     /**
@@ -40,10 +40,15 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology in,
         OWLOntologyLoaderConfiguration config) {
         try {
+            OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(in.getOWLOntologyManager());
+            if (config.getParsingThreads() > 1) {
+                // translate frames while they are parsed
+                bridge.convert(wrapInputAsReader(source, config), in, config.getParsingThreads());
+                return new OBODocumentFormat();
+            }
             OBOFormatParser p = new OBOFormatParser();
             OBODoc obodoc = p.parse(wrapInputAsReader(source, config));
             // create a translator object and feed it the OBO Document
-            OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(in.getOWLOntologyManager());
             bridge.convert(obodoc, in);
             return new OBODocumentFormat();
         } catch (OBOFormatParserException | IOException | OWLOntologyInputSourceException e) {
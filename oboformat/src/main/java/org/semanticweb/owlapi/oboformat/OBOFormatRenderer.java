@@ -48,6 +48,8 @@ public class OBOFormatRenderer implements OWLRenderer {
         throws OWLOntologyStorageException {
         try {
             OWLAPIOwl2Obo translator = new OWLAPIOwl2Obo(ontology.getOWLOntologyManager());
+            translator.setThreads(ontology.getOWLOntologyManager().getOntologyWriterConfiguration()
+                .getRenderingThreads());
             final OBODoc result = translator.convert(ontology);
             boolean hasImports = ontology.imports().count() > 0;
             NameProvider nameProvider;
@@ -0,0 +1,305 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.functional.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import javax.annotation.Nullable;
+
+/**
+ * Splits a functional syntax document at top level parenthesis boundaries. The prefix declarations
+ * and the ontology header (ontology IRI, version IRI, imports and ontology annotations) are read
+ * once; the axioms that follow are grouped in chunks, each of which is returned as a standalone
+ * document with the same prefixes, so that chunks can be parsed independently. String literals,
+ * full IRIs and comments are skipped the same way the tokenizer does, so parentheses inside them do
+ * not affect the split.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class FunctionalSyntaxChunker {
+
+    private static final String ONTOLOGY = "Ontology";
+    private final Reader reader;
+    private final StringBuilder prefixes = new StringBuilder();
+    private final StringBuilder item = new StringBuilder();
+    @Nullable
+    private String pendingAxiom;
+    private boolean inOntology = false;
+    private boolean finished = false;
+    private int pushback = -1;
+    private final char[] buffer = new char[8192];
+    private int position = 0;
+    private int limit = 0;
+
+    /**
+     * @param reader reader for the whole document
+     */
+    FunctionalSyntaxChunker(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the prefixes and the ontology header. Must be called before {@link #nextChunk(int)}.
+     *
+     * @return a document containing the prefixes and the ontology header, without axioms
+     * @throws IOException if the document cannot be read
+     */
+    String header() throws IOException {
+        readPrefixes();
+        if (!inOntology) {
+            // no ontology in the document: let the parser report the error
+            return prefixes.toString();
+        }
+        StringBuilder header = new StringBuilder(prefixes).append(ONTOLOGY).append("(\n");
+        for (String next = nextItem(); next != null; next = nextItem()) {
+            if (!isHeaderItem(next)) {
+                pendingAxiom = next;
+                break;
+            }
+            header.append(next).append('\n');
+        }
+        return header.append(')').toString();
+    }
+
+    /**
+     * @param size minimum number of characters of axioms in the chunk; the chunk is smaller only
+     *        at the end of the document
+     * @return a document with the prefixes and the next axioms, or null if there are no more axioms
+     * @throws IOException if the document cannot be read
+     */
+    @Nullable
+    String nextChunk(int size) throws IOException {
+        StringBuilder chunk = new StringBuilder(prefixes.length() + size + 1024);
+        chunk.append(prefixes).append(ONTOLOGY).append("(\n");
+        int start = chunk.length();
+        if (pendingAxiom != null) {
+            chunk.append(pendingAxiom).append('\n');
+            pendingAxiom = null;
+        }
+        while (chunk.length() - start < size) {
+            String next = nextItem();
+            if (next == null) {
+                break;
+            }
+            chunk.append(next).append('\n');
+        }
+        if (chunk.length() == start) {
+            return null;
+        }
+        return chunk.append(')').toString();
+    }
+
+    private static boolean isHeaderItem(String s) {
+        // ontology and version IRIs are not followed by parentheses
+        int open = s.indexOf('(');
+        if (open < 0 || s.charAt(0) == '<') {
+            return true;
+        }
+        String keyword = s.substring(0, open).trim();
+        return "Import".equals(keyword) || "Annotation".equals(keyword);
+    }
+
+    private void readPrefixes() throws IOException {
+        int depth = 0;
+        boolean tokenStart = true;
+        for (int c = read(); c != -1; c = read()) {
+            switch (c) {
+                case '"':
+                    copyLiteral(prefixes);
+                    break;
+                case '<':
+                    copyIRI(prefixes);
+                    break;
+                case '#':
+                    if (tokenStart) {
+                        skipComment();
+                        prefixes.append('\n');
+                        break;
+                    }
+                    prefixes.append((char) c);
+                    break;
+                case '(':
+                    if (depth == 0 && endsWithOntology()) {
+                        prefixes.setLength(prefixes.length() - ONTOLOGY.length());
+                        inOntology = true;
+                        return;
+                    }
+                    depth++;
+                    prefixes.append((char) c);
+                    break;
+                case ')':
+                    depth--;
+                    prefixes.append((char) c);
+                    break;
+                default:
+                    prefixes.append((char) c);
+            }
+            tokenStart = isSeparator(c);
+        }
+        finished = true;
+    }
+
+    private boolean endsWithOntology() {
+        int end = prefixes.length();
+        while (end > 0 && Character.isWhitespace(prefixes.charAt(end - 1))) {
+            end--;
+        }
+        prefixes.setLength(end);
+        int start = end - ONTOLOGY.length();
+        return start >= 0 && prefixes.indexOf(ONTOLOGY, start) == start
+            && (start == 0 || isSeparator(prefixes.charAt(start - 1)));
+    }
+
+    /**
+     * @return the next top level element in the ontology, or null at the end of the ontology
+     */
+    @Nullable
+    private String nextItem() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int c = skipSpace();
+        if (c == -1 || c == ')') {
+            // end of the ontology; anything after it is ignored, as the parser would
+            finished = true;
+            return null;
+        }
+        item.setLength(0);
+        if (c == '<') {
+            copyIRI(item);
+            return item.toString();
+        }
+        while (c != -1 && c != '(' && !Character.isWhitespace(c) && c != ')' && c != '<'
+            && c != '"') {
+            item.append((char) c);
+            c = read();
+        }
+        if (Character.isWhitespace(c)) {
+            c = skipSpace();
+        }
+        if (c != '(') {
+            // an abbreviated IRI
+            pushback = c;
+            return item.toString();
+        }
+        item.append('(');
+        copyGroup();
+        return item.toString();
+    }
+
+    private void copyGroup() throws IOException {
+        int depth = 1;
+        boolean tokenStart = true;
+        for (int c = read(); c != -1; c = read()) {
+            switch (c) {
+                case '"':
+                    copyLiteral(item);
+                    break;
+                case '<':
+                    copyIRI(item);
+                    break;
+                case '#':
+                    if (tokenStart) {
+                        skipComment();
+                        item.append('\n');
+                        break;
+                    }
+                    item.append((char) c);
+                    break;
+                case '(':
+                    depth++;
+                    item.append((char) c);
+                    break;
+                case ')':
+                    depth--;
+                    item.append((char) c);
+                    if (depth == 0) {
+                        return;
+                    }
+                    break;
+                default:
+                    item.append((char) c);
+            }
+            tokenStart = isSeparator(c);
+        }
+    }
+
+    private int skipSpace() throws IOException {
+        int c = read();
+        while (c != -1) {
+            if (c == '#') {
+                skipComment();
+            } else if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            c = read();
+        }
+        return c;
+    }
+
+    private void copyLiteral(StringBuilder b) throws IOException {
+        b.append('"');
+        for (int c = read(); c != -1; c = read()) {
+            b.append((char) c);
+            if (c == '\\') {
+                int escaped = read();
+                if (escaped == -1) {
+                    return;
+                }
+                b.append((char) escaped);
+            } else if (c == '"') {
+                return;
+            }
+        }
+    }
+
+    private void copyIRI(StringBuilder b) throws IOException {
+        b.append('<');
+        for (int c = read(); c != -1; c = read()) {
+            b.append((char) c);
+            if (c == '>') {
+                return;
+            }
+        }
+    }
+
+    private void skipComment() throws IOException {
+        for (int c = read(); c != -1 && c != '\n'; c = read()) {
+            // read to end of line
+        }
+    }
+
+    private static boolean isSeparator(int c) {
+        return Character.isWhitespace(c) || c == '(' || c == ')' || c == '=' || c == '"'
+            || c == '<' || c == '>' || c == '@' || c == '^';
+    }
+
+    private int read() throws IOException {
+        if (pushback != -1) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -14,6 +14,15 @@ package org.semanticweb.owlapi.functional.parser;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormatFactory;
 import org.semanticweb.owlapi.io.AbstractOWLParser;
@@ -21,10 +30,17 @@ import org.semanticweb.owlapi.io.DocumentSources;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
 import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OntologyConfigurator;
+import org.semanticweb.owlapi.util.RemappingIndividualProvider;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
@@ -32,6 +48,9 @@ import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
  */
 public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
 
+    /** Minimum number of characters of axioms handed to a worker at a time. */
+    private static final int CHUNK_SIZE = 1 << 20;
+
     @Override
     public OWLDocumentFormatFactory getSupportedFormat() {
         return new FunctionalSyntaxDocumentFormatFactory();
@@ -41,6 +60,9 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
         OWLOntologyLoaderConfiguration config) {
         try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
+            if (config.getParsingThreads() > 1) {
+                return parseInChunks(r, ontology, config);
+            }
             OWLFunctionalSyntaxParser parser =
                 new OWLFunctionalSyntaxParser(new CustomTokenizer(r));
             parser.setUp(ontology, config);
@@ -51,4 +73,113 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
             throw new OWLParserException(e);
         }
     }
+
+    /**
+     * Parse the header on the calling thread, then split the axioms into chunks parsed on worker
+     * threads. Axioms are added to the ontology in document order, so the result is the same as
+     * for a sequential parse. Workers only use the data factory; anonymous individuals are shared
+     * across chunks so that the same node id maps to the same individual.
+     */
+    private static OWLDocumentFormat parseInChunks(Reader r, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) throws IOException {
+        FunctionalSyntaxChunker chunker = new FunctionalSyntaxChunker(r);
+        OWLDataFactory df = ontology.getOWLOntologyManager().getOWLDataFactory();
+        SharedIndividualProvider individuals = new SharedIndividualProvider(
+            ontology.getOWLOntologyManager().getOntologyConfigurator(), df);
+        OWLFunctionalSyntaxParser header =
+            new OWLFunctionalSyntaxParser(new CustomTokenizer(new StringReader(chunker.header())));
+        header.setUp(ontology, config);
+        header.anonProvider = individuals;
+        OWLDocumentFormat format = header.parse();
+        int threads = config.getParsingThreads();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "owlapi-functional-parser");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Deque<Future<List<OWLAxiom>>> pending = new ArrayDeque<>();
+            for (String chunk = chunker.nextChunk(CHUNK_SIZE); chunk != null; chunk =
+                chunker.nextChunk(CHUNK_SIZE)) {
+                // set up here: the manager cannot be accessed from the workers during loading
+                ChunkParser parser = new ChunkParser(chunk);
+                parser.setUp(ontology, config);
+                parser.anonProvider = individuals;
+                pending.add(executor.submit(parser::axioms));
+                // bound the number of parsed chunks waiting in memory
+                if (pending.size() >= 2 * threads) {
+                    add(ontology, config, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                add(ontology, config, pending.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return format;
+    }
+
+    private static void add(OWLOntology ontology, OWLOntologyLoaderConfiguration config,
+        Future<List<OWLAxiom>> chunk) {
+        List<OWLAxiom> axioms;
+        try {
+            axioms = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLParserException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ParseException) {
+                throw new OWLParserException(cause.getMessage(), cause, 0, 0);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OWLParserException(cause);
+        }
+        if (!config.isLoadAnnotationAxioms()) {
+            axioms.removeIf(OWLAnnotationAxiom.class::isInstance);
+        }
+        ontology.addAxioms(axioms);
+    }
+
+    /**
+     * Parser for a chunk of axioms; axioms are collected rather than added to the ontology.
+     */
+    private static class ChunkParser extends OWLFunctionalSyntaxParser {
+
+        private final List<OWLAxiom> axioms = new ArrayList<>();
+
+        ChunkParser(String chunk) {
+            super(new CustomTokenizer(new StringReader(chunk)));
+        }
+
+        @Override
+        protected void applyChange(OWLOntologyChange chg) {
+            // the ontology id has been set by the header
+        }
+
+        @Override
+        protected void addAxiom(OWLAxiom ax) {
+            axioms.add(ax);
+        }
+
+        List<OWLAxiom> axioms() throws ParseException {
+            parse();
+            return axioms;
+        }
+    }
+
+    private static class SharedIndividualProvider extends RemappingIndividualProvider {
+
+        SharedIndividualProvider(OntologyConfigurator configurator, OWLDataFactory df) {
+            super(configurator, df);
+        }
+
+        @Override
+        public synchronized OWLAnonymousIndividual getOWLAnonymousIndividual(String nodeId) {
+            return super.getOWLAnonymousIndividual(nodeId);
+        }
+    }
 }
@@ -99,16 +99,23 @@ import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.TRANSITIVE_OBJECT_PR
 import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.VARIABLE;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -237,6 +244,9 @@ import org.semanticweb.owlapi.vocab.OWLXMLVocabulary;
  */
 public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
 
+    /** Minimum number of entities or axioms rendered by a worker task. */
+    private static final int RANGE_SIZE = 64;
+
     protected final Optional<OWLOntology> ont;
     private final Writer writer;
     private DefaultPrefixManager defaultPrefixManager;
@@ -245,6 +255,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     private boolean writeEntitiesAsURIs = true;
     private boolean addMissingDeclarations = true;
     private boolean explicitXsdString = false;
+    private int renderingThreads = 1;
 
     protected Stream<? extends OWLAxiom> retrieve(OWLEntity e, OWLOntology o) {
         if (e.isOWLClass()) {
@@ -314,9 +325,24 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
             labelMaker = Optional.of(
                 new AnnotationValueShortFormProvider(Collections.singletonList(df.getRDFSLabel()),
                     Collections.emptyMap(), manager, defaultPrefixManager));
+            renderingThreads = manager.getOntologyWriterConfiguration().getRenderingThreads();
         });
     }
 
+    /**
+     * Worker renderer with the same settings as the source, writing to its own buffer.
+     */
+    private FunctionalSyntaxObjectRenderer(FunctionalSyntaxObjectRenderer source, Writer writer) {
+        ont = source.ont;
+        this.writer = writer;
+        defaultPrefixManager = source.defaultPrefixManager;
+        labelMaker = source.labelMaker;
+        prefixManager = source.prefixManager;
+        writeEntitiesAsURIs = source.writeEntitiesAsURIs;
+        addMissingDeclarations = source.addMissingDeclarations;
+        explicitXsdString = source.explicitXsdString;
+    }
+
     /**
      * Set the add missing declaration flag.
      *
@@ -419,25 +445,181 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         Collection<IRI> illegals = OWLDocumentFormat.determineIllegalPunnings(
             addMissingDeclarations, ontology.unsortedSignature(), ontology.getPunnedIRIs(INCLUDED));
         ontology.signature().forEach(e -> writeDeclarations(e, writtenAxioms, illegals));
-        writeSortedEntities("Annotation Properties", "Annotation Property",
-            ontology.annotationPropertiesInSignature(EXCLUDED), writtenAxioms);
-        writeSortedEntities("Object Properties", "Object Property",
-            ontology.objectPropertiesInSignature(EXCLUDED), writtenAxioms);
-        writeSortedEntities("Data Properties", "Data Property",
-            ontology.dataPropertiesInSignature(EXCLUDED), writtenAxioms);
-        writeSortedEntities("Datatypes", "Datatype", ontology.datatypesInSignature(EXCLUDED),
-            writtenAxioms);
-        writeSortedEntities("Classes", "Class", ontology.classesInSignature(EXCLUDED),
-            writtenAxioms);
-        writeSortedEntities("Named Individuals", "Individual",
-            ontology.individualsInSignature(EXCLUDED), writtenAxioms);
-        ontology.signature().forEach(e -> writeAxioms(e, writtenAxioms));
-        ontology.axioms().filter(ax -> !writtenAxioms.contains(ax)).sorted()
-            .forEach(this::acceptAndReturn);
+        // subclasses might override the rendering of any object, so they are not run on workers
+        if (renderingThreads > 1 && getClass() == FunctionalSyntaxObjectRenderer.class) {
+            writeInParallel(ontology, writtenAxioms);
+        } else {
+            writeSortedEntities("Annotation Properties", "Annotation Property",
+                ontology.annotationPropertiesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities("Object Properties", "Object Property",
+                ontology.objectPropertiesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities("Data Properties", "Data Property",
+                ontology.dataPropertiesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities("Datatypes", "Datatype", ontology.datatypesInSignature(EXCLUDED),
+                writtenAxioms);
+            writeSortedEntities("Classes", "Class", ontology.classesInSignature(EXCLUDED),
+                writtenAxioms);
+            writeSortedEntities("Named Individuals", "Individual",
+                ontology.individualsInSignature(EXCLUDED), writtenAxioms);
+            ontology.signature().forEach(e -> writeAxioms(e, writtenAxioms));
+            ontology.axioms().filter(ax -> !writtenAxioms.contains(ax)).sorted()
+                .forEach(this::acceptAndReturn);
+        }
         writeCloseBracket();
         flush();
     }
 
+    /**
+     * Render entity frames and remaining axioms on worker threads. Workers retrieve and sort the
+     * axioms for ranges of entities; the calling thread decides which frame writes each axiom, in
+     * the same order as a sequential rendering, and writes the rendered ranges in order. The output
+     * is the same as for a sequential rendering.
+     */
+    private void writeInParallel(OWLOntology ontology, Set<OWLAxiom> writtenAxioms) {
+        ExecutorService executor = Executors.newFixedThreadPool(renderingThreads, task -> {
+            Thread t = new Thread(task, "owlapi-functional-renderer");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            writeSortedEntities(executor, "Annotation Properties", "Annotation Property",
+                ontology.annotationPropertiesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities(executor, "Object Properties", "Object Property",
+                ontology.objectPropertiesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities(executor, "Data Properties", "Data Property",
+                ontology.dataPropertiesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities(executor, "Datatypes", "Datatype",
+                ontology.datatypesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities(executor, "Classes", "Class",
+                ontology.classesInSignature(EXCLUDED), writtenAxioms);
+            writeSortedEntities(executor, "Named Individuals", "Individual",
+                ontology.individualsInSignature(EXCLUDED), writtenAxioms);
+            ontology.signature().forEach(e -> writeAxioms(e, writtenAxioms));
+            List<OWLAxiom> remaining =
+                asList(ontology.axioms().filter(ax -> !writtenAxioms.contains(ax)).sorted());
+            Deque<Future<String>> rendered = new ArrayDeque<>();
+            for (List<OWLAxiom> range : ranges(remaining)) {
+                rendered.add(executor.submit(() -> render(range)));
+                if (rendered.size() >= 2 * renderingThreads) {
+                    write(get(rendered.poll()));
+                }
+            }
+            while (!rendered.isEmpty()) {
+                write(get(rendered.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void writeSortedEntities(ExecutorService executor, String bannerComment,
+        String entityTypeName, Stream<? extends OWLEntity> entities, Set<OWLAxiom> writtenAxioms) {
+        List<? extends OWLEntity> sortOptionally = asList(entities.sorted());
+        if (sortOptionally.isEmpty()) {
+            return;
+        }
+        Deque<Future<List<EntityFrame>>> candidates = new ArrayDeque<>();
+        for (List<? extends OWLEntity> range : ranges(sortOptionally)) {
+            candidates.add(executor.submit(() -> frames(range)));
+        }
+        boolean haveWrittenBanner = false;
+        Deque<Future<String>> rendered = new ArrayDeque<>();
+        while (!candidates.isEmpty()) {
+            List<EntityFrame> frames = get(candidates.poll());
+            frames.removeIf(frame -> !claim(frame, writtenAxioms));
+            if (frames.isEmpty()) {
+                continue;
+            }
+            if (!haveWrittenBanner) {
+                writeBanner(bannerComment);
+                haveWrittenBanner = true;
+            }
+            rendered.add(executor.submit(() -> render(entityTypeName, frames)));
+            if (rendered.size() >= 2 * renderingThreads) {
+                write(get(rendered.poll()));
+            }
+        }
+        while (!rendered.isEmpty()) {
+            write(get(rendered.poll()));
+        }
+        writeReturn();
+    }
+
+    private <T> List<List<T>> ranges(List<T> list) {
+        int size = Math.max(RANGE_SIZE, list.size() / (renderingThreads * 8));
+        List<List<T>> ranges = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            ranges.add(list.subList(i, Math.min(list.size(), i + size)));
+        }
+        return ranges;
+    }
+
+    /**
+     * @param entities entities to retrieve axioms for; called on worker threads
+     * @return frames with all the axioms for each entity, sorted
+     */
+    private List<EntityFrame> frames(List<? extends OWLEntity> entities) {
+        List<EntityFrame> frames = new ArrayList<>(entities.size());
+        for (OWLEntity entity : entities) {
+            frames.add(new EntityFrame(entity, asList(retrieve(entity).sorted()),
+                asList(ont.map(o -> o.annotationAssertionAxioms(entity.getIRI()).sorted())
+                    .orElse(Stream.empty()))));
+        }
+        return frames;
+    }
+
+    /**
+     * Restrict a frame to the axioms it writes, as writeEntities() and writeEntity2() do.
+     *
+     * @param frame frame to restrict
+     * @param writtenAxioms axioms written so far, updated with the axioms in the frame
+     * @return false if the frame is not written
+     */
+    private boolean claim(EntityFrame frame, Set<OWLAxiom> writtenAxioms) {
+        List<? extends OWLAxiom> axiomsForEntity =
+            asList(frame.axioms.stream().filter(ax -> !writtenAxioms.contains(ax)));
+        List<OWLAnnotationAssertionAxiom> list =
+            asList(frame.annotations.stream().filter(ax -> !writtenAxioms.contains(ax)));
+        if (axiomsForEntity.isEmpty() && list.isEmpty()) {
+            return false;
+        }
+        frame.labels = list;
+        frame.annotations = asList(list.stream().filter(writtenAxioms::add));
+        frame.axioms = asList(
+            axiomsForEntity.stream().filter(this::shouldWrite).filter(writtenAxioms::add));
+        return true;
+    }
+
+    private String render(String entityTypeName, List<EntityFrame> frames) {
+        StringWriter buffer = new StringWriter();
+        FunctionalSyntaxObjectRenderer worker = new FunctionalSyntaxObjectRenderer(this, buffer);
+        frames.forEach(f -> worker.writeFrame(f.entity, entityTypeName, f.labels, f.annotations,
+            f.axioms));
+        return buffer.toString();
+    }
+
+    private String render(List<OWLAxiom> axioms) {
+        StringWriter buffer = new StringWriter();
+        FunctionalSyntaxObjectRenderer worker = new FunctionalSyntaxObjectRenderer(this, buffer);
+        axioms.forEach(worker::acceptAndReturn);
+        return buffer.toString();
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OWLRuntimeException(cause);
+        }
+    }
+
     /**
      * @param axioms axioms to render
      * @return String containing the axioms, rendered as if they were the only content of a fresh
@@ -568,6 +750,13 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         writeReturn();
     }
 
+    private void writeBanner(String comment) {
+        writeln("############################");
+        writeln("#   " + comment);
+        writeln("############################");
+        writeReturn();
+    }
+
     private void writeEntities(String comment, String entityTypeName,
         List<? extends OWLEntity> entities, Set<OWLAxiom> writtenAxioms) {
         boolean haveWrittenBanner = false;
@@ -581,10 +770,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
                 continue;
             }
             if (!haveWrittenBanner) {
-                writeln("############################");
-                writeln("#   " + comment);
-                writeln("############################");
-                writeReturn();
+                writeBanner(comment);
                 haveWrittenBanner = true;
             }
             axiomsForEntity.sort(null);
@@ -666,13 +852,20 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         List<? extends OWLAxiom> axiomsForEntity,
         List<OWLAnnotationAssertionAxiom> annotationAssertionAxioms,
         Set<OWLAxiom> alreadyWrittenAxioms) {
+        writeFrame(entity, entityTypeName, annotationAssertionAxioms,
+            asList(annotationAssertionAxioms.stream().filter(alreadyWrittenAxioms::add)),
+            asList(axiomsForEntity.stream().filter(this::shouldWrite)
+                .filter(alreadyWrittenAxioms::add)));
+    }
+
+    private void writeFrame(OWLEntity entity, String entityTypeName,
+        List<OWLAnnotationAssertionAxiom> labels, List<OWLAnnotationAssertionAxiom> annotations,
+        List<? extends OWLAxiom> axioms) {
         writeln("# " + entityTypeName + ": " + getIRIString(entity) + " ("
-            + getEntityLabel(entity, annotationAssertionAxioms) + ")");
+            + getEntityLabel(entity, labels) + ")");
         writeReturn();
-        annotationAssertionAxioms.stream().filter(alreadyWrittenAxioms::add)
-            .forEach(this::acceptAndReturn);
-        axiomsForEntity.stream().filter(this::shouldWrite).filter(alreadyWrittenAxioms::add)
-            .forEach(this::acceptAndReturn);
+        annotations.forEach(this::acceptAndReturn);
+        axioms.forEach(this::acceptAndReturn);
         writeReturn();
     }
 
@@ -1561,4 +1754,22 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         node.getSecondArgument().accept(this);
         writeCloseBracket();
     }
+
+    /**
+     * Entity and axioms to write in its frame.
+     */
+    private static class EntityFrame {
+
+        final OWLEntity entity;
+        List<? extends OWLAxiom> axioms;
+        List<OWLAnnotationAssertionAxiom> annotations;
+        List<OWLAnnotationAssertionAxiom> labels = Collections.emptyList();
+
+        EntityFrame(OWLEntity entity, List<? extends OWLAxiom> axioms,
+            List<OWLAnnotationAssertionAxiom> annotations) {
+            this.entity = entity;
+            this.axioms = axioms;
+            this.annotations = annotations;
+        }
+    }
 }
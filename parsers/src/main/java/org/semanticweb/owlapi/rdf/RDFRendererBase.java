@@ -44,6 +44,7 @@ import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDF_NIL;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDF_REST;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDF_TYPE;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -55,6 +56,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
@@ -95,6 +100,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLOntologyWriterConfiguration;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.rdf.model.RDFGraph;
@@ -127,6 +133,8 @@ public abstract class RDFRendererBase {
      * Rules banner.
      */
     private static final String RULES_BANNER_TEXT = "Rules";
+    /** Minimum number of entities whose axioms are retrieved by a worker task. */
+    private static final int RANGE_SIZE = 64;
     protected final OWLOntology ontology;
     protected final OWLDataFactory df;
     protected final Set<IRI> prettyPrintedTypes =
@@ -270,6 +278,10 @@ public abstract class RDFRendererBase {
     }
 
     private void renderInOntologySignatureEntities(Collection<IRI> illegalPuns) {
+        if (config.getRenderingThreads() > 1) {
+            renderInOntologySignatureEntitiesInParallel(illegalPuns);
+            return;
+        }
         renderEntities(ontology.annotationPropertiesInSignature(),
             ANNOTATION_PROPERTIES_BANNER_TEXT, illegalPuns);
         renderEntities(ontology.datatypesInSignature(), DATATYPES_BANNER_TEXT, illegalPuns);
@@ -281,6 +293,85 @@ public abstract class RDFRendererBase {
         renderEntities(ontology.individualsInSignature(), INDIVIDUALS_BANNER_TEXT, illegalPuns);
     }
 
+    /**
+     * Retrieve and sort the axioms for ranges of entities on worker threads. Translation to triples
+     * numbers blank nodes and tracks translated axioms across entities, so graphs are created and
+     * rendered on the calling thread, in the same order as a sequential rendering.
+     */
+    private void renderInOntologySignatureEntitiesInParallel(Collection<IRI> illegalPuns) {
+        ExecutorService executor =
+            Executors.newFixedThreadPool(config.getRenderingThreads(), task -> {
+                Thread t = new Thread(task, "owlapi-rdf-renderer");
+                t.setDaemon(true);
+                return t;
+            });
+        try {
+            renderEntities(executor, ontology.annotationPropertiesInSignature(),
+                ANNOTATION_PROPERTIES_BANNER_TEXT, illegalPuns);
+            renderEntities(executor, ontology.datatypesInSignature(), DATATYPES_BANNER_TEXT,
+                illegalPuns);
+            renderEntities(executor, ontology.objectPropertiesInSignature(),
+                OBJECT_PROPERTIES_BANNER_TEXT, illegalPuns);
+            renderEntities(executor, ontology.dataPropertiesInSignature(),
+                DATA_PROPERTIES_BANNER_TEXT, illegalPuns);
+            renderEntities(executor, ontology.classesInSignature(), CLASSES_BANNER_TEXT,
+                illegalPuns);
+            renderEntities(executor, ontology.individualsInSignature(), INDIVIDUALS_BANNER_TEXT,
+                illegalPuns);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void renderEntities(ExecutorService executor, Stream<? extends OWLEntity> entities,
+        String bannerText, Collection<IRI> illegalPuns) {
+        AtomicBoolean firstRendering = new AtomicBoolean(true);
+        List<? extends OWLEntity> sorted = asList(entities.sorted());
+        int size = Math.max(RANGE_SIZE, sorted.size() / (config.getRenderingThreads() * 8));
+        Deque<Future<List<List<OWLAxiom>>>> pending = new ArrayDeque<>();
+        int rendered = 0;
+        for (int i = 0; i < sorted.size(); i += size) {
+            List<? extends OWLEntity> range = sorted.subList(i, Math.min(sorted.size(), i + size));
+            pending.add(executor.submit(() -> asList(range.stream().map(e -> {
+                List<OWLAxiom> axioms = axioms(e, illegalPuns);
+                axioms.sort(null);
+                return axioms;
+            }))));
+            if (pending.size() >= 2 * config.getRenderingThreads()) {
+                rendered = render(sorted, rendered, get(pending.poll()), firstRendering, bannerText);
+            }
+        }
+        while (!pending.isEmpty()) {
+            rendered = render(sorted, rendered, get(pending.poll()), firstRendering, bannerText);
+        }
+    }
+
+    private int render(List<? extends OWLEntity> entities, int start,
+        List<List<OWLAxiom>> axioms, AtomicBoolean firstRendering, String bannerText) {
+        for (int i = 0; i < axioms.size(); i++) {
+            createGraph(axioms.get(i));
+            if (!axioms.get(i).isEmpty()) {
+                render(entities.get(start + i), firstRendering, bannerText);
+            }
+        }
+        return start + axioms.size();
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OWLRuntimeException(cause);
+        }
+    }
+
     /**
      * Renders a set of entities.
      *
@@ -471,6 +562,12 @@ public abstract class RDFRendererBase {
     }
 
     private boolean createGraph(OWLEntity entity, Collection<IRI> illegalPuns) {
+        List<OWLAxiom> axioms = axioms(entity, illegalPuns);
+        createGraph(axioms);
+        return !axioms.isEmpty();
+    }
+
+    private List<OWLAxiom> axioms(OWLEntity entity, Collection<IRI> illegalPuns) {
         final List<OWLAxiom> axioms = new ArrayList<>();
         add(axioms, ontology.declarationAxioms(entity));
         entity.accept(new GraphVisitor(ontology, axioms));
@@ -482,8 +579,7 @@ public abstract class RDFRendererBase {
         if (!punned.contains(entity.getIRI())) {
             add(axioms, ontology.annotationAssertionAxioms(entity.getIRI(), EXCLUDED));
         }
-        createGraph(axioms);
-        return !axioms.isEmpty();
+        return axioms;
     }
 
     protected boolean shouldInsertDeclarations() {
@@ -97,12 +97,16 @@ import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDFS_SUBCLASS_OF;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDFS_SUB_PROPERTY_OF;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDF_TYPE;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -391,6 +395,28 @@ public class OWLRDFConsumer
      * The parsed all triples.
      */
     private boolean parsedAllTriples = false;
+    /**
+     * Top level subjects whose description is complete but not yet translated, when translating
+     * while streaming: the last named subject and the anonymous subjects that follow it.
+     */
+    private final List<IRI> streamingGroup = new ArrayList<>();
+    /**
+     * Shared blank nodes (i.e., with an rdf:nodeID) whose description has been parsed.
+     */
+    private final Set<IRI> describedSharedNodes = createSet();
+    /**
+     * Groups kept aside while streaming, by the first shared blank node they refer to that has
+     * not been described yet.
+     */
+    private final Map<IRI, List<List<IRI>>> spilledGroups = new LinkedHashMap<>();
+    /**
+     * Spilled groups whose missing blank node has since been described.
+     */
+    private final Deque<List<IRI>> readyGroups = new ArrayDeque<>();
+    /**
+     * Number of subjects in the spilled groups.
+     */
+    private int spilledSubjects = 0;
 
     /**
      * @param ontology the ontology
@@ -1511,6 +1537,11 @@ public class OWLRDFConsumer
         singleValuedLitTriplesByPredicate.clear();
         singleValuedResTriplesByPredicate.clear();
         guessedDeclarations.clear();
+        streamingGroup.clear();
+        describedSharedNodes.clear();
+        spilledGroups.clear();
+        readyGroups.clear();
+        spilledSubjects = 0;
     }
 
     @Override
@@ -1572,6 +1603,160 @@ public class OWLRDFConsumer
         handlerAccessor.handleStreaming(subject, getSynonym(predicate), getSynonym(object));
     }
 
+    @Override
+    public void endDescription(String subject, boolean topLevel) {
+        if (!configuration.shouldStreamRDFTranslation()) {
+            return;
+        }
+        IRI s = getIRI(subject);
+        boolean anonymous = isAnonymousNode(s);
+        boolean shared = anonymous && isAnonymousSharedNode(subject);
+        if (shared) {
+            describedSharedNodes.add(s);
+        }
+        if (!anonymous || shared) {
+            List<List<IRI>> waiting = spilledGroups.remove(s);
+            if (waiting != null) {
+                readyGroups.addAll(waiting);
+                waiting.forEach(g -> spilledSubjects -= g.size());
+            }
+        }
+        if (!topLevel) {
+            return;
+        }
+        // A named subject starts a new group; anonymous top level nodes, such as reified axioms,
+        // usually belong with the named subject before them
+        if (!anonymous && !streamingGroup.isEmpty()) {
+            translateStreamingGroups();
+        }
+        if (!streamingGroup.contains(s)) {
+            streamingGroup.add(s);
+        }
+    }
+
+    private void translateStreamingGroups() {
+        List<IRI> group = new ArrayList<>(streamingGroup);
+        streamingGroup.clear();
+        while (!readyGroups.isEmpty()) {
+            translateOrSpill(readyGroups.poll());
+        }
+        translateOrSpill(group);
+        int limit = configuration.getStreamingRDFSpillLimit();
+        Iterator<List<List<IRI>>> oldest = spilledGroups.values().iterator();
+        while (spilledSubjects > limit && oldest.hasNext()) {
+            // Groups over the limit are left in the triple maps and translated at the end of the
+            // document
+            oldest.next().forEach(g -> spilledSubjects -= g.size());
+            oldest.remove();
+        }
+    }
+
+    private void translateOrSpill(List<IRI> group) {
+        List<IRI> subjects = new ArrayList<>(group);
+        subjects.removeIf(s -> isOntology(s) || isSWRLRule(s) || isSWRLVariable(s));
+        Set<IRI> reachable = createLinkedSet();
+        IRI missing = firstMissingNode(subjects, reachable);
+        if (missing != null) {
+            spilledGroups.computeIfAbsent(missing, x -> new ArrayList<>()).add(group);
+            spilledSubjects += group.size();
+            return;
+        }
+        handlerAccessor.mopUp(subjects);
+        for (IRI s : subjects) {
+            Map<IRI, Collection<IRI>> res = resTriplesBySubject.get(s);
+            if (res != null && res.isEmpty()) {
+                resTriplesBySubject.remove(s);
+            }
+            Map<IRI, Collection<OWLLiteral>> lit = litTriplesBySubject.get(s);
+            if (lit != null && lit.isEmpty()) {
+                litTriplesBySubject.remove(s);
+            }
+        }
+        // Blank nodes without an rdf:nodeID cannot be referred to outside this group
+        reachable.removeIf(n -> !isAnonymousNode(n) || isAnonymousSharedNode(n.toString()));
+        translatorAccessor.release(reachable::contains);
+    }
+
+    /**
+     * Finds the first node that the translation of the subjects depends on and that is not known
+     * yet: a shared blank node whose description has not been parsed, or a named resource with no
+     * known type.
+     *
+     * @param subjects subjects to check
+     * @param reachable collects the nodes reachable from the subjects
+     * @return the first missing node, or null if the subjects can be translated
+     */
+    @Nullable
+    private IRI firstMissingNode(Collection<IRI> subjects, Set<IRI> reachable) {
+        Deque<IRI> toVisit = new ArrayDeque<>(subjects);
+        List<IRI> objects = new ArrayList<>();
+        while (!toVisit.isEmpty()) {
+            IRI n = toVisit.poll();
+            if (!reachable.add(n)) {
+                continue;
+            }
+            Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(n);
+            if (predObjMap != null) {
+                for (Map.Entry<IRI, Collection<IRI>> e : predObjMap.entrySet()) {
+                    IRI p = e.getKey();
+                    if (!isKnown(p)) {
+                        return p;
+                    }
+                    // annotation values, including annotated targets, need not be declared
+                    boolean typed =
+                        !isAnnotationProperty(p) && !OWL_ANNOTATED_TARGET.getIRI().equals(p);
+                    for (IRI o : e.getValue()) {
+                        if (isAnonymousNode(o)) {
+                            objects.add(o);
+                        } else if (typed && !isKnown(o)) {
+                            return o;
+                        }
+                    }
+                }
+            }
+            Map<IRI, Collection<OWLLiteral>> litPredObjMap = litTriplesBySubject.get(n);
+            if (litPredObjMap != null) {
+                for (IRI p : litPredObjMap.keySet()) {
+                    if (!isKnown(p)) {
+                        return p;
+                    }
+                }
+            }
+            singleValuedResTriplesByPredicate.values().forEach(m -> {
+                IRI o = m.get(n);
+                if (o != null) {
+                    objects.add(o);
+                }
+            });
+            IRI first = listFirstResourceTripleMap.get(n);
+            if (first != null) {
+                objects.add(first);
+            }
+            IRI rest = listRestTripleMap.get(n);
+            if (rest != null) {
+                objects.add(rest);
+            }
+            for (IRI o : objects) {
+                if (isAnonymousNode(o)) {
+                    if (isAnonymousSharedNode(o.toString()) && !describedSharedNodes.contains(o)) {
+                        return o;
+                    }
+                    toVisit.add(o);
+                } else if (!isKnown(o)) {
+                    return o;
+                }
+            }
+            objects.clear();
+        }
+        return null;
+    }
+
+    private boolean isKnown(IRI iri) {
+        return iri.isReservedVocabulary() || isClassExpression(iri) || isDataRange(iri)
+            || isObjectProperty(iri) || isDataProperty(iri) || isAnnotationProperty(iri)
+            || isIndividual(iri) || isOntology(iri);
+    }
+
     /**
      * A convenience method to obtain an {@code OWLLiteral}.
      *
@@ -2321,6 +2506,38 @@ public class OWLRDFConsumer
                 .forEach(object -> iterator.handleLiteralTriple(e.getKey(), p.getKey(), object))));
     }
 
+    /**
+     * Iterate resource triples for the specified subjects.
+     *
+     * @param subjects the subjects
+     * @param iterator the iterator
+     */
+    protected void iterateResources(Collection<IRI> subjects, ResourceTripleIterator iterator) {
+        for (IRI s : subjects) {
+            Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(s);
+            if (predObjMap != null) {
+                new ArrayList<>(predObjMap.entrySet()).forEach(p -> new ArrayList<>(p.getValue())
+                    .forEach(object -> iterator.handleResourceTriple(s, p.getKey(), object)));
+            }
+        }
+    }
+
+    /**
+     * Iterate literal triples for the specified subjects.
+     *
+     * @param subjects the subjects
+     * @param iterator the iterator
+     */
+    protected void iterateLiterals(Collection<IRI> subjects, LiteralTripleIterator iterator) {
+        for (IRI s : subjects) {
+            Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(s);
+            if (predObjMap != null) {
+                new ArrayList<>(predObjMap.entrySet()).forEach(p -> new ArrayList<>(p.getValue())
+                    .forEach(object -> iterator.handleLiteralTriple(s, p.getKey(), object)));
+            }
+        }
+    }
+
     @Override
     public IRI remapIRI(IRI i) {
         if (nodeCheckerDelegate.isAnonymousNode(i)) {
@@ -76,6 +76,18 @@ public interface RDFConsumer {
     void statementWithLiteralValue(IRI subject, IRI predicate, String object,
         @Nullable String language, @Nullable IRI datatype);
 
+    /**
+     * Called when the description of a node element has been parsed completely, including any
+     * nested node elements.
+     *
+     * @param subject URI of the described resource
+     * @param topLevel true if the node element is a direct child of the rdf:RDF element
+     */
+    default void endDescription(@SuppressWarnings("unused") String subject,
+        @SuppressWarnings("unused") boolean topLevel) {
+        // nothing to do by default
+    }
+
     /**
      * Receives the logical URI of the model.
      *
@@ -411,6 +411,16 @@ public class RDFParser extends DefaultHandler implements IRIProvider {
         }
     }
 
+    /**
+     * Called when the description of a node element has been parsed completely.
+     *
+     * @param subject IRI of the described resource
+     * @param topLevel true if the node element is a direct child of the rdf:RDF element
+     */
+    public void endDescription(String subject, boolean topLevel) {
+        getRDFConsumer().endDescription(getRDFConsumer().remapOnlyIfRemapped(subject), topLevel);
+    }
+
     /**
      * Parses the string into a map of name-value pairs.
      *
@@ -397,6 +397,7 @@ class NodeElement extends AbstractState implements State {
     @Override
     public void endElement(String namespaceIRI, String localName, String qName) {
         parser.popState();
+        parser.endDescription(subjectIRI(), parser.state instanceof NodeElementList);
     }
 
     @Override
@@ -50,6 +50,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -291,6 +292,15 @@ public class Translators {
             translatedClassExpression.clear();
         }
 
+        /**
+         * Drops cached translations for nodes that cannot be referred to again.
+         *
+         * @param released condition for the nodes to drop
+         */
+        public void release(Predicate<IRI> released) {
+            translatedClassExpression.keySet().removeIf(released);
+        }
+
         protected List<OWLObjectPropertyExpression> translateToObjectPropertyList(IRI mainNode) {
             return objectPropertyListTranslator.translateList(mainNode);
         }
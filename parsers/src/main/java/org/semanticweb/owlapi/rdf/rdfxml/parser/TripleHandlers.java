@@ -98,6 +98,7 @@ import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDF_SUBJECT;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDF_TYPE;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -490,6 +491,34 @@ public class TripleHandlers {
             return getRemainingTriples();
         }
 
+        /**
+         * Translates the remaining triples about the given subjects, in the same order used by
+         * {@link #mopUp()} for the whole graph. This is used when translating while streaming,
+         * once the descriptions of the subjects are complete.
+         *
+         * @param subjects subjects whose triples should be translated
+         */
+        public void mopUp(Collection<IRI> subjects) {
+            TriplePredicateHandler propertyRangeHandler = predicates.get(RDFS_RANGE.getIRI());
+            consumer.iterateResources(subjects, (s, p, o) -> {
+                if (propertyRangeHandler.canHandle(s, p, o)) {
+                    propertyRangeHandler.handleTriple(s, p, o);
+                }
+            });
+            consumer.iterateResources(subjects, this::apply);
+            consumer.iterateLiterals(subjects, this::apply);
+            consumer.iterateResources(subjects, this::applyAnns);
+            consumer.iterateResources(subjects, this::handle);
+            consumer.iterateLiterals(subjects, this::handle);
+            inverseOf.setAxiomParsingMode(true);
+            consumer.iterateResources(subjects, (s, p, o) -> {
+                if (inverseOf.canHandle(s, p, o)) {
+                    inverseOf.handleTriple(s, p, o);
+                }
+            });
+            inverseOf.setAxiomParsingMode(false);
+        }
+
         private Set<RDFTriple> getRemainingTriples() {
             Set<RDFTriple> remaining = new HashSet<>();
             consumer.iterateResources((s, p, o) -> remaining
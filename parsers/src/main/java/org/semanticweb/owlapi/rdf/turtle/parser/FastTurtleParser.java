@@ -0,0 +1,520 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.A;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.BASE;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.BOOLEAN;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.CLOSEPAR;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.CLOSE_SQUARE_BRACKET;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.COMMA;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DECIMAL;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DOT;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DOUBLE;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DOUBLE_CARET;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.EOF;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.FULL_IRI;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.INTEGER;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.LANGTAG;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.NODE_ID;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.OPENPAR;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.OPEN_SQUARE_BRACKET;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.PNAME;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.PREFIX;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.SEMICOLON;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.STRING;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
+import org.semanticweb.owlapi.model.PrefixManager;
+import org.semanticweb.owlapi.rdf.turtle.parser.TurtleChunker.Chunk;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.semanticweb.owlapi.util.EscapeUtils;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+
+/**
+ * A Turtle parser that accepts the same documents as {@link TurtleParser} and sends the same
+ * triples to its {@link TripleHandler}, with a hand written {@link TurtleLexer} in place of the
+ * generated token manager. No token objects are created, and IRIs and prefixed names are resolved
+ * through caches keyed by the characters in the input buffer, so that a String is only created for
+ * IRIs that are not in the cache.
+ * <p>
+ * With more than one thread, the document is split into chunks of statements that are parsed on
+ * worker threads; the triples of each chunk are passed to the handler on the calling thread, in
+ * document order. Directives are parsed on the calling thread, between chunks. Blank node labels
+ * map to the same IRIs in all chunks; anonymous blank nodes are numbered in the order in which the
+ * chunks are parsed.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class FastTurtleParser {
+
+    /** Minimum number of characters of statements handed to a worker at a time. */
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int CACHE_BITS = 14;
+    private static final String DEFAULT_PREFIX = "http://www.semanticweb.org/owl/owlapi/turtle#";
+    private static final IRI TYPE = OWLRDFVocabulary.RDF_TYPE.getIRI();
+    private static final IRI FIRST = OWLRDFVocabulary.RDF_FIRST.getIRI();
+    private static final IRI REST = OWLRDFVocabulary.RDF_REST.getIRI();
+    private static final IRI LIST = OWLRDFVocabulary.RDF_LIST.getIRI();
+    private static final IRI NIL = OWLRDFVocabulary.RDF_NIL.getIRI();
+    @Nullable
+    private final Reader reader;
+    private TripleHandler handler;
+    private IRI base;
+    private final DefaultPrefixManager pm = new DefaultPrefixManager();
+    private final IRISliceCache fullIRIs = new IRISliceCache(CACHE_BITS);
+    private final IRISliceCache prefixedNames = new IRISliceCache(CACHE_BITS);
+    private TurtleLexer lexer;
+    private int kind;
+    @Nullable
+    private Context context;
+
+    /**
+     * @param reader the reader
+     * @param handler the handler
+     * @param base the base
+     */
+    public FastTurtleParser(Reader reader, TripleHandler handler, IRI base) {
+        this.reader = reader;
+        this.handler = handler;
+        this.base = base;
+        pm.setDefaultPrefix(DEFAULT_PREFIX);
+        lexer = new TurtleLexer(reader);
+    }
+
+    /**
+     * Parser for the chunks parsed by one worker thread; the prefixes and base are set for each
+     * chunk.
+     */
+    private FastTurtleParser() {
+        reader = null;
+        handler = new TripleBuffer();
+        base = IRI.create(DEFAULT_PREFIX);
+        lexer = new TurtleLexer(new char[0], 0, 1);
+    }
+
+    /**
+     * @return the prefix manager
+     */
+    public PrefixManager getPrefixManager() {
+        return pm;
+    }
+
+    /**
+     * @param handler the new triple handler
+     */
+    public void setTripleHandler(TripleHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Parses the document on the calling thread.
+     *
+     * @throws IOException if the document cannot be read
+     */
+    public void parseDocument() throws IOException {
+        advance();
+        if (kind == EOF) {
+            throw error("a statement");
+        }
+        parseStatements();
+        handler.handleEnd();
+    }
+
+    /**
+     * Parses the document, splitting it into chunks parsed by worker threads.
+     *
+     * @param threads number of threads; 1 means the document is parsed on the calling thread
+     * @throws IOException if the document cannot be read
+     */
+    public void parseDocument(int threads) throws IOException {
+        if (threads <= 1 || reader == null) {
+            parseDocument();
+            return;
+        }
+        TurtleChunker chunker = new TurtleChunker(reader);
+        ThreadLocal<FastTurtleParser> workers = ThreadLocal.withInitial(FastTurtleParser::new);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "owlapi-turtle-parser");
+            t.setDaemon(true);
+            return t;
+        });
+        boolean empty = true;
+        try {
+            Deque<Future<TripleBuffer>> pending = new ArrayDeque<>();
+            for (Chunk chunk = chunker.nextChunk(CHUNK_SIZE); chunk != null; chunk =
+                chunker.nextChunk(CHUNK_SIZE)) {
+                empty = false;
+                if (chunk.directives) {
+                    // directives change the prefixes and base for the chunks that follow
+                    TripleBuffer events = new TripleBuffer();
+                    TripleHandler documentHandler = handler;
+                    handler = events;
+                    parseChunk(chunk);
+                    handler = documentHandler;
+                    context = null;
+                    pending.add(CompletableFuture.completedFuture(events));
+                } else {
+                    Chunk triples = chunk;
+                    Context current = context();
+                    pending.add(executor.submit(() -> workers.get().parseChunk(triples, current)));
+                }
+                // bound the number of parsed chunks waiting in memory
+                if (pending.size() >= 2 * threads) {
+                    replay(pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                replay(pending.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (empty) {
+            throw new ParseException("Encountered <EOF> at line 1. Was expecting a statement");
+        }
+        handler.handleEnd();
+    }
+
+    private void replay(Future<TripleBuffer> chunk) {
+        try {
+            chunk.get().replay(handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLParserException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OWLParserException(cause);
+        }
+    }
+
+    /**
+     * @return the prefixes and base in use, shared by the chunks parsed until the next directive
+     */
+    private Context context() {
+        if (context == null) {
+            context = new Context(new HashMap<>(pm.getPrefixName2PrefixMap()), base);
+        }
+        return context;
+    }
+
+    private TripleBuffer parseChunk(Chunk chunk, Context chunkContext) throws IOException {
+        if (chunkContext != context) {
+            pm.clear();
+            pm.copyPrefixesFrom(chunkContext.prefixes);
+            base = chunkContext.base;
+            fullIRIs.clear();
+            prefixedNames.clear();
+            context = chunkContext;
+        }
+        handler = new TripleBuffer();
+        parseChunk(chunk);
+        return (TripleBuffer) handler;
+    }
+
+    private void parseChunk(Chunk chunk) throws IOException {
+        lexer = new TurtleLexer(chunk.text, chunk.text.length, chunk.line);
+        advance();
+        parseStatements();
+    }
+
+    private void parseStatements() throws IOException {
+        while (kind != EOF) {
+            if (kind == PREFIX) {
+                parsePrefixDirective();
+            } else if (kind == BASE) {
+                parseBaseDirective();
+            } else {
+                parseTriples();
+            }
+            expect(DOT, "\".\"");
+        }
+    }
+
+    private void advance() throws IOException {
+        kind = lexer.next();
+    }
+
+    private void expect(int expected, String description) throws IOException {
+        if (kind != expected) {
+            throw error(description);
+        }
+        advance();
+    }
+
+    private ParseException error(String expected) {
+        String found = kind == EOF ? "<EOF>" : '"' + lexer.text() + '"';
+        return new ParseException(
+            "Encountered " + found + " at line " + lexer.line() + ". Was expecting " + expected);
+    }
+
+    private void parsePrefixDirective() throws IOException {
+        advance();
+        if (kind != PNAME || lexer.buffer()[lexer.end() - 1] != ':') {
+            throw error("a prefix name");
+        }
+        String prefixName = lexer.text();
+        advance();
+        if (kind != FULL_IRI) {
+            throw error("an IRI");
+        }
+        String ns = parseResource().toString();
+        pm.setPrefix(prefixName, ns);
+        prefixedNames.clear();
+        handler.handlePrefixDirective(prefixName, ns);
+    }
+
+    private void parseBaseDirective() throws IOException {
+        advance();
+        if (kind != FULL_IRI) {
+            throw error("an IRI");
+        }
+        base = IRI.create(lexer.text());
+        fullIRIs.clear();
+        advance();
+        handler.handleBaseDirective(base);
+    }
+
+    private void parseTriples() throws IOException {
+        IRI subject;
+        if (kind == FULL_IRI || kind == PNAME) {
+            subject = parseResource();
+        } else {
+            subject = parseBlankNode();
+        }
+        if (kind != DOT) {
+            parsePredicateObjectList(subject);
+        }
+    }
+
+    private IRI parseResource() throws IOException {
+        IRI iri;
+        if (kind == FULL_IRI) {
+            iri = lookup(fullIRIs, true);
+        } else if (kind == PNAME) {
+            iri = lookup(prefixedNames, false);
+        } else {
+            throw error("an IRI or a prefixed name");
+        }
+        advance();
+        return iri;
+    }
+
+    private IRI lookup(IRISliceCache cache, boolean full) {
+        char[] text = lexer.buffer();
+        int start = lexer.start();
+        int end = lexer.end();
+        int slot = cache.slot(text, start, end);
+        IRI iri = cache.get(slot, text, start, end);
+        if (iri == null) {
+            iri = full ? getIRI(lexer.text()) : getIRIFromQName(lexer.text());
+            cache.put(slot, text, start, end, iri);
+        }
+        return iri;
+    }
+
+    private IRI getIRI(String s) {
+        IRI iri = IRI.create(s);
+        if (!iri.isAbsolute()) {
+            String namespace = base.getNamespace();
+            iri = IRI.create(namespace.substring(0, namespace.lastIndexOf('/') + 1), s);
+        }
+        return iri;
+    }
+
+    private IRI getIRIFromQName(String qname) {
+        String prefix = qname.substring(0, qname.indexOf(':') + 1);
+        if (!pm.containsPrefixMapping(prefix)) {
+            throw new ParseException("Prefix not declared: " + prefix);
+        }
+        return pm.getIRI(qname);
+    }
+
+    private IRI parseBlankNode() throws IOException {
+        switch (kind) {
+            case NODE_ID:
+                IRI node = lookupNodeID();
+                advance();
+                return node;
+            case OPEN_SQUARE_BRACKET:
+                advance();
+                IRI anonymous = nextBlankNode();
+                if (kind != CLOSE_SQUARE_BRACKET) {
+                    parsePredicateObjectList(anonymous);
+                    if (kind == DOT) {
+                        advance();
+                    }
+                }
+                expect(CLOSE_SQUARE_BRACKET, "\"]\"");
+                return anonymous;
+            case OPENPAR:
+                advance();
+                return parseCollection();
+            default:
+                throw error("a subject");
+        }
+    }
+
+    private IRI lookupNodeID() {
+        // node ids do not depend on prefixes, but cannot be confused with prefixed names
+        char[] text = lexer.buffer();
+        int start = lexer.start();
+        int end = lexer.end();
+        int slot = prefixedNames.slot(text, start, end);
+        IRI iri = prefixedNames.get(slot, text, start, end);
+        if (iri == null) {
+            String id = lexer.text();
+            iri = IRI.create(NodeID.isAnonymousNodeID(id) ? id : NodeID.getIRIFromNodeID(id));
+            prefixedNames.put(slot, text, start, end, iri);
+        }
+        return iri;
+    }
+
+    private static IRI nextBlankNode() {
+        return IRI.create(NodeID.nextAnonymousIRI());
+    }
+
+    private IRI parseCollection() throws IOException {
+        IRI firstSubject = NIL;
+        IRI subject = null;
+        while (kind != CLOSEPAR) {
+            IRI previous = subject;
+            subject = nextBlankNode();
+            if (previous != null) {
+                handler.handleTriple(previous, REST, subject);
+            } else {
+                firstSubject = subject;
+            }
+            handler.handleTriple(subject, TYPE, LIST);
+            parseObject(subject, FIRST);
+        }
+        if (subject != null) {
+            handler.handleTriple(subject, REST, NIL);
+        }
+        advance();
+        return firstSubject;
+    }
+
+    private void parsePredicateObjectList(IRI subject) throws IOException {
+        parseObjectList(subject, parseVerb());
+        while (kind == SEMICOLON) {
+            advance();
+            if (kind == A || kind == FULL_IRI || kind == PNAME) {
+                parseObjectList(subject, parseVerb());
+            }
+        }
+    }
+
+    private IRI parseVerb() throws IOException {
+        if (kind == A) {
+            advance();
+            return TYPE;
+        }
+        return parseResource();
+    }
+
+    private void parseObjectList(IRI subject, IRI predicate) throws IOException {
+        parseObject(subject, predicate);
+        while (kind == COMMA) {
+            advance();
+            parseObject(subject, predicate);
+        }
+    }
+
+    private void parseObject(IRI subject, IRI predicate) throws IOException {
+        switch (kind) {
+            case STRING:
+                parseLiteral(subject, predicate);
+                return;
+            case INTEGER:
+                handleNumber(subject, predicate, XSDVocabulary.INTEGER.getIRI());
+                return;
+            case DECIMAL:
+                handleNumber(subject, predicate, XSDVocabulary.DECIMAL.getIRI());
+                return;
+            case DOUBLE:
+                handleNumber(subject, predicate, XSDVocabulary.DOUBLE.getIRI());
+                return;
+            case BOOLEAN:
+                handleNumber(subject, predicate, XSDVocabulary.BOOLEAN.getIRI());
+                return;
+            case FULL_IRI:
+            case PNAME:
+                handler.handleTriple(subject, predicate, parseResource());
+                return;
+            case NODE_ID:
+            case OPEN_SQUARE_BRACKET:
+            case OPENPAR:
+                handler.handleTriple(subject, predicate, parseBlankNode());
+                return;
+            default:
+                throw error("an object");
+        }
+    }
+
+    private void handleNumber(IRI subject, IRI predicate, IRI datatype) throws IOException {
+        String literal = lexer.text();
+        advance();
+        handler.handleTriple(subject, predicate, literal, datatype);
+    }
+
+    private void parseLiteral(IRI subject, IRI predicate) throws IOException {
+        String literal = EscapeUtils.unescapeString(lexer.text());
+        advance();
+        if (kind == DOUBLE_CARET) {
+            advance();
+            handler.handleTriple(subject, predicate, literal, parseResource());
+        } else if (kind == LANGTAG) {
+            String lang = lexer.text();
+            advance();
+            handler.handleTriple(subject, predicate, literal, lang);
+        } else {
+            handler.handleTriple(subject, predicate, literal);
+        }
+    }
+
+    /**
+     * The prefixes and base in use at the start of a chunk.
+     */
+    private static class Context {
+
+        final Map<String, String> prefixes;
+        final IRI base;
+
+        Context(Map<String, String> prefixes, IRI base) {
+            this.prefixes = prefixes;
+            this.base = base;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * A direct mapped cache from text, given as a slice of a character array, to IRIs. A lookup does
+ * not allocate; a miss copies the text into the cache, replacing the entry in the same slot. The
+ * size is fixed, so the cache does not grow with the number of distinct IRIs in a document.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class IRISliceCache {
+
+    private final char[][] keys;
+    private final IRI[] values;
+    private final int mask;
+
+    /**
+     * @param bits the cache has 2^bits slots
+     */
+    IRISliceCache(int bits) {
+        keys = new char[1 << bits][];
+        values = new IRI[1 << bits];
+        mask = (1 << bits) - 1;
+    }
+
+    /**
+     * @param text characters
+     * @param start start of the slice
+     * @param end end of the slice, exclusive
+     * @return the slot for the slice
+     */
+    int slot(char[] text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text[i];
+        }
+        return (h ^ h >>> 16) & mask;
+    }
+
+    /**
+     * @param slot slot for the slice
+     * @param text characters
+     * @param start start of the slice
+     * @param end end of the slice, exclusive
+     * @return the cached IRI, or null if the slot holds a different text
+     */
+    @Nullable
+    IRI get(int slot, char[] text, int start, int end) {
+        char[] key = keys[slot];
+        if (key == null || key.length != end - start) {
+            return null;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != text[start + i]) {
+                return null;
+            }
+        }
+        return values[slot];
+    }
+
+    /**
+     * @param slot slot for the slice
+     * @param text characters
+     * @param start start of the slice
+     * @param end end of the slice, exclusive
+     * @param iri IRI for the text
+     */
+    void put(int slot, char[] text, int start, int end, IRI iri) {
+        keys[slot] = Arrays.copyOfRange(text, start, end);
+        values[slot] = iri;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+    }
+}
@@ -0,0 +1,129 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * A triple handler that records the directives and triples it receives, so that they can be passed
+ * to another handler later, in the same order. Events are kept in two arrays rather than as one
+ * object each. Comments and the end of the document are not recorded.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class TripleBuffer implements TripleHandler {
+
+    private static final byte PREFIX = 0;
+    private static final byte BASE = 1;
+    private static final byte RESOURCE = 2;
+    private static final byte PLAIN = 3;
+    private static final byte LANG = 4;
+    private static final byte TYPED = 5;
+    private byte[] kinds = new byte[1024];
+    private Object[] terms = new Object[4096];
+    private int size;
+    private int termCount;
+
+    private void add(byte kind, @Nullable Object a, @Nullable Object b, @Nullable Object c,
+        @Nullable Object d) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+        }
+        if (termCount + 4 > terms.length) {
+            terms = Arrays.copyOf(terms, terms.length * 2);
+        }
+        kinds[size++] = kind;
+        terms[termCount++] = a;
+        terms[termCount++] = b;
+        terms[termCount++] = c;
+        terms[termCount++] = d;
+    }
+
+    /**
+     * Passes the recorded events to a handler.
+     *
+     * @param handler handler to receive the events
+     */
+    void replay(TripleHandler handler) {
+        for (int i = 0, t = 0; i < size; i++, t += 4) {
+            switch (kinds[i]) {
+                case PREFIX:
+                    handler.handlePrefixDirective((String) terms[t], (String) terms[t + 1]);
+                    break;
+                case BASE:
+                    handler.handleBaseDirective((IRI) terms[t]);
+                    break;
+                case RESOURCE:
+                    handler.handleTriple((IRI) terms[t], (IRI) terms[t + 1], (IRI) terms[t + 2]);
+                    break;
+                case PLAIN:
+                    handler.handleTriple((IRI) terms[t], (IRI) terms[t + 1],
+                        (String) terms[t + 2]);
+                    break;
+                case LANG:
+                    handler.handleTriple((IRI) terms[t], (IRI) terms[t + 1],
+                        (String) terms[t + 2], (String) terms[t + 3]);
+                    break;
+                case TYPED:
+                default:
+                    handler.handleTriple((IRI) terms[t], (IRI) terms[t + 1],
+                        (String) terms[t + 2], (IRI) terms[t + 3]);
+            }
+        }
+    }
+
+    @Override
+    public void handlePrefixDirective(String prefixName, String prefix) {
+        add(PREFIX, prefixName, prefix, null, null);
+    }
+
+    @Override
+    public void handleBaseDirective(IRI base) {
+        add(BASE, base, null, null, null);
+    }
+
+    @Override
+    public void handleComment(String comment) {
+        // comments are not passed on
+    }
+
+    @Override
+    public void handleTriple(IRI subject, IRI predicate, IRI object) {
+        add(RESOURCE, subject, predicate, object, null);
+    }
+
+    @Override
+    public void handleTriple(IRI subject, IRI predicate, String object) {
+        add(PLAIN, subject, predicate, object, null);
+    }
+
+    @Override
+    public void handleTriple(IRI subject, IRI predicate, String object, @Nullable String lang) {
+        add(LANG, subject, predicate, object, lang);
+    }
+
+    @Override
+    public void handleTriple(IRI subject, IRI predicate, String object, @Nullable IRI datatype) {
+        add(TYPED, subject, predicate, object, datatype);
+    }
+
+    @Override
+    public void handleEnd() {
+        // the end of the document is signalled by the parser that replays the events
+    }
+}
@@ -0,0 +1,277 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import javax.annotation.Nullable;
+
+/**
+ * Splits a Turtle document into chunks of whole statements. A statement ends at a dot outside
+ * IRIs, strings, comments, blank node property lists and collections, followed by white space, a
+ * comment or the end of the document; dots inside names and numbers are followed by other
+ * characters. Directives are returned in chunks of their own, so that the prefixes and base in use
+ * for each chunk of triples are known before it is parsed. Line breaks between statements are kept,
+ * so that line numbers in error messages match the document.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class TurtleChunker {
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position = 0;
+    private int limit = 0;
+    private int pushback = -1;
+    private int line = 1;
+    private final StringBuilder statement = new StringBuilder();
+    @Nullable
+    private Chunk pending;
+
+    /**
+     * A chunk of statements.
+     */
+    static class Chunk {
+
+        final char[] text;
+        final int line;
+        final boolean directives;
+
+        Chunk(StringBuilder b, int line, boolean directives) {
+            text = new char[b.length()];
+            b.getChars(0, b.length(), text, 0);
+            this.line = line;
+            this.directives = directives;
+        }
+    }
+
+    /**
+     * @param reader reader for the whole document
+     */
+    TurtleChunker(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @param size minimum number of characters in a chunk of triples; the chunk is smaller only
+     *        before a directive or at the end of the document
+     * @return the next chunk, or null if there are no more statements
+     * @throws IOException if the document cannot be read
+     */
+    @Nullable
+    Chunk nextChunk(int size) throws IOException {
+        StringBuilder chunk = new StringBuilder(size + 1024);
+        int chunkLine = line;
+        Boolean directives = null;
+        if (pending != null) {
+            chunk.append(pending.text);
+            chunkLine = pending.line;
+            directives = Boolean.valueOf(pending.directives);
+            pending = null;
+        }
+        while (directives == null || chunk.length() < size) {
+            int statementLine = line;
+            statement.setLength(0);
+            Boolean directive = readStatement();
+            if (directive == null) {
+                break;
+            }
+            if (directives == null) {
+                directives = directive;
+                chunkLine = statementLine;
+            } else if (!directives.equals(directive)) {
+                pending = new Chunk(statement, statementLine, directive.booleanValue());
+                break;
+            }
+            chunk.append(statement);
+        }
+        if (directives == null) {
+            return null;
+        }
+        return new Chunk(chunk, chunkLine, directives.booleanValue());
+    }
+
+    /**
+     * @return true if the statement is a directive, false if it is a triples statement, null at
+     *         the end of the document
+     */
+    @Nullable
+    private Boolean readStatement() throws IOException {
+        int depth = 0;
+        Boolean directive = null;
+        for (int c = read(); c != -1; c = read()) {
+            if (directive == null) {
+                if (c == '\n') {
+                    line++;
+                    statement.append('\n');
+                    continue;
+                }
+                if (c == ' ' || c == '\t' || c == '\r' || c == '\uFEFF') {
+                    continue;
+                }
+                if (c == '#') {
+                    skipComment();
+                    continue;
+                }
+                directive = Boolean.valueOf(c == '@');
+            }
+            switch (c) {
+                case '\n':
+                    line++;
+                    statement.append('\n');
+                    break;
+                case '#':
+                    skipComment();
+                    break;
+                case '<':
+                    copyIRI();
+                    break;
+                case '"':
+                case '\'':
+                    copyString((char) c);
+                    break;
+                case '\\':
+                    statement.append('\\');
+                    copyEscaped();
+                    break;
+                case '[':
+                case '(':
+                    depth++;
+                    statement.append((char) c);
+                    break;
+                case ']':
+                case ')':
+                    depth--;
+                    statement.append((char) c);
+                    break;
+                case '.':
+                    statement.append('.');
+                    if (depth <= 0) {
+                        int next = read();
+                        if (next == -1) {
+                            return directive;
+                        }
+                        pushback = next;
+                        if (next == ' ' || next == '\t' || next == '\r' || next == '\n'
+                            || next == '#') {
+                            return directive;
+                        }
+                    }
+                    break;
+                default:
+                    statement.append((char) c);
+            }
+        }
+        return directive;
+    }
+
+    private void copyEscaped() throws IOException {
+        int c = read();
+        if (c != -1) {
+            if (c == '\n') {
+                line++;
+            }
+            statement.append((char) c);
+        }
+    }
+
+    private void copyIRI() throws IOException {
+        statement.append('<');
+        for (int c = read(); c != -1; c = read()) {
+            statement.append((char) c);
+            if (c == '>') {
+                return;
+            }
+            if (c == '\n') {
+                line++;
+            }
+        }
+    }
+
+    private void copyString(char quote) throws IOException {
+        statement.append(quote);
+        int second = read();
+        if (second != quote) {
+            pushback = second;
+            copyShortString(quote);
+            return;
+        }
+        statement.append(quote);
+        int third = read();
+        if (third != quote) {
+            // empty string
+            pushback = third;
+            return;
+        }
+        statement.append(quote);
+        int quotes = 0;
+        for (int c = read(); c != -1; c = read()) {
+            statement.append((char) c);
+            if (c == '\\') {
+                copyEscaped();
+                quotes = 0;
+            } else if (c == quote) {
+                quotes++;
+                if (quotes == 3) {
+                    return;
+                }
+            } else {
+                quotes = 0;
+                if (c == '\n') {
+                    line++;
+                }
+            }
+        }
+    }
+
+    private void copyShortString(char quote) throws IOException {
+        for (int c = read(); c != -1; c = read()) {
+            statement.append((char) c);
+            if (c == '\\') {
+                copyEscaped();
+            } else if (c == quote) {
+                return;
+            } else if (c == '\n') {
+                line++;
+            }
+        }
+    }
+
+    private void skipComment() throws IOException {
+        for (int c = read(); c != -1; c = read()) {
+            if (c == '\n') {
+                pushback = c;
+                return;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != -1) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,563 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import javax.annotation.Nullable;
+
+/**
+ * A Turtle tokenizer that works on a character buffer. Tokens are not objects: {@link #next()}
+ * returns the kind of the next token, and its text is a slice of the buffer, valid until the next
+ * call. IRIs and prefixed names can be looked up by slice, so that a String is only created for
+ * text that has not been seen before. When reading from a reader, the buffer is refilled as
+ * needed, keeping the current token in the buffer; when reading a chunk, the buffer is the chunk.
+ * <p>
+ * Unicode escapes are replaced when the text of a token is requested, as the generated parser does
+ * for the whole input.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class TurtleLexer {
+
+    /** End of input. */
+    static final int EOF = 0;
+    /** Full IRI; the text does not include angle brackets. */
+    static final int FULL_IRI = 1;
+    /** Prefixed name, including a prefix name on its own. */
+    static final int PNAME = 2;
+    /** Blank node label, including {@code _:}. */
+    static final int NODE_ID = 3;
+    /** String; the text does not include quotes and is not unescaped. */
+    static final int STRING = 4;
+    /** Integer. */
+    static final int INTEGER = 5;
+    /** Decimal. */
+    static final int DECIMAL = 6;
+    /** Double. */
+    static final int DOUBLE = 7;
+    /** true or false. */
+    static final int BOOLEAN = 8;
+    /** The {@code a} keyword. */
+    static final int A = 9;
+    /** {@code @prefix}. */
+    static final int PREFIX = 10;
+    /** {@code @base}. */
+    static final int BASE = 11;
+    /** Language tag; the text does not include {@code @}. */
+    static final int LANGTAG = 12;
+    /** {@code ^^}. */
+    static final int DOUBLE_CARET = 13;
+    /** {@code .} */
+    static final int DOT = 14;
+    /** {@code ;} */
+    static final int SEMICOLON = 15;
+    /** {@code ,} */
+    static final int COMMA = 16;
+    /** {@code [} */
+    static final int OPEN_SQUARE_BRACKET = 17;
+    /** {@code ]} */
+    static final int CLOSE_SQUARE_BRACKET = 18;
+    /** {@code (} */
+    static final int OPENPAR = 19;
+    /** {@code )} */
+    static final int CLOSEPAR = 20;
+
+    @Nullable
+    private final Reader reader;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private int start;
+    private int end;
+    private int line;
+    private boolean escaped;
+
+    /**
+     * @param reader reader to tokenize
+     */
+    TurtleLexer(Reader reader) {
+        this.reader = reader;
+        buffer = new char[1 << 16];
+        line = 1;
+    }
+
+    /**
+     * @param chunk characters to tokenize
+     * @param length number of characters in the chunk
+     * @param line line number of the first character, for error messages
+     */
+    TurtleLexer(char[] chunk, int length, int line) {
+        reader = null;
+        buffer = chunk;
+        limit = length;
+        this.line = line;
+    }
+
+    /**
+     * @return the buffer holding the text of the current token
+     */
+    char[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * @return start of the text of the current token in the buffer
+     */
+    int start() {
+        return start;
+    }
+
+    /**
+     * @return end of the text of the current token in the buffer, exclusive
+     */
+    int end() {
+        return end;
+    }
+
+    /**
+     * @return current line
+     */
+    int line() {
+        return line;
+    }
+
+    /**
+     * @return text of the current token, with unicode escapes replaced
+     */
+    String text() {
+        String s = new String(buffer, start, end - start);
+        return escaped ? unescapeUnicode(s) : s;
+    }
+
+    /**
+     * @return kind of the next token
+     * @throws IOException if the reader fails
+     */
+    int next() throws IOException {
+        skipSpace();
+        start = position;
+        escaped = false;
+        int c = peek(0);
+        switch (c) {
+            case -1:
+                end = position;
+                return EOF;
+            case '<':
+                return fullIRI();
+            case '"':
+            case '\'':
+                return string((char) c);
+            case '@':
+                return keywordOrLanguage();
+            case '^':
+                if (peek(1) != '^') {
+                    throw unexpected(c);
+                }
+                return symbol(DOUBLE_CARET, 2);
+            case '.':
+                return isDigit(peek(1)) ? number() : symbol(DOT, 1);
+            case ';':
+                return symbol(SEMICOLON, 1);
+            case ',':
+                return symbol(COMMA, 1);
+            case '[':
+                return symbol(OPEN_SQUARE_BRACKET, 1);
+            case ']':
+                return symbol(CLOSE_SQUARE_BRACKET, 1);
+            case '(':
+                return symbol(OPENPAR, 1);
+            case ')':
+                return symbol(CLOSEPAR, 1);
+            case '+':
+            case '-':
+                return number();
+            case '_':
+                if (peek(1) == ':') {
+                    position += 2;
+                    scanLocalName();
+                    end = position;
+                    return NODE_ID;
+                }
+                return name();
+            default:
+                return isDigit(c) ? number() : name();
+        }
+    }
+
+    private int symbol(int kind, int length) {
+        position += length;
+        end = position;
+        return kind;
+    }
+
+    private void skipSpace() throws IOException {
+        while (true) {
+            start = position;
+            if (position == limit && !fill()) {
+                return;
+            }
+            char c = buffer[position];
+            if (c == '\n') {
+                line++;
+            } else if (c == '#') {
+                skipComment();
+                continue;
+            } else if (c != ' ' && c != '\t' && c != '\r' && c != '\uFEFF') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private void skipComment() throws IOException {
+        while (true) {
+            if (position == limit) {
+                start = position;
+                if (!fill()) {
+                    return;
+                }
+            }
+            if (buffer[position] == '\n') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private int fullIRI() throws IOException {
+        position++;
+        while (true) {
+            int c = peek(0);
+            if (c == -1 || c == ' ') {
+                throw new ParseException("Unterminated IRI at line " + line);
+            }
+            position++;
+            if (c == '>') {
+                break;
+            }
+            if (c == '\\') {
+                escaped = true;
+            } else if (c == '\n') {
+                line++;
+            }
+        }
+        start++;
+        end = position - 1;
+        return FULL_IRI;
+    }
+
+    private int string(char quote) throws IOException {
+        if (peek(1) == quote && peek(2) == quote) {
+            position += 3;
+            while (true) {
+                int c = peek(0);
+                if (c == -1) {
+                    throw new ParseException("Unterminated string at line " + line);
+                }
+                if (c == quote && peek(1) == quote && peek(2) == quote) {
+                    break;
+                }
+                scanStringCharacter(c);
+            }
+            start += 3;
+            end = position;
+            position += 3;
+            return STRING;
+        }
+        position++;
+        while (true) {
+            int c = peek(0);
+            if (c == -1) {
+                throw new ParseException("Unterminated string at line " + line);
+            }
+            if (c == quote) {
+                break;
+            }
+            scanStringCharacter(c);
+        }
+        start++;
+        end = position;
+        position++;
+        return STRING;
+    }
+
+    private void scanStringCharacter(int c) throws IOException {
+        if (c == '\\') {
+            escaped = true;
+            if (peek(1) == -1) {
+                throw new ParseException("Unterminated string at line " + line);
+            }
+            if (buffer[position + 1] == '\n') {
+                line++;
+            }
+            position += 2;
+            return;
+        }
+        if (c == '\n') {
+            line++;
+        }
+        position++;
+    }
+
+    private int keywordOrLanguage() throws IOException {
+        position++;
+        int c = peek(0);
+        while (isLetter(c) || isDigit(c) || c == '-') {
+            position++;
+            c = peek(0);
+        }
+        start++;
+        end = position;
+        if (end == start) {
+            throw unexpected('@');
+        }
+        if (matches("prefix")) {
+            return PREFIX;
+        }
+        if (matches("base")) {
+            return BASE;
+        }
+        return LANGTAG;
+    }
+
+    private int number() throws IOException {
+        int c = peek(0);
+        if (c == '+' || c == '-') {
+            position++;
+            c = peek(0);
+        }
+        int kind = INTEGER;
+        boolean digits = false;
+        while (isDigit(c)) {
+            digits = true;
+            position++;
+            c = peek(0);
+        }
+        if (c == '.' && isDigit(peek(1))) {
+            kind = DECIMAL;
+            digits = true;
+            position++;
+            c = peek(0);
+            while (isDigit(c)) {
+                position++;
+                c = peek(0);
+            }
+        }
+        if (!digits) {
+            throw unexpected(buffer[start]);
+        }
+        if (c == 'e' || c == 'E') {
+            int next = peek(1);
+            int offset = next == '+' || next == '-' ? 2 : 1;
+            if (isDigit(peek(offset))) {
+                kind = DOUBLE;
+                position += offset;
+                while (isDigit(peek(0))) {
+                    position++;
+                }
+            }
+        }
+        end = position;
+        return kind;
+    }
+
+    private int name() throws IOException {
+        int c = peek(0);
+        if (c != ':' && !isNameCharacter(c)) {
+            throw unexpected(c);
+        }
+        while (c != ':' && continuesName(c)) {
+            position++;
+            c = peek(0);
+        }
+        if (c == ':') {
+            position++;
+            scanLocalName();
+            end = position;
+            return PNAME;
+        }
+        end = position;
+        if (matches("a")) {
+            return A;
+        }
+        if (matches("true") || matches("false")) {
+            return BOOLEAN;
+        }
+        throw new ParseException("Unexpected \"" + text() + "\" at line " + line);
+    }
+
+    private void scanLocalName() throws IOException {
+        int c = peek(0);
+        while (true) {
+            if (c == '\\') {
+                if (peek(1) == -1) {
+                    return;
+                }
+                escaped = true;
+                position += 2;
+            } else if (c == ':' || c == '%' || continuesName(c)) {
+                position++;
+            } else {
+                return;
+            }
+            c = peek(0);
+        }
+    }
+
+    /**
+     * @param c character
+     * @return true if c can be part of a name at the current position; a dot is only part of a
+     *         name if a name character follows it
+     */
+    private boolean continuesName(int c) throws IOException {
+        if (c == '.') {
+            int next = peek(1);
+            return next == ':' || isNameCharacter(next);
+        }
+        return isNameCharacter(c);
+    }
+
+    private boolean matches(String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (buffer[start + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ParseException unexpected(int c) {
+        String found = c == -1 ? "<EOF>" : "\"" + (char) c + '"';
+        return new ParseException("Unexpected character " + found + " at line " + line);
+    }
+
+    /**
+     * @param offset offset from the current position
+     * @return the character at the offset, or -1 at the end of the input
+     */
+    private int peek(int offset) throws IOException {
+        while (position + offset >= limit) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        return buffer[position + offset];
+    }
+
+    /**
+     * Reads more characters, keeping the text from the start of the current token.
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() throws IOException {
+        if (reader == null) {
+            return false;
+        }
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, limit - start);
+            position -= start;
+            limit -= start;
+            start = 0;
+        } else if (limit == buffer.length) {
+            char[] larger = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, limit);
+            buffer = larger;
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isNameCharacter(int c) {
+        return isLetter(c) || isDigit(c) || c == '_' || c == '-'
+            || c >= 0xB7 && c != 0xD7 && c != 0xF7 && c != 0xFEFF;
+    }
+
+    /**
+     * Replaces Java style unicode escapes, and the eight digit form used in Turtle. A backslash
+     * preceded by an odd number of backslashes does not start an escape.
+     *
+     * @param s string to unescape
+     * @return unescaped string
+     */
+    static String unescapeUnicode(String s) {
+        int index = s.indexOf('\\');
+        if (index < 0) {
+            return s;
+        }
+        StringBuilder b = new StringBuilder(s.length());
+        b.append(s, 0, index);
+        for (int i = index; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 == s.length()) {
+                b.append(c);
+                continue;
+            }
+            char next = s.charAt(i + 1);
+            if (next == '\\') {
+                b.append(c).append(next);
+                i++;
+                continue;
+            }
+            int digits = next == 'U' ? 8 : 4;
+            int hex = i + 1;
+            if (next == 'u') {
+                while (hex < s.length() && s.charAt(hex) == 'u') {
+                    hex++;
+                }
+            } else if (next == 'U') {
+                hex++;
+            } else {
+                b.append(c);
+                continue;
+            }
+            int codePoint = hex + digits <= s.length() ? parseHex(s, hex, hex + digits) : -1;
+            if (codePoint < 0 || !Character.isValidCodePoint(codePoint)) {
+                b.append(c);
+                continue;
+            }
+            b.appendCodePoint(codePoint);
+            i = hex + digits - 1;
+        }
+        return b.toString();
+    }
+
+    private static int parseHex(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 16 + digit;
+        }
+        return value;
+    }
+}
@@ -42,14 +42,21 @@ public class TurtleOntologyParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source,
         OWLOntology ontology, OWLOntologyLoaderConfiguration config) {
         try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
-            TurtleParser parser;
-            parser = new TurtleParser(r, new ConsoleTripleHandler(),
-                source.getDocumentIRI());
             OWLRDFConsumerAdapter consumer = new OWLRDFConsumerAdapter(
                 ontology, config);
             TurtleDocumentFormat format = new TurtleDocumentFormat();
             consumer.setOntologyFormat(format);
             consumer.startModel(source.getDocumentIRI());
+            if (config.getParsingThreads() > 1) {
+                FastTurtleParser parser =
+                    new FastTurtleParser(r, consumer, source.getDocumentIRI());
+                parser.parseDocument(config.getParsingThreads());
+                format.copyPrefixesFrom(parser.getPrefixManager());
+                return format;
+            }
+            TurtleParser parser;
+            parser = new TurtleParser(r, new ConsoleTripleHandler(),
+                source.getDocumentIRI());
             parser.setTripleHandler(consumer);
             parser.parseDocument();
             format.copyPrefixesFrom(parser.getPrefixManager());
@@ -0,0 +1,198 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormatFactory;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SetOntologyID;
+import org.semanticweb.owlapi.model.providers.AnonymousIndividualByIdProvider;
+import org.semanticweb.owlapi.util.RemappingIndividualProvider;
+
+/**
+ * Parser for {@link BinarySnapshotDocumentFormat}. Local files are memory mapped, one mapping per
+ * section, so only the parts of the string table that are referenced are ever decoded; other
+ * sources are read into memory. Axiom tables are decoded concurrently when the configuration
+ * allows more than one parsing thread, and the axioms are added as a bulk load.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class BinarySnapshotParser extends AbstractOWLParser {
+
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        return new BinarySnapshotDocumentFormatFactory();
+    }
+
+    @Override
+    public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        OWLOntologyManager man = ontology.getOWLOntologyManager();
+        OWLDataFactory df = man.getOWLDataFactory();
+        RemappingIndividualProvider remapper =
+            new RemappingIndividualProvider(man.getOntologyConfigurator(), df);
+        AnonymousIndividualByIdProvider individuals = new AnonymousIndividualByIdProvider() {
+            @Override
+            public synchronized OWLAnonymousIndividual getOWLAnonymousIndividual(String nodeId) {
+                return remapper.getOWLAnonymousIndividual(nodeId);
+            }
+        };
+        try {
+            Optional<File> file = localFile(source.getDocumentIRI());
+            if (file.isPresent()) {
+                try (FileChannel channel =
+                    FileChannel.open(file.get().toPath(), StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    load(new SnapshotReader((offset, length) -> {
+                        checkRange(offset, length, size);
+                        return channel.map(MapMode.READ_ONLY, offset, length);
+                    }, df, individuals), ontology, config);
+                }
+            } else {
+                try (InputStream in = DocumentSources.wrapInput(source, config)) {
+                    ByteBuffer content = ByteBuffer.wrap(readAll(in));
+                    load(new SnapshotReader((offset, length) -> {
+                        checkRange(offset, length, content.capacity());
+                        ByteBuffer b = content.duplicate();
+                        ((Buffer) b).position((int) offset);
+                        ((Buffer) b).limit((int) (offset + length));
+                        return b.slice();
+                    }, df, individuals), ontology, config);
+                }
+            }
+        } catch (IOException | OWLOntologyInputSourceException e) {
+            throw new OWLParserException(e);
+        }
+        return new BinarySnapshotDocumentFormat();
+    }
+
+    private static Optional<File> localFile(IRI documentIRI) {
+        if (!"file".equals(documentIRI.getScheme())) {
+            return Optional.empty();
+        }
+        try {
+            File file = new File(documentIRI.toURI());
+            return file.isFile() ? Optional.of(file) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void checkRange(long offset, long length, long size) {
+        if (offset < 0 || length < 0 || offset + length > size || length > Integer.MAX_VALUE) {
+            throw new OWLParserException("Not a binary snapshot, or the snapshot is truncated");
+        }
+    }
+
+    /**
+     * Reads the whole stream, failing on the first four bytes if they are not the snapshot magic
+     * number so that other formats are rejected without being read in full.
+     */
+    private static byte[] readAll(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int magic;
+        try {
+            magic = data.readInt();
+        } catch (EOFException e) {
+            throw new OWLParserException("Not a binary snapshot", e);
+        }
+        if (magic != SnapshotWriter.MAGIC) {
+            throw new OWLParserException("Not a binary snapshot");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DataOutputStream(out).writeInt(magic);
+        byte[] buffer = new byte[1 << 16];
+        for (int read = data.read(buffer); read >= 0; read = data.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void load(SnapshotReader reader, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        OWLOntologyManager man = ontology.getOWLOntologyManager();
+        OWLDataFactory df = man.getOWLDataFactory();
+        if (reader.ontologyIRI().isPresent()) {
+            man.applyChange(new SetOntologyID(ontology,
+                new OWLOntologyID(reader.ontologyIRI(), reader.versionIRI())));
+        }
+        for (IRI i : reader.imports()) {
+            OWLImportsDeclaration decl = df.getOWLImportsDeclaration(i);
+            man.applyChange(new AddImport(ontology, decl));
+            man.makeLoadImportRequest(decl, config);
+        }
+        for (OWLAnnotation a : reader.annotations()) {
+            man.applyChange(new AddOntologyAnnotation(ontology, a));
+        }
+        IntStream tables = IntStream.range(0, reader.axiomTypes().size());
+        if (config.getParsingThreads() > 1) {
+            tables = tables.parallel();
+        }
+        List<List<OWLAxiom>> axioms =
+            tables.mapToObj(reader::axioms).collect(Collectors.toList());
+        // the loader may already have started a bulk load; bulk loads do not nest
+        boolean bulk = !config.shouldBulkLoad();
+        if (bulk) {
+            ontology.beginBulkLoad();
+        }
+        try {
+            for (List<OWLAxiom> table : axioms) {
+                if (!config.isLoadAnnotationAxioms()) {
+                    table.removeIf(OWLAnnotationAxiom.class::isInstance);
+                }
+                ontology.addAxioms(table);
+            }
+        } finally {
+            if (bulk) {
+                ontology.endBulkLoad();
+            }
+        }
+    }
+}
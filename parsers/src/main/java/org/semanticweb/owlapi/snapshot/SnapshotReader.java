@@ -0,0 +1,500 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.snapshot;
+
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.AXIOMS;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.FACET;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.HEADER;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.INT;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.LIST;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.MAGIC;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.OBJECT;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.STRING;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.STRINGS;
+import static org.semanticweb.owlapi.snapshot.SnapshotWriter.VERSION;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.providers.AnonymousIndividualByIdProvider;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Decoder for binary snapshots. The layout, all big endian, is:
+ * <ul>
+ * <li>magic number, format version and number of sections</li>
+ * <li>a directory entry for each section: kind, axiom type index, offset and length</li>
+ * <li>the string table: count, count + 1 offsets, then the UTF-8 bytes of all strings</li>
+ * <li>the header: ontology IRI, version IRI, imports and ontology annotations</li>
+ * <li>one table per axiom type: count, then the components of each axiom</li>
+ * </ul>
+ * IRIs, lexical forms, language tags and node ids are string table references; strings are only
+ * decoded the first time they are referenced. Sections are independent, so axiom tables can be
+ * decoded concurrently.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class SnapshotReader {
+
+    /**
+     * Access to byte ranges of the snapshot; implementations may map the ranges from a file.
+     */
+    @FunctionalInterface
+    interface Sections {
+
+        /**
+         * @param offset offset of the range
+         * @param length length of the range
+         * @return buffer positioned at the start of the range
+         * @throws IOException if the range cannot be read
+         */
+        ByteBuffer get(long offset, long length) throws IOException;
+    }
+
+    private final OWLDataFactory df;
+    private final AnonymousIndividualByIdProvider individuals;
+    private final List<AxiomType<?>> types = new ArrayList<>();
+    private final List<ByteBuffer> tables = new ArrayList<>();
+    private final ByteBuffer strings;
+    private final int stringCount;
+    private final String[] stringCache;
+    private final IRI[] iriCache;
+    private final int base;
+    private IRI ontologyIRI;
+    private IRI versionIRI;
+    private final List<IRI> imports = new ArrayList<>();
+    private List<OWLAnnotation> annotations = Collections.emptyList();
+
+    /**
+     * @param sections snapshot content
+     * @param df data factory
+     * @param individuals provider for anonymous individuals; must be thread safe
+     * @throws IOException if the content cannot be read
+     */
+    SnapshotReader(Sections sections, OWLDataFactory df,
+        AnonymousIndividualByIdProvider individuals) throws IOException {
+        this.df = df;
+        this.individuals = individuals;
+        ByteBuffer start = sections.get(0, 12);
+        if (start.remaining() < 12 || start.getInt() != MAGIC) {
+            throw new OWLParserException("Not a binary snapshot");
+        }
+        int version = start.getInt();
+        if (version != VERSION) {
+            throw new OWLParserException("Unsupported binary snapshot version: " + version);
+        }
+        int count = start.getInt();
+        ByteBuffer directory = sections.get(12, 24L * count);
+        ByteBuffer stringSection = null;
+        ByteBuffer header = null;
+        for (int i = 0; i < count; i++) {
+            int kind = directory.getInt();
+            int type = directory.getInt();
+            ByteBuffer section = sections.get(directory.getLong(), directory.getLong());
+            if (kind == STRINGS) {
+                stringSection = section;
+            } else if (kind == HEADER) {
+                header = section;
+            } else if (kind == AXIOMS) {
+                types.add(AxiomType.AXIOM_TYPES.stream().filter(t -> t.getIndex() == type)
+                    .findAny().orElseThrow(
+                        () -> new OWLParserException("Unknown axiom type index: " + type)));
+                tables.add(section);
+            }
+        }
+        if (stringSection == null || header == null) {
+            throw new OWLParserException("Binary snapshot is missing its string table or header");
+        }
+        strings = stringSection;
+        stringCount = strings.getInt(0);
+        base = 4 + 4 * (stringCount + 1);
+        stringCache = new String[stringCount];
+        iriCache = new IRI[stringCount];
+        readHeader(header);
+    }
+
+    private void readHeader(ByteBuffer b) {
+        int id = readVarInt(b);
+        ontologyIRI = id == 0 ? null : iri(id - 1);
+        id = readVarInt(b);
+        versionIRI = id == 0 ? null : iri(id - 1);
+        int count = readVarInt(b);
+        for (int i = 0; i < count; i++) {
+            imports.add(iri(readVarInt(b)));
+        }
+        annotations = list(readValue(b));
+    }
+
+    /**
+     * @return ontology IRI, if any
+     */
+    Optional<IRI> ontologyIRI() {
+        return Optional.ofNullable(ontologyIRI);
+    }
+
+    /**
+     * @return version IRI, if any
+     */
+    Optional<IRI> versionIRI() {
+        return Optional.ofNullable(versionIRI);
+    }
+
+    /**
+     * @return imported IRIs
+     */
+    List<IRI> imports() {
+        return imports;
+    }
+
+    /**
+     * @return ontology annotations
+     */
+    List<OWLAnnotation> annotations() {
+        return annotations;
+    }
+
+    /**
+     * @return axiom types of the tables in the snapshot, in table order
+     */
+    List<AxiomType<?>> axiomTypes() {
+        return types;
+    }
+
+    /**
+     * Decode an axiom table; safe to call concurrently for different tables.
+     *
+     * @param table index of the table
+     * @return axioms in the table
+     */
+    List<OWLAxiom> axioms(int table) {
+        ByteBuffer b = tables.get(table).duplicate();
+        int typeIndex = 2000 + types.get(table).getIndex();
+        int count = readVarInt(b);
+        List<OWLAxiom> axioms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            axioms.add((OWLAxiom) readObject(b, typeIndex));
+        }
+        return axioms;
+    }
+
+    private String string(int id) {
+        // racy caching is harmless: strings are immutable and decoding is idempotent
+        String s = stringCache[id];
+        if (s == null) {
+            int start = strings.getInt(4 + 4 * id);
+            int end = strings.getInt(8 + 4 * id);
+            byte[] bytes = new byte[end - start];
+            ByteBuffer b = strings.duplicate();
+            // Buffer casts keep the Java 8 signatures
+            ((Buffer) b).position(base + start);
+            b.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            stringCache[id] = s;
+        }
+        return s;
+    }
+
+    private IRI iri(int id) {
+        IRI iri = iriCache[id];
+        if (iri == null) {
+            iri = IRI.create(string(id));
+            iriCache[id] = iri;
+        }
+        return iri;
+    }
+
+    private Object readValue(ByteBuffer b) {
+        byte tag = b.get();
+        switch (tag) {
+            case OBJECT:
+                return readObject(b, readVarInt(b));
+            case LIST:
+                int size = readVarInt(b);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(b));
+                }
+                return list;
+            case STRING:
+                return string(readVarInt(b));
+            case INT:
+                return Integer.valueOf(readVarInt(b));
+            case FACET:
+                return OWLFacet.values()[readVarInt(b)];
+            default:
+                throw new OWLParserException("Unexpected value tag in binary snapshot: " + tag);
+        }
+    }
+
+    private OWLObject readObject(ByteBuffer b, int typeIndex) {
+        switch (typeIndex) {
+            case 0:
+                return iri(readVarInt(b));
+            case 1001:
+                return df.getOWLClass(iri(readVarInt(b)));
+            case 1002:
+                return df.getOWLObjectProperty(iri(readVarInt(b)));
+            case 1004:
+                return df.getOWLDataProperty(iri(readVarInt(b)));
+            case 1005:
+                return df.getOWLNamedIndividual(iri(readVarInt(b)));
+            case 1006:
+                return df.getOWLAnnotationProperty(iri(readVarInt(b)));
+            case 1007:
+                return individuals.getOWLAnonymousIndividual(string(readVarInt(b)));
+            case 4001:
+                return df.getOWLDatatype(iri(readVarInt(b)));
+            case 4008:
+                String literal = string(readVarInt(b));
+                IRI datatype = iri(readVarInt(b));
+                String lang = string(readVarInt(b));
+                if (!lang.isEmpty()) {
+                    return df.getOWLLiteral(literal, lang);
+                }
+                return df.getOWLLiteral(literal, df.getOWLDatatype(datatype));
+            case 6006:
+                return df.getSWRLVariable(iri(readVarInt(b)));
+            default:
+                int count = readVarInt(b);
+                Object[] c = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    c[i] = readValue(b);
+                }
+                return build(typeIndex, c);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(Object[] c, int i) {
+        return (T) c[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> list(Object o) {
+        return (List<T>) o;
+    }
+
+    private static OWLDataRange range(Object[] c, int i) {
+        return (OWLDataRange) c[i];
+    }
+
+    private static List<OWLAnnotation> anns(Object[] c) {
+        return list(c[c.length - 1]);
+    }
+
+    private OWLObject build(int typeIndex, Object[] c) {
+        if (typeIndex >= 2000 && typeIndex < 3000) {
+            return buildAxiom(typeIndex - 2000, c);
+        }
+        switch (typeIndex) {
+            case 1003:
+                OWLObjectPropertyExpression inverse = get(c, 0);
+                return df.getOWLObjectInverseOf((OWLObjectProperty) inverse);
+            case 3001:
+                return df.getOWLObjectIntersectionOf(list(c[0]));
+            case 3002:
+                return df.getOWLObjectUnionOf(list(c[0]));
+            case 3003:
+                return df.getOWLObjectComplementOf(get(c, 0));
+            case 3004:
+                return df.getOWLObjectOneOf(list(c[0]));
+            case 3005:
+                return df.getOWLObjectSomeValuesFrom(get(c, 0), get(c, 1));
+            case 3006:
+                return df.getOWLObjectAllValuesFrom(get(c, 0), get(c, 1));
+            case 3007:
+                return df.getOWLObjectHasValue(get(c, 0), get(c, 1));
+            case 3008:
+                return df.getOWLObjectMinCardinality(cardinality(c), get(c, 0), get(c, 2));
+            case 3009:
+                return df.getOWLObjectExactCardinality(cardinality(c), get(c, 0), get(c, 2));
+            case 3010:
+                return df.getOWLObjectMaxCardinality(cardinality(c), get(c, 0), get(c, 2));
+            case 3011:
+                return df.getOWLObjectHasSelf(get(c, 0));
+            case 3012:
+                return df.getOWLDataSomeValuesFrom(get(c, 0), range(c, 1));
+            case 3013:
+                return df.getOWLDataAllValuesFrom(get(c, 0), range(c, 1));
+            case 3014:
+                return df.getOWLDataHasValue(get(c, 0), get(c, 1));
+            case 3015:
+                return df.getOWLDataMinCardinality(cardinality(c), get(c, 0), range(c, 2));
+            case 3016:
+                return df.getOWLDataExactCardinality(cardinality(c), get(c, 0), range(c, 2));
+            case 3017:
+                return df.getOWLDataMaxCardinality(cardinality(c), get(c, 0), range(c, 2));
+            case 4002:
+                return df.getOWLDataComplementOf(range(c, 0));
+            case 4003:
+                return df.getOWLDataOneOf(list(c[0]));
+            case 4004:
+                return df.getOWLDataIntersectionOf(list(c[0]));
+            case 4005:
+                return df.getOWLDataUnionOf(list(c[0]));
+            case 4006:
+                return df.getOWLDatatypeRestriction(get(c, 0), list(c[1]));
+            case 4007:
+                return df.getOWLFacetRestriction(get(c, 0), get(c, 1));
+            case 5001:
+                return df.getOWLAnnotation(get(c, 0), get(c, 1), anns(c));
+            case 6001:
+                return df.getSWRLClassAtom(get(c, 1), get(c, 0));
+            case 6002:
+                return df.getSWRLDataRangeAtom(range(c, 1), get(c, 0));
+            case 6003:
+                return df.getSWRLObjectPropertyAtom(get(c, 2), get(c, 0), get(c, 1));
+            case 6004:
+                return df.getSWRLDataPropertyAtom(get(c, 2), get(c, 0), get(c, 1));
+            case 6005:
+                return df.getSWRLBuiltInAtom(get(c, 1), list(c[0]));
+            case 6007:
+                return df.getSWRLIndividualArgument(get(c, 0));
+            case 6008:
+                return df.getSWRLLiteralArgument(get(c, 0));
+            case 6009:
+                return df.getSWRLSameIndividualAtom(get(c, 0), get(c, 1));
+            case 6010:
+                return df.getSWRLDifferentIndividualsAtom(get(c, 0), get(c, 1));
+            default:
+                throw new OWLParserException(
+                    "Unexpected object type in binary snapshot: " + typeIndex);
+        }
+    }
+
+    private static int cardinality(Object[] c) {
+        return ((Integer) c[1]).intValue();
+    }
+
+    private OWLAxiom buildAxiom(int axiomType, Object[] c) {
+        switch (axiomType) {
+            case 0:
+                return df.getOWLDeclarationAxiom(get(c, 0), anns(c));
+            case 1:
+                return df.getOWLEquivalentClassesAxiom(list(c[0]), anns(c));
+            case 2:
+                return df.getOWLSubClassOfAxiom(get(c, 0), get(c, 1), anns(c));
+            case 3:
+                return df.getOWLDisjointClassesAxiom(list(c[0]), anns(c));
+            case 4:
+                return df.getOWLDisjointUnionAxiom(get(c, 0), list(c[1]), anns(c));
+            case 5:
+                return df.getOWLClassAssertionAxiom(get(c, 1), get(c, 0), anns(c));
+            case 6:
+                return df.getOWLSameIndividualAxiom(list(c[0]), anns(c));
+            case 7:
+                return df.getOWLDifferentIndividualsAxiom(list(c[0]), anns(c));
+            case 8:
+                return df.getOWLObjectPropertyAssertionAxiom(get(c, 1), get(c, 0), get(c, 2),
+                    anns(c));
+            case 9:
+                return df.getOWLNegativeObjectPropertyAssertionAxiom(get(c, 1), get(c, 0),
+                    get(c, 2), anns(c));
+            case 10:
+                return df.getOWLDataPropertyAssertionAxiom(get(c, 1), get(c, 0), get(c, 2),
+                    anns(c));
+            case 11:
+                return df.getOWLNegativeDataPropertyAssertionAxiom(get(c, 1), get(c, 0),
+                    get(c, 2), anns(c));
+            case 12:
+                return df.getOWLEquivalentObjectPropertiesAxiom(list(c[0]), anns(c));
+            case 13:
+                return df.getOWLSubObjectPropertyOfAxiom(get(c, 0), get(c, 1), anns(c));
+            case 14:
+                List<OWLObjectPropertyExpression> inverses = list(c[0]);
+                return df.getOWLInverseObjectPropertiesAxiom(inverses.get(0),
+                    inverses.get(inverses.size() - 1), anns(c));
+            case 15:
+                return df.getOWLFunctionalObjectPropertyAxiom(get(c, 0), anns(c));
+            case 16:
+                return df.getOWLInverseFunctionalObjectPropertyAxiom(get(c, 0), anns(c));
+            case 17:
+                return df.getOWLSymmetricObjectPropertyAxiom(get(c, 0), anns(c));
+            case 18:
+                return df.getOWLAsymmetricObjectPropertyAxiom(get(c, 0), anns(c));
+            case 19:
+                return df.getOWLTransitiveObjectPropertyAxiom(get(c, 0), anns(c));
+            case 20:
+                return df.getOWLReflexiveObjectPropertyAxiom(get(c, 0), anns(c));
+            case 21:
+                return df.getOWLIrreflexiveObjectPropertyAxiom(get(c, 0), anns(c));
+            case 22:
+                return df.getOWLObjectPropertyDomainAxiom(get(c, 0), get(c, 1), anns(c));
+            case 23:
+                return df.getOWLObjectPropertyRangeAxiom(get(c, 0), get(c, 1), anns(c));
+            case 24:
+                return df.getOWLDisjointObjectPropertiesAxiom(list(c[0]), anns(c));
+            case 25:
+                return df.getOWLSubPropertyChainOfAxiom(list(c[0]), get(c, 1), anns(c));
+            case 26:
+                return df.getOWLEquivalentDataPropertiesAxiom(list(c[0]), anns(c));
+            case 27:
+                return df.getOWLSubDataPropertyOfAxiom(get(c, 0), get(c, 1), anns(c));
+            case 28:
+                return df.getOWLFunctionalDataPropertyAxiom(get(c, 0), anns(c));
+            case 29:
+                return df.getOWLDataPropertyDomainAxiom(get(c, 0), get(c, 1), anns(c));
+            case 30:
+                return df.getOWLDataPropertyRangeAxiom(get(c, 0), range(c, 1), anns(c));
+            case 31:
+                return df.getOWLDisjointDataPropertiesAxiom(list(c[0]), anns(c));
+            case 32:
+                return df.getOWLHasKeyAxiom(get(c, 0), list(c[1]), anns(c));
+            case 33:
+                return df.getSWRLRule(list(c[0]), list(c[1]), anns(c));
+            case 34:
+                return df.getOWLAnnotationAssertionAxiom(get(c, 1), get(c, 0), get(c, 2),
+                    anns(c));
+            case 35:
+                return df.getOWLSubAnnotationPropertyOfAxiom(get(c, 0), get(c, 1), anns(c));
+            case 36:
+                return df.getOWLAnnotationPropertyRangeAxiom(get(c, 0), get(c, 1), anns(c));
+            case 37:
+                return df.getOWLAnnotationPropertyDomainAxiom(get(c, 0), get(c, 1), anns(c));
+            case 38:
+                return df.getOWLDatatypeDefinitionAxiom(get(c, 0), range(c, 1), anns(c));
+            default:
+                throw new OWLParserException(
+                    "Unexpected axiom type in binary snapshot: " + axiomType);
+        }
+    }
+
+    static int readVarInt(ByteBuffer b) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = b.get();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
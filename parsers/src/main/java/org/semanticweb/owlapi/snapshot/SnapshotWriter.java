@@ -0,0 +1,220 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.HasIRI;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Writes the snapshot layout described in {@link SnapshotReader}. Sections are encoded in memory
+ * first, since the string table is only complete once every axiom has been encoded.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class SnapshotWriter {
+
+    static final int MAGIC = 0x4F574C42;
+    static final int VERSION = 1;
+    static final int STRINGS = 0;
+    static final int HEADER = 1;
+    static final int AXIOMS = 2;
+    static final byte OBJECT = 0;
+    static final byte LIST = 1;
+    static final byte STRING = 2;
+    static final byte INT = 3;
+    static final byte FACET = 4;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * @param ontology ontology to write
+     * @param out output stream; not closed
+     * @throws IOException if writing fails
+     */
+    void write(OWLOntology ontology, OutputStream out) throws IOException {
+        List<int[]> kinds = new ArrayList<>();
+        List<byte[]> sections = new ArrayList<>();
+        kinds.add(new int[] {HEADER, -1});
+        sections.add(header(ontology));
+        List<AxiomType<?>> types = AxiomType.AXIOM_TYPES.stream()
+            .sorted(Comparator.comparingInt(AxiomType::getIndex)).collect(Collectors.toList());
+        for (AxiomType<?> type : types) {
+            if (ontology.getAxiomCount(type) > 0) {
+                kinds.add(new int[] {AXIOMS, type.getIndex()});
+                sections.add(axioms(ontology, type));
+            }
+        }
+        kinds.add(0, new int[] {STRINGS, -1});
+        sections.add(0, stringTable());
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(sections.size());
+        // magic, version, count, then kind, axiom type, offset and length for each section
+        long offset = 12L + 24L * sections.size();
+        for (int i = 0; i < sections.size(); i++) {
+            data.writeInt(kinds.get(i)[0]);
+            data.writeInt(kinds.get(i)[1]);
+            data.writeLong(offset);
+            data.writeLong(sections.get(i).length);
+            offset += sections.get(i).length;
+        }
+        for (byte[] section : sections) {
+            data.write(section);
+        }
+        data.flush();
+    }
+
+    private byte[] header(OWLOntology ontology) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        OWLOntologyID id = ontology.getOntologyID();
+        writeVarInt(out, id.getOntologyIRI().map(this::id).orElse(Integer.valueOf(-1)).intValue()
+            + 1);
+        writeVarInt(out, id.getVersionIRI().map(this::id).orElse(Integer.valueOf(-1)).intValue()
+            + 1);
+        List<IRI> imports = ontology.importsDeclarations().map(i -> i.getIRI()).sorted()
+            .collect(Collectors.toList());
+        writeVarInt(out, imports.size());
+        for (IRI i : imports) {
+            writeVarInt(out, id(i).intValue());
+        }
+        writeValue(out, ontology.annotations().sorted().collect(Collectors.toList()));
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private byte[] axioms(OWLOntology ontology, AxiomType<?> type) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        // sorted so that the same ontology always produces the same bytes
+        List<OWLAxiom> axioms = ontology.axioms(type).sorted().collect(Collectors.toList());
+        writeVarInt(out, axioms.size());
+        for (OWLAxiom ax : axioms) {
+            writeBody(out, ax);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private byte[] stringTable() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        for (String s : strings) {
+            encoded.add(s.getBytes(StandardCharsets.UTF_8));
+        }
+        // offsets are relative to the start of the character data
+        out.writeInt(encoded.size());
+        int offset = 0;
+        for (byte[] b : encoded) {
+            out.writeInt(offset);
+            offset += b.length;
+        }
+        out.writeInt(offset);
+        for (byte[] b : encoded) {
+            out.write(b);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private Integer id(Object s) {
+        return ids.computeIfAbsent(s.toString(), k -> {
+            strings.add(k);
+            return Integer.valueOf(strings.size() - 1);
+        });
+    }
+
+    private void writeBody(DataOutputStream out, OWLObject o) throws IOException {
+        if (o instanceof IRI || o instanceof OWLEntity || o instanceof SWRLVariable) {
+            writeVarInt(out, id(o instanceof IRI ? o : ((HasIRI) o).getIRI()).intValue());
+        } else if (o instanceof OWLAnonymousIndividual) {
+            writeVarInt(out, id(((OWLAnonymousIndividual) o).getID().getID()).intValue());
+        } else if (o instanceof OWLLiteral) {
+            OWLLiteral l = (OWLLiteral) o;
+            writeVarInt(out, id(l.getLiteral()).intValue());
+            writeVarInt(out, id(l.getDatatype().getIRI()).intValue());
+            writeVarInt(out, id(l.getLang()).intValue());
+        } else {
+            List<?> components = o.components().collect(Collectors.toList());
+            writeVarInt(out, components.size());
+            for (Object c : components) {
+                writeValue(out, c);
+            }
+        }
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof OWLObject) {
+            out.writeByte(OBJECT);
+            writeVarInt(out, ((OWLObject) value).typeIndex());
+            writeBody(out, (OWLObject) value);
+        } else if (value instanceof Collection || value instanceof Stream) {
+            List<?> list =
+                value instanceof Stream ? ((Stream<?>) value).collect(Collectors.toList())
+                    : new ArrayList<>((Collection<?>) value);
+            out.writeByte(LIST);
+            writeVarInt(out, list.size());
+            for (Object o : list) {
+                writeValue(out, o);
+            }
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeVarInt(out, id(value).intValue());
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            writeVarInt(out, ((Integer) value).intValue());
+        } else if (value instanceof OWLFacet) {
+            out.writeByte(FACET);
+            writeVarInt(out, ((OWLFacet) value).ordinal());
+        } else {
+            throw new IOException("Cannot write snapshot value: " + value);
+        }
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+}
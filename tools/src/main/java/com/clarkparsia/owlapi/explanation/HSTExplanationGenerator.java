@@ -16,12 +16,22 @@ import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -32,7 +42,9 @@ import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyManagerFactory;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
@@ -51,8 +63,15 @@ import com.clarkparsia.owlapi.explanation.util.SilentExplanationProgressMonitor;
 public class HSTExplanationGenerator implements MultipleExplanationGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HSTExplanationGenerator.class);
+    /** Milliseconds a worker waits for a path to expand before checking for termination. */
+    private static final long POLL_INTERVAL = 10;
     private final TransactionAwareSingleExpGen singleExplanationGenerator;
     private ExplanationProgressMonitor progressMonitor = new SilentExplanationProgressMonitor();
+    @Nullable
+    private final OWLOntologyManagerFactory managers;
+    private final int threads;
+    private long timeout;
+    private long deadline;
 
     /**
      * @param singleExplanationGenerator explanation generator to use
@@ -60,6 +79,26 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     public HSTExplanationGenerator(TransactionAwareSingleExpGen singleExplanationGenerator) {
         this.singleExplanationGenerator =
             checkNotNull(singleExplanationGenerator, "singleExplanationGenerator cannot be null");
+        managers = null;
+        threads = 1;
+    }
+
+    /**
+     * Creates an explanation generator that expands the hitting set tree on worker threads. Each
+     * worker removes the axioms on its paths from its own copy of the ontology, in a manager of its
+     * own, and uses its own reasoner from the reasoner factory; found justifications and
+     * satisfiable paths are shared between workers to prune the tree.
+     *
+     * @param singleExplanationGenerator explanation generator to use for the first justification
+     * @param managers factory for the managers of the worker ontologies
+     * @param threads number of worker threads; 1 expands the tree on the calling thread
+     */
+    public HSTExplanationGenerator(TransactionAwareSingleExpGen singleExplanationGenerator,
+        OWLOntologyManagerFactory managers, int threads) {
+        this.singleExplanationGenerator =
+            checkNotNull(singleExplanationGenerator, "singleExplanationGenerator cannot be null");
+        this.managers = checkNotNull(managers, "managers cannot be null");
+        this.threads = Math.max(1, threads);
     }
 
     /**
@@ -142,6 +181,24 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         this.progressMonitor = checkNotNull(progressMonitor, "progressMonitor cannot be null");
     }
 
+    /**
+     * Sets the time allowed for the search of all explanations for a class. When the time is up,
+     * the explanations found so far are returned.
+     *
+     * @param timeout timeout in milliseconds; 0 means no timeout
+     */
+    public void setTimeout(@Nonnegative long timeout) {
+        OWLAPIPreconditions.checkNotNegative(timeout, "timeout cannot be negative");
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return timeout in milliseconds; 0 means no timeout
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
     @Override
     public OWLOntologyManager getOntologyManager() {
         return singleExplanationGenerator.getOntologyManager();
@@ -195,6 +252,7 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             "max explanations cannot be negative");
         Object max = maxExplanations == 0 ? "all" : Integer.valueOf(maxExplanations);
         LOGGER.info("Get {} explanation(s) for: {}", max, unsatClass);
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
         try {
             Set<OWLAxiom> firstMups = getExplanation(unsatClass);
             if (firstMups.isEmpty()) {
@@ -203,6 +261,12 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             Set<Set<OWLAxiom>> allMups = new LinkedHashSet<>();
             progressMonitor.foundExplanation(firstMups);
             allMups.add(firstMups);
+            if (threads > 1 && managers != null) {
+                constructHittingSetTreeInParallel(unsatClass, firstMups, allMups, maxExplanations,
+                    managers);
+                progressMonitor.foundAllExplanations();
+                return allMups;
+            }
             Set<Set<OWLAxiom>> satPaths = new HashSet<>();
             Set<OWLAxiom> currentPathContents = new HashSet<>();
             singleExplanationGenerator.beginTransaction();
@@ -239,14 +303,14 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         Set<Set<OWLAxiom>> allMups, Set<Set<OWLAxiom>> satPaths, Set<OWLAxiom> currentPathContents,
         int maxExplanations) throws OWLException {
         LOGGER.info("MUPS {}: {}", Integer.valueOf(allMups.size()), mups);
-        if (progressMonitor.isCancelled()) {
+        if (isStopped()) {
             return;
         }
         // We go through the current mups, axiom by axiom, and extend the tree
         // with edges for each axiom
         List<OWLAxiom> orderedMups = getOrderedMUPS(new ArrayList<>(mups), allMups);
         while (!orderedMups.isEmpty()) {
-            if (progressMonitor.isCancelled()) {
+            if (isStopped()) {
                 return;
             }
             OWLAxiom axiom = orderedMups.get(0);
@@ -260,15 +324,212 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             // Removal may have dereferenced some entities, if so declarations
             // are added
             List<OWLDeclarationAxiom> temporaryDeclarations = new ArrayList<>();
-            Set<OWLOntology> ontologies =
-                removeAxiomAndAddDeclarations(axiom, temporaryDeclarations);
+            Set<OWLOntology> ontologies = removeAxiomAndAddDeclarations(axiom,
+                temporaryDeclarations, getReasoner().getRootOntology());
             currentPathContents.add(axiom);
             boolean earlyTermination = checkEarlyTermination(satPaths, currentPathContents);
             if (!earlyTermination) {
                 orderedMups = recurse(unsatClass, allMups, satPaths, currentPathContents,
                     maxExplanations, orderedMups, axiom);
             }
-            backtrack(currentPathContents, axiom, temporaryDeclarations, ontologies);
+            currentPathContents.remove(axiom);
+            backtrack(axiom, temporaryDeclarations, ontologies, getReasoner().getRootOntology());
+        }
+    }
+
+    private boolean isStopped() {
+        if (timeout > 0 && System.nanoTime() - deadline > 0) {
+            LOGGER.info("Stop - timeout");
+            return true;
+        }
+        return progressMonitor.isCancelled();
+    }
+
+    /**
+     * Creates the explanation generator a worker uses on its copy of the ontology. The generator
+     * must use a non buffering reasoner, since the worker removes and restores axioms in the copy.
+     *
+     * @param ontology the copy of the ontology
+     * @return explanation generator for the copy
+     */
+    protected TransactionAwareSingleExpGen createSingleExplanationGenerator(OWLOntology ontology) {
+        return new BlackBoxExplanation(ontology, getReasonerFactory(),
+            getReasonerFactory().createNonBufferingReasoner(ontology));
+    }
+
+    private void constructHittingSetTreeInParallel(OWLClassExpression unsatClass,
+        Set<OWLAxiom> firstMups, Set<Set<OWLAxiom>> allMups, int maxExplanations,
+        OWLOntologyManagerFactory factory) {
+        ParallelSearch search = new ParallelSearch(unsatClass, allMups, maxExplanations, factory);
+        search.addChildren(Collections.emptySet(), firstMups);
+        if (search.pending.get() == 0) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "owlapi-explanation");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    search.explore();
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * State shared by the workers building a hitting set tree. Nodes of the tree are identified by
+     * their paths, i.e., the sets of axioms removed from the ontology. A path is expanded at most
+     * once, and not at all if it contains a path which is known to make the class satisfiable.
+     */
+    private class ParallelSearch {
+
+        private final OWLClassExpression unsatClass;
+        /** Justifications found; guarded by itself. */
+        private final Set<Set<OWLAxiom>> allMups;
+        private final int maxExplanations;
+        private final OWLOntologyManagerFactory factory;
+        private final Set<Set<OWLAxiom>> satPaths = ConcurrentHashMap.newKeySet();
+        private final Set<Set<OWLAxiom>> visitedPaths = ConcurrentHashMap.newKeySet();
+        private final BlockingDeque<Set<OWLAxiom>> paths = new LinkedBlockingDeque<>();
+        /** Paths queued or being expanded. */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        ParallelSearch(OWLClassExpression unsatClass, Set<Set<OWLAxiom>> allMups,
+            int maxExplanations, OWLOntologyManagerFactory factory) {
+            this.unsatClass = unsatClass;
+            this.allMups = allMups;
+            this.maxExplanations = maxExplanations;
+            this.factory = factory;
+        }
+
+        /**
+         * Expands paths until no path is left, on a copy of the ontology in a new manager.
+         *
+         * @throws OWLOntologyCreationException if the copy cannot be created
+         * @throws InterruptedException if the worker is interrupted
+         */
+        void explore() throws OWLOntologyCreationException, InterruptedException {
+            OWLOntologyManager manager = factory.get();
+            OWLOntology ontology =
+                manager.createOntology(getReasoner().getRootOntology().axioms(INCLUDED));
+            TransactionAwareSingleExpGen generator = createSingleExplanationGenerator(ontology);
+            generator.beginTransaction();
+            try {
+                while (pending.get() > 0) {
+                    Set<OWLAxiom> path = paths.pollFirst(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                    if (path != null) {
+                        try {
+                            expand(generator, ontology, path);
+                        } finally {
+                            pending.decrementAndGet();
+                        }
+                    }
+                }
+            } finally {
+                generator.endTransaction();
+                generator.dispose();
+                manager.removeOntology(ontology);
+            }
+        }
+
+        private void expand(TransactionAwareSingleExpGen generator, OWLOntology ontology,
+            Set<OWLAxiom> path) {
+            if (isStopped() || !visitedPaths.add(path)
+                || checkEarlyTermination(satPaths, path)) {
+                return;
+            }
+            Set<OWLAxiom> mups;
+            synchronized (allMups) {
+                mups = getFoundMUPS(allMups, path);
+            }
+            if (mups == null) {
+                mups = getExplanation(generator, ontology, path);
+            }
+            if (mups.isEmpty()) {
+                LOGGER.info("Stop - satisfiable");
+                satPaths.add(path);
+                return;
+            }
+            if (!Collections.disjoint(mups, path)) {
+                throw new OWLRuntimeException("Explanation contains removed axiom: " + path);
+            }
+            synchronized (allMups) {
+                if ((maxExplanations == 0 || allMups.size() < maxExplanations)
+                    && allMups.add(mups)) {
+                    LOGGER.info("MUPS {}: {}", Integer.valueOf(allMups.size()), mups);
+                    progressMonitor.foundExplanation(mups);
+                }
+            }
+            addChildren(path, mups);
+        }
+
+        /**
+         * Removes the axioms on the path from the copy of the ontology, computes a justification
+         * and restores the axioms.
+         */
+        private Set<OWLAxiom> getExplanation(TransactionAwareSingleExpGen generator,
+            OWLOntology ontology, Set<OWLAxiom> path) {
+            List<Runnable> restore = new ArrayList<>();
+            for (OWLAxiom axiom : path) {
+                List<OWLDeclarationAxiom> temporaryDeclarations = new ArrayList<>();
+                Set<OWLOntology> ontologies =
+                    removeAxiomAndAddDeclarations(axiom, temporaryDeclarations, ontology);
+                restore.add(() -> backtrack(axiom, temporaryDeclarations, ontologies, ontology));
+            }
+            try {
+                return generator.getExplanation(unsatClass);
+            } finally {
+                for (int i = restore.size() - 1; i >= 0; i--) {
+                    restore.get(i).run();
+                }
+            }
+        }
+
+        /**
+         * Queues the children of a node, so that the axiom in most justifications is removed
+         * first.
+         */
+        void addChildren(Set<OWLAxiom> path, Set<OWLAxiom> mups) {
+            if (isStopped()) {
+                return;
+            }
+            List<OWLAxiom> orderedMups;
+            synchronized (allMups) {
+                orderedMups = getOrderedMUPS(new ArrayList<>(mups), allMups);
+            }
+            for (int i = orderedMups.size() - 1; i >= 0; i--) {
+                Set<OWLAxiom> child = new HashSet<>(path);
+                child.add(orderedMups.get(i));
+                pending.incrementAndGet();
+                paths.addFirst(child);
+            }
+        }
+
+        private boolean isStopped() {
+            if (HSTExplanationGenerator.this.isStopped()) {
+                return true;
+            }
+            synchronized (allMups) {
+                return maxExplanations > 0 && allMups.size() >= maxExplanations;
+            }
         }
     }
 
@@ -314,14 +575,13 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         return orderedMups;
     }
 
-    private void backtrack(Set<OWLAxiom> currentPathContents, OWLAxiom axiom,
-        List<OWLDeclarationAxiom> temporaryDeclarations, Set<OWLOntology> ontologies) {
+    private static void backtrack(OWLAxiom axiom, List<OWLDeclarationAxiom> temporaryDeclarations,
+        Set<OWLOntology> ontologies, OWLOntology root) {
         // Back track - go one level up the tree and run for the next axiom
-        currentPathContents.remove(axiom);
         LOGGER.info("Restoring axiom: {}", axiom);
         // Remove any temporary declarations
         for (OWLDeclarationAxiom decl : temporaryDeclarations) {
-            OntologyUtils.removeAxiom(decl, getReasoner().getRootOntology().importsClosure());
+            OntologyUtils.removeAxiom(decl, root.importsClosure());
         }
         // Done with the axiom that was removed. Add it back in
         OntologyUtils.addAxiom(axiom, ontologies.stream());
@@ -337,19 +597,30 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
      */
     private Set<OWLAxiom> getNewMUPS(OWLClassExpression unsatClass, Set<Set<OWLAxiom>> allMups,
         Set<OWLAxiom> currentPathContents) {
-        Set<OWLAxiom> newMUPS = null;
+        Set<OWLAxiom> newMUPS = getFoundMUPS(allMups, currentPathContents);
+        if (newMUPS == null) {
+            newMUPS = getExplanation(unsatClass);
+        }
+        return newMUPS;
+    }
+
+    /**
+     * @param allMups mups set
+     * @param currentPathContents the current path contents
+     * @return the first mups found that does not contain any axiom on the path, or null if there
+     *         is none
+     */
+    @Nullable
+    private static Set<OWLAxiom> getFoundMUPS(Collection<Set<OWLAxiom>> allMups,
+        Set<OWLAxiom> currentPathContents) {
         for (Set<OWLAxiom> foundMUPS : allMups) {
             Set<OWLAxiom> foundMUPSCopy = new HashSet<>(foundMUPS);
             foundMUPSCopy.retainAll(currentPathContents);
             if (foundMUPSCopy.isEmpty()) {
-                newMUPS = foundMUPS;
-                break;
+                return foundMUPS;
             }
         }
-        if (newMUPS == null) {
-            newMUPS = getExplanation(unsatClass);
-        }
-        return newMUPS;
+        return null;
     }
 
     /**
@@ -357,25 +628,25 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
      *
      * @param axiom the axiom
      * @param temporaryDeclarations the temporary declarations
+     * @param root the ontology whose imports closure the axiom is removed from
      * @return the sets the
      */
     private Set<OWLOntology> removeAxiomAndAddDeclarations(OWLAxiom axiom,
-        List<OWLDeclarationAxiom> temporaryDeclarations) {
+        List<OWLDeclarationAxiom> temporaryDeclarations, OWLOntology root) {
         // Remove the current axiom from all the ontologies it is included
         // in
-        Set<OWLOntology> ontologies =
-            OntologyUtils.removeAxiom(axiom, getReasoner().getRootOntology().importsClosure());
-        collectTemporaryDeclarations(axiom, temporaryDeclarations);
+        Set<OWLOntology> ontologies = OntologyUtils.removeAxiom(axiom, root.importsClosure());
+        collectTemporaryDeclarations(axiom, temporaryDeclarations, root);
         for (OWLDeclarationAxiom decl : temporaryDeclarations) {
-            OntologyUtils.addAxiom(decl, getReasoner().getRootOntology().importsClosure());
+            OntologyUtils.addAxiom(decl, root.importsClosure());
         }
         return ontologies;
     }
 
     private void collectTemporaryDeclarations(OWLAxiom axiom,
-        List<OWLDeclarationAxiom> temporaryDeclarations) {
+        List<OWLDeclarationAxiom> temporaryDeclarations, OWLOntology root) {
         for (OWLEntity e : getSignature(axiom)) {
-            boolean referenced = getReasoner().getRootOntology().isDeclared(e, INCLUDED);
+            boolean referenced = root.isDeclared(e, INCLUDED);
             if (!referenced) {
                 temporaryDeclarations.add(getDeclaration(e));
             }
@@ -2,18 +2,33 @@ package org.semanticweb.owlapitools.decomposition;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 
 import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
 
@@ -45,13 +60,53 @@ public class Decomposer {
      */
     private ModuleType type;
     private final List<AxiomWrapper> axioms;
+    /**
+     * locality checkers for worker threads
+     */
+    @Nullable
+    private final Supplier<? extends LocalityChecker> checkers;
+    /**
+     * number of threads used to extract modules
+     */
+    private final int threads;
+    /**
+     * modules being extracted on worker threads for the next axioms without an atom
+     */
+    private final Map<AxiomWrapper, Future<ExtractedModule>> extracting = new IdentityHashMap<>();
+    /**
+     * module axioms of the atoms, used to check whether an extracted module can be reused
+     */
+    private final Map<OntologyAtom, Set<AxiomWrapper>> atomModules = new IdentityHashMap<>();
 
     /**
      * @param axioms axiom wrappers to decompose
      * @param c locality checker to use
      */
     public Decomposer(List<AxiomWrapper> axioms, LocalityChecker c) {
+        this(axioms, c, null, 1);
+    }
+
+    /**
+     * Decomposer that extracts the modules for each axiom on worker threads. The atoms, their ids
+     * and their dependencies are the same as for a sequential decomposition. Workers extract
+     * modules at most twice as many axioms ahead as there are threads, so only that many modules
+     * wait in memory for the atomic structure.
+     *
+     * @param axioms axiom wrappers to decompose
+     * @param checkers supplier of locality checkers; each thread uses its own checker
+     * @param threads number of threads used to extract modules; 1 means modules are extracted
+     *        sequentially
+     */
+    public Decomposer(List<AxiomWrapper> axioms, Supplier<? extends LocalityChecker> checkers,
+        int threads) {
+        this(axioms, checkers.get(), checkers, threads);
+    }
+
+    private Decomposer(List<AxiomWrapper> axioms, LocalityChecker c,
+        @Nullable Supplier<? extends LocalityChecker> checkers, int threads) {
         this.axioms = axioms;
+        this.checkers = checkers;
+        this.threads = checkers == null ? 1 : threads;
         modularizer = buildModulariser(axioms, c);
     }
 
@@ -88,18 +143,177 @@ public class Decomposer {
     private void removeTautologies() {
         // we might use it for another decomposition
         tautologies.clear();
+        if (threads > 1) {
+            // axioms are only marked once all the checks are done: extraction reads the marks
+            List<Boolean> local =
+                inParallel(axioms, (m, p) -> p.isUsed() ? Boolean.valueOf(isTautology(m, p)) : null);
+            for (int i = 0; i < axioms.size(); i++) {
+                if (Boolean.TRUE.equals(local.get(i))) {
+                    tautologies.add(axioms.get(i));
+                    axioms.get(i).setUsed(false);
+                }
+            }
+            return;
+        }
         for (AxiomWrapper p : axioms) {
-            if (p.isUsed()) {
-                // check whether an axiom is local wrt its own signature
-                modularizer.extract(p, new Signature(p.getAxiom().signature()), type);
-                if (modularizer.isTautology(p.getAxiom(), type)) {
-                    tautologies.add(p);
-                    p.setUsed(false);
+            if (p.isUsed() && isTautology(modularizer, p)) {
+                tautologies.add(p);
+                p.setUsed(false);
+            }
+        }
+    }
+
+    private boolean isTautology(Modularizer m, AxiomWrapper p) {
+        // check whether an axiom is local wrt its own signature
+        m.extract(p, new Signature(p.getAxiom().signature()), type);
+        return m.isTautology(p.getAxiom(), type);
+    }
+
+    /**
+     * Create atoms for all the axioms in the ontology, extracting the modules for the signatures of
+     * the next axioms without an atom on worker threads.
+     */
+    private void createAtomsInParallel() {
+        Supplier<? extends LocalityChecker> supplier = verifyNotNull(checkers);
+        ThreadLocal<Modularizer> workers =
+            ThreadLocal.withInitial(() -> modularizer.worker(supplier.get(), axioms));
+        ExecutorService executor = newExecutor();
+        try {
+            Deque<AxiomWrapper> window = new ArrayDeque<>();
+            Iterator<AxiomWrapper> next = axioms.iterator();
+            for (;;) {
+                // bound the number of extracted modules waiting in memory
+                while (window.size() < 2 * threads && next.hasNext()) {
+                    AxiomWrapper p = next.next();
+                    if (p.isUsed() && !p.getAtom().isPresent()) {
+                        window.add(p);
+                        extracting.put(p, executor.submit(() -> extractModule(workers.get(), p)));
+                    }
+                }
+                AxiomWrapper p = window.poll();
+                if (p == null) {
+                    return;
+                }
+                if (p.getAtom().isPresent()) {
+                    // the atom was created for the module of an earlier axiom
+                    Future<ExtractedModule> unused = extracting.remove(p);
+                    if (unused != null) {
+                        unused.cancel(false);
+                    }
+                } else {
+                    assert rootAtom != null;
+                    createAtom(p, rootAtom);
                 }
             }
+        } finally {
+            executor.shutdownNow();
+            extracting.clear();
         }
     }
 
+    /**
+     * @param p axiom
+     * @return module extracted on a worker thread for the signature of the axiom, if any
+     */
+    @Nullable
+    private ExtractedModule extracted(AxiomWrapper p) {
+        Future<ExtractedModule> f = extracting.remove(p);
+        return f == null ? null : get(f);
+    }
+
+    private ExtractedModule extractModule(Modularizer m, AxiomWrapper p) {
+        Signature sig = new Signature(p.getAxiom().signature());
+        // the first pass of a STAR extraction is a BOT extraction
+        m.extract(axioms, sig, type == ModuleType.STAR ? ModuleType.BOT : type);
+        List<AxiomWrapper> firstPass = new ArrayList<>(m.getModule());
+        if (type != ModuleType.STAR) {
+            return new ExtractedModule(firstPass, firstPass);
+        }
+        m.stabilize(sig, false);
+        return new ExtractedModule(firstPass, new ArrayList<>(m.getModule()));
+    }
+
+    /**
+     * Apply a function to each axiom on worker threads. Each thread uses its own modularizer and
+     * locality checker; axioms are not modified.
+     *
+     * @param list axioms
+     * @param f function to apply
+     * @return results, in the order of the axioms
+     */
+    private <T> List<T> inParallel(List<AxiomWrapper> list,
+        BiFunction<Modularizer, AxiomWrapper, T> f) {
+        Supplier<? extends LocalityChecker> supplier = verifyNotNull(checkers);
+        AtomicInteger next = new AtomicInteger();
+        AtomicReferenceArray<T> results = new AtomicReferenceArray<>(list.size());
+        ExecutorService executor = newExecutor();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    Modularizer m = modularizer.worker(supplier.get(), axioms);
+                    for (int j = next.getAndIncrement(); j < list.size(); j =
+                        next.getAndIncrement()) {
+                        results.set(j, f.apply(m, list.get(j)));
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                get(worker);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        List<T> toReturn = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            toReturn.add(results.get(i));
+        }
+        return toReturn;
+    }
+
+    private ExecutorService newExecutor() {
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "owlapi-decomposer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static <T> T get(Future<T> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * An extracted module can replace an extraction within the parent module if the first pass of
+     * the extraction only added axioms in the parent module: the extraction within the parent
+     * module would add the same axioms in the same order.
+     *
+     * @param module extracted module
+     * @param parent parent atom
+     * @return true if the extracted module is the module within the parent
+     */
+    private boolean isWithin(ExtractedModule module, OntologyAtom parent) {
+        if (parent == rootAtom) {
+            return true;
+        }
+        Set<AxiomWrapper> parentModule = atomModules.computeIfAbsent(parent, p -> {
+            Set<AxiomWrapper> set = Collections.newSetFromMap(new IdentityHashMap<>());
+            set.addAll(p.getModule());
+            return set;
+        });
+        return parentModule.containsAll(module.firstPass);
+    }
+
     /**
      * @return all tautologies wrapped
      */
@@ -113,9 +327,19 @@ public class Decomposer {
      * @return module for given axiom AX; use parent atom's module as a base for the module search
      */
     private Optional<OntologyAtom> buildModule(Signature sig, OntologyAtom parent) {
-        // build a module for a given signature
-        modularizer.extract(parent.getModule(), sig, type);
-        Collection<AxiomWrapper> module = modularizer.getModule();
+        return buildModule(sig, parent, null);
+    }
+
+    private Optional<OntologyAtom> buildModule(Signature sig, OntologyAtom parent,
+        @Nullable ExtractedModule extractedModule) {
+        Collection<AxiomWrapper> module;
+        if (extractedModule != null && isWithin(extractedModule, parent)) {
+            module = extractedModule.module;
+        } else {
+            // build a module for a given signature
+            modularizer.extract(parent.getModule(), sig, type);
+            module = modularizer.getModule();
+        }
         // if module is empty (empty bottom atom) -- do nothing
         if (module.isEmpty()) {
             return Optional.empty();
@@ -145,7 +369,8 @@ public class Decomposer {
             return atom.get();
         }
         // build an atom: use a module to find atomic dependencies
-        atom = buildModule(new Signature(ax.getAxiom().signature()), parent);
+        atom =
+            buildModule(new Signature(ax.getAxiom().signature()), parent, extracted(ax));
         // no empty modules should be here
         assert atom.isPresent();
         // register axiom as a part of an atom
@@ -195,13 +420,18 @@ public class Decomposer {
         if (bottomAtom.isPresent()) {
             bottomAtom.get().addAxioms(bottomAtom.get().getModule());
         }
-        // create atoms for all the axioms in the ontology
-        for (AxiomWrapper p : axioms) {
-            if (p.isUsed() && !p.getAtom().isPresent()) {
-                assert rootAtom != null;
-                createAtom(p, rootAtom);
+        if (threads > 1) {
+            createAtomsInParallel();
+        } else {
+            // create atoms for all the axioms in the ontology
+            for (AxiomWrapper p : axioms) {
+                if (p.isUsed() && !p.getAtom().isPresent()) {
+                    assert rootAtom != null;
+                    createAtom(p, rootAtom);
+                }
             }
         }
+        atomModules.clear();
         // restore tautologies in the ontology
         restoreTautologies();
         rootAtom = null;
@@ -245,4 +475,21 @@ public class Decomposer {
         modularizer.extract(axioms, sig, moduletype);
         return modularizer.getModule();
     }
+
+    /**
+     * Module extracted for the signature of an axiom.
+     */
+    private static class ExtractedModule {
+
+        /**
+         * axioms added by the first extraction pass
+         */
+        final List<AxiomWrapper> firstPass;
+        final List<AxiomWrapper> module;
+
+        ExtractedModule(List<AxiomWrapper> firstPass, List<AxiomWrapper> module) {
+            this.firstPass = firstPass;
+            this.module = module;
+        }
+    }
 }
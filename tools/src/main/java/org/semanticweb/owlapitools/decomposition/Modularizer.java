@@ -5,7 +5,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
@@ -45,6 +47,14 @@ public class Modularizer {
      * number of non-local axioms
      */
     private long nNonLocal = 0;
+    /**
+     * true if module and search space membership is kept in this modularizer rather than in the
+     * axioms, so that modularizers sharing the axioms can run on different threads
+     */
+    private final boolean confined;
+    private final Set<AxiomWrapper> inModule = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<AxiomWrapper> inSearchSpace =
+        Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * @param c the locality checker
@@ -53,6 +63,40 @@ public class Modularizer {
         checker = c;
         sig = c.getSignature();
         sigIndex = new SigIndex(checker);
+        confined = false;
+    }
+
+    /**
+     * @param c the locality checker
+     * @param index preprocessed signature index, only read by this modularizer
+     * @param axioms axioms the index was built from
+     */
+    private Modularizer(LocalityChecker c, SigIndex index, Collection<AxiomWrapper> axioms) {
+        checker = c;
+        sig = c.getSignature();
+        sigIndex = index;
+        confined = true;
+        checker.preprocessOntology(axioms);
+        workQueue = new ArrayDeque<>(axioms.size());
+    }
+
+    /**
+     * @param c locality checker for the new modularizer; must not be shared with other threads
+     * @param axioms the axioms this modularizer has preprocessed
+     * @return a modularizer that shares the signature index of this one and can extract modules
+     *         concurrently with other workers. Axioms must not be added or removed while workers
+     *         are running.
+     */
+    Modularizer worker(LocalityChecker c, Collection<AxiomWrapper> axioms) {
+        return new Modularizer(c, sigIndex, axioms);
+    }
+
+    private boolean isInModule(AxiomWrapper ax) {
+        return confined ? inModule.contains(ax) : ax.isInModule();
+    }
+
+    private boolean isInSearchSpace(AxiomWrapper ax) {
+        return confined ? inSearchSpace.contains(ax) : ax.isInSearchSpace();
     }
 
     /**
@@ -77,7 +121,11 @@ public class Modularizer {
      * @param axiom axiom
      */
     private void addAxiomToModule(AxiomWrapper axiom) {
-        axiom.setInModule(true);
+        if (confined) {
+            inModule.add(axiom);
+        } else {
+            axiom.setInModule(true);
+        }
         module.add(axiom);
         // update the signature
         addAxiomSig(axiom);
@@ -114,7 +162,7 @@ public class Modularizer {
      */
     private void addNonLocal(Collection<AxiomWrapper> axSet, boolean noCheck) {
         for (AxiomWrapper q : axSet) {
-            if (!q.isInModule() && q.isInSearchSpace()) {
+            if (!isInModule(q) && isInSearchSpace(q)) {
                 this.addNonLocal(q, noCheck);
             }
         }
@@ -144,6 +192,13 @@ public class Modularizer {
      */
     private void extractModule(Collection<AxiomWrapper> list) {
         module.clear();
+        if (confined) {
+            inModule.clear();
+            list.stream().filter(AxiomWrapper::isUsed).forEach(inSearchSpace::add);
+            extractModuleQueue();
+            inSearchSpace.clear();
+            return;
+        }
         // clear the module flag in the input
         list.forEach(p -> p.setInModule(false));
         list.stream().filter(AxiomWrapper::isUsed).forEach(p -> p.setInSearchSpace(true));
@@ -180,7 +235,18 @@ public class Modularizer {
         if (type != ModuleType.STAR) {
             return;
         }
-        // here there is a star: do the cycle until stabilization
+        stabilize(signature, topLocality);
+    }
+
+    /**
+     * Alternate top and bottom extraction, starting from the last computed module, until the
+     * module does not change; the last step of a STAR module extraction.
+     *
+     * @param signature signature
+     * @param last locality used for the last extraction; true for top
+     */
+    void stabilize(Signature signature, boolean last) {
+        boolean topLocality = last;
         int size;
         do {
             size = module.size();
@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 
 import org.semanticweb.owlapi.model.OWLEntity;
@@ -140,7 +140,8 @@ public class SigIndex {
      * @param ax axiom
      */
     private void registerAx(AxiomWrapper ax) {
-        ax.signature().forEach(a -> base.computeIfAbsent(a, x -> new HashSet<>()).add(ax));
+        // keep registration order, so that modules are extracted in the same order in every run
+        ax.signature().forEach(a -> base.computeIfAbsent(a, x -> new LinkedHashSet<>()).add(ax));
         // check whether the axiom is non-local
         checkNonLocal(ax, false);
         checkNonLocal(ax, true);
@@ -0,0 +1,810 @@
+package org.semanticweb.owlapitools.search;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapitools.search.SearchResult.MatchType;
+
+/**
+ * A search index over the entities of an ontology, meant for autocompletion. Entities are found by
+ * the words in the literal values of their annotation assertions, such as labels and synonyms, and
+ * in the fragments of their IRIs. Words are split at punctuation and at lower to upper case
+ * changes, and compared ignoring case.
+ * <p>
+ * The index is an inverted index from words to entities. Words are kept in a sorted array, so that
+ * all the words with a prefix are found by binary search, with the entities for each word in an
+ * array of ids. Entities that change after the arrays are built are indexed again in a small sorted
+ * map, and their ids in the arrays are ignored; the map is merged into the arrays when it grows.
+ * The texts of each entity, already split in words and ranked, are kept in the order in which they
+ * rank, so that a query only matches the texts of the candidate entities that can still make the
+ * requested number of results.
+ * <p>
+ * The index listens to the manager of the ontology and reindexes the entities whose annotation
+ * assertions or presence in the signature change; it is built again when the imports change. The
+ * {@link #dispose()} method must be called when the index is no longer used. The index can be saved
+ * and loaded again, to avoid building it at each start; an index saved for another state of the
+ * ontology, detected by ontology id and axiom count, is built again.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class SearchIndex {
+
+    private static final int MAGIC = 0x4F534958;
+    private static final int VERSION = 2;
+    /** Smallest number of reindexed entities that causes a merge. */
+    private static final int MIN_MERGE = 1024;
+    private static final List<EntityType<?>> ENTITY_TYPES = EntityType.values();
+    private final OWLOntology ontology;
+    private final Imports imports;
+    private final List<OWLAnnotationProperty> properties;
+    private final OWLOntologyChangeListener listener = this::handleChanges;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<OWLEntity> entities = new ArrayList<>();
+    private final Map<OWLEntity, Integer> ids = new HashMap<>();
+    /** Texts of each entity, by id, in ranking order; empty for entities no longer indexed. */
+    private final List<Text[]> texts = new ArrayList<>();
+    private String[] terms = new String[0];
+    private int[][] postings = new int[0][];
+    private final TreeMap<String, Set<Integer>> delta = new TreeMap<>();
+    private final Map<Integer, Set<String>> deltaTerms = new HashMap<>();
+    /** Entities whose ids in the arrays are out of date. */
+    private final BitSet stale = new BitSet();
+
+    /**
+     * Builds an index of the literal values of all annotation properties.
+     *
+     * @param ontology the ontology to index
+     * @param imports whether the imports closure is indexed
+     */
+    public SearchIndex(OWLOntology ontology, Imports imports) {
+        this(ontology, imports, Collections.emptyList());
+    }
+
+    /**
+     * @param ontology the ontology to index
+     * @param imports whether the imports closure is indexed
+     * @param properties the annotation properties whose literal values are indexed, in order of
+     *        preference for ranking; if empty, the values of all annotation properties are indexed
+     *        and ranked equally
+     */
+    public SearchIndex(OWLOntology ontology, Imports imports,
+        List<OWLAnnotationProperty> properties) {
+        this(ontology, imports, properties, true);
+        ontology.getOWLOntologyManager().addOntologyChangeListener(listener);
+    }
+
+    private SearchIndex(OWLOntology ontology, Imports imports,
+        List<OWLAnnotationProperty> properties, boolean build) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        this.imports = checkNotNull(imports, "imports cannot be null");
+        this.properties = new ArrayList<>(checkNotNull(properties, "properties cannot be null"));
+        if (build) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Builds the index again from the ontology.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entities.clear();
+            ids.clear();
+            texts.clear();
+            delta.clear();
+            deltaTerms.clear();
+            stale.clear();
+            TreeMap<String, List<Integer>> words = new TreeMap<>();
+            ontology.signature(imports).sorted().forEach(e -> {
+                int id = id(e);
+                Text[] entityTexts = texts(e);
+                texts.set(id, entityTexts);
+                for (String term : terms(entityTexts)) {
+                    words.computeIfAbsent(term, t -> new ArrayList<>()).add(Integer.valueOf(id));
+                }
+            });
+            terms = words.keySet().toArray(new String[0]);
+            postings = new int[terms.length][];
+            int i = 0;
+            for (List<Integer> list : words.values()) {
+                postings[i++] = list.stream().mapToInt(Integer::intValue).toArray();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops listening to ontology changes.
+     */
+    public void dispose() {
+        ontology.getOWLOntologyManager().removeOntologyChangeListener(listener);
+    }
+
+    private int id(OWLEntity e) {
+        Integer id = ids.get(e);
+        if (id == null) {
+            id = Integer.valueOf(entities.size());
+            entities.add(e);
+            ids.put(e, id);
+            texts.add(NO_TEXTS);
+        }
+        return id.intValue();
+    }
+
+    // texts and words
+
+    private static final Text[] NO_TEXTS = new Text[0];
+    /** Orders the texts of an entity as their results rank for the same kind of match. */
+    private static final Comparator<Text> TEXT_ORDER = Comparator.<Text>comparingInt(t -> t.rank)
+        .thenComparingInt(t -> t.value.length()).thenComparing(t -> t.value);
+
+    /**
+     * An indexed text of an entity, with the rank of its source: the position of the annotation
+     * property in the preferred properties, or the number of properties for IRI fragments.
+     */
+    private static final class Text {
+
+        final String value;
+        @Nullable
+        final OWLAnnotationProperty property;
+        final int rank;
+        final String normalized;
+        final List<String> words;
+
+        Text(String value, @Nullable OWLAnnotationProperty property, int rank) {
+            this.value = value;
+            this.property = property;
+            this.rank = rank;
+            words = words(value);
+            normalized = String.join(" ", words);
+        }
+    }
+
+    private Text[] texts(OWLEntity e) {
+        if (!ontology.containsEntityInSignature(e, imports)) {
+            return NO_TEXTS;
+        }
+        List<Text> list = new ArrayList<>();
+        ontology.annotationAssertionAxioms(e.getIRI(), imports).forEach(ax -> {
+            int rank = rank(ax.getProperty());
+            if (rank >= 0 && ax.getValue() instanceof OWLLiteral) {
+                list.add(
+                    new Text(((OWLLiteral) ax.getValue()).getLiteral(), ax.getProperty(), rank));
+            }
+        });
+        list.add(new Text(e.getIRI().getShortForm(), null, rank(null)));
+        list.sort(TEXT_ORDER);
+        return list.toArray(NO_TEXTS);
+    }
+
+    /**
+     * @param property annotation property of a text, or null for IRI fragments
+     * @return the rank of the texts from the property, or -1 if the property is not indexed
+     */
+    private int rank(@Nullable OWLAnnotationProperty property) {
+        if (property == null) {
+            return Math.max(1, properties.size());
+        }
+        return properties.isEmpty() ? 0 : properties.indexOf(property);
+    }
+
+    private static Set<String> terms(Text[] texts) {
+        Set<String> set = new HashSet<>();
+        for (Text t : texts) {
+            set.addAll(t.words);
+        }
+        return set;
+    }
+
+    /**
+     * Splits a text in lower case words, at characters that are not letters or digits and where
+     * lower case letters are followed by upper case letters.
+     *
+     * @param text text to split
+     * @return the words
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < text.length(); i = text.offsetByCodePoints(i, 1)) {
+            int c = text.codePointAt(i);
+            boolean split = !Character.isLetterOrDigit(c)
+                || Character.isUpperCase(c) && Character.isLowerCase(previous);
+            if (split && word.length() > 0) {
+                words.add(word.toString().toLowerCase(Locale.ROOT));
+                word.setLength(0);
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.appendCodePoint(c);
+            }
+            previous = c;
+        }
+        if (word.length() > 0) {
+            words.add(word.toString().toLowerCase(Locale.ROOT));
+        }
+        return words;
+    }
+
+    // changes
+
+    void handleChanges(List<? extends OWLOntologyChange> changes) {
+        Set<OWLEntity> changed = new HashSet<>();
+        for (OWLOntologyChange change : changes) {
+            if (!isIndexed(change.getOntology())) {
+                continue;
+            }
+            if (change.isImportChange()) {
+                rebuild();
+                return;
+            }
+            if (change.isAxiomChange()) {
+                // entities entering or leaving the signature appear in the axiom signature
+                OWLAxiom ax = change.getAxiom();
+                ax.signature().forEach(changed::add);
+                if (ax instanceof OWLAnnotationAssertionAxiom) {
+                    ((OWLAnnotationAssertionAxiom) ax).getSubject().asIRI()
+                        .ifPresent(i -> ontology.entitiesInSignature(i, imports)
+                            .forEach(changed::add));
+                }
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changed.forEach(this::reindex);
+            if (stale.cardinality() > Math.max(MIN_MERGE, entities.size() / 16)) {
+                merge();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isIndexed(OWLOntology o) {
+        return o.equals(ontology)
+            || imports == Imports.INCLUDED && ontology.importsClosure().anyMatch(o::equals);
+    }
+
+    private void reindex(OWLEntity e) {
+        Integer id = Integer.valueOf(id(e));
+        stale.set(id.intValue());
+        Set<String> previous = deltaTerms.remove(id);
+        if (previous != null) {
+            for (String term : previous) {
+                Set<Integer> set = delta.get(term);
+                set.remove(id);
+                if (set.isEmpty()) {
+                    delta.remove(term);
+                }
+            }
+        }
+        Text[] entityTexts = texts(e);
+        texts.set(id.intValue(), entityTexts);
+        Set<String> current = terms(entityTexts);
+        // an entity with no terms has left the signature
+        if (!current.isEmpty()) {
+            deltaTerms.put(id, current);
+            current.forEach(term -> delta.computeIfAbsent(term, t -> new TreeSet<>()).add(id));
+        }
+    }
+
+    /**
+     * Merges the entities indexed since the arrays were built into the arrays.
+     */
+    private void merge() {
+        TreeMap<String, int[]> merged = new TreeMap<>();
+        for (int i = 0; i < terms.length; i++) {
+            int[] current = Arrays.stream(postings[i]).filter(id -> !stale.get(id)).toArray();
+            if (current.length > 0) {
+                merged.put(terms[i], current);
+            }
+        }
+        delta.forEach((term, set) -> {
+            int[] old = merged.getOrDefault(term, new int[0]);
+            int[] all = Arrays.copyOf(old, old.length + set.size());
+            int i = old.length;
+            for (Integer id : set) {
+                all[i++] = id.intValue();
+            }
+            Arrays.sort(all);
+            merged.put(term, all);
+        });
+        terms = merged.keySet().toArray(new String[0]);
+        postings = merged.values().toArray(new int[0][]);
+        delta.clear();
+        deltaTerms.clear();
+        stale.clear();
+    }
+
+    private OWLDataFactory df() {
+        return ontology.getOWLOntologyManager().getOWLDataFactory();
+    }
+
+    // queries
+
+    /**
+     * Finds the entities with a text in which each query word starts a word, ranking texts that
+     * are the query or start with it first. This is the search for autocompletion.
+     *
+     * @param query the query
+     * @param limit the maximum number of results
+     * @return the best results, in order
+     */
+    public List<SearchResult> prefixSearch(String query, int limit) {
+        List<String> queryWords = words(query);
+        String normalized = String.join(" ", queryWords);
+        return search(queryWords, limit, true, word -> term -> term.startsWith(word),
+            (e, text) -> result(e, text, prefixMatch(text, normalized, queryWords), 0));
+    }
+
+    /**
+     * Finds the entities with a text that contains the query, ignoring case and punctuation.
+     *
+     * @param query the query
+     * @param limit the maximum number of results
+     * @return the best results, in order
+     */
+    public List<SearchResult> substringSearch(String query, int limit) {
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalized = String.join(" ", queryWords);
+        // the longest word selects the fewest candidates; every text must contain it
+        String longest = queryWords.stream().reduce((a, b) -> b.length() > a.length() ? b : a)
+            .orElse("");
+        return search(Collections.singletonList(longest), limit, false,
+            word -> term -> term.contains(word), (e, text) -> {
+                if (!text.normalized.contains(normalized)) {
+                    return null;
+                }
+                MatchType type = prefixMatch(text, normalized, queryWords);
+                return result(e, text, type == null ? MatchType.SUBSTRING : type, 0);
+            });
+    }
+
+    /**
+     * Finds the entities with a text in which each query word is within a number of edits of a
+     * word, ranking texts with fewer edits first.
+     *
+     * @param query the query
+     * @param maxEdits the maximum number of insertions, deletions and substitutions for each word
+     * @param limit the maximum number of results
+     * @return the best results, in order
+     */
+    public List<SearchResult> fuzzySearch(String query, int maxEdits, int limit) {
+        List<String> queryWords = words(query);
+        String normalized = String.join(" ", queryWords);
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(queryWords, false,
+                word -> term -> distance(word, term, maxEdits) <= maxEdits);
+            return best(candidates, limit, (e, text) -> {
+                int edits = edits(text, queryWords, maxEdits);
+                if (edits < 0) {
+                    return null;
+                }
+                MatchType type = edits == 0 ? prefixMatch(text, normalized, queryWords) : null;
+                return result(e, text, type == null ? MatchType.FUZZY : type, edits);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the sum of the distances of the query words to their closest words in the text, or
+     *         -1 if a query word is further than the maximum from all words
+     */
+    private static int edits(Text text, List<String> queryWords, int maxEdits) {
+        int edits = 0;
+        for (String word : queryWords) {
+            int best = maxEdits + 1;
+            for (String w : text.words) {
+                best = Math.min(best, distance(word, w, maxEdits));
+            }
+            if (best > maxEdits) {
+                return -1;
+            }
+            edits += best;
+        }
+        return edits;
+    }
+
+    @FunctionalInterface
+    private interface TextMatcher {
+
+        /**
+         * @return the result for a text of an entity, or null if the text does not match
+         */
+        @Nullable
+        SearchResult match(OWLEntity e, Text text);
+    }
+
+    @Nullable
+    private static SearchResult result(OWLEntity e, Text text, @Nullable MatchType type,
+        int edits) {
+        return type == null ? null
+            : new SearchResult(e, text.value, text.property, type, edits, text.rank);
+    }
+
+    private List<SearchResult> search(List<String> queryWords, int limit, boolean prefix,
+        Function<String, Predicate<String>> termMatcher, TextMatcher textMatcher) {
+        if (queryWords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return best(candidates(queryWords, prefix, termMatcher), limit, textMatcher);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Nullable
+    private static MatchType prefixMatch(Text text, String normalized, List<String> queryWords) {
+        if (text.normalized.equals(normalized)) {
+            return MatchType.EXACT;
+        }
+        if (text.normalized.startsWith(normalized)) {
+            return MatchType.PREFIX;
+        }
+        for (String word : queryWords) {
+            if (text.words.stream().noneMatch(w -> w.startsWith(word))) {
+                return null;
+            }
+        }
+        return MatchType.WORD_PREFIX;
+    }
+
+    /**
+     * @param prefix true if the term matcher matches the terms that start with the word, so that
+     *        the terms can be found by binary search instead of by a scan
+     * @return the entities that have, for each query word, a term matching the word
+     */
+    private BitSet candidates(List<String> queryWords, boolean prefix,
+        Function<String, Predicate<String>> termMatcher) {
+        BitSet candidates = null;
+        for (String word : new TreeSet<>(queryWords)) {
+            BitSet matches = new BitSet();
+            Predicate<String> matcher = termMatcher.apply(word);
+            forEachTerm(word, prefix, matcher, (i, ids) -> {
+                if (ids != null) {
+                    ids.forEach(id -> matches.set(id.intValue()));
+                } else {
+                    for (int id : postings[i]) {
+                        if (!stale.get(id)) {
+                            matches.set(id);
+                        }
+                    }
+                }
+            });
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.and(matches);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates == null ? new BitSet() : candidates;
+    }
+
+    @FunctionalInterface
+    private interface TermVisitor {
+
+        /**
+         * @param index index of a term in the arrays
+         * @param ids ids of a term in the delta map, or null for a term in the arrays
+         */
+        void visit(int index, @Nullable Set<Integer> ids);
+    }
+
+    private void forEachTerm(String word, boolean prefix, Predicate<String> matcher,
+        TermVisitor visitor) {
+        if (prefix) {
+            int start = Arrays.binarySearch(terms, word);
+            for (int i = start < 0 ? -start - 1 : start; i < terms.length
+                && terms[i].startsWith(word); i++) {
+                visitor.visit(i, null);
+            }
+            delta.subMap(word, true, word + Character.MAX_VALUE, false)
+                .forEach((term, set) -> visitor.visit(-1, set));
+            return;
+        }
+        for (int i = 0; i < terms.length; i++) {
+            if (matcher.test(terms[i])) {
+                visitor.visit(i, null);
+            }
+        }
+        delta.forEach((term, set) -> {
+            if (matcher.test(term)) {
+                visitor.visit(-1, set);
+            }
+        });
+    }
+
+    /**
+     * Matches the texts of the candidates, keeping the best text of each entity and the best
+     * entities up to the limit. A text is only matched if its result could rank before both the
+     * best result of its entity and the last of the results kept so far; since the texts of an
+     * entity are in ranking order, the remaining texts of the entity are skipped as soon as one
+     * cannot.
+     *
+     * @return the best results, in order
+     */
+    private List<SearchResult> best(BitSet candidates, int limit, TextMatcher matcher) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<SearchResult> worstFirst =
+            new PriorityQueue<>(limit + 1, SearchResult.RANKING.reversed());
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            OWLEntity e = entities.get(id);
+            SearchResult worst = worstFirst.size() < limit ? null : worstFirst.peek();
+            SearchResult best = null;
+            for (Text text : texts.get(id)) {
+                // no match of this text can rank better than an exact match
+                SearchResult bound =
+                    new SearchResult(e, text.value, text.property, MatchType.EXACT, 0, text.rank);
+                if (cannotBeat(bound, best) || cannotBeat(bound, worst)) {
+                    break;
+                }
+                SearchResult r = matcher.match(e, text);
+                if (r != null && !cannotBeat(r, best)) {
+                    best = r;
+                }
+            }
+            if (best != null && !cannotBeat(best, worst)) {
+                worstFirst.add(best);
+                if (worstFirst.size() > limit) {
+                    worstFirst.poll();
+                }
+            }
+        }
+        List<SearchResult> list = new ArrayList<>(worstFirst);
+        list.sort(SearchResult.RANKING);
+        return list;
+    }
+
+    private static boolean cannotBeat(SearchResult r, @Nullable SearchResult other) {
+        return other != null && SearchResult.RANKING.compare(r, other) >= 0;
+    }
+
+    /**
+     * Levenshtein distance, computed only as far as needed to know whether it exceeds a maximum.
+     *
+     * @param a first word
+     * @param b second word
+     * @param max maximum distance of interest
+     * @return the distance, or max + 1 if it is larger than max
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                    previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // persistence
+
+    /**
+     * Saves the index. The entities indexed since the arrays were built are merged first.
+     *
+     * @param out the stream to write to; it is not closed
+     * @throws IOException if the stream cannot be written
+     */
+    public void save(OutputStream out) throws IOException {
+        lock.writeLock().lock();
+        try {
+            merge();
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            writeHeader(data);
+            data.writeInt(entities.size());
+            for (int id = 0; id < entities.size(); id++) {
+                OWLEntity e = entities.get(id);
+                data.writeByte(ENTITY_TYPES.indexOf(e.getEntityType()));
+                data.writeUTF(e.getIRI().toString());
+                Text[] t = texts.get(id);
+                writeVarInt(data, t.length);
+                for (Text text : t) {
+                    // literals can be longer than writeUTF allows
+                    writeString(data, text.value);
+                    OWLAnnotationProperty property = text.property;
+                    data.writeUTF(property == null ? "" : property.getIRI().toString());
+                }
+            }
+            data.writeInt(terms.length);
+            for (int i = 0; i < terms.length; i++) {
+                data.writeUTF(terms[i]);
+                data.writeInt(postings[i].length);
+                // ids are sorted, so gaps are small
+                int last = 0;
+                for (int id : postings[i]) {
+                    writeVarInt(data, id - last);
+                    last = id;
+                }
+            }
+            data.flush();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void writeHeader(DataOutputStream data) throws IOException {
+        data.writeUTF(ontology.getOntologyID().toString());
+        data.writeInt(ontology.getAxiomCount(imports));
+        data.writeBoolean(imports == Imports.INCLUDED);
+        data.writeInt(properties.size());
+        for (OWLAnnotationProperty p : properties) {
+            data.writeUTF(p.getIRI().toString());
+        }
+    }
+
+    /**
+     * Loads an index saved with {@link #save(OutputStream)}. If the index was saved for another
+     * ontology, another state of the ontology, or other settings, the index is built from the
+     * ontology instead.
+     *
+     * @param in the stream to read; it is not closed
+     * @param ontology the ontology to index
+     * @param imports whether the imports closure is indexed
+     * @param properties the annotation properties whose literal values are indexed
+     * @return the index
+     * @throws IOException if the stream cannot be read
+     */
+    public static SearchIndex load(InputStream in, OWLOntology ontology, Imports imports,
+        List<OWLAnnotationProperty> properties) throws IOException {
+        SearchIndex index = new SearchIndex(ontology, imports, properties, false);
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readInt() != VERSION || !index.readHeader(data)) {
+            index.rebuild();
+        } else {
+            index.read(data);
+        }
+        ontology.getOWLOntologyManager().addOntologyChangeListener(index.listener);
+        return index;
+    }
+
+    private boolean readHeader(DataInputStream data) throws IOException {
+        boolean matches = data.readUTF().equals(ontology.getOntologyID().toString());
+        matches &= data.readInt() == ontology.getAxiomCount(imports);
+        matches &= data.readBoolean() == (imports == Imports.INCLUDED);
+        int size = data.readInt();
+        matches &= size == properties.size();
+        for (int i = 0; i < size; i++) {
+            String iri = data.readUTF();
+            matches &= i < properties.size() && iri.equals(properties.get(i).getIRI().toString());
+        }
+        return matches;
+    }
+
+    private void read(DataInputStream data) throws IOException {
+        int size = data.readInt();
+        for (int i = 0; i < size; i++) {
+            EntityType<?> type = ENTITY_TYPES.get(data.readByte());
+            int id = id(df().getOWLEntity(type, IRI.create(data.readUTF())));
+            Text[] t = new Text[readVarInt(data)];
+            for (int j = 0; j < t.length; j++) {
+                String value = readString(data);
+                String property = data.readUTF();
+                OWLAnnotationProperty p =
+                    property.isEmpty() ? null : df().getOWLAnnotationProperty(property);
+                t[j] = new Text(value, p, rank(p));
+            }
+            texts.set(id, t);
+        }
+        terms = new String[data.readInt()];
+        postings = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = data.readUTF();
+            postings[i] = new int[data.readInt()];
+            int last = 0;
+            for (int j = 0; j < postings[i].length; j++) {
+                last += readVarInt(data);
+                postings[i][j] = last;
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte(v & 0x7F | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0;; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.semanticweb.owlapitools.search;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.Comparator;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * An entity found by a {@link SearchIndex}, with the text that matched the query. Results are
+ * ranked by match type, then by edit distance, then by the preference of the property the text
+ * comes from, and then by text length.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class SearchResult {
+
+    /**
+     * How a text matched a query, from the best to the worst kind of match.
+     */
+    public enum MatchType {
+        /** The text is the query, ignoring case and punctuation. */
+        EXACT,
+        /** The text starts with the query. */
+        PREFIX,
+        /** Each word of the query starts a word of the text. */
+        WORD_PREFIX,
+        /** The text contains the query. */
+        SUBSTRING,
+        /** Each word of the query is close to a word of the text. */
+        FUZZY
+    }
+
+    static final Comparator<SearchResult> RANKING =
+        Comparator.comparing(SearchResult::getMatchType).thenComparingInt(SearchResult::getEdits)
+            .thenComparingInt(r -> r.rank).thenComparingInt(r -> r.text.length())
+            .thenComparing(SearchResult::getText).thenComparing(SearchResult::getEntity);
+    private final OWLEntity entity;
+    private final String text;
+    @Nullable
+    private final OWLAnnotationProperty property;
+    private final MatchType matchType;
+    private final int edits;
+    private final int rank;
+
+    SearchResult(OWLEntity entity, String text, @Nullable OWLAnnotationProperty property,
+        MatchType matchType, int edits, int rank) {
+        this.entity = checkNotNull(entity, "entity cannot be null");
+        this.text = checkNotNull(text, "text cannot be null");
+        this.property = property;
+        this.matchType = checkNotNull(matchType, "matchType cannot be null");
+        this.edits = edits;
+        this.rank = rank;
+    }
+
+    /**
+     * @return the entity found
+     */
+    public OWLEntity getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return the annotation literal or IRI fragment that matched
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return the annotation property of the literal that matched, or null if the IRI fragment
+     *         matched
+     */
+    @Nullable
+    public OWLAnnotationProperty getProperty() {
+        return property;
+    }
+
+    /**
+     * @return how the text matched
+     */
+    public MatchType getMatchType() {
+        return matchType;
+    }
+
+    /**
+     * @return the number of edits needed to match the query words; 0 except for fuzzy matches
+     */
+    public int getEdits() {
+        return edits;
+    }
+
+    @Override
+    public String toString() {
+        return matchType + " " + entity + " \"" + text + '"';
+    }
+}
@@ -67,13 +67,34 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
         this(AxiomSelector.selectAxioms(o, excludeAssertions), type);
     }
 
+    /**
+     * @param o o
+     * @param type type
+     * @param threads number of threads used to extract modules; the decomposition is the same
+     *        for any number of threads
+     */
+    public AtomicDecompositionImpl(OWLOntology o, ModuleType type, int threads) {
+        this(AxiomSelector.selectAxioms(o), type, threads);
+    }
+
     /**
      * @param axioms axioms
      * @param type type
      */
     public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type) {
+        this(axioms, type, 1);
+    }
+
+    /**
+     * @param axioms axioms
+     * @param type type
+     * @param threads number of threads used to extract modules; the decomposition is the same
+     *        for any number of threads
+     */
+    public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type, int threads) {
         this.type = type;
-        decomposer = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
+        decomposer =
+            new Decomposer(AxiomSelector.wrap(axioms), SyntacticLocalityChecker::new, threads);
         int size = decomposer.getAOS(this.type).size();
         atoms = new ArrayList<>();
         for (int i = 0; i < size; i++) {
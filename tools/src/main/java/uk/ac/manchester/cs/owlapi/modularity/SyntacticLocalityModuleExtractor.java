@@ -16,13 +16,28 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -41,6 +56,7 @@ import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.modularity.OntologySegmenter;
 import org.semanticweb.owlapi.reasoner.NodeSet;
@@ -50,6 +66,8 @@ import org.slf4j.LoggerFactory;
 
 import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
 import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * Implementation of module extraction based on syntactic locality.
@@ -74,6 +92,13 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
      */
     private ModuleType moduleType;
     private OWLOntologyLoaderConfiguration config;
+    /**
+     * Modules extracted for a seed signature and module type, without super- or subclasses.
+     */
+    private final Cache<ModuleKey, Set<OWLAxiom>> modules = Caffeine.newBuilder()
+        .maximumSize(ConfigurationOptions.CACHE_SIZE
+            .getValue(Integer.class, Collections.emptyMap()).longValue())
+        .build();
 
     /**
      * Creates a new module extractor for a subset of a given ontology, its manager, and a specified
@@ -235,7 +260,10 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
      * annotation or declaration axioms. The sub-ontology and module are represented as arrays of
      * Booleans.
      * <p/>
-     * This method is (if necessary, iteratively) called by the public method extract.
+     * This method is (if necessary, iteratively) called by the public method extract. Syntactic
+     * locality of an axiom only depends on which of its entities are in the signature, so an axiom
+     * only needs to be checked again when one of its entities is added to the signature; axioms
+     * that are not local for the empty signature are in every module.
      *
      * @param subOnt        an array of Booleans representing the sub-ontology
      * @param signature     the seed signature (set of entities) for the module; on return of the
@@ -246,29 +274,19 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     boolean[] extractLogicalAxioms(boolean[] subOnt, Set<OWLEntity> signature,
         LocalityClass localityClass) {
         boolean[] mod = ontologyAxiomSet.getSubset(false);
-        boolean[] q2 = ontologyAxiomSet.cloneSubset(subOnt);
         SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
-        boolean change = true;
-        int loopNumber = 0;
-        while (change) {
-            change = false;
-            loopNumber++;
-            LOGGER.info("  Loop {}", Integer.valueOf(loopNumber));
-            for (int i = 0; i < q2.length; i++) {
-                OWLAxiom axiom = ontologyAxiomSet.getAxiom(i);
-                if (q2[i]) {
+        Queue<OWLEntity> newEntities = new ArrayDeque<>(signature);
+        for (int i : ontologyAxiomSet.getGlobalAxioms(localityClass)) {
+            if (subOnt[i]) {
+                addNonLocal(i, mod, signature, newEntities);
+            }
+        }
+        while (!newEntities.isEmpty()) {
+            for (int i : ontologyAxiomSet.getReferencingAxioms(newEntities.remove())) {
+                if (subOnt[i] && !mod[i]) {
+                    OWLAxiom axiom = ontologyAxiomSet.getAxiom(i);
                     if (!sle.isLocal(axiom, signature)) {
-                        LOGGER.info("      Non-local axiom:   {}", axiom);
-                        mod[i] = true;
-                        q2[i] = false;
-                        int oldSize = signature.size();
-                        add(signature, axiom.signature());
-                        // only triggering a change when the signature has
-                        // changed doesn't improve performance
-                        if (signature.size() > oldSize) {
-                            change = true;
-                            LOGGER.info("    New signature:   {}", signature);
-                        }
+                        addNonLocal(i, mod, signature, newEntities);
                     } else {
                         LOGGER.info("      Local axiom:       {}", axiom);
                     }
@@ -278,6 +296,14 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         return mod;
     }
 
+    private void addNonLocal(int i, boolean[] mod, Set<OWLEntity> signature,
+        Queue<OWLEntity> newEntities) {
+        OWLAxiom axiom = ontologyAxiomSet.getAxiom(i);
+        LOGGER.info("      Non-local axiom:   {}", axiom);
+        mod[i] = true;
+        axiom.signature().filter(signature::add).forEach(newEntities::add);
+    }
+
     /**
      * This method extracts a module from a given sub-ontology of the associated ontology for a
      * given signature and locality type. The module will only contain logical axioms, no annotation
@@ -440,9 +466,119 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         return enrichedSig;
     }
 
+    /**
+     * Extracts a module from the associated ontology for a given signature and the associated
+     * module type. Modules are cached by signature and module type, so asking again for the module
+     * of a signature does not extract it again.
+     *
+     * @param signature the seed signature (set of entities) for the module
+     * @return the module
+     */
     @Override
     public Set<OWLAxiom> extract(Set<OWLEntity> signature) {
-        return extract(signature, 0, 0, null);
+        return new HashSet<>(module(new ModuleKey(moduleType, signature)));
+    }
+
+    /**
+     * Extracts modules from the associated ontology for many seed signatures and the associated
+     * module type. All extractions share the index from entities to the axioms referencing them
+     * and the axioms which are in every module; modules that are not cached yet are extracted on
+     * worker threads. Equal signatures are only extracted once.
+     *
+     * @param signatures the seed signatures (sets of entities) for the modules
+     * @param threads    number of threads to extract modules on; 1 extracts all modules on the
+     *                   calling thread
+     * @return the modules, in the order of the signatures
+     */
+    public List<Set<OWLAxiom>> extract(Collection<? extends Set<OWLEntity>> signatures,
+        int threads) {
+        ModuleType type = moduleType;
+        List<ModuleKey> keys = new ArrayList<>(signatures.size());
+        Map<ModuleKey, Set<OWLAxiom>> found = new HashMap<>();
+        Set<ModuleKey> missing = new LinkedHashSet<>();
+        for (Set<OWLEntity> signature : signatures) {
+            ModuleKey key = new ModuleKey(type, signature);
+            keys.add(key);
+            Set<OWLAxiom> module = modules.getIfPresent(key);
+            if (module == null) {
+                missing.add(key);
+            } else {
+                found.put(key, module);
+            }
+        }
+        List<ModuleKey> toExtract = new ArrayList<>(missing);
+        List<Set<OWLAxiom>> extracted = threads < 2 || toExtract.size() < 2
+            ? asList(toExtract.stream().map(this::module)) : inParallel(toExtract, threads);
+        for (int i = 0; i < toExtract.size(); i++) {
+            found.put(toExtract.get(i), extracted.get(i));
+        }
+        List<Set<OWLAxiom>> toReturn = new ArrayList<>(keys.size());
+        for (ModuleKey key : keys) {
+            toReturn.add(new HashSet<>(found.get(key)));
+        }
+        return toReturn;
+    }
+
+    private List<Set<OWLAxiom>> inParallel(List<ModuleKey> keys, int threads) {
+        AtomicInteger next = new AtomicInteger();
+        AtomicReferenceArray<Set<OWLAxiom>> results = new AtomicReferenceArray<>(keys.size());
+        ExecutorService executor =
+            Executors.newFixedThreadPool(Math.min(threads, keys.size()), task -> {
+                Thread t = new Thread(task, "owlapi-module-extractor");
+                t.setDaemon(true);
+                return t;
+            });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads && i < keys.size(); i++) {
+                workers.add(executor.submit(() -> {
+                    for (int j = next.getAndIncrement(); j < keys.size(); j =
+                        next.getAndIncrement()) {
+                        results.set(j, module(keys.get(j)));
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        List<Set<OWLAxiom>> toReturn = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            toReturn.add(results.get(i));
+        }
+        return toReturn;
+    }
+
+    /**
+     * Clears the cached modules.
+     */
+    public void clearModuleCache() {
+        modules.invalidateAll();
+    }
+
+    /**
+     * @param key signature and module type
+     * @return the cached module, or the extracted module if the cache does not contain it. The
+     *         extraction happens outside of the cache, so that long extractions do not block other
+     *         keys.
+     */
+    private Set<OWLAxiom> module(ModuleKey key) {
+        Set<OWLAxiom> module = modules.getIfPresent(key);
+        if (module == null) {
+            module = Collections.unmodifiableSet(extract(key.type, key.signature));
+            modules.put(key, module);
+        }
+        return module;
     }
 
     /**
@@ -476,8 +612,14 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     @Override
     public Set<OWLAxiom> extract(Set<OWLEntity> sig, int superClassLevel, int subClassLevel,
         @Nullable OWLReasoner reasoner) {
-        Set<OWLEntity> enrichedSig = enrichSignature(sig, superClassLevel, subClassLevel, reasoner);
-        switch (moduleType) {
+        if (superClassLevel == 0 && subClassLevel == 0) {
+            return extract(sig);
+        }
+        return extract(moduleType, enrichSignature(sig, superClassLevel, subClassLevel, reasoner));
+    }
+
+    private Set<OWLAxiom> extract(ModuleType type, Set<OWLEntity> enrichedSig) {
+        switch (type) {
             case TOP:
                 return extractUnnestedModule(enrichedSig, LocalityClass.TOP_TOP);
             case BOT:
@@ -485,7 +627,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             case STAR:
                 return extractStar(enrichedSig);
             default:
-                throw new OWLRuntimeException("Unsupported module type: " + moduleType);
+                throw new OWLRuntimeException("Unsupported module type: " + type);
         }
     }
 
@@ -540,19 +682,62 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
      */
     static class OntologyAxiomSet {
 
+        private static final int[] NO_AXIOMS = new int[0];
+
         /**
          * Array representing all axioms of the associated ontology.
          */
         final OWLAxiom[] ax;
+        /**
+         * Positions of the axioms referencing each entity.
+         */
+        private final Map<OWLEntity, int[]> referencingAxioms = new HashMap<>();
+        /**
+         * Positions of the axioms that are not local for the empty signature, by locality class.
+         */
+        private final Map<LocalityClass, int[]> globalAxioms = new ConcurrentHashMap<>();
 
         /**
-         * Creates a new OntologyAxiomSet from a given set of axioms without looking up the
-         * referenced entities.
+         * Creates a new OntologyAxiomSet from a given set of axioms and indexes the axioms by the
+         * entities they reference.
          *
          * @param axs the set of axioms representing the ontology
          */
         OntologyAxiomSet(List<OWLAxiom> axs) {
             ax = axs.toArray(new OWLAxiom[axs.size()]);
+            Map<OWLEntity, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < ax.length; i++) {
+                Integer position = Integer.valueOf(i);
+                ax[i].signature().forEach(
+                    e -> positions.computeIfAbsent(e, x -> new ArrayList<>()).add(position));
+            }
+            positions.forEach((e, list) -> referencingAxioms.put(e,
+                list.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        /**
+         * @param entity entity
+         * @return positions of the axioms referencing the entity
+         */
+        public int[] getReferencingAxioms(OWLEntity entity) {
+            return referencingAxioms.getOrDefault(entity, NO_AXIOMS);
+        }
+
+        /**
+         * Returns the axioms which are not local for the empty signature; syntactic locality
+         * decreases as the signature grows, so these axioms are not local for any signature. They
+         * are computed the first time they are needed.
+         *
+         * @param localityClass the type of locality
+         * @return positions of the axioms which are in every module
+         */
+        public int[] getGlobalAxioms(LocalityClass localityClass) {
+            return globalAxioms.computeIfAbsent(localityClass, cls -> {
+                SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(cls);
+                Set<OWLEntity> empty = Collections.emptySet();
+                return IntStream.range(0, ax.length)
+                    .filter(i -> !sle.isLocal(ax[i], empty)).toArray();
+            });
         }
 
         /**
@@ -632,4 +817,37 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             return axs;
         }
     }
+
+    /**
+     * Key for cached modules: a copy of the seed signature and the module type.
+     */
+    private static final class ModuleKey {
+
+        final ModuleType type;
+        final Set<OWLEntity> signature;
+        private final int hashCode;
+
+        ModuleKey(ModuleType type, Set<OWLEntity> signature) {
+            this.type = type;
+            this.signature = new HashSet<>(signature);
+            hashCode = type.hashCode() * 37 + this.signature.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof ModuleKey)) {
+                return false;
+            }
+            ModuleKey other = (ModuleKey) obj;
+            return type == other.type && signature.equals(other.signature);
+        }
+    }
 }